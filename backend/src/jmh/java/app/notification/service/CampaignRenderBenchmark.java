@@ -0,0 +1,56 @@
+package app.notification.service;
+
+import app.testutil.TemplateEngineFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-recipient cost of a fan-out email: a full Thymeleaf render per recipient, as the
+ * price drop and restock handlers used to do, versus slot substitution into a template
+ * rendered once per campaign. Run with {@code -prof gc} to compare allocation as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CampaignRenderBenchmark {
+
+    private static final String[] FIRST_NAMES = {"Ana", "Boris", "Elena", "Georgi", "Maria", "Petar", "O'Brien"};
+
+    private EmailTemplateService emailTemplateService;
+    private PreparedEmailTemplate preparedTemplate;
+    private int recipient;
+
+    @Setup
+    public void setUp() {
+        emailTemplateService = new EmailTemplateService(TemplateEngineFactory.create());
+        preparedTemplate = emailTemplateService.prepareGeneralEmail(
+                "Back in Stock",
+                "Hi " + PreparedEmailTemplate.slot(EmailService.FIRST_NAME_SLOT) + ",",
+                "Whey Protein is back in stock!",
+                "The item you were waiting for is now available.",
+                "Order now before it sells out again!");
+    }
+
+    @Benchmark
+    public String renderPerRecipient() {
+        return emailTemplateService.renderGeneralEmail(
+                "Back in Stock",
+                "Hi " + nextFirstName() + ",",
+                "Whey Protein is back in stock!",
+                "The item you were waiting for is now available.",
+                "Order now before it sells out again!");
+    }
+
+    @Benchmark
+    public String renderOncePerCampaign() {
+        return preparedTemplate.render(EmailService.recipient(nextFirstName()));
+    }
+
+    private String nextFirstName() {
+        return FIRST_NAMES[recipient++ % FIRST_NAMES.length];
+    }
+}
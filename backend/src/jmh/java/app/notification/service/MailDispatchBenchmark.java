@@ -0,0 +1,79 @@
+package app.notification.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Email throughput against a local SMTP stand-in: one connection per message, as
+ * {@code JavaMailSender.send(message)} does, versus the pooled MailDispatcher.
+ * The connect delay models the TCP, STARTTLS and AUTH cost of a real server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class MailDispatchBenchmark {
+
+    private static final int MESSAGES = 100;
+
+    @Param({"5", "20"})
+    public long connectDelayMillis;
+
+    private LocalSmtpServer smtpServer;
+    private JavaMailSenderImpl sender;
+    private MailDispatcher dispatcher;
+
+    @Setup
+    public void setUp() {
+        smtpServer = new LocalSmtpServer(connectDelayMillis);
+        sender = new JavaMailSenderImpl();
+        sender.setHost("localhost");
+        sender.setPort(smtpServer.getPort());
+
+        dispatcher = new MailDispatcher(sender, new SimpleMeterRegistry(), 2, 50, 10_000, 100, 30, 5_000, 0);
+        dispatcher.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        dispatcher.shutdown();
+        smtpServer.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void connectionPerMessage() throws MessagingException {
+        for (int i = 0; i < MESSAGES; i++) {
+            sender.send(message(i));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void pooledDispatcher() throws MessagingException {
+        CompletableFuture<?>[] results = new CompletableFuture<?>[MESSAGES];
+        for (int i = 0; i < MESSAGES; i++) {
+            results[i] = dispatcher.submit(message(i));
+        }
+        CompletableFuture.allOf(results).join();
+    }
+
+    private MimeMessage message(int index) throws MessagingException {
+        MimeMessage message = sender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setFrom("noreply@supplemart.com");
+        helper.setTo("user" + index + "@example.com");
+        helper.setSubject("Price Drop Alert");
+        helper.setText("<p>The price of Whey Protein has dropped!</p>", true);
+        return message;
+    }
+}
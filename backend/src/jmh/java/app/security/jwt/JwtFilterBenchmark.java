@@ -0,0 +1,113 @@
+package app.security.jwt;
+
+import app.security.CustomUserDetails;
+import app.security.UserStatusCache;
+import app.user.model.Role;
+import app.user.service.UserService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Per-request cost of JWT authentication: the old filter path, which built a parser and verified
+ * the signature three times per request, versus the filter with a single verify against an empty
+ * claims cache and against a warm one. User and role lookups are in-memory stubs so only token handling
+ * is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "VGhpc0lzQVZlcnlTZWN1cmVTZWNyZXRLZXlGb3JUZXN0aW5nUHVycG9zZXNPbmx5MTIzNDU2Nzg5MA==";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private SecretKey secretKey;
+    private CustomUserDetails user;
+    private String token;
+    private JwtAuthenticationFilter uncachedFilter;
+    private JwtAuthenticationFilter cachedFilter;
+
+    @Setup
+    public void setUp() {
+        secretKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        user = CustomUserDetails.builder()
+                .id(UUID.randomUUID())
+                .username("test@example.com")
+                .password("password")
+                .role(Role.CUSTOMER)
+                .isEnabled(true)
+                .build();
+        UserService userService = mock(UserService.class);
+        when(userService.findRoleById(any())).thenReturn(Optional.of(Role.CUSTOMER));
+        UserStatusCache userStatusCache = new UserStatusCache(userService, 30, 10_000);
+
+        JwtService uncached = jwtService(0);
+        JwtService cached = jwtService(10_000);
+        token = cached.generateToken(user);
+
+        uncachedFilter = new JwtAuthenticationFilter(uncached, username -> user, userStatusCache);
+        cachedFilter = new JwtAuthenticationFilter(cached, username -> user, userStatusCache);
+    }
+
+    @Benchmark
+    public boolean legacyTripleParse() {
+        String username = parse(token).getSubject();
+        return username.equals(user.getUsername())
+                && parse(token).getSubject().equals(user.getUsername())
+                && parse(token).getExpiration().after(new Date());
+    }
+
+    @Benchmark
+    public Object filterWithoutCache() throws ServletException, IOException {
+        return filter(uncachedFilter);
+    }
+
+    @Benchmark
+    public Object filterWithWarmCache() throws ServletException, IOException {
+        return filter(cachedFilter);
+    }
+
+    private Object filter(JwtAuthenticationFilter filter) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+        request.addHeader("Authorization", "Bearer " + token);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private Claims parse(String jwt) {
+        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(jwt).getPayload();
+    }
+
+    private JwtService jwtService(long claimsCacheSize) {
+        JwtConfig config = mock(JwtConfig.class);
+        when(config.getExpiration()).thenReturn(3600L);
+        when(config.getClaimsCacheSize()).thenReturn(claimsCacheSize);
+        return new JwtService(config, secretKey, new TokenRevocationStore(60, 1 << 20), mock(RevocationReplicator.class));
+    }
+}
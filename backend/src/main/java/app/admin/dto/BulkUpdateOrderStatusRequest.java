@@ -0,0 +1,29 @@
+package app.admin.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateOrderStatusRequest {
+
+    @NotEmpty(message = "At least one order ID is required")
+    @Size(max = 1000, message = "At most 1000 orders can be updated at once")
+    private List<UUID> orderIds;
+
+    @NotBlank(message = "Status is required")
+    @Pattern(regexp = "PENDING|PAID|PROCESSING|SHIPPED|DELIVERED|CANCELLED",
+            message = "Invalid order status. Valid statuses: PENDING, PAID, PROCESSING, SHIPPED, DELIVERED, CANCELLED")
+    private String status;
+}
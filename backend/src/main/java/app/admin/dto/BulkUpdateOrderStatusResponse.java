@@ -0,0 +1,31 @@
+package app.admin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateOrderStatusResponse {
+    private String status;
+    private int requestedCount;
+    private int updatedCount;
+    private int skippedCount;
+    private List<UUID> updatedOrderIds;
+    private List<SkippedOrder> skippedOrders;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SkippedOrder {
+        private UUID orderId;
+        private String reason;
+    }
+}
@@ -0,0 +1,24 @@
+package app.admin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadLetterEmailResponse {
+    private Long id;
+    private String recipient;
+    private String subject;
+    private String priority;
+    private int attempts;
+    private String lastError;
+    private LocalDateTime firstFailedAt;
+    private LocalDateTime deadAt;
+    private String htmlContent;
+}
@@ -0,0 +1,26 @@
+package app.admin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobExecutionResponse {
+    private Long id;
+    private String jobName;
+    private String node;
+    private String status;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long durationMs;
+    private int itemsScanned;
+    private int itemsProcessed;
+    private int itemsFailed;
+    private String errorMessage;
+}
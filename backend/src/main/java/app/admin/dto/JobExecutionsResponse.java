@@ -0,0 +1,20 @@
+package app.admin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobExecutionsResponse {
+    private List<JobExecutionResponse> content;
+    private int currentPage;
+    private int pageSize;
+    private int totalPages;
+    private long totalElements;
+}
@@ -0,0 +1,22 @@
+package app.admin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Run statistics of one scheduled job over a time window, with its latest run.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobSummaryResponse {
+    private String jobName;
+    private long runs;
+    private long failures;
+    private long avgDurationMs;
+    private long maxDurationMs;
+    private JobExecutionResponse lastExecution;
+}
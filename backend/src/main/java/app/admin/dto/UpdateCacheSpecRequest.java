@@ -0,0 +1,17 @@
+package app.admin.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpdateCacheSpecRequest {
+
+    @NotBlank(message = "Spec is required")
+    private String spec;
+}
@@ -1,9 +1,14 @@
 package app.admin.mapper;
 
 import app.admin.dto.*;
+import app.notification.retry.DeadLetterEmail;
+import app.order.dto.BulkStatusUpdateResult;
+import app.order.dto.OrderNotificationView;
 import app.order.model.Order;
 import app.order.model.OrderItem;
 import app.product.model.Product;
+import app.scheduling.history.JobExecution;
+import app.scheduling.history.JobExecutionSummaryView;
 import app.user.model.User;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -130,4 +135,76 @@ public interface AdminMapper {
                 .totalElements(userPage.getTotalElements())
                 .build();
     }
+
+    // Bulk Order Status Mapping
+    default BulkUpdateOrderStatusResponse toBulkUpdateOrderStatusResponse(BulkStatusUpdateResult result,
+                                                                          int requestedCount) {
+        List<BulkUpdateOrderStatusResponse.SkippedOrder> skippedOrders = result.skipped().entrySet().stream()
+                .map(entry -> BulkUpdateOrderStatusResponse.SkippedOrder.builder()
+                        .orderId(entry.getKey())
+                        .reason(entry.getValue())
+                        .build())
+                .toList();
+
+        return BulkUpdateOrderStatusResponse.builder()
+                .status(result.newStatus().name().toLowerCase())
+                .requestedCount(requestedCount)
+                .updatedCount(result.updated().size())
+                .skippedCount(skippedOrders.size())
+                .updatedOrderIds(result.updated().stream().map(OrderNotificationView::getId).toList())
+                .skippedOrders(skippedOrders)
+                .build();
+    }
+
+    // Job Execution Mapping
+    @Mapping(target = "status", expression = "java(execution.getStatus().name())")
+    JobExecutionResponse toJobExecutionResponse(JobExecution execution);
+
+    default JobExecutionsResponse toJobExecutionsResponse(Page<JobExecution> executionPage) {
+        List<JobExecutionResponse> executions = executionPage.getContent().stream()
+                .map(this::toJobExecutionResponse)
+                .toList();
+
+        return JobExecutionsResponse.builder()
+                .content(executions)
+                .currentPage(executionPage.getNumber())
+                .pageSize(executionPage.getSize())
+                .totalPages(executionPage.getTotalPages())
+                .totalElements(executionPage.getTotalElements())
+                .build();
+    }
+
+    default JobSummaryResponse toJobSummaryResponse(JobExecutionSummaryView summary, JobExecution lastExecution) {
+        return JobSummaryResponse.builder()
+                .jobName(summary.getJobName())
+                .runs(summary.getRuns())
+                .failures(summary.getFailures() != null ? summary.getFailures() : 0)
+                .avgDurationMs(summary.getAvgDurationMs() != null ? Math.round(summary.getAvgDurationMs()) : 0)
+                .maxDurationMs(summary.getMaxDurationMs() != null ? summary.getMaxDurationMs() : 0)
+                .lastExecution(lastExecution != null ? toJobExecutionResponse(lastExecution) : null)
+                .build();
+    }
+
+    // Dead-Letter Email Mapping
+    @Mapping(target = "priority", expression = "java(email.getPriority().name())")
+    DeadLetterEmailResponse toDeadLetterEmailResponse(DeadLetterEmail email);
+
+    // Listed without content; the single-email endpoint returns it
+    @Mapping(target = "priority", expression = "java(email.getPriority().name())")
+    @Mapping(target = "htmlContent", ignore = true)
+    DeadLetterEmailResponse toDeadLetterEmailSummary(DeadLetterEmail email);
+
+    default DeadLetterEmailsResponse toDeadLetterEmailsResponse(Page<DeadLetterEmail> emailPage) {
+        List<DeadLetterEmailResponse> emails = emailPage.getContent().stream()
+                .map(this::toDeadLetterEmailSummary)
+                .toList();
+
+        return DeadLetterEmailsResponse.builder()
+                .content(emails)
+                .currentPage(emailPage.getNumber())
+                .pageSize(emailPage.getSize())
+                .totalPages(emailPage.getTotalPages())
+                .totalElements(emailPage.getTotalElements())
+                .build();
+    }
 }
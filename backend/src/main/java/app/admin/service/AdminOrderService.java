@@ -1,7 +1,10 @@
 package app.admin.service;
 
 import app.admin.dto.AdminOrdersResponse;
+import app.admin.dto.BulkUpdateOrderStatusRequest;
+import app.admin.dto.BulkUpdateOrderStatusResponse;
 import app.admin.mapper.AdminMapper;
+import app.order.dto.BulkStatusUpdateResult;
 import app.order.dto.OrderResponse;
 import app.order.model.Order;
 import app.order.model.OrderStatus;
@@ -41,5 +44,17 @@ public class AdminOrderService {
 
         return orderService.updateOrderStatus(orderId, newStatus);
     }
-}
 
+    /**
+     * Applies one status to many orders. The status changes and their notification events are written in
+     * one transaction.
+     */
+    @Transactional
+    public BulkUpdateOrderStatusResponse bulkUpdateOrderStatus(BulkUpdateOrderStatusRequest request) {
+        OrderStatus newStatus = OrderStatus.valueOf(request.getStatus());
+
+        BulkStatusUpdateResult result = orderService.bulkUpdateOrderStatus(request.getOrderIds(), newStatus);
+
+        return adminMapper.toBulkUpdateOrderStatusResponse(result, request.getOrderIds().size());
+    }
+}
@@ -1,14 +1,23 @@
 package app.admin.service;
 
+import app.cache.CacheInvalidationBus;
+import app.cache.CacheMetrics;
+import app.cache.CacheRegistry;
+import app.cache.CacheSpec;
+import app.cache.HotKeySketch;
+import app.exception.BadRequestException;
+import app.exception.ResourceNotFoundException;
+import com.github.benmanes.caffeine.cache.Cache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
 
 @Service
 @RequiredArgsConstructor
@@ -16,23 +25,17 @@ import java.util.Objects;
 public class CacheManagementService {
 
     private final CacheManager cacheManager;
+    private final CacheRegistry cacheRegistry;
+    private final CacheMetrics cacheMetrics;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     public Map<String, CacheStats> getAllCacheStats() {
         Map<String, CacheStats> stats = new HashMap<>();
 
-        cacheManager.getCacheNames().forEach(cacheName -> {
-            CaffeineCache cache = (CaffeineCache) cacheManager.getCache(cacheName);
+        cacheRegistry.getCacheNames().forEach(cacheName -> {
+            Cache<Object, Object> cache = cacheRegistry.getNativeCache(cacheName);
             if (cache != null) {
-                com.github.benmanes.caffeine.cache.stats.CacheStats caffeineStats =
-                        cache.getNativeCache().stats();
-
-                stats.put(cacheName, new CacheStats(
-                        cache.getNativeCache().estimatedSize(),
-                        caffeineStats.hitCount(),
-                        caffeineStats.missCount(),
-                        caffeineStats.hitRate(),
-                        caffeineStats.evictionCount()
-                ));
+                stats.put(cacheName, toStats(cache));
             }
         });
 
@@ -60,6 +63,59 @@ public class CacheManagementService {
         return cacheManager.getCacheNames();
     }
 
+    /**
+     * Returns each cache's current spec in Caffeine spec syntax.
+     */
+    public Map<String, String> getCacheSpecs() {
+        Map<String, String> specs = new TreeMap<>();
+        cacheRegistry.getSpecs().forEach((name, spec) -> specs.put(name, spec.toString()));
+        return specs;
+    }
+
+    /**
+     * Changes a live cache's size and expiry settings. Entries and statistics are kept. The change is
+     * broadcast so the other running replicas apply it too; it lasts until they restart.
+     */
+    public CacheStats updateCacheSpec(String cacheName, String spec) {
+        if (cacheRegistry.getSpec(cacheName) == null) {
+            throw new ResourceNotFoundException("Cache '" + cacheName + "' not found");
+        }
+
+        CacheSpec cacheSpec;
+        try {
+            cacheSpec = CacheSpec.parse(spec);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+
+        log.info("Updating cache '{}' spec to: {}", cacheName, cacheSpec);
+        Cache<Object, Object> cache = cacheRegistry.retune(cacheName, cacheSpec);
+        cacheInvalidationBus.publishSpec(cacheName, cacheSpec);
+        return toStats(cache);
+    }
+
+    /**
+     * Returns the cache's most read keys from a sampled sketch, with estimated read counts.
+     */
+    public List<HotKeySketch.HotKey> getHotKeys(String cacheName, int limit) {
+        List<HotKeySketch.HotKey> hotKeys = cacheMetrics.getHotKeys(cacheName, limit);
+        if (hotKeys == null) {
+            throw new ResourceNotFoundException("Cache '" + cacheName + "' not found");
+        }
+        return hotKeys;
+    }
+
+    private static CacheStats toStats(Cache<Object, Object> cache) {
+        com.github.benmanes.caffeine.cache.stats.CacheStats caffeineStats = cache.stats();
+        return new CacheStats(
+                cache.estimatedSize(),
+                caffeineStats.hitCount(),
+                caffeineStats.missCount(),
+                caffeineStats.hitRate(),
+                caffeineStats.evictionCount()
+        );
+    }
+
     public record CacheStats(
             long size,
             long hitCount,
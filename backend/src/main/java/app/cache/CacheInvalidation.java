@@ -0,0 +1,46 @@
+package app.cache;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An eviction or retune made on one replica, kept briefly so the others can apply it to their local caches.
+ */
+@Entity
+@Table(name = "cache_invalidations")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "cache_name", nullable = false, length = 64)
+    private String cacheName;
+
+    /**
+     * The evicted key as text, or null when the whole cache was cleared.
+     */
+    @Column(name = "cache_key", length = 512)
+    private String cacheKey;
+
+    /**
+     * The cache's new spec when this row is a retune rather than an eviction.
+     */
+    @Column(name = "cache_spec", length = 255)
+    private String cacheSpec;
+
+    @Column(name = "origin_node", nullable = false, length = 36)
+    private String originNode;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,231 @@
+package app.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Broadcasts cache evictions to every replica through the cache_invalidations table.
+ *
+ * An eviction is applied locally by the caller and written here in a transaction of its own. Inside a
+ * caller's transaction the write waits until that transaction commits, so other replicas only see it once
+ * the change it belongs to is visible, and a rolled-back change broadcasts nothing. A node that dies between
+ * the commit and the write loses the broadcast; the other replicas then keep the entry until it expires. Every node
+ * polls for rows above its high-water mark and drops the matching entries from its local caches, so a
+ * product edit on one node reaches the others within {@code app.cache.invalidation.poll-interval-ms}.
+ * Each poll re-reads the last {@code app.cache.invalidation.overlap} ids below the mark, so rows whose
+ * transactions committed out of id order are still picked up; rows already applied are skipped.
+ *
+ * Retunes made through the admin API are broadcast the same way, so every running replica applies the
+ * new spec. A replica started later uses the configured spec.
+ *
+ * Keys are matched by their {@code toString()}, which is stable for the UUID, number and string keys
+ * the caches use.
+ */
+@Slf4j
+@Component
+public class CacheInvalidationBus {
+
+    private final CacheInvalidationRepository invalidationRepository;
+    private final CacheRegistry cacheRegistry;
+    private final TransactionTemplate requiresNew;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long overlap;
+    private final Duration retention;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Timer invalidationLag;
+    private final AtomicLong highWaterMark = new AtomicLong(-1);
+    private final AtomicLong lastPollMillis = new AtomicLong(System.currentTimeMillis());
+    private final NavigableSet<Long> recentlyApplied = new ConcurrentSkipListSet<>();
+
+    public CacheInvalidationBus(
+            CacheInvalidationRepository invalidationRepository,
+            CacheRegistry cacheRegistry,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.invalidation.enabled:true}") boolean enabled,
+            @Value("${app.cache.invalidation.batch-size:500}") int batchSize,
+            @Value("${app.cache.invalidation.overlap:100}") long overlap,
+            @Value("${app.cache.invalidation.retention-seconds:3600}") long retentionSeconds
+    ) {
+        this.invalidationRepository = invalidationRepository;
+        this.cacheRegistry = cacheRegistry;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.overlap = Math.max(0, overlap);
+        this.retention = Duration.ofSeconds(retentionSeconds);
+
+        this.invalidationLag = Timer.builder("supplemart_cache_invalidation_lag")
+                .description("Time from an eviction on another replica to it being applied here")
+                .register(meterRegistry);
+        Gauge.builder("supplemart_cache_invalidation_staleness_seconds", lastPollMillis,
+                        last -> (System.currentTimeMillis() - last.get()) / 1000.0)
+                .description("Seconds since cache evictions were last polled successfully")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records an eviction for the other replicas. The caller has already applied it locally.
+     *
+     * @param key the evicted key, or null when the whole cache was cleared
+     */
+    public void publish(String cacheName, Object key) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> {
+            try {
+                save(CacheInvalidation.builder()
+                        .cacheName(cacheName)
+                        .cacheKey(key != null ? keyString(key) : null)
+                        .originNode(nodeId)
+                        .createdAt(LocalDateTime.now())
+                        .build());
+            } catch (Exception e) {
+                log.warn("Failed to broadcast eviction of '{}' from cache '{}'; other replicas keep it until it expires",
+                        key, cacheName, e);
+            }
+        });
+    }
+
+    /**
+     * Records a retune for the other replicas. The caller has already applied it locally.
+     */
+    public void publishSpec(String cacheName, CacheSpec spec) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            save(CacheInvalidation.builder()
+                    .cacheName(cacheName)
+                    .cacheSpec(spec.toString())
+                    .originNode(nodeId)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        } catch (Exception e) {
+            log.warn("Failed to broadcast retune of cache '{}'; other replicas keep their current spec",
+                    cacheName, e);
+        }
+    }
+
+    /**
+     * Applies evictions other replicas made since the last poll. The first poll only finds the current
+     * mark, since the local caches start empty.
+     */
+    @Scheduled(fixedDelayString = "${app.cache.invalidation.poll-interval-ms:1000}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (highWaterMark.get() < 0) {
+                highWaterMark.set(invalidationRepository.findTopByOrderByIdDesc()
+                        .map(CacheInvalidation::getId)
+                        .orElse(0L));
+                lastPollMillis.set(System.currentTimeMillis());
+                return;
+            }
+
+            int applied = 0;
+            long after = Math.max(0, highWaterMark.get() - overlap);
+            List<CacheInvalidation> batch;
+            do {
+                batch = invalidationRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(batchSize));
+                for (CacheInvalidation row : batch) {
+                    if (recentlyApplied.add(row.getId()) && !nodeId.equals(row.getOriginNode())) {
+                        apply(row);
+                        applied++;
+                    }
+                    after = row.getId();
+                }
+                highWaterMark.accumulateAndGet(after, Math::max);
+            } while (batch.size() == batchSize);
+
+            recentlyApplied.headSet(highWaterMark.get() - overlap).clear();
+            lastPollMillis.set(System.currentTimeMillis());
+            if (applied > 0) {
+                log.debug("Applied {} cache evictions from other replicas, high-water mark {}", applied, highWaterMark.get());
+            }
+        } catch (Exception e) {
+            log.error("Failed to poll cache evictions", e);
+        }
+    }
+
+    /**
+     * Deletes evictions older than {@code app.cache.invalidation.retention-seconds}; every running
+     * replica has applied them long before.
+     */
+    @Scheduled(fixedDelayString = "${app.cache.invalidation.purge-interval-ms:600000}")
+    @Transactional
+    public void purgeOld() {
+        if (!enabled) {
+            return;
+        }
+        int deleted = invalidationRepository.deleteByCreatedAtBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.debug("Purged {} old cache evictions", deleted);
+        }
+    }
+
+    long getHighWaterMark() {
+        return highWaterMark.get();
+    }
+
+    private void apply(CacheInvalidation row) {
+        String cacheName = row.getCacheName();
+        if (cacheRegistry.getSpec(cacheName) == null) {
+            return;
+        }
+        if (row.getCacheSpec() != null) {
+            cacheRegistry.retune(cacheName, CacheSpec.parse(row.getCacheSpec()));
+        } else if (row.getCacheKey() == null) {
+            cacheRegistry.clear(cacheName);
+        } else {
+            cacheRegistry.evictIf(cacheName, key -> keyString(key).equals(row.getCacheKey()));
+        }
+        invalidationLag.record(Duration.between(row.getCreatedAt(), LocalDateTime.now()));
+    }
+
+    private void save(CacheInvalidation row) {
+        requiresNew.executeWithoutResult(status -> invalidationRepository.save(row));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static String keyString(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,127 @@
+package app.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Exports every cache in the {@link CacheRegistry} to Micrometer and tracks each cache's most read keys.
+ *
+ * Meters use Micrometer's standard cache names ({@code cache.gets}, {@code cache.evictions},
+ * {@code cache.load.duration}, ...) tagged with the cache name. They read the registry's current cache on
+ * every scrape, so they keep working after a retune rebuilds it, and the shared stats counter keeps the
+ * totals continuous. {@code cache.weighted.size} is the total weight for caches bounded by
+ * {@code maximumWeight} and the entry count otherwise.
+ *
+ * Reads are sampled into a {@link HotKeySketch} per cache ({@code app.cache.hot-keys.capacity},
+ * {@code app.cache.hot-keys.sample-every}), whose counts are halved every
+ * {@code app.cache.hot-keys.decay-interval-ms} so the top keys follow current traffic.
+ */
+@Component
+public class CacheMetrics {
+
+    private static final String CACHE_MANAGER = "cacheManager";
+
+    private final CacheRegistry cacheRegistry;
+    private final Map<String, HotKeySketch> hotKeys = new ConcurrentHashMap<>();
+
+    public CacheMetrics(
+            CacheRegistry cacheRegistry,
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.hot-keys.capacity:64}") int hotKeyCapacity,
+            @Value("${app.cache.hot-keys.sample-every:16}") int hotKeySampleEvery
+    ) {
+        this.cacheRegistry = cacheRegistry;
+        cacheRegistry.getCacheNames().forEach(name -> {
+            hotKeys.put(name, new HotKeySketch(hotKeyCapacity, hotKeySampleEvery));
+            bind(meterRegistry, name);
+        });
+    }
+
+    public void recordRead(String cacheName, Object key) {
+        HotKeySketch sketch = hotKeys.get(cacheName);
+        if (sketch != null) {
+            sketch.record(key);
+        }
+    }
+
+    /**
+     * @return the cache's most read keys, most read first, or null if there is no cache with that name
+     */
+    public List<HotKeySketch.HotKey> getHotKeys(String cacheName, int limit) {
+        HotKeySketch sketch = hotKeys.get(cacheName);
+        return sketch != null ? sketch.top(limit) : null;
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache.hot-keys.decay-interval-ms:600000}")
+    public void decayHotKeys() {
+        hotKeys.values().forEach(HotKeySketch::decay);
+    }
+
+    private void bind(MeterRegistry meterRegistry, String name) {
+        Tags tags = Tags.of("cache", name, "cache.manager", CACHE_MANAGER);
+
+        Gauge.builder("cache.size", cacheRegistry, registry -> nativeCache(name).estimatedSize())
+                .tags(tags)
+                .description("The approximate number of entries in this cache")
+                .register(meterRegistry);
+        Gauge.builder("cache.weighted.size", cacheRegistry, registry -> weightedSize(nativeCache(name)))
+                .tags(tags)
+                .description("The total weight of the entries in this cache")
+                .register(meterRegistry);
+
+        counter(meterRegistry, "cache.gets", tags.and("result", "hit"), name, CacheStats::hitCount,
+                "The number of times cache lookup methods have returned a cached value");
+        counter(meterRegistry, "cache.gets", tags.and("result", "miss"), name, CacheStats::missCount,
+                "The number of times cache lookup methods have not returned a cached value");
+        counter(meterRegistry, "cache.evictions", tags, name, CacheStats::evictionCount,
+                "The number of times the cache was evicted");
+        counter(meterRegistry, "cache.eviction.weight", tags, name, CacheStats::evictionWeight,
+                "The sum of weights of evicted entries");
+        counter(meterRegistry, "cache.load", tags.and("result", "success"), name, CacheStats::loadSuccessCount,
+                "The number of times cache lookup methods have successfully loaded a new value");
+        counter(meterRegistry, "cache.load", tags.and("result", "failure"), name, CacheStats::loadFailureCount,
+                "The number of times a cache value load failed");
+
+        TimeGauge.builder("cache.load.duration", cacheRegistry, TimeUnit.NANOSECONDS,
+                        registry -> nativeCache(name).stats().totalLoadTime())
+                .tags(tags)
+                .description("The time the cache has spent loading new values")
+                .register(meterRegistry);
+    }
+
+    private void counter(MeterRegistry meterRegistry, String meterName, Tags tags, String cacheName,
+                         ToDoubleFunction<CacheStats> statistic, String description) {
+        FunctionCounter.builder(meterName, cacheRegistry,
+                        registry -> statistic.applyAsDouble(nativeCache(cacheName).stats()))
+                .tags(tags)
+                .description(description)
+                .register(meterRegistry);
+    }
+
+    private Cache<Object, Object> nativeCache(String name) {
+        return cacheRegistry.getNativeCache(name);
+    }
+
+    private static double weightedSize(Cache<Object, Object> cache) {
+        OptionalLong weighted = cache.policy().eviction()
+                .map(Policy.Eviction::weightedSize)
+                .orElse(OptionalLong.empty());
+        return weighted.isPresent() ? weighted.getAsLong() : cache.estimatedSize();
+    }
+}
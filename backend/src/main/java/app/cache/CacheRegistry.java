@@ -0,0 +1,237 @@
+package app.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Builds each named cache from its own {@link CacheSpec} and lets the spec change while the application runs.
+ *
+ * A retune with the same kinds of bound and expiry is applied to the live cache through Caffeine's policy
+ * API. Any other change builds a new cache, copies the entries over and swaps it into the cache manager;
+ * copied entries start their expiry afresh. Evictions made through {@link #evict}, {@link #evictIf} and
+ * {@link #clear} wait while a rebuild copies and swaps, so an entry evicted during the copy cannot survive
+ * in the new cache. Each cache name keeps one stats counter across rebuilds, so hit
+ * and miss counts carry on. Caches with a {@code maximumWeight} weigh entries by their element count.
+ *
+ * A cache whose spec has {@code refreshAfterWrite} and which has a loader registered refreshes entries
+ * ahead of expiry: the first read past the refresh age returns the cached value and starts one reload
+ * on a virtual thread, and later reads keep getting the old value until it completes.
+ */
+@Slf4j
+public class CacheRegistry {
+
+    private final CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+    private final Map<String, CacheSpec> specs = new ConcurrentHashMap<>();
+    private final Map<String, StatsCounter> statsCounters = new ConcurrentHashMap<>();
+    private final Map<String, Cache<Object, Object>> nativeCaches = new ConcurrentHashMap<>();
+    private final Map<String, CacheLoader<Object, Object>> loaders = new ConcurrentHashMap<>();
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    private final Ticker ticker;
+    private final Executor refreshExecutor;
+
+    public CacheRegistry(Map<String, CacheSpec> specsByName) {
+        this(specsByName, Ticker.systemTicker(),
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("cache-refresh-", 0).factory()));
+    }
+
+    CacheRegistry(Map<String, CacheSpec> specsByName, Ticker ticker, Executor refreshExecutor) {
+        this.ticker = ticker;
+        this.refreshExecutor = refreshExecutor;
+        // Only the registered caches exist; unknown names are not created on demand
+        cacheManager.setCacheNames(List.of());
+        specsByName.forEach((name, spec) -> {
+            statsCounters.put(name, new ConcurrentStatsCounter());
+            install(name, spec, build(name, spec));
+        });
+    }
+
+    public CaffeineCacheManager getCacheManager() {
+        return cacheManager;
+    }
+
+    public Set<String> getCacheNames() {
+        return specs.keySet();
+    }
+
+    public Map<String, CacheSpec> getSpecs() {
+        return new TreeMap<>(specs);
+    }
+
+    public CacheSpec getSpec(String name) {
+        return specs.get(name);
+    }
+
+    public Cache<Object, Object> getNativeCache(String name) {
+        return nativeCaches.get(name);
+    }
+
+    /**
+     * Removes a key from the named cache's current instance.
+     *
+     * @return whether the key was present
+     */
+    public boolean evict(String name, Object key) {
+        return whileNotRebuilding(name, cache -> cache.asMap().remove(key) != null);
+    }
+
+    /**
+     * Removes every key of the named cache's current instance that matches the filter.
+     *
+     * @return whether any key was removed
+     */
+    public boolean evictIf(String name, Predicate<Object> keyFilter) {
+        return whileNotRebuilding(name, cache -> cache.asMap().keySet().removeIf(keyFilter));
+    }
+
+    /**
+     * Removes every entry of the named cache's current instance.
+     *
+     * @return whether the cache had entries
+     */
+    public boolean clear(String name) {
+        return whileNotRebuilding(name, cache -> {
+            boolean hadEntries = !cache.asMap().isEmpty();
+            cache.invalidateAll();
+            return hadEntries;
+        });
+    }
+
+    private boolean whileNotRebuilding(String name, Predicate<Cache<Object, Object>> eviction) {
+        Lock lock = rebuildLock.readLock();
+        lock.lock();
+        try {
+            Cache<Object, Object> cache = nativeCaches.get(name);
+            return cache != null && eviction.test(cache);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sets the loader used to refresh a cache's entries in the background. The cache is rebuilt with its
+     * entries, so this is meant to be called once at startup by the service that owns the cache.
+     *
+     * @throws IllegalArgumentException if there is no cache with that name
+     */
+    public synchronized void registerLoader(String name, CacheLoader<Object, Object> loader) {
+        CacheSpec spec = specs.get(name);
+        if (spec == null) {
+            throw new IllegalArgumentException("Unknown cache: " + name);
+        }
+        loaders.put(name, loader);
+        rebuild(name, spec);
+    }
+
+    /**
+     * Applies a new spec to a live cache.
+     *
+     * @return the cache after the change, which is a new instance if it had to be rebuilt
+     * @throws IllegalArgumentException if there is no cache with that name
+     */
+    public synchronized Cache<Object, Object> retune(String name, CacheSpec spec) {
+        CacheSpec current = specs.get(name);
+        Cache<Object, Object> cache = nativeCaches.get(name);
+        if (current == null || cache == null) {
+            throw new IllegalArgumentException("Unknown cache: " + name);
+        }
+
+        if (current.hasSamePolicies(spec)) {
+            Policy<Object, Object> policy = cache.policy();
+            Long maximum = spec.maximumSize() != null ? spec.maximumSize() : spec.maximumWeight();
+            if (maximum != null) {
+                policy.eviction().ifPresent(eviction -> eviction.setMaximum(maximum));
+            }
+            if (spec.expireAfterWrite() != null) {
+                policy.expireAfterWrite().ifPresent(expiry -> expiry.setExpiresAfter(spec.expireAfterWrite()));
+            }
+            if (spec.expireAfterAccess() != null) {
+                policy.expireAfterAccess().ifPresent(expiry -> expiry.setExpiresAfter(spec.expireAfterAccess()));
+            }
+            if (spec.refreshAfterWrite() != null) {
+                policy.refreshAfterWrite().ifPresent(refresh -> refresh.setRefreshesAfter(spec.refreshAfterWrite()));
+            }
+            specs.put(name, spec);
+            log.info("Retuned cache '{}' in place: {}", name, spec);
+            return cache;
+        }
+
+        return rebuild(name, spec);
+    }
+
+    private Cache<Object, Object> rebuild(String name, CacheSpec spec) {
+        Cache<Object, Object> cache = nativeCaches.get(name);
+        Cache<Object, Object> rebuilt = build(name, spec);
+        Lock lock = rebuildLock.writeLock();
+        lock.lock();
+        try {
+            rebuilt.putAll(cache.asMap());
+            install(name, spec, rebuilt);
+            cache.invalidateAll();
+        } finally {
+            lock.unlock();
+        }
+        log.info("Rebuilt cache '{}' with {} entries: {}", name, rebuilt.estimatedSize(), spec);
+        return rebuilt;
+    }
+
+    private Cache<Object, Object> build(String name, CacheSpec spec) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().ticker(ticker);
+        if (spec.maximumSize() != null) {
+            builder.maximumSize(spec.maximumSize());
+        }
+        if (spec.maximumWeight() != null) {
+            builder.maximumWeight(spec.maximumWeight()).weigher((key, value) -> weigh(value));
+        }
+        if (spec.expireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.expireAfterWrite());
+        }
+        if (spec.expireAfterAccess() != null) {
+            builder.expireAfterAccess(spec.expireAfterAccess());
+        }
+        StatsCounter statsCounter = statsCounters.get(name);
+        builder.recordStats(() -> statsCounter);
+
+        CacheLoader<Object, Object> loader = loaders.get(name);
+        if (spec.refreshAfterWrite() != null && loader != null) {
+            return builder.refreshAfterWrite(spec.refreshAfterWrite()).executor(refreshExecutor).build(loader);
+        }
+        return builder.build();
+    }
+
+    private void install(String name, CacheSpec spec, Cache<Object, Object> cache) {
+        nativeCaches.put(name, cache);
+        specs.put(name, spec);
+        cacheManager.registerCustomCache(name, cache);
+    }
+
+    private static int weigh(Object value) {
+        int weight = switch (value) {
+            case Collection<?> collection -> collection.size();
+            case Map<?, ?> map -> map.size();
+            case Slice<?> slice -> slice.getNumberOfElements();
+            case null, default -> 1;
+        };
+        return Math.max(1, weight);
+    }
+}
@@ -0,0 +1,154 @@
+package app.cache;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.StringJoiner;
+
+/**
+ * Size and expiry settings for one cache, written in Caffeine's spec syntax, e.g.
+ * {@code maximumSize=200,expireAfterWrite=15m}.
+ *
+ * Supported keys are {@code maximumSize}, {@code maximumWeight}, {@code expireAfterWrite},
+ * {@code expireAfterAccess} and {@code refreshAfterWrite}. Durations take a {@code d}, {@code h},
+ * {@code m} or {@code s} suffix. Unset values are null.
+ *
+ * {@code refreshAfterWrite} reloads an entry in the background the first time it is read after that
+ * age, serving the old value meanwhile; it only takes effect once the cache has a loader, see
+ * {@link CacheRegistry#registerLoader}.
+ */
+public record CacheSpec(
+        Long maximumSize,
+        Long maximumWeight,
+        Duration expireAfterWrite,
+        Duration expireAfterAccess,
+        Duration refreshAfterWrite
+) {
+
+    public CacheSpec {
+        if (maximumSize != null && maximumWeight != null) {
+            throw new IllegalArgumentException("maximumSize and maximumWeight cannot both be set");
+        }
+        requireNonNegative(maximumSize, "maximumSize");
+        requireNonNegative(maximumWeight, "maximumWeight");
+        requirePositive(expireAfterWrite, "expireAfterWrite");
+        requirePositive(expireAfterAccess, "expireAfterAccess");
+        requirePositive(refreshAfterWrite, "refreshAfterWrite");
+        if (refreshAfterWrite != null && expireAfterWrite != null && refreshAfterWrite.compareTo(expireAfterWrite) >= 0) {
+            throw new IllegalArgumentException("refreshAfterWrite must be shorter than expireAfterWrite");
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the spec has an unknown key or a malformed value
+     */
+    public static CacheSpec parse(String spec) {
+        Long maximumSize = null;
+        Long maximumWeight = null;
+        Duration expireAfterWrite = null;
+        Duration expireAfterAccess = null;
+        Duration refreshAfterWrite = null;
+
+        for (String option : spec.split(",")) {
+            String trimmed = option.trim();
+            if (trimmed.isEmpty() || trimmed.equals("recordStats")) {
+                continue;
+            }
+            String[] keyValue = trimmed.split("=", 2);
+            if (keyValue.length != 2) {
+                throw new IllegalArgumentException("Expected key=value in cache spec: " + trimmed);
+            }
+            String value = keyValue[1].trim();
+            switch (keyValue[0].trim()) {
+                case "maximumSize" -> maximumSize = parseLong(value);
+                case "maximumWeight" -> maximumWeight = parseLong(value);
+                case "expireAfterWrite" -> expireAfterWrite = parseDuration(value);
+                case "expireAfterAccess" -> expireAfterAccess = parseDuration(value);
+                case "refreshAfterWrite" -> refreshAfterWrite = parseDuration(value);
+                default -> throw new IllegalArgumentException("Unknown cache spec key: " + keyValue[0]);
+            }
+        }
+
+        return new CacheSpec(maximumSize, maximumWeight, expireAfterWrite, expireAfterAccess, refreshAfterWrite);
+    }
+
+    /**
+     * Whether a cache built from this spec can take the other spec's settings in place, which needs the
+     * same bound (size or weight) and the same expiry and refresh kinds.
+     */
+    public boolean hasSamePolicies(CacheSpec other) {
+        return (maximumSize == null) == (other.maximumSize == null)
+                && (maximumWeight == null) == (other.maximumWeight == null)
+                && (expireAfterWrite == null) == (other.expireAfterWrite == null)
+                && (expireAfterAccess == null) == (other.expireAfterAccess == null)
+                && (refreshAfterWrite == null) == (other.refreshAfterWrite == null);
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner spec = new StringJoiner(",");
+        if (maximumSize != null) {
+            spec.add("maximumSize=" + maximumSize);
+        }
+        if (maximumWeight != null) {
+            spec.add("maximumWeight=" + maximumWeight);
+        }
+        if (expireAfterWrite != null) {
+            spec.add("expireAfterWrite=" + formatDuration(expireAfterWrite));
+        }
+        if (expireAfterAccess != null) {
+            spec.add("expireAfterAccess=" + formatDuration(expireAfterAccess));
+        }
+        if (refreshAfterWrite != null) {
+            spec.add("refreshAfterWrite=" + formatDuration(refreshAfterWrite));
+        }
+        return spec.toString();
+    }
+
+    private static long parseLong(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number in cache spec: " + value);
+        }
+    }
+
+    private static Duration parseDuration(String value) {
+        if (value.length() < 2) {
+            throw new IllegalArgumentException("Invalid duration in cache spec: " + value);
+        }
+        long amount = parseLong(value.substring(0, value.length() - 1));
+        return switch (value.toLowerCase(Locale.ROOT).charAt(value.length() - 1)) {
+            case 'd' -> Duration.ofDays(amount);
+            case 'h' -> Duration.ofHours(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 's' -> Duration.ofSeconds(amount);
+            default -> throw new IllegalArgumentException("Invalid duration unit in cache spec: " + value);
+        };
+    }
+
+    private static String formatDuration(Duration duration) {
+        long seconds = duration.toSeconds();
+        if (seconds % 86_400 == 0) {
+            return seconds / 86_400 + "d";
+        }
+        if (seconds % 3_600 == 0) {
+            return seconds / 3_600 + "h";
+        }
+        if (seconds % 60 == 0) {
+            return seconds / 60 + "m";
+        }
+        return seconds + "s";
+    }
+
+    private static void requireNonNegative(Long value, String name) {
+        if (value != null && value < 0) {
+            throw new IllegalArgumentException(name + " must not be negative");
+        }
+    }
+
+    private static void requirePositive(Duration value, String name) {
+        if (value != null && (value.isNegative() || value.isZero())) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package app.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Approximate most-read keys of one cache, using the Space-Saving algorithm over a sample of reads.
+ *
+ * One read in {@code sampleEvery} is counted, so recording costs a random draw for most reads. At most
+ * {@code capacity} keys are tracked; a new key replaces the least counted one and inherits its count,
+ * which is reported as the possible overestimate. Any key read more than {@code 1/capacity} of the time
+ * is guaranteed to be tracked. {@link #decay()} halves every count so that old traffic fades.
+ */
+public class HotKeySketch {
+
+    private final int capacity;
+    private final int sampleEvery;
+    private final Map<String, Counter> counters = new HashMap<>();
+
+    public HotKeySketch(int capacity, int sampleEvery) {
+        this.capacity = Math.max(1, capacity);
+        this.sampleEvery = Math.max(1, sampleEvery);
+    }
+
+    public void record(Object key) {
+        if (sampleEvery > 1 && ThreadLocalRandom.current().nextInt(sampleEvery) != 0) {
+            return;
+        }
+        String name = String.valueOf(key);
+        synchronized (this) {
+            Counter counter = counters.get(name);
+            if (counter != null) {
+                counter.count++;
+                return;
+            }
+            if (counters.size() < capacity) {
+                counters.put(name, new Counter(1, 0));
+                return;
+            }
+            Map.Entry<String, Counter> least = counters.entrySet().stream()
+                    .min(Comparator.comparingLong(entry -> entry.getValue().count))
+                    .orElseThrow();
+            long floor = least.getValue().count;
+            counters.remove(least.getKey());
+            counters.put(name, new Counter(floor + 1, floor));
+        }
+    }
+
+    /**
+     * @return up to {@code limit} keys, most read first, with counts scaled back up by the sample rate
+     */
+    public synchronized List<HotKey> top(int limit) {
+        List<HotKey> hotKeys = new ArrayList<>(counters.size());
+        counters.forEach((key, counter) ->
+                hotKeys.add(new HotKey(key, counter.count * sampleEvery, counter.error * sampleEvery)));
+        hotKeys.sort(Comparator.comparingLong(HotKey::estimatedReads).reversed());
+        return List.copyOf(hotKeys.subList(0, Math.min(Math.max(0, limit), hotKeys.size())));
+    }
+
+    public synchronized void decay() {
+        Iterator<Counter> iterator = counters.values().iterator();
+        while (iterator.hasNext()) {
+            Counter counter = iterator.next();
+            counter.count /= 2;
+            counter.error /= 2;
+            if (counter.count == 0) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * @param estimatedReads reads of the key, possibly overcounted by up to {@code maxOverestimate}
+     */
+    public record HotKey(String key, long estimatedReads, long maxOverestimate) {
+    }
+
+    private static final class Counter {
+
+        private long count;
+        private long error;
+
+        private Counter(long count, long error) {
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
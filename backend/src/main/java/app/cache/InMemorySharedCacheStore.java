@@ -0,0 +1,53 @@
+package app.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.support.NullValue;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+
+/**
+ * In-process stand-in for a shared cache, for tests and single-node deployments.
+ *
+ * Values are held by reference rather than serialized, and every cache shares one size bound and
+ * time to live ({@code app.cache.l2.max-size}, {@code app.cache.l2.ttl-seconds}).
+ */
+public class InMemorySharedCacheStore implements SharedCacheStore {
+
+    private final Cache<Key, Object> entries;
+
+    public InMemorySharedCacheStore(long maxSize, Duration timeToLive) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(timeToLive)
+                .build();
+    }
+
+    @Override
+    public org.springframework.cache.Cache.ValueWrapper get(String cacheName, Object key) {
+        Object value = entries.getIfPresent(new Key(cacheName, key));
+        if (value == null) {
+            return null;
+        }
+        return new SimpleValueWrapper(value == NullValue.INSTANCE ? null : value);
+    }
+
+    @Override
+    public void put(String cacheName, Object key, Object value) {
+        entries.put(new Key(cacheName, key), value != null ? value : NullValue.INSTANCE);
+    }
+
+    @Override
+    public void evict(String cacheName, Object key) {
+        entries.invalidate(new Key(cacheName, key));
+    }
+
+    @Override
+    public void clear(String cacheName) {
+        entries.asMap().keySet().removeIf(key -> key.cacheName().equals(cacheName));
+    }
+
+    private record Key(String cacheName, Object key) {
+    }
+}
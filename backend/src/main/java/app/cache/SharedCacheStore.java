@@ -0,0 +1,48 @@
+package app.cache;
+
+import org.springframework.cache.Cache;
+
+/**
+ * The shared second tier behind each node's local caches. The only implementation,
+ * {@link InMemorySharedCacheStore}, lives in one JVM, so deployments with more than one replica run
+ * with {@link #NONE}.
+ *
+ * A local miss is looked up here before the value is loaded, so a cold replica fills its caches from
+ * values other replicas have already loaded instead of from the database. Implementations store null
+ * values as well, and {@link #get} distinguishes a cached null from a miss.
+ */
+public interface SharedCacheStore {
+
+    /**
+     * A store that holds nothing, for running with local caches only.
+     */
+    SharedCacheStore NONE = new SharedCacheStore() {
+        @Override
+        public Cache.ValueWrapper get(String cacheName, Object key) {
+            return null;
+        }
+
+        @Override
+        public void put(String cacheName, Object key, Object value) {
+        }
+
+        @Override
+        public void evict(String cacheName, Object key) {
+        }
+
+        @Override
+        public void clear(String cacheName) {
+        }
+    };
+
+    /**
+     * @return the cached value, or null on a miss
+     */
+    Cache.ValueWrapper get(String cacheName, Object key);
+
+    void put(String cacheName, Object key, Object value);
+
+    void evict(String cacheName, Object key);
+
+    void clear(String cacheName);
+}
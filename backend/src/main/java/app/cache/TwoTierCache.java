@@ -0,0 +1,161 @@
+package app.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.Callable;
+
+/**
+ * A node's local Caffeine cache in front of the {@link SharedCacheStore}.
+ *
+ * Reads try the local cache, then the shared store, then the loader; a value found in the shared store
+ * is copied into the local cache. Writes go to both tiers. Evictions and clears remove the entry from
+ * both tiers and are broadcast on the {@link CacheInvalidationBus} so other nodes drop their local copy.
+ * When the eviction runs inside a transaction it is repeated after commit, so a read on another node
+ * between the eviction and the commit cannot leave the old value in the shared store.
+ *
+ * Reads are reported to {@link CacheMetrics} for hot-key tracking.
+ *
+ * The local cache is looked up from the {@link CacheRegistry} on each call, so it follows a retune that
+ * rebuilds it.
+ */
+public class TwoTierCache implements Cache {
+
+    private final String name;
+    private final CacheRegistry cacheRegistry;
+    private final SharedCacheStore sharedStore;
+    private final CacheInvalidationBus invalidationBus;
+    private final CacheMetrics cacheMetrics;
+
+    public TwoTierCache(String name, CacheRegistry cacheRegistry, SharedCacheStore sharedStore,
+                        CacheInvalidationBus invalidationBus, CacheMetrics cacheMetrics) {
+        this.name = name;
+        this.cacheRegistry = cacheRegistry;
+        this.sharedStore = sharedStore;
+        this.invalidationBus = invalidationBus;
+        this.cacheMetrics = cacheMetrics;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local().getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        cacheMetrics.recordRead(name, key);
+        // Read the native cache directly: Spring's lookup calls LoadingCache.get on caches with a refresh
+        // loader, which would load on a miss instead of reporting it
+        Object cached = cacheRegistry.getNativeCache(name).getIfPresent(key);
+        if (cached != null) {
+            return new SimpleValueWrapper(cached == NullValue.INSTANCE ? null : cached);
+        }
+        ValueWrapper value = sharedStore.get(name, key);
+        if (value != null) {
+            local().put(key, value.get());
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        cacheMetrics.recordRead(name, key);
+        return local().get(key, () -> {
+            ValueWrapper shared = sharedStore.get(name, key);
+            if (shared != null) {
+                return (T) shared.get();
+            }
+            T value = valueLoader.call();
+            sharedStore.put(name, key, value);
+            return value;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        local().put(key, value);
+        sharedStore.put(name, key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = local().putIfAbsent(key, value);
+        if (existing == null) {
+            sharedStore.put(name, key, value);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictIfPresent(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = evictBothTiers(key);
+        invalidationBus.publish(name, key);
+        afterCommit(() -> evictBothTiers(key));
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        invalidate();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean hadEntries = clearBothTiers();
+        invalidationBus.publish(name, null);
+        afterCommit(this::clearBothTiers);
+        return hadEntries;
+    }
+
+    private boolean evictBothTiers(Object key) {
+        boolean present = cacheRegistry.evict(name, key);
+        sharedStore.evict(name, key);
+        return present;
+    }
+
+    private boolean clearBothTiers() {
+        boolean hadEntries = cacheRegistry.clear(name);
+        sharedStore.clear(name);
+        return hadEntries;
+    }
+
+    private Cache local() {
+        return cacheRegistry.getCacheManager().getCache(name);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+}
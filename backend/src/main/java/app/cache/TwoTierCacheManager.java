@@ -0,0 +1,34 @@
+package app.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serves each cache in the {@link CacheRegistry} as a {@link TwoTierCache}. Unknown names return null.
+ */
+public class TwoTierCacheManager implements CacheManager {
+
+    private final CacheRegistry cacheRegistry;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(CacheRegistry cacheRegistry, SharedCacheStore sharedStore,
+                               CacheInvalidationBus invalidationBus, CacheMetrics cacheMetrics) {
+        this.cacheRegistry = cacheRegistry;
+        cacheRegistry.getCacheNames().forEach(name ->
+                caches.put(name, new TwoTierCache(name, cacheRegistry, sharedStore, invalidationBus, cacheMetrics)));
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.get(name);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return cacheRegistry.getCacheNames();
+    }
+}
@@ -0,0 +1,14 @@
+package app.cart.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Projection of an abandoned cart's item with the product fields shown in a reminder.
+ */
+public interface AbandonedCartItemView {
+    UUID getCartId();
+    String getProductName();
+    BigDecimal getPrice();
+    Integer getQuantity();
+}
@@ -0,0 +1,15 @@
+package app.cart.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projection of an abandoned cart with the owner fields needed for a reminder.
+ */
+public interface AbandonedCartView {
+    UUID getCartId();
+    LocalDateTime getUpdatedAt();
+    UUID getUserId();
+    String getUserEmail();
+    String getUserFirstName();
+}
@@ -39,6 +39,13 @@ public class Cart {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    /**
+     * When the last abandoned-cart reminder was sent. A cart is reminded again only
+     * after it has been updated since then.
+     */
+    @Column(name = "reminded_at")
+    private LocalDateTime remindedAt;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
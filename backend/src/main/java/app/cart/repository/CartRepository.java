@@ -1,13 +1,18 @@
 package app.cart.repository;
 
+import app.cart.dto.AbandonedCartItemView;
+import app.cart.dto.AbandonedCartView;
 import app.cart.model.Cart;
 import app.user.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -21,12 +26,32 @@ public interface CartRepository extends JpaRepository<Cart, UUID> {
     Optional<Cart> findByUserWithItems(User user);
 
     /**
-     * Find abandoned carts - carts with items that haven't been updated since the given time.
+     * Keyset-paged read of abandoned carts - carts with items that haven't been updated since the given time
+     * and haven't been reminded since their last update - ordered by (updatedAt, id).
      */
-    @Query("SELECT c FROM Cart c " +
-           "JOIN FETCH c.user u " +
-           "JOIN FETCH c.items ci " +
+    @Query("SELECT c.id AS cartId, c.updatedAt AS updatedAt, " +
+           "u.id AS userId, u.email AS userEmail, u.firstName AS userFirstName " +
+           "FROM Cart c JOIN c.user u " +
            "WHERE c.updatedAt < :abandonedSince " +
-           "AND SIZE(c.items) > 0")
-    List<Cart> findAbandonedCarts(@Param("abandonedSince") LocalDateTime abandonedSince);
+           "AND (c.remindedAt IS NULL OR c.remindedAt < c.updatedAt) " +
+           "AND (c.updatedAt > :afterUpdatedAt OR (c.updatedAt = :afterUpdatedAt AND c.id > :afterId)) " +
+           "AND EXISTS (SELECT ci.id FROM CartItem ci WHERE ci.cart = c) " +
+           "ORDER BY c.updatedAt ASC, c.id ASC")
+    List<AbandonedCartView> findAbandonedCarts(
+            @Param("abandonedSince") LocalDateTime abandonedSince,
+            @Param("afterUpdatedAt") LocalDateTime afterUpdatedAt,
+            @Param("afterId") UUID afterId,
+            Limit limit
+    );
+
+    @Query("SELECT ci.cart.id AS cartId, p.name AS productName, p.price AS price, ci.quantity AS quantity " +
+           "FROM CartItem ci JOIN ci.product p WHERE ci.cart.id IN :cartIds")
+    List<AbandonedCartItemView> findAbandonedCartItems(@Param("cartIds") Collection<UUID> cartIds);
+
+    @Modifying
+    @Query("UPDATE Cart c SET c.remindedAt = :remindedAt WHERE c.id IN :cartIds")
+    int markReminded(@Param("cartIds") Collection<UUID> cartIds, @Param("remindedAt") LocalDateTime remindedAt);
+
+    @Query("SELECT COUNT(ci) FROM CartItem ci WHERE ci.cart.user.id = :userId")
+    long countItemsByUserId(@Param("userId") UUID userId);
 }
@@ -0,0 +1,200 @@
+package app.cart.service;
+
+import app.cart.dto.AbandonedCartItemView;
+import app.cart.dto.AbandonedCartView;
+import app.notification.event.AbandonedCartEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Publishes abandoned-cart reminders in chunks.
+ *
+ * A single reader pages through abandoned carts by an (updatedAt, id) keyset and hands each chunk to a
+ * virtual thread, which loads the chunk's items in one query, publishes one {@link AbandonedCartEvent}
+ * per cart and marks the carts as reminded. At most {@code scheduling.abandoned-cart.parallelism} chunks
+ * are in flight; the reader waits for a free slot, so memory stays bounded by parallelism x chunk size.
+ */
+@Service
+@Slf4j
+public class AbandonedCartReminderService {
+
+    private static final LocalDateTime CURSOR_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final UUID CURSOR_START_ID = new UUID(0L, 0L);
+
+    private final CartService cartService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final int parallelism;
+
+    private final Counter remindedCounter;
+    private final Counter failedCounter;
+    private final Timer durationTimer;
+
+    public AbandonedCartReminderService(CartService cartService,
+                                        ApplicationEventPublisher eventPublisher,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${scheduling.abandoned-cart.chunk-size:200}") int chunkSize,
+                                        @Value("${scheduling.abandoned-cart.parallelism:4}") int parallelism) {
+        this.cartService = cartService;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.parallelism = Math.max(1, parallelism);
+
+        this.remindedCounter = Counter.builder("supplemart_abandoned_cart_reminders_total")
+                .description("Number of abandoned carts handled by the reminder job")
+                .tag("outcome", "reminded")
+                .register(meterRegistry);
+
+        this.failedCounter = Counter.builder("supplemart_abandoned_cart_reminders_total")
+                .description("Number of abandoned carts handled by the reminder job")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+
+        this.durationTimer = Timer.builder("supplemart_abandoned_cart_job_duration")
+                .description("Time taken by one run of the abandoned cart reminder job")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reminds the owners of all carts not updated since the cutoff date that haven't been reminded yet.
+     *
+     * @return the outcome totals of this run
+     */
+    public Result remindAbandonedCarts(LocalDateTime cutoffDate) {
+        Timer.Sample sample = Timer.start();
+        int scanned = 0;
+        AtomicInteger reminded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        Semaphore slots = new Semaphore(parallelism);
+
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("abandoned-cart-", 0).factory())) {
+            LocalDateTime afterUpdatedAt = CURSOR_START;
+            UUID afterId = CURSOR_START_ID;
+            List<AbandonedCartView> chunk;
+
+            do {
+                chunk = cartService.findAbandonedCarts(cutoffDate, afterUpdatedAt, afterId, chunkSize);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+
+                AbandonedCartView last = chunk.getLast();
+                afterUpdatedAt = last.getUpdatedAt();
+                afterId = last.getCartId();
+                scanned += chunk.size();
+
+                slots.acquire();
+                List<AbandonedCartView> carts = chunk;
+                executor.submit(() -> {
+                    try {
+                        processChunk(carts, reminded, failed);
+                    } finally {
+                        slots.release();
+                    }
+                });
+            } while (chunk.size() == chunkSize);
+            // Closing the executor waits for the remaining chunks
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Abandoned cart processing interrupted");
+        } finally {
+            sample.stop(durationTimer);
+        }
+
+        return new Result(scanned, reminded.get(), failed.get());
+    }
+
+    private void processChunk(List<AbandonedCartView> carts, AtomicInteger reminded, AtomicInteger failed) {
+        List<UUID> cartIds = carts.stream().map(AbandonedCartView::getCartId).toList();
+
+        Map<UUID, List<AbandonedCartItemView>> itemsByCart;
+        try {
+            itemsByCart = cartService.findAbandonedCartItems(cartIds).stream()
+                    .collect(Collectors.groupingBy(AbandonedCartItemView::getCartId));
+        } catch (Exception e) {
+            log.error("Failed to load items for {} abandoned carts", carts.size(), e);
+            failed.addAndGet(carts.size());
+            failedCounter.increment(carts.size());
+            return;
+        }
+
+        List<UUID> remindedIds = new ArrayList<>(carts.size());
+        for (AbandonedCartView cart : carts) {
+            try {
+                List<AbandonedCartItemView> items = itemsByCart.getOrDefault(cart.getCartId(), List.of());
+                if (items.isEmpty()) {
+                    // Emptied since it was read
+                    continue;
+                }
+
+                eventPublisher.publishEvent(toEvent(cart, items));
+                remindedIds.add(cart.getCartId());
+                log.debug("Published AbandonedCartEvent for cart ID: {}", cart.getCartId());
+            } catch (Exception e) {
+                failed.incrementAndGet();
+                failedCounter.increment();
+                log.error("Failed to publish AbandonedCartEvent for cart ID: {}", cart.getCartId(), e);
+            }
+        }
+
+        try {
+            cartService.markCartsReminded(remindedIds, LocalDateTime.now());
+        } catch (Exception e) {
+            // Reminders went out; these carts may be reminded again on the next run
+            log.error("Failed to mark {} carts as reminded", remindedIds.size(), e);
+        }
+
+        reminded.addAndGet(remindedIds.size());
+        remindedCounter.increment(remindedIds.size());
+    }
+
+    private AbandonedCartEvent toEvent(AbandonedCartView cart, List<AbandonedCartItemView> items) {
+        List<AbandonedCartEvent.CartItemData> itemData = items.stream()
+                .map(item -> new AbandonedCartEvent.CartItemData(
+                        item.getProductName(),
+                        item.getQuantity(),
+                        item.getPrice()))
+                .toList();
+
+        BigDecimal cartTotal = items.stream()
+                .map(item -> item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        return new AbandonedCartEvent(
+                this,
+                cart.getUserId(),
+                cart.getUserEmail(),
+                cart.getUserFirstName(),
+                itemData,
+                cartTotal
+        );
+    }
+
+    /**
+     * Outcome of one abandoned cart reminder run.
+     *
+     * @param scanned  abandoned carts read
+     * @param reminded carts a reminder was published for
+     * @param failed   carts whose reminder could not be published
+     */
+    public record Result(int scanned, int reminded, int failed) {
+    }
+}
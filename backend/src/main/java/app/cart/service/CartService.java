@@ -1,5 +1,7 @@
 package app.cart.service;
 
+import app.cart.dto.AbandonedCartItemView;
+import app.cart.dto.AbandonedCartView;
 import app.cart.dto.AddCartItemRequest;
 import app.cart.dto.CartResponse;
 import app.cart.mapper.CartMapper;
@@ -13,11 +15,13 @@ import app.product.service.ProductService;
 import app.user.model.User;
 import app.user.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -77,6 +81,8 @@ public class CartService {
             cart.getItems().add(newItem);
         }
 
+        cart.setUpdatedAt(LocalDateTime.now());
+
         Cart savedCart = cartRepository.save(cart);
         return cartMapper.toCartResponse(savedCart);
     }
@@ -89,6 +95,7 @@ public class CartService {
                 .orElse(createEmptyCart(user));
 
         cart.getItems().clear();
+        cart.setUpdatedAt(LocalDateTime.now());
 
         Cart savedCart = cartRepository.save(cart);
         return cartMapper.toCartResponse(savedCart);
@@ -108,16 +115,47 @@ public class CartService {
                 .orElseThrow(() -> new ResourceNotFoundException("Cart not found for user with ID " + userId));
 
         cart.getItems().clear();
+        cart.setUpdatedAt(LocalDateTime.now());
         cartRepository.save(cart);
     }
 
     /**
-     * Find abandoned carts - carts with items that haven't been updated since the cutoff date.
+     * Checks whether the user's cart contains any items without loading the cart.
+     * Used to validate asynchronous checkout requests before they are queued.
+     */
+    @Transactional(readOnly = true)
+    public boolean hasItems(UUID userId) {
+        return cartRepository.countItemsByUserId(userId) > 0;
+    }
+
+    /**
+     * Keyset-paged read of abandoned carts - carts with items that haven't been updated since the cutoff date
+     * and haven't been reminded since their last update - starting after the given (updatedAt, id) cursor.
      * Used by scheduled tasks for sending reminder notifications.
      */
     @Transactional(readOnly = true)
-    public List<Cart> findAbandonedCarts(LocalDateTime cutoffDate) {
-        return cartRepository.findAbandonedCarts(cutoffDate);
+    public List<AbandonedCartView> findAbandonedCarts(LocalDateTime cutoffDate, LocalDateTime afterUpdatedAt,
+                                                      UUID afterId, int limit) {
+        return cartRepository.findAbandonedCarts(cutoffDate, afterUpdatedAt, afterId, Limit.of(limit));
+    }
+
+    /**
+     * Load product name, price and quantity of every item in the given carts.
+     */
+    @Transactional(readOnly = true)
+    public List<AbandonedCartItemView> findAbandonedCartItems(Collection<UUID> cartIds) {
+        return cartRepository.findAbandonedCartItems(cartIds);
+    }
+
+    /**
+     * Record that reminders were sent for the given carts, so they are skipped until updated again.
+     */
+    @Transactional
+    public int markCartsReminded(Collection<UUID> cartIds, LocalDateTime remindedAt) {
+        if (cartIds.isEmpty()) {
+            return 0;
+        }
+        return cartRepository.markReminded(cartIds, remindedAt);
     }
 
     /**
@@ -9,6 +9,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Service
@@ -27,6 +28,7 @@ public class CartItemService {
         }
 
         cartItem.setQuantity(request.getQuantity());
+        touchCart(cartItem);
         return cartItemRepository.save(cartItem);
     }
 
@@ -35,6 +37,14 @@ public class CartItemService {
         CartItem cartItem = cartItemRepository.findByIdAndUserId(cartItemId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Cart item with ID " + cartItemId + " not found"));
 
+        touchCart(cartItem);
         cartItemRepository.delete(cartItem);
     }
+
+    /**
+     * Item changes alone don't mark the cart dirty; touch it so abandoned-cart tracking sees the activity.
+     */
+    private void touchCart(CartItem cartItem) {
+        cartItem.getCart().setUpdatedAt(LocalDateTime.now());
+    }
 }
@@ -1,14 +1,31 @@
 package app.config;
 
-import com.github.benmanes.caffeine.cache.Caffeine;
+import app.cache.CacheInvalidationBus;
+import app.cache.CacheMetrics;
+import app.cache.CacheRegistry;
+import app.cache.CacheSpec;
+import app.cache.InMemorySharedCacheStore;
+import app.cache.SharedCacheStore;
+import app.cache.TwoTierCacheManager;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
+/**
+ * Application caches. Each cache takes its spec from {@code app.cache.specs.<name>}, falling back to
+ * {@code app.cache.default-spec}; see {@link CacheSpec}. The specs are defined only in application.properties.
+ *
+ * Every cache is two-tier: the local Caffeine cache in front of the shared store chosen by
+ * {@code app.cache.l2.type} ({@code none} or {@code in-memory}), with evictions broadcast to the other
+ * replicas by the {@link CacheInvalidationBus}.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfig {
@@ -18,53 +35,43 @@ public class CacheConfig {
     public static final String CATEGORIES_CACHE = "categories";
     public static final String DASHBOARD_STATS_CACHE = "dashboardStats";
     public static final String USERS_CACHE = "users";
+    public static final String NOTIFICATION_PREFERENCES_CACHE = "notificationPreferences";
 
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+    public CacheRegistry cacheRegistry(Environment environment) {
+        String defaultSpec = environment.getRequiredProperty("app.cache.default-spec");
 
-        cacheManager.setCacheNames(java.util.List.of(
+        Map<String, CacheSpec> specs = new LinkedHashMap<>();
+        for (String name : List.of(
                 PRODUCTS_CACHE,
                 PRODUCT_LISTS_CACHE,
                 CATEGORIES_CACHE,
                 DASHBOARD_STATS_CACHE,
-                USERS_CACHE
-        ));
+                USERS_CACHE,
+                NOTIFICATION_PREFERENCES_CACHE
+        )) {
+            String spec = environment.getProperty("app.cache.specs." + name, defaultSpec);
+            specs.put(name, CacheSpec.parse(spec));
+        }
 
-        cacheManager.setCaffeine(defaultCacheBuilder());
-        
-        return cacheManager;
-    }
-
-    private Caffeine<Object, Object> defaultCacheBuilder() {
-        return Caffeine.newBuilder()
-                .maximumSize(500)
-                .expireAfterAccess(10, TimeUnit.MINUTES)
-                .expireAfterWrite(30, TimeUnit.MINUTES)
-                .recordStats();
-    }
-
-    @Bean
-    public Caffeine<Object, Object> productsCacheBuilder() {
-        return Caffeine.newBuilder()
-                .maximumSize(200)
-                .expireAfterWrite(15, TimeUnit.MINUTES)
-                .recordStats();
+        return new CacheRegistry(specs);
     }
 
     @Bean
-    public Caffeine<Object, Object> categoriesCacheBuilder() {
-        return Caffeine.newBuilder()
-                .maximumSize(50)
-                .expireAfterWrite(24, TimeUnit.HOURS)
-                .recordStats();
+    public SharedCacheStore sharedCacheStore(Environment environment) {
+        String type = environment.getProperty("app.cache.l2.type", "none");
+        return switch (type) {
+            case "none" -> SharedCacheStore.NONE;
+            case "in-memory" -> new InMemorySharedCacheStore(
+                    environment.getProperty("app.cache.l2.max-size", Long.class, 10_000L),
+                    Duration.ofSeconds(environment.getProperty("app.cache.l2.ttl-seconds", Long.class, 900L)));
+            default -> throw new IllegalStateException("Unknown app.cache.l2.type: " + type);
+        };
     }
 
     @Bean
-    public Caffeine<Object, Object> dashboardStatsCacheBuilder() {
-        return Caffeine.newBuilder()
-                .maximumSize(10)
-                .expireAfterWrite(5, TimeUnit.MINUTES)
-                .recordStats();
+    public CacheManager cacheManager(CacheRegistry cacheRegistry, SharedCacheStore sharedCacheStore,
+                                     CacheInvalidationBus cacheInvalidationBus, CacheMetrics cacheMetrics) {
+        return new TwoTierCacheManager(cacheRegistry, sharedCacheStore, cacheInvalidationBus, cacheMetrics);
     }
 }
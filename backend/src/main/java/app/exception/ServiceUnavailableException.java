@@ -0,0 +1,14 @@
+package app.exception;
+
+/**
+ * Exception thrown when the application is temporarily unable to accept work,
+ * e.g. when an internal processing queue is full.
+ *
+ * Results in HTTP 503 Service Unavailable status code.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package app.exception;
+
+import lombok.Getter;
+
+/**
+ * Exception thrown when a client must slow down, e.g. after repeated failed logins
+ * or when password hashing capacity is exhausted.
+ *
+ * Results in HTTP 429 Too Many Requests status code with a Retry-After header.
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = Math.max(1, retryAfterSeconds);
+    }
+}
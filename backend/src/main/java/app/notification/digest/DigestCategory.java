@@ -0,0 +1,30 @@
+package app.notification.digest;
+
+import app.notification.dto.NotificationPreferencesResponse;
+
+import java.util.function.Function;
+
+/**
+ * Notification types that may be coalesced into a digest, each tied to the preference that enables it.
+ */
+public enum DigestCategory {
+
+    PRICE_DROP("Price Drops", NotificationPreferencesResponse::getPriceDropAlerts),
+    BACK_IN_STOCK("Back in Stock", NotificationPreferencesResponse::getBackInStockAlerts);
+
+    private final String title;
+    private final Function<NotificationPreferencesResponse, Boolean> preference;
+
+    DigestCategory(String title, Function<NotificationPreferencesResponse, Boolean> preference) {
+        this.title = title;
+        this.preference = preference;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public boolean isEnabled(NotificationPreferencesResponse preferences) {
+        return Boolean.TRUE.equals(preference.apply(preferences));
+    }
+}
@@ -0,0 +1,64 @@
+package app.notification.digest;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A non-urgent notification waiting to be sent in the user's next digest.
+ * One row per (user, category, item); repeats update the headline and count instead of adding rows.
+ */
+@Entity
+@Table(name = "notification_digest_items")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationDigestItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(nullable = false)
+    private String email;
+
+    @Column(name = "first_name")
+    private String firstName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private DigestCategory category;
+
+    @Column(name = "item_key", nullable = false)
+    private String itemKey;
+
+    @Column(nullable = false, length = 500)
+    private String headline;
+
+    @Column(length = 500)
+    private String detail;
+
+    @Column(nullable = false)
+    private int occurrences;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Set while the item's digest is queued for sending; the item is deleted once the send completes.
+     */
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+}
@@ -0,0 +1,79 @@
+package app.notification.digest;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface NotificationDigestItemRepository extends JpaRepository<NotificationDigestItem, Long> {
+
+    /**
+     * Insert an item, or fold it into the waiting item with the same (user, category, item) in the same
+     * statement, keeping the latest headline and detail and counting the occurrence. Folding into an item
+     * whose digest is being sent releases its lease and restarts its window, so the send does not delete
+     * the new occurrence and it waits for the next digest.
+     *
+     * @return 1 if a row was inserted, 2 if an existing row was updated
+     */
+    @Modifying
+    @Query(value = "INSERT INTO notification_digest_items " +
+                   "(user_id, email, first_name, category, item_key, headline, detail, occurrences, created_at, updated_at) " +
+                   "VALUES (:userId, :email, :firstName, :category, :itemKey, :headline, :detail, 1, :now, :now) AS staged " +
+                   "ON DUPLICATE KEY UPDATE email = staged.email, first_name = staged.first_name, " +
+                   "headline = staged.headline, detail = staged.detail, " +
+                   "occurrences = notification_digest_items.occurrences + 1, updated_at = staged.updated_at, " +
+                   "created_at = IF(notification_digest_items.lease_until IS NULL, " +
+                   "notification_digest_items.created_at, staged.created_at), " +
+                   "lease_until = NULL",
+           nativeQuery = true)
+    int upsert(@Param("userId") UUID userId, @Param("email") String email, @Param("firstName") String firstName,
+               @Param("category") String category, @Param("itemKey") String itemKey,
+               @Param("headline") String headline, @Param("detail") String detail,
+               @Param("now") LocalDateTime now);
+
+    /**
+     * Users whose oldest buffered item not leased to a pending send was created at or before the cutoff.
+     */
+    @Query("SELECT DISTINCT i.userId FROM NotificationDigestItem i WHERE i.createdAt <= :cutoff " +
+           "AND (i.leaseUntil IS NULL OR i.leaseUntil < :now)")
+    List<UUID> findUserIdsDueBefore(@Param("cutoff") LocalDateTime cutoff, @Param("now") LocalDateTime now,
+                                    Limit limit);
+
+    /**
+     * Lock all buffered items of the given users that are not leased to a pending send,
+     * skipping rows another flush holds.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT i FROM NotificationDigestItem i WHERE i.userId IN :userIds " +
+           "AND (i.leaseUntil IS NULL OR i.leaseUntil < :now) ORDER BY i.category, i.updatedAt DESC")
+    List<NotificationDigestItem> findAllForClaim(@Param("userIds") Collection<UUID> userIds,
+                                                 @Param("now") LocalDateTime now);
+
+    /**
+     * Push back the lease of items whose digest is still being sent.
+     */
+    @Modifying
+    @Query("UPDATE NotificationDigestItem i SET i.leaseUntil = :until " +
+           "WHERE i.id IN :ids AND i.leaseUntil IS NOT NULL")
+    int extendLease(@Param("ids") Collection<Long> ids, @Param("until") LocalDateTime until);
+
+    /**
+     * Delete an item once its digest has been sent, unless it was staged again in the meantime.
+     */
+    @Modifying
+    @Query("DELETE FROM NotificationDigestItem i WHERE i.id = :id AND i.updatedAt = :updatedAt")
+    int deleteSent(@Param("id") Long id, @Param("updatedAt") LocalDateTime updatedAt);
+}
@@ -0,0 +1,273 @@
+package app.notification.digest;
+
+import app.notification.dto.NotificationPreferencesResponse;
+import app.notification.service.EmailService;
+import app.notification.service.EmailTemplateService.DigestItemDto;
+import app.notification.service.EmailTemplateService.DigestSectionDto;
+import app.notification.service.MailPriority;
+import app.notification.service.NotificationPreferencesService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces non-urgent notifications into one email per user per window.
+ *
+ * When {@code notification.digest.enabled} is set, price drop and restock handlers {@link #stage} an item
+ * instead of sending an email. Items are compacted per (user, category, item), so repeated alerts for one
+ * product keep only the latest headline. Every {@code notification.digest.flush-interval-ms}, users whose
+ * oldest item is older than {@code notification.digest.window-minutes} are claimed with
+ * SELECT ... FOR UPDATE SKIP LOCKED and sent one digest with all their items, grouped by category.
+ * The claim leases the items for {@code notification.digest.lease-seconds} rather than deleting them;
+ * the digest is queued after it commits and the items are deleted only once the send completes. Leases
+ * of digests still queued are renewed every {@code notification.digest.lease-renewal-interval-ms}, and
+ * items left leased by a crash are claimed again once their lease expires.
+ * Categories the user has switched off since staging are dropped. Transactional mail never goes through here.
+ */
+@Service
+@Slf4j
+public class NotificationDigestService {
+
+    private final NotificationDigestItemRepository notificationDigestItemRepository;
+    private final NotificationPreferencesService notificationPreferencesService;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long windowMinutes;
+    private final int batchSize;
+    private final Duration lease;
+
+    private final Counter compactedCounter;
+    private final Counter digestsCounter;
+    private final DistributionSummary itemsPerDigest;
+    private final MeterRegistry meterRegistry;
+
+    // Ids of leased items whose digest has not completed yet
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    public NotificationDigestService(NotificationDigestItemRepository notificationDigestItemRepository,
+                                     NotificationPreferencesService notificationPreferencesService,
+                                     EmailService emailService,
+                                     PlatformTransactionManager transactionManager,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${notification.digest.enabled:true}") boolean enabled,
+                                     @Value("${notification.digest.window-minutes:60}") long windowMinutes,
+                                     @Value("${notification.digest.batch-size:100}") int batchSize,
+                                     @Value("${notification.digest.lease-seconds:300}") long leaseSeconds) {
+        this.notificationDigestItemRepository = notificationDigestItemRepository;
+        this.notificationPreferencesService = notificationPreferencesService;
+        this.emailService = emailService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.windowMinutes = windowMinutes;
+        this.batchSize = Math.max(1, batchSize);
+        this.lease = Duration.ofSeconds(Math.max(1, leaseSeconds));
+
+        this.compactedCounter = Counter.builder("supplemart_digest_items_compacted_total")
+                .description("Number of notifications merged into an item already waiting in a digest")
+                .register(meterRegistry);
+
+        this.digestsCounter = Counter.builder("supplemart_digest_emails_total")
+                .description("Number of digest emails sent")
+                .register(meterRegistry);
+
+        this.itemsPerDigest = DistributionSummary.builder("supplemart_digest_items_per_email")
+                .description("Items included in one digest email")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Buffers a notification for the user's next digest, replacing the headline and detail of an
+     * item already waiting for the same key. Runs in its own transaction with a single upsert, so
+     * concurrent stages of one key cannot race to insert it and a failure does not roll back the caller.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void stage(UUID userId, String email, String firstName, DigestCategory category,
+                      String itemKey, String headline, String detail) {
+        int affected = notificationDigestItemRepository.upsert(userId, email, firstName, category.name(),
+                itemKey, headline, detail, LocalDateTime.now());
+        if (affected > 1) {
+            compactedCounter.increment();
+        }
+
+        meterRegistry.counter("supplemart_digest_items_staged_total", "category", category.name().toLowerCase())
+                .increment();
+    }
+
+    @Scheduled(fixedDelayString = "${notification.digest.flush-interval-ms:60000}")
+    public void flush() {
+        int claimed;
+        do {
+            claimed = flushBatch();
+        } while (claimed == batchSize);
+    }
+
+    /**
+     * Claims up to {@code notification.digest.batch-size} due users, leases their items and queues
+     * one digest per user. Users whose items another flush holds are skipped.
+     *
+     * @return the number of users whose items were claimed
+     */
+    public int flushBatch() {
+        Claim claim;
+        try {
+            claim = transactionTemplate.execute(status -> claim());
+        } catch (Exception e) {
+            // The claim rolls back and the items are picked up by the next flush
+            log.error("Failed to flush notification digests", e);
+            return 0;
+        }
+        if (claim == null) {
+            return 0;
+        }
+
+        claim.digests().forEach(this::send);
+        return claim.users();
+    }
+
+    /**
+     * Pushes back the leases of items whose digest is still queued, so a slow mail queue does not let
+     * the next flush claim and send them a second time.
+     */
+    @Scheduled(fixedDelayString = "${notification.digest.lease-renewal-interval-ms:60000}")
+    public void renewLeases() {
+        if (inFlight.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(inFlight);
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    notificationDigestItemRepository.extendLease(ids, LocalDateTime.now().plus(lease)));
+        } catch (Exception e) {
+            log.warn("Failed to renew the leases of {} digest items", ids.size(), e);
+        }
+    }
+
+    private Claim claim() {
+        LocalDateTime now = LocalDateTime.now();
+        List<UUID> userIds = notificationDigestItemRepository.findUserIdsDueBefore(
+                now.minusMinutes(windowMinutes), now, Limit.of(batchSize));
+        if (userIds.isEmpty()) {
+            return new Claim(0, List.of());
+        }
+
+        List<NotificationDigestItem> items = notificationDigestItemRepository.findAllForClaim(userIds, now);
+        Map<UUID, List<NotificationDigestItem>> byUser = new LinkedHashMap<>();
+        for (NotificationDigestItem item : items) {
+            byUser.computeIfAbsent(item.getUserId(), id -> new ArrayList<>()).add(item);
+        }
+
+        Map<UUID, NotificationPreferencesResponse> preferences =
+                notificationPreferencesService.getPreferences(byUser.keySet());
+        List<Digest> digests = new ArrayList<>();
+        List<NotificationDigestItem> dropped = new ArrayList<>();
+        byUser.forEach((userId, userItems) -> {
+            Digest digest = compose(userItems, preferences.get(userId));
+            if (digest == null) {
+                dropped.addAll(userItems);
+                return;
+            }
+            userItems.forEach(item -> item.setLeaseUntil(now.plus(lease)));
+            digests.add(digest);
+        });
+
+        if (!dropped.isEmpty()) {
+            notificationDigestItemRepository.deleteAllInBatch(dropped);
+        }
+        return new Claim(byUser.size(), digests);
+    }
+
+    private Digest compose(List<NotificationDigestItem> items, NotificationPreferencesResponse preferences) {
+        Map<DigestCategory, List<DigestItemDto>> byCategory = new EnumMap<>(DigestCategory.class);
+        for (NotificationDigestItem item : items) {
+            if (item.getCategory().isEnabled(preferences)) {
+                byCategory.computeIfAbsent(item.getCategory(), category -> new ArrayList<>())
+                        .add(new DigestItemDto(item.getHeadline(), item.getDetail()));
+            }
+        }
+        if (byCategory.isEmpty()) {
+            return null;
+        }
+
+        List<DigestSectionDto> sections = byCategory.entrySet().stream()
+                .map(entry -> new DigestSectionDto(entry.getKey().getTitle(), entry.getValue()))
+                .toList();
+
+        // Every item carries the latest address and name seen when it was staged
+        NotificationDigestItem latest = items.stream()
+                .max(Comparator.comparing(NotificationDigestItem::getUpdatedAt))
+                .orElseThrow();
+        return new Digest(latest.getEmail(), latest.getFirstName(), sections, items);
+    }
+
+    private void send(Digest digest) {
+        int itemCount = digest.sections().stream().mapToInt(section -> section.items().size()).sum();
+        digest.items().forEach(item -> inFlight.add(item.getId()));
+
+        CompletableFuture<Void> sent;
+        try {
+            sent = emailService.sendEmail(
+                    digest.email(),
+                    String.format("Your SuppleMart updates (%d)", itemCount),
+                    emailService.buildDigestEmail(digest.firstName(), digest.sections()),
+                    MailPriority.MARKETING
+            );
+        } catch (Exception e) {
+            sent = CompletableFuture.failedFuture(e);
+        }
+        sent.whenComplete((ignored, failure) -> complete(digest, itemCount, failure));
+    }
+
+    private void complete(Digest digest, int itemCount, Throwable failure) {
+        if (failure != null) {
+            // The leases expire and the digest is sent again
+            log.error("Failed to send digest to: {}", digest.email(), failure);
+        } else {
+            digestsCounter.increment();
+            itemsPerDigest.record(itemCount);
+            log.info("Sent digest with {} items to: {}", itemCount, digest.email());
+            try {
+                transactionTemplate.executeWithoutResult(status -> digest.items().forEach(item ->
+                        notificationDigestItemRepository.deleteSent(item.getId(), item.getUpdatedAt())));
+            } catch (Exception e) {
+                // The leases expire and the digest is sent again
+                log.error("Failed to remove {} sent digest items of: {}", digest.items().size(), digest.email(), e);
+            }
+        }
+        digest.items().forEach(item -> inFlight.remove(item.getId()));
+    }
+
+    private record Claim(int users, List<Digest> digests) {
+    }
+
+    private record Digest(String email, String firstName, List<DigestSectionDto> sections,
+                          List<NotificationDigestItem> items) {
+    }
+}
@@ -1,5 +1,8 @@
 package app.notification.event;
 
+import com.fasterxml.jackson.annotation.JacksonInject;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import org.springframework.context.ApplicationEvent;
 
@@ -11,15 +14,20 @@ import java.util.UUID;
  * Event published when a cart is considered abandoned (not updated for a configured period).
  */
 @Getter
-public class AbandonedCartEvent extends ApplicationEvent {
+public final class AbandonedCartEvent extends ApplicationEvent implements NotificationEvent {
     private final UUID userId;
     private final String userEmail;
     private final String userFirstName;
     private final List<CartItemData> items;
     private final BigDecimal cartTotal;
 
-    public AbandonedCartEvent(Object source, UUID userId, String userEmail, String userFirstName,
-                              List<CartItemData> items, BigDecimal cartTotal) {
+    @JsonCreator
+    public AbandonedCartEvent(@JacksonInject(NotificationEvent.SOURCE) Object source,
+                              @JsonProperty("userId") UUID userId,
+                              @JsonProperty("userEmail") String userEmail,
+                              @JsonProperty("userFirstName") String userFirstName,
+                              @JsonProperty("items") List<CartItemData> items,
+                              @JsonProperty("cartTotal") BigDecimal cartTotal) {
         super(source);
         this.userId = userId;
         this.userEmail = userEmail;
@@ -1,20 +1,28 @@
 package app.notification.event;
 
+import com.fasterxml.jackson.annotation.JacksonInject;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import org.springframework.context.ApplicationEvent;
 
 import java.util.UUID;
 
 @Getter
-public class AccountSecurityEvent extends ApplicationEvent {
+public final class AccountSecurityEvent extends ApplicationEvent implements NotificationEvent {
     private final UUID userId;
     private final String userEmail;
     private final String userFirstName;
     private final String alertType;
     private final String details;
 
-    public AccountSecurityEvent(Object source, UUID userId, String userEmail, String userFirstName,
-                               String alertType, String details) {
+    @JsonCreator
+    public AccountSecurityEvent(@JacksonInject(NotificationEvent.SOURCE) Object source,
+                                @JsonProperty("userId") UUID userId,
+                                @JsonProperty("userEmail") String userEmail,
+                                @JsonProperty("userFirstName") String userFirstName,
+                                @JsonProperty("alertType") String alertType,
+                                @JsonProperty("details") String details) {
         super(source);
         this.userId = userId;
         this.userEmail = userEmail;
@@ -1,5 +1,8 @@
 package app.notification.event;
 
+import com.fasterxml.jackson.annotation.JacksonInject;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import org.springframework.context.ApplicationEvent;
 
@@ -7,12 +10,16 @@ import org.springframework.context.ApplicationEvent;
  * Event published daily with business statistics for admin reporting.
  */
 @Getter
-public class DailyReportEvent extends ApplicationEvent {
+public final class DailyReportEvent extends ApplicationEvent implements NotificationEvent {
     private final long totalOrders;
     private final long pendingOrders;
     private final long lowStockCount;
 
-    public DailyReportEvent(Object source, long totalOrders, long pendingOrders, long lowStockCount) {
+    @JsonCreator
+    public DailyReportEvent(@JacksonInject(NotificationEvent.SOURCE) Object source,
+                            @JsonProperty("totalOrders") long totalOrders,
+                            @JsonProperty("pendingOrders") long pendingOrders,
+                            @JsonProperty("lowStockCount") long lowStockCount) {
         super(source);
         this.totalOrders = totalOrders;
         this.pendingOrders = pendingOrders;
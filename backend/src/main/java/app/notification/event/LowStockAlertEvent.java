@@ -1,5 +1,8 @@
 package app.notification.event;
 
+import com.fasterxml.jackson.annotation.JacksonInject;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import org.springframework.context.ApplicationEvent;
 
@@ -10,12 +13,14 @@ import java.util.List;
  * This is an admin-only notification event.
  */
 @Getter
-public class LowStockAlertEvent extends ApplicationEvent {
+public final class LowStockAlertEvent extends ApplicationEvent implements NotificationEvent {
     private final List<ProductStockData> lowStockProducts;
     private final List<ProductStockData> outOfStockProducts;
 
-    public LowStockAlertEvent(Object source, List<ProductStockData> lowStockProducts,
-                              List<ProductStockData> outOfStockProducts) {
+    @JsonCreator
+    public LowStockAlertEvent(@JacksonInject(NotificationEvent.SOURCE) Object source,
+                              @JsonProperty("lowStockProducts") List<ProductStockData> lowStockProducts,
+                              @JsonProperty("outOfStockProducts") List<ProductStockData> outOfStockProducts) {
         super(source);
         this.lowStockProducts = lowStockProducts;
         this.outOfStockProducts = outOfStockProducts;
@@ -0,0 +1,30 @@
+package app.notification.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Marker for events handled by NotificationEventListener.
+ *
+ * Every notification event goes through the transactional outbox: it is stored as JSON in the
+ * publisher's transaction and delivered by NotificationOutboxRelay once committed. The interface is
+ * sealed so that the listener's dispatch and the outbox codec cover every event type.
+ */
+@JsonIgnoreProperties(value = {"source", "timestamp"}, ignoreUnknown = true)
+public sealed interface NotificationEvent permits
+        AbandonedCartEvent,
+        AccountSecurityEvent,
+        DailyReportEvent,
+        LowStockAlertEvent,
+        OrderDeliveredEvent,
+        OrderPlacedEvent,
+        OrderShippedEvent,
+        PasswordResetEvent,
+        PriceDropEvent,
+        ProductRestockedEvent,
+        ReviewReminderEvent {
+
+    /**
+     * Injectable value used as the event source when an event is read back from the outbox.
+     */
+    String SOURCE = "notificationEventSource";
+}
@@ -1,5 +1,8 @@
 package app.notification.event;
 
+import com.fasterxml.jackson.annotation.JacksonInject;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import org.springframework.context.ApplicationEvent;
 
@@ -7,15 +10,20 @@ import java.math.BigDecimal;
 import java.util.UUID;
 
 @Getter
-public class OrderPlacedEvent extends ApplicationEvent {
+public final class OrderPlacedEvent extends ApplicationEvent implements NotificationEvent {
     private final String orderNumber;
     private final UUID userId;
     private final String userEmail;
     private final String userFirstName;
     private final BigDecimal totalAmount;
 
-    public OrderPlacedEvent(Object source, String orderNumber, UUID userId, String userEmail,
-                           String userFirstName, BigDecimal totalAmount) {
+    @JsonCreator
+    public OrderPlacedEvent(@JacksonInject(NotificationEvent.SOURCE) Object source,
+                            @JsonProperty("orderNumber") String orderNumber,
+                            @JsonProperty("userId") UUID userId,
+                            @JsonProperty("userEmail") String userEmail,
+                            @JsonProperty("userFirstName") String userFirstName,
+                            @JsonProperty("totalAmount") BigDecimal totalAmount) {
         super(source);
         this.orderNumber = orderNumber;
         this.userId = userId;
@@ -1,20 +1,28 @@
 package app.notification.event;
 
+import com.fasterxml.jackson.annotation.JacksonInject;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import org.springframework.context.ApplicationEvent;
 
 import java.util.UUID;
 
 @Getter
-public class OrderShippedEvent extends ApplicationEvent {
+public final class OrderShippedEvent extends ApplicationEvent implements NotificationEvent {
     private final String orderNumber;
     private final UUID userId;
     private final String userEmail;
     private final String userFirstName;
     private final String trackingNumber;
 
-    public OrderShippedEvent(Object source, String orderNumber, UUID userId, String userEmail,
-                            String userFirstName, String trackingNumber) {
+    @JsonCreator
+    public OrderShippedEvent(@JacksonInject(NotificationEvent.SOURCE) Object source,
+                             @JsonProperty("orderNumber") String orderNumber,
+                             @JsonProperty("userId") UUID userId,
+                             @JsonProperty("userEmail") String userEmail,
+                             @JsonProperty("userFirstName") String userFirstName,
+                             @JsonProperty("trackingNumber") String trackingNumber) {
         super(source);
         this.orderNumber = orderNumber;
         this.userId = userId;
@@ -1,18 +1,26 @@
 package app.notification.event;
 
+import com.fasterxml.jackson.annotation.JacksonInject;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import org.springframework.context.ApplicationEvent;
 
 import java.util.UUID;
 
 @Getter
-public class PasswordResetEvent extends ApplicationEvent {
+public final class PasswordResetEvent extends ApplicationEvent implements NotificationEvent {
     private final UUID userId;
     private final String userEmail;
     private final String userFirstName;
     private final String resetToken;
 
-    public PasswordResetEvent(Object source, UUID userId, String userEmail, String userFirstName, String resetToken) {
+    @JsonCreator
+    public PasswordResetEvent(@JacksonInject(NotificationEvent.SOURCE) Object source,
+                              @JsonProperty("userId") UUID userId,
+                              @JsonProperty("userEmail") String userEmail,
+                              @JsonProperty("userFirstName") String userFirstName,
+                              @JsonProperty("resetToken") String resetToken) {
         super(source);
         this.userId = userId;
         this.userEmail = userEmail;
@@ -1,5 +1,8 @@
 package app.notification.event;
 
+import com.fasterxml.jackson.annotation.JacksonInject;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import org.springframework.context.ApplicationEvent;
 
@@ -7,14 +10,18 @@ import java.util.List;
 import java.util.UUID;
 
 @Getter
-public class PriceDropEvent extends ApplicationEvent {
+public final class PriceDropEvent extends ApplicationEvent implements NotificationEvent {
     private final String productName;
     private final Double oldPrice;
     private final Double newPrice;
     private final List<UserNotificationData> interestedUsers;
 
-    public PriceDropEvent(Object source, String productName, Double oldPrice, Double newPrice,
-                         List<UserNotificationData> interestedUsers) {
+    @JsonCreator
+    public PriceDropEvent(@JacksonInject(NotificationEvent.SOURCE) Object source,
+                          @JsonProperty("productName") String productName,
+                          @JsonProperty("oldPrice") Double oldPrice,
+                          @JsonProperty("newPrice") Double newPrice,
+                          @JsonProperty("interestedUsers") List<UserNotificationData> interestedUsers) {
         super(source);
         this.productName = productName;
         this.oldPrice = oldPrice;
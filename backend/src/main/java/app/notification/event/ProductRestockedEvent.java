@@ -1,5 +1,8 @@
 package app.notification.event;
 
+import com.fasterxml.jackson.annotation.JacksonInject;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import org.springframework.context.ApplicationEvent;
 
@@ -7,11 +10,14 @@ import java.util.List;
 import java.util.UUID;
 
 @Getter
-public class ProductRestockedEvent extends ApplicationEvent {
+public final class ProductRestockedEvent extends ApplicationEvent implements NotificationEvent {
     private final String productName;
     private final List<UserNotificationData> interestedUsers;
 
-    public ProductRestockedEvent(Object source, String productName, List<UserNotificationData> interestedUsers) {
+    @JsonCreator
+    public ProductRestockedEvent(@JacksonInject(NotificationEvent.SOURCE) Object source,
+                                 @JsonProperty("productName") String productName,
+                                 @JsonProperty("interestedUsers") List<UserNotificationData> interestedUsers) {
         super(source);
         this.productName = productName;
         this.interestedUsers = interestedUsers;
@@ -1,18 +1,26 @@
 package app.notification.event;
 
+import com.fasterxml.jackson.annotation.JacksonInject;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import org.springframework.context.ApplicationEvent;
 
 import java.util.UUID;
 
 @Getter
-public class ReviewReminderEvent extends ApplicationEvent {
+public final class ReviewReminderEvent extends ApplicationEvent implements NotificationEvent {
     private final String orderNumber;
     private final UUID userId;
     private final String userEmail;
     private final String userFirstName;
 
-    public ReviewReminderEvent(Object source, String orderNumber, UUID userId, String userEmail, String userFirstName) {
+    @JsonCreator
+    public ReviewReminderEvent(@JacksonInject(NotificationEvent.SOURCE) Object source,
+                               @JsonProperty("orderNumber") String orderNumber,
+                               @JsonProperty("userId") UUID userId,
+                               @JsonProperty("userEmail") String userEmail,
+                               @JsonProperty("userFirstName") String userFirstName) {
         super(source);
         this.orderNumber = orderNumber;
         this.userId = userId;
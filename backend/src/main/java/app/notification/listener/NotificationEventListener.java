@@ -1,29 +1,49 @@
 package app.notification.listener;
 
+import app.notification.digest.DigestCategory;
+import app.notification.digest.NotificationDigestService;
 import app.notification.dto.NotificationPreferencesResponse;
 import app.notification.event.*;
 import app.notification.service.EmailService;
 import app.notification.service.EmailTemplateService;
+import app.notification.service.MailPriority;
 import app.notification.service.NotificationPreferencesService;
+import app.notification.service.PreparedEmailTemplate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
+/**
+ * Sends the emails for notification events.
+ *
+ * Events are not received from the application event bus directly: they are stored in the outbox by
+ * NotificationOutboxService and handed to {@link #dispatch(NotificationEvent)} by NotificationOutboxRelay
+ * after the publishing transaction commits. Price drop and restock alerts go to the user's digest
+ * instead when NotificationDigestService is enabled.
+ *
+ * Each handler returns a future that completes once its emails are accepted by the SMTP server or stored
+ * for retry by EmailService, and the relay marks the event processed only then. Handlers let failures
+ * propagate so the relay records the attempt and retries the event. The price drop and restock handlers
+ * are the exception: they log a failure per recipient and carry on, so one bad recipient does not resend
+ * the alert to everyone else on retry.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
-@Async
 public class NotificationEventListener {
 
     private final EmailService emailService;
     private final EmailTemplateService emailTemplateService;
     private final NotificationPreferencesService notificationPreferencesService;
+    private final NotificationDigestService notificationDigestService;
 
     @Value("${app.email.admin:admin@supplemart.com}")
     private String adminEmail;
@@ -31,326 +51,313 @@ public class NotificationEventListener {
     @Value("${app.frontend.url:http://localhost:5173}")
     private String frontendUrl;
 
-    @EventListener
-    public void handleOrderPlacedEvent(OrderPlacedEvent event) {
-        log.info("Handling OrderPlacedEvent for order: {} and user: {}", event.getOrderNumber(), event.getUserEmail());
-
-        try {
-            NotificationPreferencesResponse prefs = notificationPreferencesService.getPreferences(event.getUserId());
-
-            if (!prefs.getOrderUpdates()) {
-                log.info("User {} has disabled order update notifications", event.getUserEmail());
-                return;
-            }
+    public CompletableFuture<Void> dispatch(NotificationEvent event) {
+        return switch (event) {
+            case OrderPlacedEvent e -> handleOrderPlacedEvent(e);
+            case OrderShippedEvent e -> handleOrderShippedEvent(e);
+            case OrderDeliveredEvent e -> handleOrderDeliveredEvent(e);
+            case PriceDropEvent e -> handlePriceDropEvent(e);
+            case ProductRestockedEvent e -> handleProductRestockedEvent(e);
+            case ReviewReminderEvent e -> handleReviewReminderEvent(e);
+            case AccountSecurityEvent e -> handleAccountSecurityEvent(e);
+            case PasswordResetEvent e -> handlePasswordResetEvent(e);
+            case AbandonedCartEvent e -> handleAbandonedCartEvent(e);
+            case LowStockAlertEvent e -> handleLowStockAlertEvent(e);
+            case DailyReportEvent e -> handleDailyReportEvent(e);
+        };
+    }
 
-            String htmlContent = emailService.buildOrderConfirmationEmail(
-                event.getUserFirstName(),
-                event.getOrderNumber(),
-                event.getTotalAmount()
-            );
+    public CompletableFuture<Void> handleOrderPlacedEvent(OrderPlacedEvent event) {
+        log.info("Handling OrderPlacedEvent for order: {} and user: {}", event.getOrderNumber(), event.getUserEmail());
 
-            emailService.sendEmail(
-                event.getUserEmail(),
-                "Order Confirmation - #" + event.getOrderNumber(),
-                htmlContent
-            );
+        NotificationPreferencesResponse prefs = notificationPreferencesService.getPreferences(event.getUserId());
 
-            log.info("Order confirmation email sent to: {}", event.getUserEmail());
-        } catch (Exception e) {
-            log.error("Failed to handle OrderPlacedEvent for order: {}", event.getOrderNumber(), e);
+        if (!prefs.getOrderUpdates()) {
+            log.info("User {} has disabled order update notifications", event.getUserEmail());
+            return CompletableFuture.completedFuture(null);
         }
+
+        String htmlContent = emailService.buildOrderConfirmationEmail(
+            event.getUserFirstName(),
+            event.getOrderNumber(),
+            event.getTotalAmount()
+        );
+
+        return emailService.sendEmail(
+            event.getUserEmail(),
+            "Order Confirmation - #" + event.getOrderNumber(),
+            htmlContent,
+            MailPriority.TRANSACTIONAL
+        );
     }
 
-    @EventListener
-    public void handleOrderShippedEvent(OrderShippedEvent event) {
+    public CompletableFuture<Void> handleOrderShippedEvent(OrderShippedEvent event) {
         log.info("Handling OrderShippedEvent for order: {} and user: {}", event.getOrderNumber(), event.getUserEmail());
 
-        try {
-            NotificationPreferencesResponse prefs = notificationPreferencesService.getPreferences(event.getUserId());
+        NotificationPreferencesResponse prefs = notificationPreferencesService.getPreferences(event.getUserId());
 
-            if (!prefs.getShippingNotifications()) {
-                log.info("User {} has disabled shipping notifications", event.getUserEmail());
-                return;
-            }
-
-            String htmlContent = emailService.buildOrderShippedEmail(
-                event.getUserFirstName(),
-                event.getOrderNumber(),
-                event.getTrackingNumber()
-            );
-
-            emailService.sendEmail(
-                event.getUserEmail(),
-                "Your Order Has Been Shipped - #" + event.getOrderNumber(),
-                htmlContent
-            );
-
-            log.info("Shipping notification sent to: {}", event.getUserEmail());
-        } catch (Exception e) {
-            log.error("Failed to handle OrderShippedEvent for order: {}", event.getOrderNumber(), e);
+        if (!prefs.getShippingNotifications()) {
+            log.info("User {} has disabled shipping notifications", event.getUserEmail());
+            return CompletableFuture.completedFuture(null);
         }
+
+        String htmlContent = emailService.buildOrderShippedEmail(
+            event.getUserFirstName(),
+            event.getOrderNumber(),
+            event.getTrackingNumber()
+        );
+
+        return emailService.sendEmail(
+            event.getUserEmail(),
+            "Your Order Has Been Shipped - #" + event.getOrderNumber(),
+            htmlContent,
+            MailPriority.TRANSACTIONAL
+        );
     }
 
-    @EventListener
-    public void handleOrderDeliveredEvent(OrderDeliveredEvent event) {
+    public CompletableFuture<Void> handleOrderDeliveredEvent(OrderDeliveredEvent event) {
         log.info("Handling OrderDeliveredEvent for order: {} and user: {}", event.getOrderNumber(), event.getUserEmail());
 
-        try {
-            NotificationPreferencesResponse prefs = notificationPreferencesService.getPreferences(event.getUserId());
+        NotificationPreferencesResponse prefs = notificationPreferencesService.getPreferences(event.getUserId());
 
-            if (!prefs.getShippingNotifications()) {
-                log.info("User {} has disabled shipping notifications", event.getUserEmail());
-                return;
-            }
-
-            String htmlContent = emailService.buildOrderDeliveredEmail(
-                event.getUserFirstName(),
-                event.getOrderNumber()
-            );
-
-            emailService.sendEmail(
-                event.getUserEmail(),
-                "Your Order Has Been Delivered - #" + event.getOrderNumber(),
-                htmlContent
-            );
-
-            log.info("Delivery notification sent to: {}", event.getUserEmail());
-        } catch (Exception e) {
-            log.error("Failed to handle OrderDeliveredEvent for order: {}", event.getOrderNumber(), e);
+        if (!prefs.getShippingNotifications()) {
+            log.info("User {} has disabled shipping notifications", event.getUserEmail());
+            return CompletableFuture.completedFuture(null);
         }
+
+        String htmlContent = emailService.buildOrderDeliveredEmail(
+            event.getUserFirstName(),
+            event.getOrderNumber()
+        );
+
+        return emailService.sendEmail(
+            event.getUserEmail(),
+            "Your Order Has Been Delivered - #" + event.getOrderNumber(),
+            htmlContent,
+            MailPriority.TRANSACTIONAL
+        );
     }
 
-    @EventListener
-    public void handlePriceDropEvent(PriceDropEvent event) {
+    public CompletableFuture<Void> handlePriceDropEvent(PriceDropEvent event) {
         log.info("Handling PriceDropEvent for product: {}", event.getProductName());
 
+        Map<UUID, NotificationPreferencesResponse> preferences = notificationPreferencesService.getPreferences(
+                event.getInterestedUsers().stream().map(PriceDropEvent.UserNotificationData::userId).toList());
+        boolean digest = notificationDigestService.isEnabled();
+        PreparedEmailTemplate template = digest ? null : emailService.preparePriceDropEmail(
+                event.getProductName(), event.getOldPrice(), event.getNewPrice());
+
+        List<CompletableFuture<Void>> sends = new ArrayList<>();
         for (PriceDropEvent.UserNotificationData user : event.getInterestedUsers()) {
             try {
-                NotificationPreferencesResponse prefs = notificationPreferencesService.getPreferences(user.userId());
+                NotificationPreferencesResponse prefs = preferences.get(user.userId());
 
                 if (!prefs.getPriceDropAlerts()) {
                     log.info("User {} has disabled price drop alerts", user.email());
                     continue;
                 }
 
-                String htmlContent = emailService.buildPriceDropEmail(
-                    user.firstName(),
-                    event.getProductName(),
-                    event.getOldPrice(),
-                    event.getNewPrice()
-                );
+                if (digest) {
+                    notificationDigestService.stage(user.userId(), user.email(), user.firstName(),
+                            DigestCategory.PRICE_DROP, event.getProductName(), event.getProductName(),
+                            emailService.formatPriceDrop(event.getOldPrice(), event.getNewPrice()));
+                    log.debug("Price drop alert added to digest for: {}", user.email());
+                    continue;
+                }
+
+                String htmlContent = template.render(EmailService.recipient(user.firstName()));
 
-                emailService.sendEmail(
+                sends.add(emailService.sendEmail(
                     user.email(),
                     "Price Drop Alert: " + event.getProductName(),
-                    htmlContent
-                );
-
-                log.info("Price drop alert sent to: {}", user.email());
+                    htmlContent,
+                    MailPriority.MARKETING
+                ).exceptionally(failure -> {
+                    log.error("Failed to send price drop alert to user: {}", user.email(), failure);
+                    return null;
+                }));
             } catch (Exception e) {
                 log.error("Failed to send price drop alert to user: {}", user.email(), e);
             }
         }
+        return CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new));
     }
 
-    @EventListener
-    public void handleProductRestockedEvent(ProductRestockedEvent event) {
+    public CompletableFuture<Void> handleProductRestockedEvent(ProductRestockedEvent event) {
         log.info("Handling ProductRestockedEvent for product: {}", event.getProductName());
 
+        Map<UUID, NotificationPreferencesResponse> preferences = notificationPreferencesService.getPreferences(
+                event.getInterestedUsers().stream().map(ProductRestockedEvent.UserNotificationData::userId).toList());
+        boolean digest = notificationDigestService.isEnabled();
+        PreparedEmailTemplate template = digest ? null : emailService.prepareRestockEmail(event.getProductName());
+
+        List<CompletableFuture<Void>> sends = new ArrayList<>();
         for (ProductRestockedEvent.UserNotificationData user : event.getInterestedUsers()) {
             try {
-                NotificationPreferencesResponse prefs = notificationPreferencesService.getPreferences(user.userId());
+                NotificationPreferencesResponse prefs = preferences.get(user.userId());
 
                 if (!prefs.getBackInStockAlerts()) {
                     log.info("User {} has disabled back in stock alerts", user.email());
                     continue;
                 }
 
-                String htmlContent = emailService.buildRestockEmail(
-                    user.firstName(),
-                    event.getProductName()
-                );
+                if (digest) {
+                    notificationDigestService.stage(user.userId(), user.email(), user.firstName(),
+                            DigestCategory.BACK_IN_STOCK, event.getProductName(), event.getProductName(),
+                            "Back in stock and ready to order.");
+                    log.debug("Restock notification added to digest for: {}", user.email());
+                    continue;
+                }
+
+                String htmlContent = template.render(EmailService.recipient(user.firstName()));
 
-                emailService.sendEmail(
+                sends.add(emailService.sendEmail(
                     user.email(),
                     "Back in Stock: " + event.getProductName(),
-                    htmlContent
-                );
-
-                log.info("Restock notification sent to: {}", user.email());
+                    htmlContent,
+                    MailPriority.MARKETING
+                ).exceptionally(failure -> {
+                    log.error("Failed to send restock notification to user: {}", user.email(), failure);
+                    return null;
+                }));
             } catch (Exception e) {
                 log.error("Failed to send restock notification to user: {}", user.email(), e);
             }
         }
+        return CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new));
     }
 
-    @EventListener
-    public void handleReviewReminderEvent(ReviewReminderEvent event) {
+    public CompletableFuture<Void> handleReviewReminderEvent(ReviewReminderEvent event) {
         log.info("Handling ReviewReminderEvent for order: {} and user: {}", event.getOrderNumber(), event.getUserEmail());
 
-        try {
-            NotificationPreferencesResponse prefs = notificationPreferencesService.getPreferences(event.getUserId());
-
-            if (!prefs.getReviewReminders()) {
-                log.info("User {} has disabled review reminders", event.getUserEmail());
-                return;
-            }
-
-            String htmlContent = emailService.buildReviewReminderEmail(
-                event.getUserFirstName(),
-                event.getOrderNumber()
-            );
+        NotificationPreferencesResponse prefs = notificationPreferencesService.getPreferences(event.getUserId());
 
-            emailService.sendEmail(
-                event.getUserEmail(),
-                "Share Your Feedback - Order #" + event.getOrderNumber(),
-                htmlContent
-            );
-
-            log.info("Review reminder sent to: {}", event.getUserEmail());
-        } catch (Exception e) {
-            log.error("Failed to handle ReviewReminderEvent for order: {}", event.getOrderNumber(), e);
+        if (!prefs.getReviewReminders()) {
+            log.info("User {} has disabled review reminders", event.getUserEmail());
+            return CompletableFuture.completedFuture(null);
         }
+
+        String htmlContent = emailService.buildReviewReminderEmail(
+            event.getUserFirstName(),
+            event.getOrderNumber()
+        );
+
+        return emailService.sendEmail(
+            event.getUserEmail(),
+            "Share Your Feedback - Order #" + event.getOrderNumber(),
+            htmlContent,
+            MailPriority.MARKETING
+        );
     }
 
-    @EventListener
-    public void handleAccountSecurityEvent(AccountSecurityEvent event) {
+    public CompletableFuture<Void> handleAccountSecurityEvent(AccountSecurityEvent event) {
         log.info("Handling AccountSecurityEvent for user: {} - Alert: {}", event.getUserEmail(), event.getAlertType());
 
-        try {
-            NotificationPreferencesResponse prefs = notificationPreferencesService.getPreferences(event.getUserId());
+        NotificationPreferencesResponse prefs = notificationPreferencesService.getPreferences(event.getUserId());
 
-            if (!prefs.getAccountSecurityAlerts()) {
-                log.info("User {} has disabled security alerts", event.getUserEmail());
-                return;
-            }
-
-            String htmlContent = emailService.buildSecurityAlertEmail(
-                event.getUserFirstName(),
-                event.getAlertType(),
-                event.getDetails()
-            );
-
-            emailService.sendEmail(
-                event.getUserEmail(),
-                "Security Alert: " + event.getAlertType(),
-                htmlContent
-            );
-
-            log.info("Security alert sent to: {}", event.getUserEmail());
-        } catch (Exception e) {
-            log.error("Failed to handle AccountSecurityEvent for user: {}", event.getUserEmail(), e);
+        if (!prefs.getAccountSecurityAlerts()) {
+            log.info("User {} has disabled security alerts", event.getUserEmail());
+            return CompletableFuture.completedFuture(null);
         }
+
+        String htmlContent = emailService.buildSecurityAlertEmail(
+            event.getUserFirstName(),
+            event.getAlertType(),
+            event.getDetails()
+        );
+
+        return emailService.sendEmail(
+            event.getUserEmail(),
+            "Security Alert: " + event.getAlertType(),
+            htmlContent,
+            MailPriority.CRITICAL
+        );
     }
 
-    @EventListener
-    public void handlePasswordResetEvent(PasswordResetEvent event) {
+    public CompletableFuture<Void> handlePasswordResetEvent(PasswordResetEvent event) {
         log.info("Handling PasswordResetEvent for user: {}", event.getUserEmail());
 
-        try {
-            NotificationPreferencesResponse prefs = notificationPreferencesService.getPreferences(event.getUserId());
-
-            if (!prefs.getPasswordResetEmails()) {
-                log.info("User {} has disabled password reset emails", event.getUserEmail());
-                return;
-            }
+        NotificationPreferencesResponse prefs = notificationPreferencesService.getPreferences(event.getUserId());
 
-            String htmlContent = emailService.buildPasswordResetEmail(
-                event.getUserFirstName(),
-                event.getResetToken()
-            );
-
-            emailService.sendEmail(
-                event.getUserEmail(),
-                "Password Reset Request",
-                htmlContent
-            );
-
-            log.info("Password reset email sent to: {}", event.getUserEmail());
-        } catch (Exception e) {
-            log.error("Failed to handle PasswordResetEvent for user: {}", event.getUserEmail(), e);
+        if (!prefs.getPasswordResetEmails()) {
+            log.info("User {} has disabled password reset emails", event.getUserEmail());
+            return CompletableFuture.completedFuture(null);
         }
+
+        String htmlContent = emailService.buildPasswordResetEmail(
+            event.getUserFirstName(),
+            event.getResetToken()
+        );
+
+        return emailService.sendEmail(
+            event.getUserEmail(),
+            "Password Reset Request",
+            htmlContent,
+            MailPriority.CRITICAL
+        );
     }
 
-    @EventListener
-    public void handleAbandonedCartEvent(AbandonedCartEvent event) {
+    public CompletableFuture<Void> handleAbandonedCartEvent(AbandonedCartEvent event) {
         log.info("Handling AbandonedCartEvent for user: {}", event.getUserEmail());
 
-        try {
-            NotificationPreferencesResponse prefs = notificationPreferencesService.getPreferences(event.getUserId());
+        NotificationPreferencesResponse prefs = notificationPreferencesService.getPreferences(event.getUserId());
 
-            if (!prefs.getPromotionalEmails()) {
-                log.info("User {} has disabled promotional emails (abandoned cart)", event.getUserEmail());
-                return;
-            }
-
-            List<EmailTemplateService.CartItemDto> items = event.getItems().stream()
-                    .map(item -> new EmailTemplateService.CartItemDto(
-                            item.productName(), item.quantity(), item.price()))
-                    .collect(Collectors.toList());
+        if (!prefs.getPromotionalEmails()) {
+            log.info("User {} has disabled promotional emails (abandoned cart)", event.getUserEmail());
+            return CompletableFuture.completedFuture(null);
+        }
 
-            String cartUrl = frontendUrl + "/cart";
-            String htmlContent = emailTemplateService.renderAbandonedCartEmail(
-                    event.getUserFirstName(), items, event.getCartTotal(), cartUrl);
+        List<EmailTemplateService.CartItemDto> items = event.getItems().stream()
+                .map(item -> new EmailTemplateService.CartItemDto(
+                        item.productName(), item.quantity(), item.price()))
+                .collect(Collectors.toList());
 
-            emailService.sendEmail(
-                    event.getUserEmail(),
-                    "You left items in your cart!",
-                    htmlContent
-            );
+        String cartUrl = frontendUrl + "/cart";
+        String htmlContent = emailTemplateService.renderAbandonedCartEmail(
+                event.getUserFirstName(), items, event.getCartTotal(), cartUrl);
 
-            log.info("Abandoned cart reminder sent to: {}", event.getUserEmail());
-        } catch (Exception e) {
-            log.error("Failed to handle AbandonedCartEvent for user: {}", event.getUserEmail(), e);
-        }
+        return emailService.sendEmail(
+                event.getUserEmail(),
+                "You left items in your cart!",
+                htmlContent,
+                MailPriority.MARKETING
+        );
     }
 
-    @EventListener
-    public void handleLowStockAlertEvent(LowStockAlertEvent event) {
+    public CompletableFuture<Void> handleLowStockAlertEvent(LowStockAlertEvent event) {
         log.info("Handling LowStockAlertEvent: {} low stock, {} out of stock",
                 event.getLowStockProducts().size(), event.getOutOfStockProducts().size());
 
-        try {
-            List<EmailTemplateService.ProductStockDto> lowStockDtos = event.getLowStockProducts().stream()
-                    .map(p -> new EmailTemplateService.ProductStockDto(p.name(), p.stockQuantity()))
-                    .collect(Collectors.toList());
+        List<EmailTemplateService.ProductStockDto> lowStockDtos = event.getLowStockProducts().stream()
+                .map(p -> new EmailTemplateService.ProductStockDto(p.name(), p.stockQuantity()))
+                .collect(Collectors.toList());
 
-            List<EmailTemplateService.ProductStockDto> outOfStockDtos = event.getOutOfStockProducts().stream()
-                    .map(p -> new EmailTemplateService.ProductStockDto(p.name(), p.stockQuantity()))
-                    .collect(Collectors.toList());
+        List<EmailTemplateService.ProductStockDto> outOfStockDtos = event.getOutOfStockProducts().stream()
+                .map(p -> new EmailTemplateService.ProductStockDto(p.name(), p.stockQuantity()))
+                .collect(Collectors.toList());
 
-            String htmlContent = emailTemplateService.renderLowStockAlertEmail(lowStockDtos, outOfStockDtos);
+        String htmlContent = emailTemplateService.renderLowStockAlertEmail(lowStockDtos, outOfStockDtos);
 
-            emailService.sendEmail(
-                    adminEmail,
-                    "Inventory Alert - Low Stock Products",
-                    htmlContent
-            );
-
-            log.info("Low stock alert sent to admin: {}", adminEmail);
-        } catch (Exception e) {
-            log.error("Failed to handle LowStockAlertEvent", e);
-        }
+        return emailService.sendEmail(
+                adminEmail,
+                "Inventory Alert - Low Stock Products",
+                htmlContent,
+                MailPriority.TRANSACTIONAL
+        );
     }
 
-    @EventListener
-    public void handleDailyReportEvent(DailyReportEvent event) {
+    public CompletableFuture<Void> handleDailyReportEvent(DailyReportEvent event) {
         log.info("Handling DailyReportEvent: {} total orders, {} pending, {} low stock",
                 event.getTotalOrders(), event.getPendingOrders(), event.getLowStockCount());
 
-        try {
-            String htmlContent = emailTemplateService.renderDailyReportEmail(
-                    event.getTotalOrders(), event.getPendingOrders(), event.getLowStockCount());
-
-            emailService.sendEmail(
-                    adminEmail,
-                    "Daily Business Report - SuppleMart",
-                    htmlContent
-            );
+        String htmlContent = emailTemplateService.renderDailyReportEmail(
+                event.getTotalOrders(), event.getPendingOrders(), event.getLowStockCount());
 
-            log.info("Daily report sent to admin: {}", adminEmail);
-        } catch (Exception e) {
-            log.error("Failed to handle DailyReportEvent", e);
-        }
+        return emailService.sendEmail(
+                adminEmail,
+                "Daily Business Report - SuppleMart",
+                htmlContent,
+                MailPriority.TRANSACTIONAL
+        );
     }
 }
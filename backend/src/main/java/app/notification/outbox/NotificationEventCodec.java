@@ -0,0 +1,55 @@
+package app.notification.outbox;
+
+import app.notification.event.NotificationEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.InjectableValues;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Converts notification events to and from the JSON stored in the outbox.
+ * The event type is the class's simple name; every permitted NotificationEvent is supported.
+ */
+@Component
+public class NotificationEventCodec {
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, Class<? extends NotificationEvent>> types = new HashMap<>();
+
+    public NotificationEventCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        for (Class<?> type : NotificationEvent.class.getPermittedSubclasses()) {
+            types.put(type.getSimpleName(), type.asSubclass(NotificationEvent.class));
+        }
+    }
+
+    public String typeOf(NotificationEvent event) {
+        return event.getClass().getSimpleName();
+    }
+
+    public String encode(NotificationEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize " + typeOf(event), e);
+        }
+    }
+
+    public NotificationEvent decode(String eventType, String payload) {
+        Class<? extends NotificationEvent> type = types.get(eventType);
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown notification event type: " + eventType);
+        }
+
+        try {
+            return objectMapper.readerFor(type)
+                    .with(new InjectableValues.Std().addValue(NotificationEvent.SOURCE, this))
+                    .readValue(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot deserialize " + eventType, e);
+        }
+    }
+}
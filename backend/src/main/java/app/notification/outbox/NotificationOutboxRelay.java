@@ -0,0 +1,285 @@
+package app.notification.outbox;
+
+import app.notification.event.NotificationEvent;
+import app.notification.listener.NotificationEventListener;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Delivers committed outbox events to NotificationEventListener.
+ *
+ * Each poll claims up to {@code notification.outbox.batch-size} due rows with
+ * SELECT ... FOR UPDATE SKIP LOCKED and marks them IN_PROGRESS with a lease of
+ * {@code notification.outbox.lease-seconds}, in one short transaction. The events are then dispatched
+ * in id order outside any transaction. A dispatched event stays leased until the future returned by the
+ * listener completes, that is until its emails are accepted by the SMTP server or stored for retry; the
+ * leases of such events are renewed every {@code notification.outbox.lease-renewal-interval-ms}, and the
+ * next poll marks the completed ones processed in one statement. At most
+ * {@code notification.outbox.max-in-flight} events are awaiting completion at a time.
+ *
+ * Relays on other nodes skip the locked rows and take the next batch; an event whose relay dies
+ * before marking it is claimed again once its lease expires.
+ *
+ * A handler that fails records an attempt and the event is retried after an exponential backoff of
+ * {@code base-delay-seconds * 2^(attempts - 1)}, capped at {@code max-delay-seconds}. After
+ * {@code max-attempts} failures, or straight away if the payload cannot be decoded, the event is marked
+ * FAILED with its error instead of blocking the rows behind it.
+ */
+@Component
+@Slf4j
+public class NotificationOutboxRelay {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final Set<OutboxEventStatus> CLAIMABLE =
+            EnumSet.of(OutboxEventStatus.PENDING, OutboxEventStatus.IN_PROGRESS);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final NotificationEventCodec codec;
+    private final NotificationEventListener notificationEventListener;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final int maxInFlight;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+
+    private final Map<Long, OutboxEvent> inFlight = new ConcurrentHashMap<>();
+    private final Queue<Completion> completions = new ConcurrentLinkedQueue<>();
+
+    private final Timer lagTimer;
+    private final Timer batchTimer;
+
+    public NotificationOutboxRelay(OutboxEventRepository outboxEventRepository,
+                                   NotificationEventCodec codec,
+                                   NotificationEventListener notificationEventListener,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${notification.outbox.batch-size:50}") int batchSize,
+                                   @Value("${notification.outbox.max-in-flight:1000}") int maxInFlight,
+                                   @Value("${notification.outbox.lease-seconds:300}") long leaseSeconds,
+                                   @Value("${notification.outbox.max-attempts:5}") int maxAttempts,
+                                   @Value("${notification.outbox.base-delay-seconds:30}") long baseDelaySeconds,
+                                   @Value("${notification.outbox.max-delay-seconds:3600}") long maxDelaySeconds) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.codec = codec;
+        this.notificationEventListener = notificationEventListener;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxInFlight = Math.max(this.batchSize, maxInFlight);
+        this.lease = Duration.ofSeconds(Math.max(1, leaseSeconds));
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseDelay = Duration.ofSeconds(Math.max(1, baseDelaySeconds));
+        this.maxDelay = Duration.ofSeconds(Math.max(baseDelaySeconds, maxDelaySeconds));
+
+        this.lagTimer = Timer.builder("supplemart_outbox_lag")
+                .description("Time from storing a notification event to its emails being accepted or stored for retry")
+                .register(meterRegistry);
+
+        this.batchTimer = Timer.builder("supplemart_outbox_batch_duration")
+                .description("Time taken to claim and dispatch one outbox batch")
+                .register(meterRegistry);
+
+        Gauge.builder("supplemart_outbox_in_flight", inFlight, Map::size)
+                .description("Outbox events dispatched and awaiting completion")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval-ms:1000}")
+    public void relay() {
+        recordCompletions();
+        int claimed;
+        do {
+            claimed = relayBatch();
+        } while (claimed == batchSize);
+        recordCompletions();
+    }
+
+    /**
+     * Claims and dispatches one batch, as far as the in-flight limit allows.
+     *
+     * @return the number of events claimed
+     */
+    public int relayBatch() {
+        int capacity = Math.min(batchSize, maxInFlight - inFlight.size());
+        if (capacity <= 0) {
+            return 0;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            List<OutboxEvent> batch;
+            try {
+                batch = transactionTemplate.execute(status -> claim(capacity));
+            } catch (Exception e) {
+                log.error("Failed to claim outbox batch", e);
+                return 0;
+            }
+            if (batch == null) {
+                return 0;
+            }
+
+            batch.forEach(this::dispatch);
+            return batch.size();
+        } finally {
+            sample.stop(batchTimer);
+        }
+    }
+
+    /**
+     * Marks the events whose dispatch has completed since the last call processed, in one statement,
+     * and records an attempt for those whose dispatch failed.
+     */
+    public void recordCompletions() {
+        List<Long> processed = new ArrayList<>();
+        Completion completion;
+        while ((completion = completions.poll()) != null) {
+            OutboxEvent outboxEvent = completion.event();
+            if (completion.failure() == null) {
+                processed.add(outboxEvent.getId());
+                recordOutcome(outboxEvent.getEventType(), "dispatched");
+            } else {
+                inFlight.remove(outboxEvent.getId());
+                recordFailure(outboxEvent, completion.failure(), false);
+            }
+        }
+
+        if (processed.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    outboxEventRepository.markProcessed(processed, LocalDateTime.now()));
+        } catch (Exception e) {
+            // The leases expire and these events are dispatched again
+            log.error("Failed to mark {} outbox events processed", processed.size(), e);
+        }
+        processed.forEach(inFlight::remove);
+    }
+
+    /**
+     * Pushes back the leases of events still awaiting completion, so a slow mail queue does not let
+     * another relay claim and send them a second time.
+     */
+    @Scheduled(fixedDelayString = "${notification.outbox.lease-renewal-interval-ms:60000}")
+    public void renewLeases() {
+        if (inFlight.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(inFlight.keySet());
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    outboxEventRepository.extendLease(ids, LocalDateTime.now().plus(lease)));
+        } catch (Exception e) {
+            log.warn("Failed to renew the leases of {} outbox events", ids.size(), e);
+        }
+    }
+
+    private List<OutboxEvent> claim(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> batch = outboxEventRepository.findDueForClaim(CLAIMABLE, now, Limit.of(limit));
+        for (OutboxEvent outboxEvent : batch) {
+            outboxEvent.setStatus(OutboxEventStatus.IN_PROGRESS);
+            outboxEvent.setNextAttemptAt(now.plus(lease));
+        }
+        return batch;
+    }
+
+    private void dispatch(OutboxEvent outboxEvent) {
+        NotificationEvent event;
+        try {
+            event = codec.decode(outboxEvent.getEventType(), outboxEvent.getPayload());
+        } catch (Exception e) {
+            // A payload that cannot be decoded never will be, so it is not retried
+            recordFailure(outboxEvent, e, true);
+            return;
+        }
+
+        inFlight.put(outboxEvent.getId(), outboxEvent);
+        CompletableFuture<Void> sent;
+        try {
+            sent = notificationEventListener.dispatch(event);
+        } catch (Exception e) {
+            sent = CompletableFuture.failedFuture(e);
+        }
+        sent.whenComplete((ignored, failure) -> {
+            if (failure == null) {
+                lagTimer.record(Duration.between(outboxEvent.getCreatedAt(), LocalDateTime.now()));
+            }
+            completions.add(new Completion(outboxEvent, failure));
+        });
+    }
+
+    private void recordFailure(OutboxEvent outboxEvent, Throwable failure, boolean permanent) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause()
+                : failure;
+        int attempts = outboxEvent.getAttempts() + 1;
+        boolean giveUp = permanent || attempts >= maxAttempts;
+
+        outboxEvent.setAttempts(attempts);
+        outboxEvent.setLastError(truncate(String.valueOf(cause.getMessage())));
+        if (giveUp) {
+            outboxEvent.setStatus(OutboxEventStatus.FAILED);
+            recordOutcome(outboxEvent.getEventType(), "failed");
+            log.error("Failed to dispatch outbox event {} ({}) after {} attempts",
+                    outboxEvent.getId(), outboxEvent.getEventType(), attempts, cause);
+        } else {
+            outboxEvent.setStatus(OutboxEventStatus.PENDING);
+            outboxEvent.setNextAttemptAt(LocalDateTime.now().plus(backoff(attempts)));
+            recordOutcome(outboxEvent.getEventType(), "retry_scheduled");
+            log.warn("Failed to dispatch outbox event {} ({}), retrying at {}",
+                    outboxEvent.getId(), outboxEvent.getEventType(), outboxEvent.getNextAttemptAt(), cause);
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> outboxEventRepository.save(outboxEvent));
+        } catch (Exception e) {
+            // The lease expires and the event is dispatched again
+            log.error("Failed to record the failure of outbox event {}", outboxEvent.getId(), e);
+        }
+    }
+
+    /**
+     * Delay before the attempt following the given number of failures: exponential and capped.
+     */
+    Duration backoff(int attempts) {
+        long exponential = baseDelay.toMillis() << Math.min(attempts - 1, 20);
+        return Duration.ofMillis(Math.min(exponential, maxDelay.toMillis()));
+    }
+
+    private void recordOutcome(String eventType, String outcome) {
+        meterRegistry.counter("supplemart_outbox_events_total", "type", eventType, "outcome", outcome)
+                .increment();
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private record Completion(OutboxEvent event, Throwable failure) {
+    }
+}
@@ -0,0 +1,68 @@
+package app.notification.outbox;
+
+import app.notification.event.NotificationEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Writes every published NotificationEvent to the outbox_events table.
+ *
+ * The listener is synchronous, so the row joins the publisher's transaction: an event for an order that
+ * rolls back is never stored, and a stored event survives a crash until NotificationOutboxRelay
+ * delivers it. Events published outside a transaction are stored in one of their own.
+ */
+@Service
+@Slf4j
+public class NotificationOutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final NotificationEventCodec codec;
+    private final MeterRegistry meterRegistry;
+    private final int retentionDays;
+
+    public NotificationOutboxService(OutboxEventRepository outboxEventRepository,
+                                     NotificationEventCodec codec,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${notification.outbox.retention-days:7}") int retentionDays) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.codec = codec;
+        this.meterRegistry = meterRegistry;
+        this.retentionDays = retentionDays;
+    }
+
+    @EventListener
+    @Transactional
+    public void append(NotificationEvent event) {
+        String eventType = codec.typeOf(event);
+        LocalDateTime now = LocalDateTime.now();
+
+        outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(eventType)
+                .payload(codec.encode(event))
+                .status(OutboxEventStatus.PENDING)
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .build());
+
+        meterRegistry.counter("supplemart_outbox_appended_total", "type", eventType).increment();
+        log.debug("Stored {} in the outbox", eventType);
+    }
+
+    /**
+     * Deletes processed events older than {@code notification.outbox.retention-days}.
+     */
+    @Transactional
+    public int purgeProcessed() {
+        int deleted = outboxEventRepository.deleteProcessedBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            log.info("Purged {} processed outbox events older than {} days", deleted, retentionDays);
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,47 @@
+package app.notification.outbox;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Lock the oldest events in the given statuses that are due at {@code now}, skipping rows another relay holds.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEvent e WHERE e.status IN :statuses AND e.nextAttemptAt <= :now ORDER BY e.id")
+    List<OutboxEvent> findDueForClaim(@Param("statuses") Collection<OutboxEventStatus> statuses,
+                                      @Param("now") LocalDateTime now, Limit limit);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = app.notification.outbox.OutboxEventStatus.PROCESSED, " +
+           "e.processedAt = :processedAt, e.attempts = e.attempts + 1 WHERE e.id IN :ids")
+    int markProcessed(@Param("ids") Collection<Long> ids, @Param("processedAt") LocalDateTime processedAt);
+
+    /**
+     * Push back the lease of events that are still being dispatched.
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.nextAttemptAt = :until " +
+           "WHERE e.id IN :ids AND e.status = app.notification.outbox.OutboxEventStatus.IN_PROGRESS")
+    int extendLease(@Param("ids") Collection<Long> ids, @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = app.notification.outbox.OutboxEventStatus.PROCESSED " +
+           "AND e.processedAt < :before")
+    int deleteProcessedBefore(@Param("before") LocalDateTime before);
+}
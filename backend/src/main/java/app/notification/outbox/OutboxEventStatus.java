@@ -0,0 +1,8 @@
+package app.notification.outbox;
+
+public enum OutboxEventStatus {
+    PENDING,
+    IN_PROGRESS,
+    PROCESSED,
+    FAILED
+}
@@ -4,6 +4,8 @@ import app.notification.model.NotificationPreferences;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,4 +13,6 @@ import java.util.UUID;
 public interface NotificationPreferencesRepository extends JpaRepository<NotificationPreferences, UUID> {
     
     Optional<NotificationPreferences> findByUserId(UUID userId);
+
+    List<NotificationPreferences> findByUserIdIn(Collection<UUID> userIds);
 }
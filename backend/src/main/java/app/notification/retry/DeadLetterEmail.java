@@ -0,0 +1,51 @@
+package app.notification.retry;
+
+import app.notification.service.MailPriority;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An email that ran out of delivery attempts. Kept until an admin replays or deletes it.
+ */
+@Entity
+@Table(name = "dead_letter_emails")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadLetterEmail {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false, length = 500)
+    private String subject;
+
+    @Column(name = "html_content", nullable = false, columnDefinition = "MEDIUMTEXT")
+    private String htmlContent;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private MailPriority priority;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "first_failed_at", nullable = false)
+    private LocalDateTime firstFailedAt;
+
+    @Column(name = "dead_at", nullable = false)
+    private LocalDateTime deadAt;
+}
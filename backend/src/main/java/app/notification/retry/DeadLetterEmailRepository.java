@@ -0,0 +1,12 @@
+package app.notification.retry;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DeadLetterEmailRepository extends JpaRepository<DeadLetterEmail, Long> {
+
+    Page<DeadLetterEmail> findAllByOrderByDeadAtDesc(Pageable pageable);
+}
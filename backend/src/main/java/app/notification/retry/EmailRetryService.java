@@ -0,0 +1,230 @@
+package app.notification.retry;
+
+import app.exception.ResourceNotFoundException;
+import app.notification.service.MailPriority;
+import app.notification.service.MailQueueFullException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps failed emails until they are delivered or run out of attempts.
+ *
+ * A failed send is stored with its rendered content and scheduled for another attempt after an
+ * exponential backoff of {@code base-delay-seconds * 2^(attempts - 1)}, capped at {@code max-delay-seconds},
+ * of which a random half is jitter so a burst of failures does not retry in lockstep. After
+ * {@code max-attempts} failures the email moves to the dead-letter table, where an admin can inspect,
+ * replay or delete it.
+ */
+@Service
+@Slf4j
+public class EmailRetryService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final FailedEmailRepository failedEmailRepository;
+    private final DeadLetterEmailRepository deadLetterEmailRepository;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+
+    public EmailRetryService(FailedEmailRepository failedEmailRepository,
+                             DeadLetterEmailRepository deadLetterEmailRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${notification.email-retry.max-attempts:5}") int maxAttempts,
+                             @Value("${notification.email-retry.base-delay-seconds:30}") long baseDelaySeconds,
+                             @Value("${notification.email-retry.max-delay-seconds:3600}") long maxDelaySeconds) {
+        this.failedEmailRepository = failedEmailRepository;
+        this.deadLetterEmailRepository = deadLetterEmailRepository;
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseDelay = Duration.ofSeconds(Math.max(1, baseDelaySeconds));
+        this.maxDelay = Duration.ofSeconds(Math.max(baseDelaySeconds, maxDelaySeconds));
+    }
+
+    /**
+     * Stores an email whose first send failed. An email refused because the mail queue was full was never
+     * attempted, so it is stored without using up an attempt.
+     */
+    @Transactional
+    public void recordFailure(String to, String subject, String htmlContent, MailPriority priority, Throwable failure) {
+        LocalDateTime now = LocalDateTime.now();
+        FailedEmail email = FailedEmail.builder()
+                .recipient(to)
+                .subject(subject)
+                .htmlContent(htmlContent)
+                .priority(priority)
+                .attempts(isQueueFull(failure) ? 0 : 1)
+                .lastError(describe(failure))
+                .createdAt(now)
+                .build();
+
+        if (email.getAttempts() >= maxAttempts) {
+            deadLetter(email, now);
+            return;
+        }
+
+        email.setNextAttemptAt(now.plus(backoff(Math.max(1, email.getAttempts()))));
+        failedEmailRepository.save(email);
+        recordOutcome("scheduled");
+        log.warn("Email to {} failed, retrying at {}", to, email.getNextAttemptAt());
+    }
+
+    /**
+     * Claims failed emails due for another attempt. Claimed rows are pushed back by the lease,
+     * so they are retried again if this node dies before reporting the outcome.
+     */
+    @Transactional
+    public List<FailedEmail> claimDue(int batchSize, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        List<FailedEmail> due = failedEmailRepository.findDueForClaim(now, Limit.of(batchSize));
+        due.forEach(email -> email.setNextAttemptAt(now.plus(lease)));
+        return due;
+    }
+
+    /**
+     * Pushes back the lease of claimed emails whose retry has not completed yet.
+     */
+    @Transactional
+    public void extendLeases(Collection<Long> ids, Duration lease) {
+        failedEmailRepository.extendLease(ids, LocalDateTime.now().plus(lease));
+    }
+
+    @Transactional
+    public void recordDelivered(Long id) {
+        failedEmailRepository.deleteById(id);
+        recordOutcome("delivered");
+    }
+
+    /**
+     * Counts a failed retry and schedules the next one, or moves the email to the dead-letter table
+     * once it has failed {@code max-attempts} times. A retry refused because the mail queue was full is
+     * rescheduled without being counted.
+     */
+    @Transactional
+    public void recordRetryFailure(Long id, Throwable failure) {
+        FailedEmail email = failedEmailRepository.findById(id).orElse(null);
+        if (email == null) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (isQueueFull(failure)) {
+            email.setNextAttemptAt(now.plus(backoff(Math.max(1, email.getAttempts()))));
+            recordOutcome("deferred");
+            log.debug("Retry of email to {} deferred, mail queue is full", email.getRecipient());
+            return;
+        }
+
+        email.setAttempts(email.getAttempts() + 1);
+        email.setLastError(describe(failure));
+
+        if (email.getAttempts() >= maxAttempts) {
+            failedEmailRepository.delete(email);
+            deadLetter(email, now);
+            return;
+        }
+
+        email.setNextAttemptAt(now.plus(backoff(email.getAttempts())));
+        recordOutcome("failed");
+        log.warn("Retry {} of email to {} failed, retrying at {}",
+                email.getAttempts(), email.getRecipient(), email.getNextAttemptAt());
+    }
+
+    @Transactional(readOnly = true)
+    public Page<DeadLetterEmail> getDeadLetters(int page, int limit) {
+        return deadLetterEmailRepository.findAllByOrderByDeadAtDesc(PageRequest.of(page, limit));
+    }
+
+    @Transactional(readOnly = true)
+    public DeadLetterEmail getDeadLetter(Long id) {
+        return deadLetterEmailRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Dead-letter email with ID " + id + " not found"));
+    }
+
+    /**
+     * Moves a dead-letter email back to the retry queue for immediate delivery with a fresh attempt budget.
+     */
+    @Transactional
+    public void replay(Long id) {
+        DeadLetterEmail deadLetter = getDeadLetter(id);
+        failedEmailRepository.save(FailedEmail.builder()
+                .recipient(deadLetter.getRecipient())
+                .subject(deadLetter.getSubject())
+                .htmlContent(deadLetter.getHtmlContent())
+                .priority(deadLetter.getPriority())
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .lastError(deadLetter.getLastError())
+                .createdAt(deadLetter.getFirstFailedAt())
+                .build());
+        deadLetterEmailRepository.delete(deadLetter);
+        recordOutcome("replayed");
+        log.info("Replaying dead-letter email {} to {}", id, deadLetter.getRecipient());
+    }
+
+    @Transactional
+    public void deleteDeadLetter(Long id) {
+        deadLetterEmailRepository.delete(getDeadLetter(id));
+    }
+
+    /**
+     * Delay before the attempt following the given number of failures: exponential, capped,
+     * with the upper half randomized.
+     */
+    Duration backoff(int attempts) {
+        long exponential = baseDelay.toMillis() << Math.min(attempts - 1, 20);
+        long capped = Math.min(exponential, maxDelay.toMillis());
+        long half = capped / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1));
+    }
+
+    private void deadLetter(FailedEmail email, LocalDateTime now) {
+        deadLetterEmailRepository.save(DeadLetterEmail.builder()
+                .recipient(email.getRecipient())
+                .subject(email.getSubject())
+                .htmlContent(email.getHtmlContent())
+                .priority(email.getPriority())
+                .attempts(email.getAttempts())
+                .lastError(email.getLastError())
+                .firstFailedAt(email.getCreatedAt())
+                .deadAt(now)
+                .build());
+        recordOutcome("dead_lettered");
+        log.error("Email to {} moved to dead letters after {} attempts: {}",
+                email.getRecipient(), email.getAttempts(), email.getLastError());
+    }
+
+    private void recordOutcome(String outcome) {
+        meterRegistry.counter("supplemart_email_retries_total", "outcome", outcome).increment();
+    }
+
+    private static boolean isQueueFull(Throwable failure) {
+        return unwrap(failure) instanceof MailQueueFullException;
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause()
+                : failure;
+    }
+
+    private static String describe(Throwable failure) {
+        Throwable cause = unwrap(failure);
+        String message = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,91 @@
+package app.notification.retry;
+
+import app.notification.service.EmailService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resends failed emails when their backoff has elapsed.
+ *
+ * Each poll claims up to {@code notification.email-retry.batch-size} due emails, hands them to the mail
+ * dispatcher and reports each outcome back to EmailRetryService when the send completes. While a send is
+ * still queued its lease is renewed every {@code notification.email-retry.lease-renewal-interval-ms}, so
+ * another node cannot claim and send it a second time. Emails whose outcome is never reported, e.g. because
+ * this node died, are claimed again once {@code notification.email-retry.lease-seconds} pass.
+ */
+@Component
+@Slf4j
+public class EmailRetryWorker {
+
+    private final EmailRetryService emailRetryService;
+    private final EmailService emailService;
+    private final int batchSize;
+    private final Duration lease;
+
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    public EmailRetryWorker(EmailRetryService emailRetryService,
+                            EmailService emailService,
+                            @Value("${notification.email-retry.batch-size:50}") int batchSize,
+                            @Value("${notification.email-retry.lease-seconds:300}") long leaseSeconds) {
+        this.emailRetryService = emailRetryService;
+        this.emailService = emailService;
+        this.batchSize = Math.max(1, batchSize);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+    }
+
+    @Scheduled(fixedDelayString = "${notification.email-retry.poll-interval-ms:10000}")
+    public void retryDue() {
+        List<FailedEmail> due;
+        try {
+            due = emailRetryService.claimDue(batchSize, lease);
+        } catch (Exception e) {
+            log.error("Failed to claim emails for retry", e);
+            return;
+        }
+
+        for (FailedEmail email : due) {
+            Long id = email.getId();
+            inFlight.add(id);
+            emailService.deliver(email.getRecipient(), email.getSubject(), email.getHtmlContent(), email.getPriority())
+                    .whenComplete((ignored, failure) -> {
+                        try {
+                            if (failure == null) {
+                                emailRetryService.recordDelivered(id);
+                                log.info("Email retry delivered to: {}", email.getRecipient());
+                            } else {
+                                emailRetryService.recordRetryFailure(id, failure);
+                            }
+                        } catch (Exception e) {
+                            // The lease expires and the email is claimed again
+                            log.error("Failed to record the outcome of email retry {}", id, e);
+                        } finally {
+                            inFlight.remove(id);
+                        }
+                    });
+        }
+    }
+
+    /**
+     * Pushes back the leases of retries still waiting in the mail queue.
+     */
+    @Scheduled(fixedDelayString = "${notification.email-retry.lease-renewal-interval-ms:60000}")
+    public void renewLeases() {
+        if (inFlight.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(inFlight);
+        try {
+            emailRetryService.extendLeases(ids, lease);
+        } catch (Exception e) {
+            log.warn("Failed to renew the leases of {} email retries", ids.size(), e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package app.notification.retry;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface FailedEmailRepository extends JpaRepository<FailedEmail, Long> {
+
+    /**
+     * Lock the failed emails due for another attempt, skipping rows another worker holds.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT f FROM FailedEmail f WHERE f.nextAttemptAt <= :now ORDER BY f.nextAttemptAt, f.id")
+    List<FailedEmail> findDueForClaim(@Param("now") LocalDateTime now, Limit limit);
+
+    /**
+     * Push back the lease of failed emails whose retry is still being sent.
+     */
+    @Modifying
+    @Query("UPDATE FailedEmail f SET f.nextAttemptAt = :until WHERE f.id IN :ids")
+    int extendLease(@Param("ids") Collection<Long> ids, @Param("until") LocalDateTime until);
+}
@@ -1,5 +1,6 @@
 package app.notification.service;
 
+import app.notification.retry.EmailRetryService;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
@@ -11,19 +12,61 @@ import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmailService {
 
+    public static final String FIRST_NAME_SLOT = "firstName";
+
     private final JavaMailSender mailSender;
+    private final MailDispatcher mailDispatcher;
     private final EmailTemplateService emailTemplateService;
+    private final EmailRetryService emailRetryService;
 
     @Value("${app.email.from}")
     private String fromEmail;
 
-    public void sendEmail(String to, String subject, String htmlContent) {
+    public CompletableFuture<Void> sendEmail(String to, String subject, String htmlContent) {
+        return sendEmail(to, subject, htmlContent, MailPriority.TRANSACTIONAL);
+    }
+
+    /**
+     * Queues an email on the MailDispatcher, which sends it over a pooled SMTP connection
+     * ahead of any queued mail of lower priority. A failed send is handed to EmailRetryService
+     * to be retried with backoff.
+     *
+     * @return completes when the SMTP server has accepted the message or the failed send has been stored
+     *         for retry; fails only if the failure could not be stored
+     */
+    public CompletableFuture<Void> sendEmail(String to, String subject, String htmlContent, MailPriority priority) {
+        return deliver(to, subject, htmlContent, priority).handle((ignored, failure) -> {
+            if (failure == null) {
+                log.info("Email sent successfully to: {}", to);
+                return null;
+            }
+            log.error("Failed to send email to: {}", to, failure);
+            try {
+                emailRetryService.recordFailure(to, subject, htmlContent, priority, failure);
+            } catch (RuntimeException e) {
+                log.error("Failed to record email to {} for retry", to, e);
+                throw e;
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Builds and queues an email without retrying it on failure.
+     *
+     * @return completes when the SMTP server has accepted the message
+     */
+    public CompletableFuture<Void> deliver(String to, String subject, String htmlContent, MailPriority priority) {
         try {
             MimeMessage message = mailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
@@ -33,10 +76,9 @@ public class EmailService {
             helper.setSubject(subject);
             helper.setText(htmlContent, true);
 
-            mailSender.send(message);
-            log.info("Email sent successfully to: {}", to);
+            return mailDispatcher.submit(message, priority);
         } catch (MessagingException e) {
-            log.error("Failed to send email to: {}", to, e);
+            return CompletableFuture.failedFuture(e);
         }
     }
 
@@ -71,26 +113,53 @@ public class EmailService {
     }
 
     public String buildPriceDropEmail(String customerName, String productName, Double oldPrice, Double newPrice) {
-        double discount = ((oldPrice - newPrice) / oldPrice) * 100;
-        return buildHtmlEmail(
+        return preparePriceDropEmail(productName, oldPrice, newPrice).render(recipient(customerName));
+    }
+
+    /**
+     * Renders a price drop campaign once; fill the {@value #FIRST_NAME_SLOT} slot per recipient
+     * with {@link #recipient(String)}.
+     */
+    public PreparedEmailTemplate preparePriceDropEmail(String productName, Double oldPrice, Double newPrice) {
+        return emailTemplateService.prepareGeneralEmail(
             "Price Drop Alert",
-            String.format("Hi %s,", customerName),
+            String.format("Hi %s,", PreparedEmailTemplate.slot(FIRST_NAME_SLOT)),
             String.format("Great news! The price of %s has dropped!", productName),
-            String.format("Was: $%.2f | Now: $%.2f (%.0f%% off)", oldPrice, newPrice, discount),
+            formatPriceDrop(oldPrice, newPrice),
             "Don't miss out on this deal!"
         );
     }
 
+    public String formatPriceDrop(Double oldPrice, Double newPrice) {
+        double discount = ((oldPrice - newPrice) / oldPrice) * 100;
+        return String.format("Was: $%.2f | Now: $%.2f (%.0f%% off)", oldPrice, newPrice, discount);
+    }
+
     public String buildRestockEmail(String customerName, String productName) {
-        return buildHtmlEmail(
+        return prepareRestockEmail(productName).render(recipient(customerName));
+    }
+
+    /**
+     * Renders a restock campaign once; fill the {@value #FIRST_NAME_SLOT} slot per recipient
+     * with {@link #recipient(String)}.
+     */
+    public PreparedEmailTemplate prepareRestockEmail(String productName) {
+        return emailTemplateService.prepareGeneralEmail(
             "Back in Stock",
-            String.format("Hi %s,", customerName),
+            String.format("Hi %s,", PreparedEmailTemplate.slot(FIRST_NAME_SLOT)),
             String.format("%s is back in stock!", productName),
             "The item you were waiting for is now available.",
             "Order now before it sells out again!"
         );
     }
 
+    /**
+     * Slot values for one campaign recipient.
+     */
+    public static Map<String, String> recipient(String firstName) {
+        return Collections.singletonMap(FIRST_NAME_SLOT, firstName);
+    }
+
     public String buildReviewReminderEmail(String customerName, String orderId) {
         return buildHtmlEmail(
             "Share Your Feedback",
@@ -121,6 +190,10 @@ public class EmailService {
         );
     }
 
+    public String buildDigestEmail(String customerName, List<EmailTemplateService.DigestSectionDto> sections) {
+        return emailTemplateService.renderDigestEmail(customerName, sections);
+    }
+
     public String buildContactAdminNotificationEmail(String customerName, String customerEmail, String subject,
                                                       String message, String appName, LocalDateTime timestamp) {
         return emailTemplateService.renderContactAdminNotification(
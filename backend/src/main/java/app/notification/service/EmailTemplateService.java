@@ -59,6 +59,15 @@ public class EmailTemplateService {
         return templateEngine.process("emails/general-email", context);
     }
 
+    /**
+     * Renders the general email once for a campaign. Arguments may contain
+     * {@link PreparedEmailTemplate#slot(String)} markers for the per-recipient values.
+     */
+    public PreparedEmailTemplate prepareGeneralEmail(String title, String greeting, String mainMessage,
+                                                     String detail, String footer) {
+        return PreparedEmailTemplate.of(renderGeneralEmail(title, greeting, mainMessage, detail, footer));
+    }
+
     public String renderAbandonedCartEmail(String customerName, List<CartItemDto> items,
                                            BigDecimal cartTotal, String cartUrl) {
         Context context = new Context(Locale.getDefault());
@@ -71,6 +80,16 @@ public class EmailTemplateService {
         return templateEngine.process("emails/abandoned-cart", context);
     }
 
+    public String renderDigestEmail(String customerName, List<DigestSectionDto> sections) {
+        Context context = new Context(Locale.getDefault());
+        context.setVariable("customerName", customerName);
+        context.setVariable("sections", sections);
+        context.setVariable("itemCount", sections.stream().mapToInt(section -> section.items().size()).sum());
+        context.setVariable("currentTime", LocalDateTime.now().format(DATE_FORMATTER));
+
+        return templateEngine.process("emails/notification-digest", context);
+    }
+
     public String renderLowStockAlertEmail(List<ProductStockDto> lowStockProducts,
                                            List<ProductStockDto> outOfStockProducts) {
         Context context = new Context(Locale.getDefault());
@@ -96,5 +115,7 @@ public class EmailTemplateService {
 
     public record CartItemDto(String productName, int quantity, BigDecimal price) {}
     public record ProductStockDto(String name, int stockQuantity) {}
+    public record DigestSectionDto(String title, List<DigestItemDto> items) {}
+    public record DigestItemDto(String headline, String detail) {}
 }
 
@@ -0,0 +1,458 @@
+package app.notification.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends queued emails over a small pool of persistent SMTP connections.
+ *
+ * Each of the {@code mail.dispatcher.connections} workers owns one transport, connected (EHLO, STARTTLS
+ * and AUTH) on first use and reused for up to {@code mail.dispatcher.max-messages-per-connection}
+ * messages or until it has been idle for {@code mail.dispatcher.idle-timeout-seconds}. Workers take up
+ * to {@code mail.dispatcher.batch-size} messages at a time from a bounded queue, so fan-out
+ * notifications pay the SMTP handshake once per batch instead of once per message.
+ *
+ * The queue is ordered by {@link MailPriority}, then by arrival. A worker hands the rest of its batch
+ * back to the queue as soon as higher-priority mail is waiting, and all workers share a limit of
+ * {@code mail.dispatcher.max-per-second} sends (0 disables it) to stay within the SMTP provider's rate.
+ *
+ * Each priority class may hold up to {@code mail.dispatcher.queue-capacity} queued or in-flight messages.
+ * Submitting never blocks: once a class is full, further messages are refused with a
+ * {@link MailQueueFullException} and EmailService stores them in failed_emails for EmailRetryWorker to
+ * send later, so a campaign that fills its share only delays its own mail. The queue itself is held in
+ * memory and is lost if the node stops; notification outbox events stay leased until their mail is
+ * accepted and are dispatched again, but other callers' queued messages are not recovered.
+ *
+ * When the configured sender is not a {@link JavaMailSenderImpl} (e.g. in tests), batches are handed to
+ * {@link JavaMailSender#send(MimeMessage...)} instead.
+ */
+@Component
+@Slf4j
+public class MailDispatcher {
+
+    private static final String DEFAULT_PROTOCOL = "smtp";
+    private static final long POLL_MILLIS = 1000;
+
+    private final JavaMailSender mailSender;
+    private final int connections;
+    private final int batchSize;
+    private final int maxMessagesPerConnection;
+    private final long idleTimeoutMillis;
+
+    private final PriorityBlockingQueue<PendingMail> queue = new PriorityBlockingQueue<>(64,
+            Comparator.comparing(PendingMail::priority).thenComparingLong(PendingMail::sequence));
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<MailPriority, Semaphore> capacity = new EnumMap<>(MailPriority.class);
+    private final Map<MailPriority, AtomicInteger> queued = new EnumMap<>(MailPriority.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final SendRateLimiter rateLimiter;
+    private final ExecutorService workers;
+    private volatile boolean running = true;
+
+    private final Timer sendTimer;
+    private final Timer failedSendTimer;
+    private final Timer rateLimitTimer;
+    private final Map<MailPriority, Timer> waitTimers = new EnumMap<>(MailPriority.class);
+    private final Map<MailPriority, Timer> deliveryTimers = new EnumMap<>(MailPriority.class);
+    private final Map<MailPriority, Counter> rejectedCounters = new EnumMap<>(MailPriority.class);
+    private final Counter connectionsOpened;
+    private final DistributionSummary batchSummary;
+
+    public MailDispatcher(JavaMailSender mailSender,
+                          MeterRegistry meterRegistry,
+                          @Value("${mail.dispatcher.connections:2}") int connections,
+                          @Value("${mail.dispatcher.batch-size:50}") int batchSize,
+                          @Value("${mail.dispatcher.queue-capacity:5000}") int queueCapacity,
+                          @Value("${mail.dispatcher.max-messages-per-connection:100}") int maxMessagesPerConnection,
+                          @Value("${mail.dispatcher.idle-timeout-seconds:30}") long idleTimeoutSeconds,
+                          @Value("${mail.dispatcher.max-per-second:20}") double maxPerSecond) {
+        this.mailSender = mailSender;
+        this.connections = Math.max(1, connections);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxMessagesPerConnection = Math.max(1, maxMessagesPerConnection);
+        this.idleTimeoutMillis = TimeUnit.SECONDS.toMillis(idleTimeoutSeconds);
+
+        this.rateLimiter = maxPerSecond > 0 ? new SendRateLimiter(maxPerSecond) : null;
+        this.workers = Executors.newFixedThreadPool(this.connections,
+                Thread.ofPlatform().name("mail-dispatcher-", 0).daemon().factory());
+
+        this.sendTimer = Timer.builder("supplemart_mail_send_latency")
+                .description("Time taken to hand one message to the SMTP server")
+                .tag("outcome", "sent")
+                .register(meterRegistry);
+
+        this.failedSendTimer = Timer.builder("supplemart_mail_send_latency")
+                .description("Time taken to hand one message to the SMTP server")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+
+        this.rateLimitTimer = Timer.builder("supplemart_mail_rate_limit_wait")
+                .description("Time workers waited for the global send rate limit")
+                .register(meterRegistry);
+
+        for (MailPriority priority : MailPriority.values()) {
+            String tag = priority.name().toLowerCase();
+            Semaphore permits = new Semaphore(Math.max(1, queueCapacity));
+            AtomicInteger depth = new AtomicInteger();
+            capacity.put(priority, permits);
+            queued.put(priority, depth);
+
+            waitTimers.put(priority, Timer.builder("supplemart_mail_queue_wait")
+                    .description("Time from queueing a message to its send starting")
+                    .tag("priority", tag)
+                    .register(meterRegistry));
+
+            deliveryTimers.put(priority, Timer.builder("supplemart_mail_delivery_latency")
+                    .description("Time from queueing a message to the SMTP server accepting it")
+                    .tag("priority", tag)
+                    .register(meterRegistry));
+
+            rejectedCounters.put(priority, Counter.builder("supplemart_mail_rejected_total")
+                    .description("Number of messages refused because their priority class was full")
+                    .tag("priority", tag)
+                    .register(meterRegistry));
+
+            Gauge.builder("supplemart_mail_queue_size", depth, AtomicInteger::get)
+                    .description("Messages waiting in the mail dispatcher queue")
+                    .tag("priority", tag)
+                    .register(meterRegistry);
+        }
+
+        this.connectionsOpened = Counter.builder("supplemart_mail_connections_opened_total")
+                .description("Number of SMTP connections opened by the mail dispatcher")
+                .register(meterRegistry);
+
+        this.batchSummary = DistributionSummary.builder("supplemart_mail_batch_size")
+                .description("Messages sent per dispatcher batch")
+                .register(meterRegistry);
+
+        Gauge.builder("supplemart_mail_in_flight", inFlight, AtomicInteger::get)
+                .description("Messages taken from the queue by workers and not yet sent")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        for (int i = 0; i < connections; i++) {
+            workers.submit(this::work);
+        }
+        log.info("Mail dispatcher started with {} SMTP connections", connections);
+    }
+
+    public CompletableFuture<Void> submit(MimeMessage message) {
+        return submit(message, MailPriority.TRANSACTIONAL);
+    }
+
+    /**
+     * Queues a message for delivery without blocking. A message whose priority class is full is refused
+     * straight away with a {@link MailQueueFullException}, so a campaign that fills its share cannot stall
+     * the caller.
+     *
+     * @return completes when the SMTP server has accepted the message
+     */
+    public CompletableFuture<Void> submit(MimeMessage message, MailPriority priority) {
+        PendingMail mail = new PendingMail(message, priority, sequence.getAndIncrement(),
+                System.nanoTime(), new CompletableFuture<>());
+        if (!running || !capacity.get(priority).tryAcquire()) {
+            rejectedCounters.get(priority).increment();
+            mail.result().completeExceptionally(new MailQueueFullException(priority));
+            return mail.result();
+        }
+
+        queued.get(priority).incrementAndGet();
+        queue.add(mail);
+        return mail.result();
+    }
+
+    private void work() {
+        SmtpConnection connection = new SmtpConnection();
+        List<PendingMail> batch = new ArrayList<>(batchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                PendingMail first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    connection.closeIfIdle();
+                    continue;
+                }
+
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                for (PendingMail mail : batch) {
+                    queued.get(mail.priority()).decrementAndGet();
+                }
+                inFlight.addAndGet(batch.size());
+                batchSummary.record(batch.size());
+                deliver(batch, connection);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            for (PendingMail mail : batch) {
+                if (!mail.result().isDone()) {
+                    fail(mail, e);
+                }
+            }
+        } finally {
+            connection.close();
+        }
+    }
+
+    private void deliver(List<PendingMail> batch, SmtpConnection connection) throws InterruptedException {
+        if (!(mailSender instanceof JavaMailSenderImpl)) {
+            deliverThroughSender(batch);
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            PendingMail mail = batch.get(i);
+            if (higherPriorityWaiting(mail.priority())) {
+                requeue(batch.subList(i, batch.size()));
+                return;
+            }
+
+            acquireSendPermits(1);
+            waitTimers.get(mail.priority()).record(System.nanoTime() - mail.queuedAt(), TimeUnit.NANOSECONDS);
+            long start = System.nanoTime();
+            try {
+                connection.send(mail.message());
+                sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                complete(mail);
+            } catch (MessagingException | RuntimeException e) {
+                failedSendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                // The connection's state is unknown after a failure; the next message reconnects
+                connection.close();
+                fail(mail, e);
+                log.error("Failed to send email: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void deliverThroughSender(List<PendingMail> batch) throws InterruptedException {
+        acquireSendPermits(batch.size());
+        for (PendingMail mail : batch) {
+            waitTimers.get(mail.priority()).record(System.nanoTime() - mail.queuedAt(), TimeUnit.NANOSECONDS);
+        }
+
+        long start = System.nanoTime();
+        try {
+            mailSender.send(batch.stream().map(PendingMail::message).toArray(MimeMessage[]::new));
+            long perMessage = (System.nanoTime() - start) / batch.size();
+            for (PendingMail mail : batch) {
+                sendTimer.record(perMessage, TimeUnit.NANOSECONDS);
+                complete(mail);
+            }
+        } catch (MailSendException e) {
+            long perMessage = (System.nanoTime() - start) / batch.size();
+            for (PendingMail mail : batch) {
+                Exception failure = e.getFailedMessages().get(mail.message());
+                if (failure == null) {
+                    sendTimer.record(perMessage, TimeUnit.NANOSECONDS);
+                    complete(mail);
+                } else {
+                    failedSendTimer.record(perMessage, TimeUnit.NANOSECONDS);
+                    fail(mail, failure);
+                }
+            }
+            log.error("Failed to send {} of {} emails", e.getFailedMessages().size(), batch.size());
+        } catch (MailException e) {
+            batch.forEach(mail -> fail(mail, e));
+            log.error("Failed to send batch of {} emails: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private boolean higherPriorityWaiting(MailPriority priority) {
+        PendingMail head = queue.peek();
+        return head != null && head.priority().compareTo(priority) < 0;
+    }
+
+    private void requeue(List<PendingMail> remaining) {
+        for (PendingMail mail : remaining) {
+            queued.get(mail.priority()).incrementAndGet();
+        }
+        inFlight.addAndGet(-remaining.size());
+        // Sequence numbers are kept, so the messages go back to their original position
+        queue.addAll(remaining);
+    }
+
+    private void acquireSendPermits(int permits) throws InterruptedException {
+        if (rateLimiter != null) {
+            rateLimitTimer.record(rateLimiter.acquire(permits), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void complete(PendingMail mail) {
+        deliveryTimers.get(mail.priority()).record(System.nanoTime() - mail.queuedAt(), TimeUnit.NANOSECONDS);
+        release(mail);
+        mail.result().complete(null);
+    }
+
+    private void fail(PendingMail mail, Throwable failure) {
+        release(mail);
+        mail.result().completeExceptionally(failure);
+    }
+
+    private void release(PendingMail mail) {
+        inFlight.decrementAndGet();
+        capacity.get(mail.priority()).release();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Workers drain what is already queued before exiting
+        running = false;
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record PendingMail(MimeMessage message, MailPriority priority, long sequence, long queuedAt,
+                               CompletableFuture<Void> result) {
+    }
+
+    /**
+     * Paces sends across all workers to a fixed rate, allowing up to one second's worth of
+     * sends in a burst after an idle period. Callers reserve their slot up front and sleep until it.
+     */
+    private static final class SendRateLimiter {
+
+        private final long intervalNanos;
+        private final long burstNanos = TimeUnit.SECONDS.toNanos(1);
+        private final AtomicLong nextFreeAt = new AtomicLong(System.nanoTime() - burstNanos);
+
+        SendRateLimiter(double permitsPerSecond) {
+            this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        }
+
+        /**
+         * @return nanoseconds spent waiting
+         */
+        long acquire(int permits) throws InterruptedException {
+            long now;
+            long reservedAt;
+            while (true) {
+                now = System.nanoTime();
+                long next = nextFreeAt.get();
+                reservedAt = Math.max(next, now - burstNanos);
+                if (nextFreeAt.compareAndSet(next, reservedAt + permits * intervalNanos)) {
+                    break;
+                }
+            }
+
+            long waitNanos = reservedAt - now;
+            if (waitNanos <= 0) {
+                return 0;
+            }
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+            return waitNanos;
+        }
+    }
+
+    /**
+     * One worker's SMTP connection, opened lazily and recycled after a message quota or idle period.
+     */
+    private final class SmtpConnection {
+
+        private Transport transport;
+        private int sent;
+        private long lastUsedAt;
+
+        void send(MimeMessage message) throws MessagingException {
+            if (transport == null || sent >= maxMessagesPerConnection || !transport.isConnected()) {
+                close();
+                open();
+            }
+
+            if (message.getSentDate() == null) {
+                message.setSentDate(new Date());
+            }
+            String messageId = message.getMessageID();
+            message.saveChanges();
+            if (messageId != null) {
+                // saveChanges() regenerates the Message-ID
+                message.setHeader("Message-ID", messageId);
+            }
+
+            Address[] recipients = message.getAllRecipients();
+            transport.sendMessage(message, recipients != null ? recipients : new Address[0]);
+            sent++;
+            lastUsedAt = System.currentTimeMillis();
+        }
+
+        private void open() throws MessagingException {
+            JavaMailSenderImpl sender = (JavaMailSenderImpl) mailSender;
+            Session session = sender.getSession();
+            String protocol = sender.getProtocol() != null ? sender.getProtocol() : DEFAULT_PROTOCOL;
+
+            String username = sender.getUsername();
+            String password = sender.getPassword();
+            if ("".equals(username)) {
+                username = null;
+                if ("".equals(password)) {
+                    password = null;
+                }
+            }
+
+            Transport opened = session.getTransport(protocol);
+            opened.connect(sender.getHost(), sender.getPort(), username, password);
+            transport = opened;
+            sent = 0;
+            connectionsOpened.increment();
+        }
+
+        void closeIfIdle() {
+            if (transport != null && System.currentTimeMillis() - lastUsedAt >= idleTimeoutMillis) {
+                close();
+            }
+        }
+
+        void close() {
+            if (transport == null) {
+                return;
+            }
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                log.debug("Failed to close SMTP connection: {}", e.getMessage());
+            }
+            transport = null;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package app.notification.service;
+
+/**
+ * Delivery classes of the mail queue, highest first. Each class has its own queue capacity,
+ * so a marketing campaign filling its share never blocks security or order mail.
+ */
+public enum MailPriority {
+
+    /** Security alerts and password resets. */
+    CRITICAL,
+
+    /** Order lifecycle, contact and admin operational mail. */
+    TRANSACTIONAL,
+
+    /** Price drop, restock, review and abandoned cart campaigns. */
+    MARKETING
+}
@@ -0,0 +1,12 @@
+package app.notification.service;
+
+/**
+ * Exception completing a MailDispatcher submission that was refused because its priority class
+ * already holds {@code mail.dispatcher.queue-capacity} messages.
+ */
+public class MailQueueFullException extends IllegalStateException {
+
+    public MailQueueFullException(MailPriority priority) {
+        super("Mail queue is full for " + priority + " messages");
+    }
+}
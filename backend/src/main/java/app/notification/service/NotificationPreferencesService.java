@@ -1,5 +1,6 @@
 package app.notification.service;
 
+import app.config.CacheConfig;
 import app.notification.dto.NotificationPreferencesResponse;
 import app.notification.dto.UpdateNotificationPreferencesRequest;
 import app.notification.mapper.NotificationPreferencesMapper;
@@ -7,47 +8,108 @@ import app.notification.model.NotificationPreferences;
 import app.notification.repository.NotificationPreferencesRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationPreferencesService {
-    
+
+    private static final int LOAD_CHUNK_SIZE = 1000;
+
     private final NotificationPreferencesRepository notificationPreferencesRepository;
     private final NotificationPreferencesMapper notificationPreferencesMapper;
+    private final CacheManager cacheManager;
 
+    /**
+     * Returns the user's preferences, or the defaults if they never saved any.
+     * Defaults are not stored; a row is only written by {@link #updatePreferences}.
+     */
     @Transactional(readOnly = true)
+    @Cacheable(value = CacheConfig.NOTIFICATION_PREFERENCES_CACHE, key = "#userId")
     public NotificationPreferencesResponse getPreferences(UUID userId) {
-        log.info("Getting notification preferences for user: {}", userId);
-        
+        log.debug("Getting notification preferences for user: {}", userId);
+
         NotificationPreferences preferences = notificationPreferencesRepository.findByUserId(userId)
-                .orElseGet(() -> {
-                    NotificationPreferences defaultPrefs = notificationPreferencesMapper.createDefaultPreferences(userId);
-                    return notificationPreferencesRepository.save(defaultPrefs);
-                });
+                .orElseGet(() -> notificationPreferencesMapper.createDefaultPreferences(userId));
 
         return notificationPreferencesMapper.toResponse(preferences);
     }
-    
+
+    /**
+     * Returns preferences for many users at once, for fan-out notifications.
+     * Cached entries are reused and the rest are loaded with one query per
+     * {@value #LOAD_CHUNK_SIZE} users; users without a row get the defaults, which are not stored.
+     *
+     * @return preferences keyed by user id, with an entry for every requested user
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, NotificationPreferencesResponse> getPreferences(Collection<UUID> userIds) {
+        Cache cache = cacheManager.getCache(CacheConfig.NOTIFICATION_PREFERENCES_CACHE);
+        Map<UUID, NotificationPreferencesResponse> result = new HashMap<>();
+        List<UUID> missing = new ArrayList<>();
+
+        for (UUID userId : new LinkedHashSet<>(userIds)) {
+            NotificationPreferencesResponse cached = cache != null
+                    ? cache.get(userId, NotificationPreferencesResponse.class)
+                    : null;
+            if (cached != null) {
+                result.put(userId, cached);
+            } else {
+                missing.add(userId);
+            }
+        }
+
+        for (int from = 0; from < missing.size(); from += LOAD_CHUNK_SIZE) {
+            List<UUID> chunk = missing.subList(from, Math.min(from + LOAD_CHUNK_SIZE, missing.size()));
+            Map<UUID, NotificationPreferences> stored = notificationPreferencesRepository.findByUserIdIn(chunk)
+                    .stream()
+                    .collect(Collectors.toMap(NotificationPreferences::getUserId, Function.identity()));
+
+            for (UUID userId : chunk) {
+                NotificationPreferences preferences = stored.get(userId);
+                NotificationPreferencesResponse response = notificationPreferencesMapper.toResponse(
+                        preferences != null ? preferences : notificationPreferencesMapper.createDefaultPreferences(userId));
+                result.put(userId, response);
+                if (cache != null) {
+                    cache.put(userId, response);
+                }
+            }
+        }
+
+        log.debug("Loaded notification preferences for {} users ({} from cache)",
+                result.size(), result.size() - missing.size());
+        return result;
+    }
+
     @Transactional
+    @CacheEvict(value = CacheConfig.NOTIFICATION_PREFERENCES_CACHE, key = "#userId")
     public NotificationPreferencesResponse updatePreferences(UUID userId, UpdateNotificationPreferencesRequest request) {
         log.info("Updating notification preferences for user: {}", userId);
-        
+
         NotificationPreferences preferences = notificationPreferencesRepository.findByUserId(userId)
-                .orElseGet(() -> {
-                    NotificationPreferences defaultPrefs = notificationPreferencesMapper.createDefaultPreferences(userId);
-                    return notificationPreferencesRepository.save(defaultPrefs);
-                });
+                .orElseGet(() -> notificationPreferencesMapper.createDefaultPreferences(userId));
 
         notificationPreferencesMapper.updatePreferencesFromRequest(preferences, request);
 
         NotificationPreferences savedPreferences = notificationPreferencesRepository.save(preferences);
         log.info("Notification preferences updated successfully for user: {}", userId);
-        
+
         return notificationPreferencesMapper.toResponse(savedPreferences);
     }
 }
@@ -0,0 +1,98 @@
+package app.notification.service;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * An email rendered once with placeholder slots, for campaigns where only a few values differ per recipient.
+ *
+ * Pass {@link #slot(String)} markers as template variables, render the template once and wrap the HTML with
+ * {@link #of(String)}. The HTML is split at the markers, so {@link #render(Map)} only concatenates the
+ * fixed fragments with the HTML-escaped slot values. Markers carry a per-process random nonce and cannot be
+ * forged by user-supplied content.
+ */
+public final class PreparedEmailTemplate {
+
+    private static final String SLOT_PREFIX = "%%slot-" + HexFormat.of().formatHex(randomBytes()) + "-";
+    private static final String SLOT_SUFFIX = "%%";
+    private static final Pattern SLOT_NAME = Pattern.compile("[A-Za-z0-9]+");
+
+    private final String[] fragments;
+    private final String[] slots;
+    private final int fixedLength;
+
+    private PreparedEmailTemplate(String[] fragments, String[] slots) {
+        this.fragments = fragments;
+        this.slots = slots;
+        int length = 0;
+        for (String fragment : fragments) {
+            length += fragment.length();
+        }
+        this.fixedLength = length;
+    }
+
+    /**
+     * Returns the marker for a slot, to be used in place of the per-recipient value when rendering.
+     */
+    public static String slot(String name) {
+        if (!SLOT_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid slot name: " + name);
+        }
+        return SLOT_PREFIX + name + SLOT_SUFFIX;
+    }
+
+    /**
+     * Splits rendered HTML at its slot markers.
+     */
+    public static PreparedEmailTemplate of(String html) {
+        List<String> fragments = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+
+        int from = 0;
+        int start;
+        while ((start = html.indexOf(SLOT_PREFIX, from)) >= 0) {
+            int nameStart = start + SLOT_PREFIX.length();
+            int end = html.indexOf(SLOT_SUFFIX, nameStart);
+            if (end < 0) {
+                break;
+            }
+            fragments.add(html.substring(from, start));
+            slots.add(html.substring(nameStart, end));
+            from = end + SLOT_SUFFIX.length();
+        }
+        fragments.add(html.substring(from));
+
+        return new PreparedEmailTemplate(fragments.toArray(String[]::new), slots.toArray(String[]::new));
+    }
+
+    /**
+     * Produces one recipient's HTML. Values are HTML-escaped; missing or null values render as empty text.
+     */
+    public String render(Map<String, String> values) {
+        StringBuilder html = new StringBuilder(fixedLength + slots.length * 32);
+        for (int i = 0; i < slots.length; i++) {
+            html.append(fragments[i]);
+            String value = values.get(slots[i]);
+            if (value != null) {
+                html.append(HtmlUtils.htmlEscape(value, "UTF-8"));
+            }
+        }
+        return html.append(fragments[slots.length]).toString();
+    }
+
+    public List<String> getSlots() {
+        return List.of(slots);
+    }
+
+    private static byte[] randomBytes() {
+        byte[] bytes = new byte[8];
+        new SecureRandom().nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,20 @@
+package app.order.dto;
+
+import app.order.model.OrderStatus;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Outcome of a bulk order status transition.
+ *
+ * @param updated orders moved to the new status
+ * @param skipped orders left unchanged, mapped to the reason
+ */
+public record BulkStatusUpdateResult(
+        OrderStatus newStatus,
+        List<OrderNotificationView> updated,
+        Map<UUID, String> skipped
+) {
+}
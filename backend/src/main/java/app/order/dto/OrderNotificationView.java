@@ -0,0 +1,20 @@
+package app.order.dto;
+
+import app.order.model.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projection with just the order and user fields needed to change an order's status
+ * and notify its owner, so bulk operations don't load full Order and User entities.
+ */
+public interface OrderNotificationView {
+    UUID getId();
+    String getOrderNumber();
+    OrderStatus getStatus();
+    LocalDateTime getUpdatedAt();
+    UUID getUserId();
+    String getUserEmail();
+    String getUserFirstName();
+}
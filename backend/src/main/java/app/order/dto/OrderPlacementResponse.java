@@ -0,0 +1,19 @@
+package app.order.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+public class OrderPlacementResponse {
+    private UUID placementId;
+    private String orderNumber;
+    private String status;
+    private OrderResponse order;
+    private String message;
+    private LocalDateTime acceptedAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,48 @@
+package app.order.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * An order accepted for asynchronous placement, kept for {@code orders.async.status-ttl-minutes}
+ * so the status can be read from any replica.
+ */
+@Entity
+@Table(name = "order_placements")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPlacement {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "order_number", nullable = false, length = 50)
+    private String orderNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private OrderPlacementStatus status;
+
+    @Column(name = "order_id")
+    private UUID orderId;
+
+    @Column(length = 500)
+    private String message;
+
+    @Column(name = "accepted_at", nullable = false)
+    private LocalDateTime acceptedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,16 @@
+package app.order.model;
+
+/**
+ * Lifecycle of an asynchronously placed order.
+ * ACCEPTED and PROCESSING are transient; CONFIRMED and REJECTED are final.
+ */
+public enum OrderPlacementStatus {
+    ACCEPTED,
+    PROCESSING,
+    CONFIRMED,
+    REJECTED;
+
+    public boolean isFinal() {
+        return this == CONFIRMED || this == REJECTED;
+    }
+}
@@ -1,10 +1,30 @@
 package app.order.model;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum OrderStatus {
     PENDING,
     PAID,
     PROCESSING,
     SHIPPED,
     DELIVERED,
-    CANCELLED
+    CANCELLED;
+
+    /**
+     * Allowed status transitions. DELIVERED and CANCELLED are final.
+     */
+    public Set<OrderStatus> allowedTransitions() {
+        return switch (this) {
+            case PENDING -> EnumSet.of(PAID, PROCESSING, CANCELLED);
+            case PAID -> EnumSet.of(PROCESSING, SHIPPED, CANCELLED);
+            case PROCESSING -> EnumSet.of(SHIPPED, CANCELLED);
+            case SHIPPED -> EnumSet.of(DELIVERED);
+            case DELIVERED, CANCELLED -> EnumSet.noneOf(OrderStatus.class);
+        };
+    }
+
+    public boolean canTransitionTo(OrderStatus target) {
+        return allowedTransitions().contains(target);
+    }
 }
@@ -0,0 +1,65 @@
+package app.order.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes Envers audit rows for orders changed by set-based UPDATEs, which bypass
+ * Hibernate's entity lifecycle and therefore never reach Envers on their own.
+ * All orders share one revision and are copied into orders_aud with a single INSERT ... SELECT.
+ */
+@Repository
+public class OrderAuditRepository {
+
+    private static final int REVTYPE_MOD = 1;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Records the current state of the given orders as a modification revision.
+     * Must run in the same transaction as the UPDATE it audits.
+     *
+     * @return the revision number, or -1 if there was nothing to audit
+     */
+    public long writeModificationRevision(Collection<UUID> orderIds) {
+        if (orderIds.isEmpty()) {
+            return -1;
+        }
+
+        entityManager.createNativeQuery("INSERT INTO revinfo (revtstmp) VALUES (:timestamp)")
+                .setParameter("timestamp", System.currentTimeMillis())
+                .executeUpdate();
+
+        long revision = ((Number) entityManager.createNativeQuery("SELECT LAST_INSERT_ID()")
+                .getSingleResult()).longValue();
+
+        List<byte[]> ids = orderIds.stream().map(OrderAuditRepository::toBytes).toList();
+
+        entityManager.createNativeQuery(
+                        "INSERT INTO orders_aud (id, rev, revtype, order_number, total_amount, status, " +
+                        "stripe_payment_intent_id, shipping_address, created_at, updated_at, last_modified_by) " +
+                        "SELECT id, :rev, :revtype, order_number, total_amount, status, " +
+                        "stripe_payment_intent_id, shipping_address, created_at, updated_at, last_modified_by " +
+                        "FROM orders WHERE id IN (:ids)")
+                .setParameter("rev", revision)
+                .setParameter("revtype", REVTYPE_MOD)
+                .setParameter("ids", ids)
+                .executeUpdate();
+
+        return revision;
+    }
+
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
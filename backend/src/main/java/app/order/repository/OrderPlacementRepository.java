@@ -0,0 +1,39 @@
+package app.order.repository;
+
+import app.order.model.OrderPlacement;
+import app.order.model.OrderPlacementStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OrderPlacementRepository extends JpaRepository<OrderPlacement, UUID> {
+
+    List<OrderPlacement> findByStatusInAndAcceptedAtBefore(Collection<OrderPlacementStatus> statuses,
+                                                           LocalDateTime before, Limit limit);
+
+    /**
+     * Moves a placement to a final status unless it has already reached one.
+     */
+    @Modifying
+    @Query("UPDATE OrderPlacement p SET p.status = :status, p.orderId = :orderId, p.message = :message, " +
+           "p.completedAt = :completedAt WHERE p.id = :id AND p.status IN :pending")
+    int resolveIfPending(@Param("id") UUID id,
+                         @Param("pending") Collection<OrderPlacementStatus> pending,
+                         @Param("status") OrderPlacementStatus status,
+                         @Param("orderId") UUID orderId,
+                         @Param("message") String message,
+                         @Param("completedAt") LocalDateTime completedAt);
+
+    @Modifying
+    @Query("DELETE FROM OrderPlacement p WHERE p.acceptedAt < :before")
+    int deleteByAcceptedAtBefore(@Param("before") LocalDateTime before);
+}
@@ -2,17 +2,21 @@ package app.order.repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import app.order.dto.OrderNotificationView;
 import app.order.model.Order;
 import app.order.model.OrderStatus;
 
@@ -68,25 +72,50 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
     BigDecimal calculateTotalSpentByUser(@Param("userId") UUID userId);
 
     /**
-     * Find orders with a specific status that were last updated before the cutoff date.
+     * Keyset-paged read of orders with a specific status that were last updated before the cutoff date,
+     * ordered by (updatedAt, id) and starting strictly after the given cursor.
      * Used for auto-updating order statuses (e.g., SHIPPED -> DELIVERED after X days).
      */
-    @Query("SELECT o FROM Order o WHERE o.status = :status AND o.updatedAt < :cutoffDate")
-    List<Order> findByStatusAndUpdatedBefore(
+    @Query("SELECT o.id AS id, o.orderNumber AS orderNumber, o.status AS status, o.updatedAt AS updatedAt, " +
+           "u.id AS userId, u.email AS userEmail, u.firstName AS userFirstName " +
+           "FROM Order o JOIN o.user u " +
+           "WHERE o.status = :status AND o.updatedAt < :cutoffDate " +
+           "AND (o.updatedAt > :afterUpdatedAt OR (o.updatedAt = :afterUpdatedAt AND o.id > :afterId)) " +
+           "ORDER BY o.updatedAt ASC, o.id ASC")
+    List<OrderNotificationView> findNotificationViewsByStatusAndUpdatedBefore(
             @Param("status") OrderStatus status,
-            @Param("cutoffDate") LocalDateTime cutoffDate
+            @Param("cutoffDate") LocalDateTime cutoffDate,
+            @Param("afterUpdatedAt") LocalDateTime afterUpdatedAt,
+            @Param("afterId") UUID afterId,
+            Limit limit
     );
 
     /**
-     * Find delivered orders that haven't been reviewed within a timeframe.
-     * Used for sending review reminder notifications.
+     * Load status and notification fields for a set of orders without loading entities.
      */
-    @Query("SELECT o FROM Order o WHERE o.status = 'DELIVERED' " +
-           "AND o.updatedAt BETWEEN :startDate AND :endDate " +
-           "AND NOT EXISTS (SELECT r FROM Review r WHERE r.user = o.user AND r.product IN " +
-           "(SELECT oi.product FROM OrderItem oi WHERE oi.order = o))")
-    List<Order> findDeliveredOrdersWithoutReviews(
-            @Param("startDate") LocalDateTime startDate,
-            @Param("endDate") LocalDateTime endDate
+    @Query("SELECT o.id AS id, o.orderNumber AS orderNumber, o.status AS status, o.updatedAt AS updatedAt, " +
+           "u.id AS userId, u.email AS userEmail, u.firstName AS userFirstName " +
+           "FROM Order o JOIN o.user u WHERE o.id IN :ids")
+    List<OrderNotificationView> findNotificationViewsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Set-based status transition. Only rows still in the expected status are changed,
+     * so concurrent modifications are never overwritten.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :newStatus, o.updatedAt = :updatedAt, o.lastModifiedBy = :modifiedBy " +
+           "WHERE o.id IN :ids AND o.status = :currentStatus")
+    int updateStatusWhereCurrent(
+            @Param("ids") Collection<UUID> ids,
+            @Param("currentStatus") OrderStatus currentStatus,
+            @Param("newStatus") OrderStatus newStatus,
+            @Param("updatedAt") LocalDateTime updatedAt,
+            @Param("modifiedBy") String modifiedBy
     );
+
+    @Query("SELECT o.id FROM Order o WHERE o.id IN :ids AND o.status = :status")
+    List<UUID> findIdsByIdInAndStatus(@Param("ids") Collection<UUID> ids, @Param("status") OrderStatus status);
+
+    @Query("SELECT o.id FROM Order o WHERE o.orderNumber = :orderNumber")
+    Optional<UUID> findIdByOrderNumber(@Param("orderNumber") String orderNumber);
 }
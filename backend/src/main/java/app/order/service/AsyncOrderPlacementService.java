@@ -0,0 +1,452 @@
+package app.order.service;
+
+import app.cart.service.CartService;
+import app.exception.BadRequestException;
+import app.exception.ResourceNotFoundException;
+import app.exception.ServiceUnavailableException;
+import app.exception.UnauthorizedException;
+import app.order.dto.CreateOrderRequest;
+import app.order.dto.OrderPlacementResponse;
+import app.order.dto.OrderResponse;
+import app.order.model.OrderPlacement;
+import app.order.model.OrderPlacementStatus;
+import app.order.repository.OrderPlacementRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous checkout: validates and enqueues an order, then places it in the background
+ * using the same semantics as {@link OrderService#createOrder(UUID, CreateOrderRequest)}.
+ *
+ * Placements run on a fixed pool of virtual threads, so at most {@code orders.async.workers}
+ * orders hold a database connection at once. Placements of the same user are chained and
+ * therefore processed strictly in submission order.
+ *
+ * Placement status is stored in the order_placements table for {@code orders.async.status-ttl-minutes},
+ * so any replica can answer a poll. Server-sent event streams are served by the node the client
+ * connected to: it pushes changes it makes itself at once and picks up changes made on other nodes
+ * every {@code orders.async.sse-poll-interval-ms}.
+ *
+ * A placement can be left ACCEPTED or PROCESSING when its node dies, or when shutdown interrupts it
+ * after its order was created but before the result was saved. A recovery sweep resolves placements
+ * still pending after {@code orders.async.stalled-after-minutes}: since the order number is assigned up
+ * front, the placement is CONFIRMED if an order with that number exists and REJECTED otherwise. Placements
+ * still queued when shutdown gives up waiting are rejected at once.
+ */
+@Service
+@Slf4j
+public class AsyncOrderPlacementService {
+
+    private static final List<OrderPlacementStatus> PENDING_STATUSES =
+            List.of(OrderPlacementStatus.ACCEPTED, OrderPlacementStatus.PROCESSING);
+    private static final int RECOVERY_BATCH_SIZE = 100;
+
+    private final OrderService orderService;
+    private final CartService cartService;
+    private final OrderPlacementRepository placementRepository;
+    private final int maxQueueDepth;
+    private final long emitterTimeoutMillis;
+    private final Duration statusTtl;
+    private final Duration stalledAfter;
+    private final long shutdownTimeoutSeconds;
+
+    private final ExecutorService workerPool;
+    private final Map<UUID, CompletableFuture<Void>> userQueues = new ConcurrentHashMap<>();
+    private final Map<UUID, Subscribers> subscribers = new ConcurrentHashMap<>();
+    // Placements accepted on this node whose processing has not started, and those being processed
+    private final Map<UUID, OrderPlacement> queued = new ConcurrentHashMap<>();
+    private final Set<UUID> processing = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger queueDepth = new AtomicInteger(0);
+
+    private final Timer queueWaitTimer;
+    private final Timer confirmedTimer;
+    private final Timer rejectedTimer;
+    private final Counter queueFullCounter;
+
+    public AsyncOrderPlacementService(OrderService orderService,
+                                      CartService cartService,
+                                      OrderPlacementRepository placementRepository,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${orders.async.workers:8}") int workers,
+                                      @Value("${orders.async.max-queue-depth:1000}") int maxQueueDepth,
+                                      @Value("${orders.async.status-ttl-minutes:60}") long statusTtlMinutes,
+                                      @Value("${orders.async.emitter-timeout-seconds:60}") long emitterTimeoutSeconds,
+                                      @Value("${orders.async.stalled-after-minutes:15}") long stalledAfterMinutes,
+                                      @Value("${orders.async.shutdown-timeout-seconds:30}") long shutdownTimeoutSeconds) {
+        this.orderService = orderService;
+        this.cartService = cartService;
+        this.placementRepository = placementRepository;
+        this.maxQueueDepth = maxQueueDepth;
+        this.emitterTimeoutMillis = TimeUnit.SECONDS.toMillis(emitterTimeoutSeconds);
+        this.statusTtl = Duration.ofMinutes(statusTtlMinutes);
+        this.stalledAfter = Duration.ofMinutes(stalledAfterMinutes);
+        this.shutdownTimeoutSeconds = shutdownTimeoutSeconds;
+
+        this.workerPool = Executors.newFixedThreadPool(workers,
+                Thread.ofVirtual().name("order-placement-", 0).factory());
+
+        Gauge.builder("supplemart_order_placement_queue_depth", queueDepth, AtomicInteger::get)
+                .description("Number of accepted orders waiting to be placed")
+                .register(meterRegistry);
+
+        this.queueWaitTimer = Timer.builder("supplemart_order_placement_queue_wait")
+                .description("Time between accepting an order and starting to place it")
+                .register(meterRegistry);
+
+        this.confirmedTimer = Timer.builder("supplemart_order_placement_processing_time")
+                .description("Time taken to place an accepted order")
+                .tag("outcome", "confirmed")
+                .register(meterRegistry);
+
+        this.rejectedTimer = Timer.builder("supplemart_order_placement_processing_time")
+                .description("Time taken to place an accepted order")
+                .tag("outcome", "rejected")
+                .register(meterRegistry);
+
+        this.queueFullCounter = Counter.builder("supplemart_order_placement_queue_full_total")
+                .description("Number of orders refused because the placement queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Validates the checkout request and queues the order for placement.
+     * The returned placement already carries the order number the order will be created with.
+     */
+    public OrderPlacementResponse placeOrder(UUID userId, CreateOrderRequest request) {
+        if (!cartService.hasItems(userId)) {
+            throw new BadRequestException("Cart is empty. Cannot create order with no items");
+        }
+
+        if (queueDepth.incrementAndGet() > maxQueueDepth) {
+            queueDepth.decrementAndGet();
+            queueFullCounter.increment();
+            throw new ServiceUnavailableException("Checkout is busy. Please try again shortly");
+        }
+
+        OrderPlacement placement;
+        try {
+            placement = placementRepository.save(OrderPlacement.builder()
+                    .id(UUID.randomUUID())
+                    .userId(userId)
+                    .orderNumber(orderService.generateOrderNumber())
+                    .status(OrderPlacementStatus.ACCEPTED)
+                    .acceptedAt(LocalDateTime.now())
+                    .build());
+        } catch (RuntimeException e) {
+            queueDepth.decrementAndGet();
+            throw e;
+        }
+        long acceptedNanos = System.nanoTime();
+        queued.put(placement.getId(), placement);
+
+        CompletableFuture<Void> tail = userQueues.compute(userId, (id, previous) -> {
+            // A failed predecessor must not stop the user's later orders
+            CompletableFuture<Void> base = previous != null
+                    ? previous.exceptionally(ex -> null)
+                    : CompletableFuture.completedFuture(null);
+            return base.thenRunAsync(() -> process(placement, request, acceptedNanos), workerPool);
+        });
+        tail.whenComplete((ignored, ex) -> {
+            userQueues.remove(userId, tail);
+            if (ex != null && unwrap(ex) instanceof RejectedExecutionException) {
+                // The worker pool is shutting down, so process() will never run for this placement
+                rejectQueued(placement.getId());
+            }
+        });
+
+        log.info("Order {} accepted for asynchronous placement (placement: {}, user: {})",
+                placement.getOrderNumber(), placement.getId(), userId);
+
+        return toResponse(placement, null);
+    }
+
+    public OrderPlacementResponse getPlacement(UUID placementId, UUID userId) {
+        OrderPlacement placement = getOwnedPlacement(placementId, userId);
+        return toResponse(placement, confirmedOrder(placement));
+    }
+
+    /**
+     * Opens a server-sent event stream that emits a "placement" event on every status change
+     * and completes once the placement reaches a final status.
+     */
+    public SseEmitter subscribe(UUID placementId, UUID userId) {
+        OrderPlacement placement = getOwnedPlacement(placementId, userId);
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscribers current = subscribers.computeIfAbsent(placementId, id -> new Subscribers());
+        current.emitters.add(emitter);
+        current.lastSent = placement.getStatus();
+        emitter.onCompletion(() -> removeSubscriber(placementId, emitter));
+        emitter.onTimeout(() -> removeSubscriber(placementId, emitter));
+
+        try {
+            emitter.send(SseEmitter.event().name("placement").data(toResponse(placement, confirmedOrder(placement))));
+            if (placement.getStatus().isFinal()) {
+                emitter.complete();
+            }
+        } catch (IOException e) {
+            removeSubscriber(placementId, emitter);
+            emitter.completeWithError(e);
+        }
+
+        return emitter;
+    }
+
+    /**
+     * Pushes status changes made on other replicas to the streams open on this node.
+     */
+    @Scheduled(fixedDelayString = "${orders.async.sse-poll-interval-ms:500}")
+    public void pushRemoteUpdates() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        try {
+            for (OrderPlacement placement : placementRepository.findAllById(List.copyOf(subscribers.keySet()))) {
+                Subscribers current = subscribers.get(placement.getId());
+                if (current != null && current.lastSent != placement.getStatus()) {
+                    publish(placement, confirmedOrder(placement));
+                }
+            }
+        } catch (Exception e) {
+            log.error("Failed to poll order placements for subscribers", e);
+        }
+    }
+
+    /**
+     * Resolves placements left ACCEPTED or PROCESSING for longer than {@code orders.async.stalled-after-minutes}
+     * by a node that died or was shut down. Open streams are updated by {@link #pushRemoteUpdates}.
+     */
+    @Scheduled(fixedDelayString = "${orders.async.recovery-interval-ms:60000}")
+    @Transactional
+    public void recoverStalled() {
+        List<OrderPlacement> stalled = placementRepository.findByStatusInAndAcceptedAtBefore(
+                PENDING_STATUSES, LocalDateTime.now().minus(stalledAfter), Limit.of(RECOVERY_BATCH_SIZE));
+
+        int confirmed = 0;
+        int rejected = 0;
+        for (OrderPlacement placement : stalled) {
+            if (queued.containsKey(placement.getId()) || processing.contains(placement.getId())) {
+                continue;
+            }
+            Optional<UUID> orderId = orderService.findOrderIdByOrderNumber(placement.getOrderNumber());
+            if (orderId.isPresent()) {
+                confirmed += placementRepository.resolveIfPending(placement.getId(), PENDING_STATUSES,
+                        OrderPlacementStatus.CONFIRMED, orderId.get(), null, LocalDateTime.now());
+            } else {
+                rejected += placementRepository.resolveIfPending(placement.getId(), PENDING_STATUSES,
+                        OrderPlacementStatus.REJECTED, null, "Order could not be placed", LocalDateTime.now());
+            }
+        }
+        if (confirmed + rejected > 0) {
+            log.warn("Recovered stalled order placements: {} confirmed, {} rejected", confirmed, rejected);
+        }
+    }
+
+    /**
+     * Deletes placements older than {@code orders.async.status-ttl-minutes}.
+     */
+    @Scheduled(fixedDelayString = "${orders.async.purge-interval-ms:600000}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = placementRepository.deleteByAcceptedAtBefore(LocalDateTime.now().minus(statusTtl));
+        if (deleted > 0) {
+            log.debug("Purged {} expired order placements", deleted);
+        }
+    }
+
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    private void process(OrderPlacement placement, CreateOrderRequest request, long acceptedNanos) {
+        if (queued.remove(placement.getId()) == null) {
+            // Already rejected by shutdown
+            return;
+        }
+        processing.add(placement.getId());
+        try {
+            place(placement, request, acceptedNanos);
+        } finally {
+            processing.remove(placement.getId());
+        }
+    }
+
+    private void place(OrderPlacement placement, CreateOrderRequest request, long acceptedNanos) {
+        queueDepth.decrementAndGet();
+        queueWaitTimer.record(System.nanoTime() - acceptedNanos, TimeUnit.NANOSECONDS);
+
+        long start = System.nanoTime();
+        placement.setStatus(OrderPlacementStatus.PROCESSING);
+        publish(placementRepository.save(placement), null);
+
+        OrderResponse order = null;
+        try {
+            order = orderService.createOrder(placement.getUserId(), request, placement.getOrderNumber());
+            placement.setStatus(OrderPlacementStatus.CONFIRMED);
+            placement.setOrderId(order.getId());
+            confirmedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.info("Order {} placed asynchronously for user: {}", placement.getOrderNumber(), placement.getUserId());
+        } catch (BadRequestException | ResourceNotFoundException e) {
+            placement.setStatus(OrderPlacementStatus.REJECTED);
+            placement.setMessage(e.getMessage());
+            rejectedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.info("Order {} rejected for user {}: {}", placement.getOrderNumber(), placement.getUserId(), e.getMessage());
+        } catch (Exception e) {
+            placement.setStatus(OrderPlacementStatus.REJECTED);
+            placement.setMessage("Order could not be placed");
+            rejectedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.error("Failed to place order {} for user: {}", placement.getOrderNumber(), placement.getUserId(), e);
+        }
+
+        placement.setCompletedAt(LocalDateTime.now());
+        publish(placementRepository.save(placement), order);
+    }
+
+    /**
+     * Rejects a placement whose processing will never start, unless a worker has already taken it.
+     */
+    private void rejectQueued(UUID placementId) {
+        OrderPlacement placement = queued.remove(placementId);
+        if (placement != null) {
+            queueDepth.decrementAndGet();
+            reject(placement, "Checkout is unavailable. Please try again shortly");
+        }
+    }
+
+    private void reject(OrderPlacement placement, String reason) {
+        try {
+            placement.setStatus(OrderPlacementStatus.REJECTED);
+            placement.setMessage(reason);
+            placement.setCompletedAt(LocalDateTime.now());
+            publish(placementRepository.save(placement), null);
+        } catch (Exception e) {
+            log.error("Failed to record rejection of order placement {}", placement.getId(), e);
+        }
+    }
+
+    private void publish(OrderPlacement placement, OrderResponse order) {
+        boolean isFinal = placement.getStatus().isFinal();
+        Subscribers current = isFinal
+                ? subscribers.remove(placement.getId())
+                : subscribers.get(placement.getId());
+
+        if (current == null) {
+            return;
+        }
+        current.lastSent = placement.getStatus();
+
+        OrderPlacementResponse response = toResponse(placement, order);
+        for (SseEmitter emitter : current.emitters) {
+            try {
+                emitter.send(SseEmitter.event().name("placement").data(response));
+                if (isFinal) {
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping placement subscriber for {}: {}", placement.getId(), e.getMessage());
+                removeSubscriber(placement.getId(), emitter);
+            }
+        }
+    }
+
+    private void removeSubscriber(UUID placementId, SseEmitter emitter) {
+        subscribers.computeIfPresent(placementId, (id, current) -> {
+            current.emitters.remove(emitter);
+            return current.emitters.isEmpty() ? null : current;
+        });
+    }
+
+    private OrderPlacement getOwnedPlacement(UUID placementId, UUID userId) {
+        OrderPlacement placement = placementRepository.findById(placementId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order placement with ID " + placementId + " not found"));
+
+        if (!placement.getUserId().equals(userId)) {
+            throw new UnauthorizedException("You are not authorized to view this order placement");
+        }
+
+        return placement;
+    }
+
+    private OrderResponse confirmedOrder(OrderPlacement placement) {
+        if (placement.getStatus() != OrderPlacementStatus.CONFIRMED || placement.getOrderId() == null) {
+            return null;
+        }
+        return orderService.getOrderById(placement.getOrderId(), placement.getUserId());
+    }
+
+    private OrderPlacementResponse toResponse(OrderPlacement placement, OrderResponse order) {
+        return OrderPlacementResponse.builder()
+                .placementId(placement.getId())
+                .orderNumber(placement.getOrderNumber())
+                .status(placement.getStatus().name().toLowerCase())
+                .order(order)
+                .message(placement.getMessage())
+                .acceptedAt(placement.getAcceptedAt())
+                .completedAt(placement.getCompletedAt())
+                .build();
+    }
+
+    private static Throwable unwrap(Throwable ex) {
+        return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workerPool.shutdown();
+        try {
+            if (!workerPool.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+                log.warn("Order placement workers did not finish in time; {} orders still queued", queueDepth.get());
+                stopWorkers();
+            }
+        } catch (InterruptedException e) {
+            stopWorkers();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Interrupts running placements and rejects the queued ones, whose tasks are dropped without ever
+     * completing their futures.
+     */
+    private void stopWorkers() {
+        workerPool.shutdownNow();
+        List.copyOf(queued.keySet()).forEach(this::rejectQueued);
+    }
+
+    /**
+     * Streams open on this node for one placement, and the last status sent to them.
+     */
+    private static final class Subscribers {
+
+        private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+        private volatile OrderPlacementStatus lastSent;
+    }
+}
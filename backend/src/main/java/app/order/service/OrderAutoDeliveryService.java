@@ -0,0 +1,117 @@
+package app.order.service;
+
+import app.order.dto.BulkStatusUpdateResult;
+import app.order.dto.OrderNotificationView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Marks overdue SHIPPED orders as DELIVERED in set-based chunks.
+ *
+ * Orders are read through a keyset-paged projection ordered by (updatedAt, id), so each chunk is an
+ * index range scan and rows skipped because of concurrent changes are never re-read. Every chunk is
+ * moved with one conditional UPDATE in its own transaction, which also writes its delivery events to
+ * the outbox.
+ */
+@Service
+@Slf4j
+public class OrderAutoDeliveryService {
+
+    private static final LocalDateTime CURSOR_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final UUID CURSOR_START_ID = new UUID(0L, 0L);
+
+    private final OrderService orderService;
+    private final int chunkSize;
+
+    private final Counter processedCounter;
+    private final Counter skippedCounter;
+    private final Timer durationTimer;
+
+    public OrderAutoDeliveryService(OrderService orderService,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${scheduling.auto-deliver.chunk-size:500}") int chunkSize) {
+        this.orderService = orderService;
+        this.chunkSize = Math.max(1, chunkSize);
+
+        this.processedCounter = Counter.builder("supplemart_auto_delivery_orders_total")
+                .description("Number of shipped orders handled by the auto-delivery job")
+                .tag("outcome", "processed")
+                .register(meterRegistry);
+
+        this.skippedCounter = Counter.builder("supplemart_auto_delivery_orders_total")
+                .description("Number of shipped orders handled by the auto-delivery job")
+                .tag("outcome", "skipped")
+                .register(meterRegistry);
+
+        this.durationTimer = Timer.builder("supplemart_auto_delivery_duration")
+                .description("Time taken by one run of the auto-delivery job")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Delivers every SHIPPED order last updated before the cutoff date.
+     *
+     * @return the outcome totals of this run
+     */
+    public Result deliverOrdersShippedBefore(LocalDateTime cutoffDate) {
+        Timer.Sample sample = Timer.start();
+        LocalDateTime afterUpdatedAt = CURSOR_START;
+        UUID afterId = CURSOR_START_ID;
+        int scanned = 0;
+        int processed = 0;
+        int skipped = 0;
+        int failed = 0;
+
+        try {
+            List<OrderNotificationView> chunk;
+            do {
+                chunk = orderService.findShippedOrdersForAutoDelivery(cutoffDate, afterUpdatedAt, afterId, chunkSize);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+
+                OrderNotificationView last = chunk.getLast();
+                afterUpdatedAt = last.getUpdatedAt();
+                afterId = last.getId();
+                scanned += chunk.size();
+
+                try {
+                    BulkStatusUpdateResult result = orderService.deliverShippedOrders(chunk);
+
+                    processed += result.updated().size();
+                    skipped += result.skipped().size();
+                    processedCounter.increment(result.updated().size());
+                    skippedCounter.increment(result.skipped().size());
+                } catch (Exception e) {
+                    // Leave this chunk for the next run and carry on with the rest
+                    failed += chunk.size();
+                    log.error("Failed to auto-deliver chunk of {} orders ending at order ID: {}",
+                            chunk.size(), last.getId(), e);
+                }
+            } while (chunk.size() == chunkSize);
+        } finally {
+            sample.stop(durationTimer);
+        }
+
+        return new Result(scanned, processed, skipped, failed);
+    }
+
+    /**
+     * Outcome of one auto-delivery run.
+     *
+     * @param scanned   overdue shipped orders read
+     * @param processed orders moved to DELIVERED
+     * @param skipped   orders that changed status concurrently and were left alone
+     * @param failed    orders in chunks rolled back because of an error
+     */
+    public record Result(int scanned, int processed, int skipped, int failed) {
+    }
+}
@@ -10,7 +10,9 @@ import app.exception.UnauthorizedException;
 import app.notification.event.OrderDeliveredEvent;
 import app.notification.event.OrderPlacedEvent;
 import app.notification.event.OrderShippedEvent;
+import app.order.dto.BulkStatusUpdateResult;
 import app.order.dto.CreateOrderRequest;
+import app.order.dto.OrderNotificationView;
 import app.order.dto.OrderResponse;
 import app.order.dto.OrderStats;
 import app.order.dto.OrdersResponse;
@@ -18,14 +20,18 @@ import app.order.mapper.OrderMapper;
 import app.order.model.Order;
 import app.order.model.OrderItem;
 import app.order.model.OrderStatus;
+import app.order.repository.OrderAuditRepository;
 import app.order.repository.OrderRepository;
 import app.product.service.ProductService;
+import app.review.service.PendingReviewReminderService;
 import app.user.model.User;
 import app.user.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -34,7 +40,15 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Slf4j
@@ -48,6 +62,9 @@ public class OrderService {
     private final UserService userService;
     private final ProductService productService;
     private final ApplicationEventPublisher eventPublisher;
+    private final OrderAuditRepository orderAuditRepository;
+    private final AuditorAware<String> auditorProvider;
+    private final PendingReviewReminderService pendingReviewReminderService;
 
     @Transactional(readOnly = true)
     public OrdersResponse getUserOrders(UUID userId, String statusStr, LocalDateTime startDate,
@@ -92,6 +109,17 @@ public class OrderService {
     @Transactional
     @CacheEvict(value = CacheConfig.DASHBOARD_STATS_CACHE, allEntries = true)
     public OrderResponse createOrder(UUID userId, CreateOrderRequest request) {
+        return createOrder(userId, request, generateOrderNumber());
+    }
+
+    /**
+     * Creates a new order from the user's cart using a pre-assigned order number.
+     * Used by asynchronous checkout, which hands the order number to the client
+     * before the order is actually placed.
+     */
+    @Transactional
+    @CacheEvict(value = CacheConfig.DASHBOARD_STATS_CACHE, allEntries = true)
+    public OrderResponse createOrder(UUID userId, CreateOrderRequest request, String orderNumber) {
         User user = userService.getUserById(userId);
 
         Cart cart;
@@ -114,8 +142,6 @@ public class OrderService {
                 .map(item -> item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
 
-        String orderNumber = generateOrderNumber();
-
         Order order = orderMapper.toOrder(user, orderNumber, totalAmount,
                 request.getShippingAddress(), cart.getItems());
 
@@ -238,6 +264,7 @@ public class OrderService {
 
     /**
      * Updates order status (admin operation).
+     * The transition is validated against {@link OrderStatus#allowedTransitions()}, as in the bulk path.
      * Evicts dashboard stats cache since pending orders count may change.
      */
     @Transactional
@@ -246,40 +273,126 @@ public class OrderService {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order with ID " + orderId + " not found"));
 
-        log.info("Updating order {} status from {} to {}", orderId, order.getStatus(), newStatus);
+        OrderStatus previousStatus = order.getStatus();
+        if (!previousStatus.canTransitionTo(newStatus)) {
+            throw new BadRequestException("Cannot change status from " + previousStatus + " to " + newStatus);
+        }
+        log.info("Updating order {} status from {} to {}", orderId, previousStatus, newStatus);
 
         order.setStatus(newStatus);
         Order savedOrder = orderRepository.save(order);
+
+        if (newStatus == OrderStatus.DELIVERED) {
+            pendingReviewReminderService.scheduleReminders(List.of(savedOrder.getId()));
+        }
         
         // Fetch user data for events
-        User user = savedOrder.getUser();
-
-        // Publish appropriate events based on new status
-        if (newStatus == OrderStatus.SHIPPED) {
-            String trackingNumber = "TRK" + System.currentTimeMillis(); // Generate or retrieve tracking number
-            eventPublisher.publishEvent(new OrderShippedEvent(
-                    this,
-                    savedOrder.getOrderNumber(),
-                    user.getId(),
-                    user.getEmail(),
-                    user.getFirstName(),
-                    trackingNumber
-            ));
-            log.info("OrderShippedEvent published for order: {}", savedOrder.getOrderNumber());
-        } else if (newStatus == OrderStatus.DELIVERED) {
-            eventPublisher.publishEvent(new OrderDeliveredEvent(
-                    this,
-                    savedOrder.getOrderNumber(),
-                    user.getId(),
-                    user.getEmail(),
-                    user.getFirstName()
-            ));
-            log.info("OrderDeliveredEvent published for order: {}", savedOrder.getOrderNumber());
+        if (newStatus == OrderStatus.SHIPPED || newStatus == OrderStatus.DELIVERED) {
+            User user = savedOrder.getUser();
+            publishStatusChangeEvent(savedOrder.getOrderNumber(), user.getId(), user.getEmail(),
+                    user.getFirstName(), newStatus);
         }
 
         return orderMapper.toOrderResponse(savedOrder);
     }
 
+    /**
+     * Moves many orders to a new status in one transaction (admin operation).
+     * Transitions are validated against {@link OrderStatus#allowedTransitions()}; valid orders are
+     * updated with one conditional UPDATE per current status, each audited as one Envers revision.
+     * Orders that are missing, not allowed to transition, or concurrently modified are skipped.
+     * Dashboard stats are evicted once. Shipping and delivery events go to the outbox in the same
+     * transaction, so they commit or roll back with the status change.
+     */
+    @Transactional
+    @CacheEvict(value = CacheConfig.DASHBOARD_STATS_CACHE, allEntries = true)
+    public BulkStatusUpdateResult bulkUpdateOrderStatus(Collection<UUID> orderIds, OrderStatus newStatus) {
+        Set<UUID> requestedIds = new HashSet<>(orderIds);
+        List<OrderNotificationView> orders = orderRepository.findNotificationViewsByIdIn(requestedIds);
+
+        Map<UUID, String> skipped = new LinkedHashMap<>();
+        Map<OrderStatus, List<OrderNotificationView>> byCurrentStatus = new EnumMap<>(OrderStatus.class);
+
+        for (OrderNotificationView order : orders) {
+            requestedIds.remove(order.getId());
+            if (order.getStatus().canTransitionTo(newStatus)) {
+                byCurrentStatus.computeIfAbsent(order.getStatus(), status -> new ArrayList<>()).add(order);
+            } else {
+                skipped.put(order.getId(), "Cannot change status from " + order.getStatus() + " to " + newStatus);
+            }
+        }
+        requestedIds.forEach(id -> skipped.put(id, "Order not found"));
+
+        List<OrderNotificationView> updated = new ArrayList<>();
+        byCurrentStatus.forEach((currentStatus, group) ->
+                transitionGroup(group, currentStatus, newStatus, updated, skipped));
+
+        log.info("Bulk status update to {}: {} updated, {} skipped", newStatus, updated.size(), skipped.size());
+
+        return new BulkStatusUpdateResult(newStatus, updated, skipped);
+    }
+
+    /**
+     * Moves a chunk of SHIPPED orders (read by {@link #findShippedOrdersForAutoDelivery}) to DELIVERED
+     * with one conditional UPDATE and one audit revision, writing the delivery events to the outbox in the
+     * same transaction. Used by the auto-delivery job.
+     */
+    @Transactional
+    @CacheEvict(value = CacheConfig.DASHBOARD_STATS_CACHE, allEntries = true)
+    public BulkStatusUpdateResult deliverShippedOrders(List<OrderNotificationView> orders) {
+        List<OrderNotificationView> updated = new ArrayList<>();
+        Map<UUID, String> skipped = new LinkedHashMap<>();
+
+        transitionGroup(orders, OrderStatus.SHIPPED, OrderStatus.DELIVERED, updated, skipped);
+
+        return new BulkStatusUpdateResult(OrderStatus.DELIVERED, updated, skipped);
+    }
+
+    /**
+     * Conditionally moves a group of orders sharing the same current status and writes one audit revision.
+     * Orders whose status changed after they were read are added to {@code skipped}.
+     */
+    private void transitionGroup(List<OrderNotificationView> group, OrderStatus currentStatus, OrderStatus newStatus,
+                                 List<OrderNotificationView> updated, Map<UUID, String> skipped) {
+        if (group.isEmpty()) {
+            return;
+        }
+
+        List<UUID> ids = group.stream().map(OrderNotificationView::getId).toList();
+        String modifiedBy = auditorProvider.getCurrentAuditor().orElse("system");
+        int count = orderRepository.updateStatusWhereCurrent(ids, currentStatus, newStatus,
+                LocalDateTime.now(), modifiedBy);
+
+        List<OrderNotificationView> movedOrders = group;
+        List<UUID> movedIds = ids;
+        if (count != ids.size()) {
+            // Some orders changed status after they were read - keep only those we actually moved
+            Set<UUID> moved = new HashSet<>(orderRepository.findIdsByIdInAndStatus(ids, newStatus));
+            movedOrders = new ArrayList<>();
+            for (OrderNotificationView order : group) {
+                if (moved.contains(order.getId())) {
+                    movedOrders.add(order);
+                } else {
+                    skipped.put(order.getId(), "Order status was changed concurrently");
+                }
+            }
+            movedIds = List.copyOf(moved);
+        }
+        updated.addAll(movedOrders);
+
+        orderAuditRepository.writeModificationRevision(movedIds);
+
+        if (newStatus == OrderStatus.DELIVERED) {
+            pendingReviewReminderService.scheduleReminders(movedIds);
+        }
+        if (newStatus == OrderStatus.SHIPPED || newStatus == OrderStatus.DELIVERED) {
+            for (OrderNotificationView order : movedOrders) {
+                publishStatusChangeEvent(order.getOrderNumber(), order.getUserId(), order.getUserEmail(),
+                        order.getUserFirstName(), newStatus);
+            }
+        }
+    }
+
     @Transactional(readOnly = true)
     public OrderStats getUserOrderStats(UUID userId) {
         Long totalOrders = orderRepository.countTotalOrdersByUser(userId);
@@ -295,49 +408,56 @@ public class OrderService {
                 shippedCount, deliveredCount, cancelledCount, totalSpent);
     }
 
-    private String generateOrderNumber() {
-        String datePart = LocalDateTime.now().toString().substring(0, 10).replace("-", "");
-        String randomPart = String.format("%05d", (int) (Math.random() * 100000));
-        return "ORD-" + datePart + "-" + randomPart;
+    private void publishStatusChangeEvent(String orderNumber, UUID userId, String email,
+                                          String firstName, OrderStatus newStatus) {
+        if (newStatus == OrderStatus.SHIPPED) {
+            String trackingNumber = "TRK" + System.currentTimeMillis(); // Generate or retrieve tracking number
+            eventPublisher.publishEvent(new OrderShippedEvent(
+                    this,
+                    orderNumber,
+                    userId,
+                    email,
+                    firstName,
+                    trackingNumber
+            ));
+            log.info("OrderShippedEvent published for order: {}", orderNumber);
+        } else if (newStatus == OrderStatus.DELIVERED) {
+            eventPublisher.publishEvent(new OrderDeliveredEvent(
+                    this,
+                    orderNumber,
+                    userId,
+                    email,
+                    firstName
+            ));
+            log.info("OrderDeliveredEvent published for order: {}", orderNumber);
+        }
     }
 
     /**
-     * Find orders with a specific status updated before the cutoff date.
-     * Used by scheduled tasks for auto-delivery updates.
+     * Returns the id of the order with this number, if it has been created.
      */
     @Transactional(readOnly = true)
-    public List<Order> findOrdersByStatusAndUpdatedBefore(OrderStatus status, LocalDateTime cutoffDate) {
-        return orderRepository.findByStatusAndUpdatedBefore(status, cutoffDate);
+    public Optional<UUID> findOrderIdByOrderNumber(String orderNumber) {
+        return orderRepository.findIdByOrderNumber(orderNumber);
     }
 
-    /**
-     * Find delivered orders without reviews within a timeframe.
-     * Used by scheduled tasks for review reminders.
-     */
-    @Transactional(readOnly = true)
-    public List<Order> findDeliveredOrdersWithoutReviews(LocalDateTime startDate, LocalDateTime endDate) {
-        return orderRepository.findDeliveredOrdersWithoutReviews(startDate, endDate);
+    public String generateOrderNumber() {
+        String datePart = LocalDateTime.now().toString().substring(0, 10).replace("-", "");
+        String randomPart = String.format("%05d", (int) (Math.random() * 100000));
+        return "ORD-" + datePart + "-" + randomPart;
     }
 
     /**
-     * Auto-deliver a shipped order (update status to DELIVERED).
-     * Used by scheduled tasks.
+     * Keyset-paged read of SHIPPED orders last updated before the cutoff date, starting after the
+     * given (updatedAt, id) cursor. Used by scheduled tasks for auto-delivery updates.
      */
-    @Transactional
-    @CacheEvict(value = CacheConfig.DASHBOARD_STATS_CACHE, allEntries = true)
-    public void autoDeliverOrder(Order order) {
-        order.setStatus(OrderStatus.DELIVERED);
-        Order savedOrder = orderRepository.save(order);
-        
-        User user = order.getUser();
-        eventPublisher.publishEvent(new OrderDeliveredEvent(
-                this,
-                savedOrder.getOrderNumber(),
-                user.getId(),
-                user.getEmail(),
-                user.getFirstName()
-        ));
-        log.info("Order {} auto-delivered", order.getId());
+    @Transactional(readOnly = true)
+    public List<OrderNotificationView> findShippedOrdersForAutoDelivery(LocalDateTime cutoffDate,
+                                                                        LocalDateTime afterUpdatedAt,
+                                                                        UUID afterId,
+                                                                        int limit) {
+        return orderRepository.findNotificationViewsByStatusAndUpdatedBefore(
+                OrderStatus.SHIPPED, cutoffDate, afterUpdatedAt, afterId, Limit.of(limit));
     }
 
     /**
@@ -0,0 +1,14 @@
+package app.product.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projection of an active product below the low-stock threshold.
+ */
+public interface LowStockProductView {
+    UUID getId();
+    String getName();
+    Integer getStockQuantity();
+    LocalDateTime getLowStockAlertedAt();
+}
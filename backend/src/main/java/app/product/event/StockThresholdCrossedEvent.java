@@ -0,0 +1,27 @@
+package app.product.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.UUID;
+
+/**
+ * Event published when a stock reservation takes a product from at or above
+ * the low-stock threshold to below it.
+ */
+@Getter
+public class StockThresholdCrossedEvent extends ApplicationEvent {
+    private final UUID productId;
+    private final String productName;
+    private final int previousStock;
+    private final int newStock;
+
+    public StockThresholdCrossedEvent(Object source, UUID productId, String productName,
+                                      int previousStock, int newStock) {
+        super(source);
+        this.productId = productId;
+        this.productName = productName;
+        this.previousStock = previousStock;
+        this.newStock = newStock;
+    }
+}
@@ -63,6 +63,10 @@ public class Product {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @NotAudited
+    @Column(name = "low_stock_alerted_at")
+    private LocalDateTime lowStockAlertedAt;
+
     @CreatedBy
     @Column(name = "created_by", updatable = false)
     private String createdBy;
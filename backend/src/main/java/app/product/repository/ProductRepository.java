@@ -1,12 +1,16 @@
 package app.product.repository;
 
+import app.product.dto.LowStockProductView;
 import app.product.model.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -21,14 +25,17 @@ public interface ProductRepository extends JpaRepository<Product, UUID>, JpaSpec
     Long countLowStockProducts();
 
     /**
-     * Find products with low stock (below threshold).
+     * Find id, name, stock and last alert of active products below the threshold, without loading entities.
      */
-    @Query("SELECT p FROM Product p WHERE p.stockQuantity < :threshold AND p.isActive = true ORDER BY p.stockQuantity ASC")
-    List<Product> findLowStockProducts(@Param("threshold") int threshold);
+    @Query("SELECT p.id AS id, p.name AS name, p.stockQuantity AS stockQuantity, " +
+           "p.lowStockAlertedAt AS lowStockAlertedAt FROM Product p " +
+           "WHERE p.stockQuantity < :threshold AND p.isActive = true ORDER BY p.stockQuantity ASC")
+    List<LowStockProductView> findLowStockProductViews(@Param("threshold") int threshold);
 
     /**
-     * Find products that are out of stock.
+     * Record that a low-stock alert was sent for the given products.
      */
-    @Query("SELECT p FROM Product p WHERE p.stockQuantity = 0 AND p.isActive = true")
-    List<Product> findOutOfStockProducts();
+    @Modifying
+    @Query("UPDATE Product p SET p.lowStockAlertedAt = :alertedAt WHERE p.id IN :ids")
+    int markLowStockAlerted(@Param("ids") Collection<UUID> ids, @Param("alertedAt") LocalDateTime alertedAt);
 }
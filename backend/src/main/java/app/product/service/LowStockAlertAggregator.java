@@ -0,0 +1,164 @@
+package app.product.service;
+
+import app.notification.event.LowStockAlertEvent;
+import app.product.dto.LowStockProductView;
+import app.product.event.StockThresholdCrossedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Batches low-stock threshold crossings into one admin alert per window.
+ *
+ * The first committed crossing opens a window of {@code scheduling.low-stock.alert-window-seconds};
+ * every crossing that arrives before it closes is reported in the same {@link LowStockAlertEvent},
+ * with the latest stock level per product. Crossings are aggregated per node.
+ *
+ * The time of each product's last alert is stored on the product row and cleared when its stock is
+ * brought back to the threshold, so the daily scan on any node only reports low-stock products that
+ * were never alerted, i.e. those whose crossing was missed (e.g. stock changed outside reservations).
+ */
+@Service
+@Slf4j
+public class LowStockAlertAggregator {
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskScheduler taskScheduler;
+    private final ProductService productService;
+    private final Duration window;
+
+    private final Map<UUID, LowStockAlertEvent.ProductStockData> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+
+    private final Counter crossingsCounter;
+    private final Counter alertsCounter;
+    private final Counter missedCounter;
+
+    public LowStockAlertAggregator(ApplicationEventPublisher eventPublisher,
+                                   TaskScheduler taskScheduler,
+                                   ProductService productService,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${scheduling.low-stock.alert-window-seconds:300}") long windowSeconds) {
+        this.eventPublisher = eventPublisher;
+        this.taskScheduler = taskScheduler;
+        this.productService = productService;
+        this.window = Duration.ofSeconds(windowSeconds);
+
+        this.crossingsCounter = Counter.builder("supplemart_low_stock_crossings_total")
+                .description("Number of reservations that took a product below the low-stock threshold")
+                .register(meterRegistry);
+
+        this.alertsCounter = Counter.builder("supplemart_low_stock_alerts_total")
+                .description("Number of batched low-stock alerts published")
+                .register(meterRegistry);
+
+        this.missedCounter = Counter.builder("supplemart_low_stock_missed_total")
+                .description("Number of low-stock products found by the daily check without a prior alert")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onThresholdCrossed(StockThresholdCrossedEvent event) {
+        crossingsCounter.increment();
+        pending.put(event.getProductId(),
+                new LowStockAlertEvent.ProductStockData(event.getProductName(), event.getNewStock()));
+
+        log.info("Product {} crossed the low-stock threshold ({} -> {})",
+                event.getProductId(), event.getPreviousStock(), event.getNewStock());
+
+        if (flushScheduled.compareAndSet(false, true)) {
+            taskScheduler.schedule(this::flush, Instant.now().plus(window));
+        }
+    }
+
+    /**
+     * Publishes one alert for all crossings collected in the current window.
+     */
+    public void flush() {
+        flushScheduled.set(false);
+
+        Map<UUID, LowStockAlertEvent.ProductStockData> batch = new LinkedHashMap<>();
+        for (UUID productId : pending.keySet()) {
+            LowStockAlertEvent.ProductStockData product = pending.remove(productId);
+            if (product != null) {
+                batch.put(productId, product);
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            publishAlert(batch);
+        }
+    }
+
+    /**
+     * Consistency check against a full scan: alerts every listed product that has not been alerted
+     * since it last went low and is not waiting in the current window.
+     *
+     * @return the number of products that had been missed
+     */
+    public int reconcile(List<LowStockProductView> lowStockProducts) {
+        Map<UUID, LowStockAlertEvent.ProductStockData> missed = new LinkedHashMap<>();
+        for (LowStockProductView product : lowStockProducts) {
+            if (product.getLowStockAlertedAt() == null && !pending.containsKey(product.getId())) {
+                missed.put(product.getId(),
+                        new LowStockAlertEvent.ProductStockData(product.getName(), product.getStockQuantity()));
+            }
+        }
+
+        if (!missed.isEmpty()) {
+            missedCounter.increment(missed.size());
+            log.warn("Low-stock check found {} products without a prior alert", missed.size());
+            publishAlert(missed);
+        }
+
+        return missed.size();
+    }
+
+    private void publishAlert(Map<UUID, LowStockAlertEvent.ProductStockData> products) {
+        List<LowStockAlertEvent.ProductStockData> lowStock = products.values().stream()
+                .filter(product -> product.stockQuantity() > 0)
+                .toList();
+        List<LowStockAlertEvent.ProductStockData> outOfStock = products.values().stream()
+                .filter(product -> product.stockQuantity() <= 0)
+                .toList();
+
+        try {
+            eventPublisher.publishEvent(new LowStockAlertEvent(this, lowStock, outOfStock));
+            alertsCounter.increment();
+            log.info("Published LowStockAlertEvent for {} low stock and {} out of stock products",
+                    lowStock.size(), outOfStock.size());
+        } catch (Exception e) {
+            log.error("Failed to publish LowStockAlertEvent", e);
+            return;
+        }
+
+        try {
+            productService.markLowStockAlerted(products.keySet(), LocalDateTime.now());
+        } catch (Exception e) {
+            // The alert went out; at worst the daily check reports these products once more
+            log.error("Failed to record low-stock alert for {} products", products.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
@@ -1,30 +1,40 @@
 package app.product.service;
 
+import app.cache.CacheRegistry;
 import app.config.CacheConfig;
 import app.exception.BadRequestException;
 import app.exception.ResourceNotFoundException;
+import app.product.dto.LowStockProductView;
 import app.product.dto.ProductDetails;
 import app.product.dto.ProductPageResponse;
 import app.product.mapper.ProductMapper;
 import app.product.model.Category;
 import app.product.model.Product;
+import app.product.event.StockThresholdCrossedEvent;
 import app.product.repository.ProductRepository;
 import app.product.specification.ProductSpecification;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -35,6 +45,24 @@ public class ProductService {
 
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheRegistry cacheRegistry;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${scheduling.low-stock.threshold:10}")
+    private int lowStockThreshold;
+
+    /**
+     * Lets the product cache reload details in the background once they pass their refresh age, so
+     * popular products never miss.
+     */
+    @PostConstruct
+    void registerCacheLoader() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        cacheRegistry.registerLoader(CacheConfig.PRODUCTS_CACHE,
+                key -> readOnly.execute(status -> loadProductDetails((UUID) key)));
+    }
 
     @Transactional(readOnly = true)
     public ProductPageResponse getAllProducts(
@@ -74,12 +102,17 @@ public class ProductService {
     }
 
     /**
-     * Get product details by ID - cached for repeated views.
+     * Get product details by ID - cached for repeated views. Concurrent misses for the same product
+     * wait for a single load.
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = CacheConfig.PRODUCTS_CACHE, key = "#id")
+    @Cacheable(value = CacheConfig.PRODUCTS_CACHE, key = "#id", sync = true)
     public ProductDetails getProductDetailsById(UUID id) {
         log.debug("Fetching product details for ID: {} (cache miss)", id);
+        return loadProductDetails(id);
+    }
+
+    private ProductDetails loadProductDetails(UUID id) {
         Product product = productRepository.findByIdWithReviews(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product with ID " + id + " not found"));
         return productMapper.toProductDetails(product);
@@ -126,6 +159,7 @@ public class ProductService {
     })
     public Product updateProduct(Product product) {
         log.debug("Updating product {}, evicting caches", product.getId());
+        clearLowStockAlertIfRestocked(product);
         return productRepository.save(product);
     }
 
@@ -163,12 +197,19 @@ public class ProductService {
                     + ". Available: " + product.getStockQuantity() + ", Requested: " + quantity);
         }
 
-        product.setStockQuantity(product.getStockQuantity() - quantity);
+        int previousStock = product.getStockQuantity();
+        product.setStockQuantity(previousStock - quantity);
 
         if (product.getStockQuantity() == 0) {
             log.info("Product {} is now out of stock", productId);
         }
 
+        if (previousStock >= lowStockThreshold && product.getStockQuantity() < lowStockThreshold) {
+            // Delivered to LowStockAlertAggregator only if the reservation commits
+            eventPublisher.publishEvent(new StockThresholdCrossedEvent(
+                    this, productId, product.getName(), previousStock, product.getStockQuantity()));
+        }
+
         productRepository.save(product);
         log.debug("Reserved {} units of product {}. Remaining stock: {}",
                 quantity, productId, product.getStockQuantity());
@@ -189,6 +230,7 @@ public class ProductService {
         if (product.getStockQuantity() > 0) {
             log.info("Product {} restocked. Current stock: {}", productId, product.getStockQuantity());
         }
+        clearLowStockAlertIfRestocked(product);
 
         productRepository.save(product);
         log.debug("Released {} units of product {}. Current stock: {}",
@@ -196,21 +238,35 @@ public class ProductService {
     }
 
     /**
-     * Find products with low stock (below threshold).
-     * Used by scheduled tasks for inventory alerts.
+     * Forget the last low-stock alert once stock is back at the threshold, so the next time the
+     * product runs low it is alerted again, by a crossing or by the scheduled check.
      */
-    @Transactional(readOnly = true)
-    public List<Product> findLowStockProducts(int threshold) {
-        return productRepository.findLowStockProducts(threshold);
+    private void clearLowStockAlertIfRestocked(Product product) {
+        if (product.getLowStockAlertedAt() != null && product.getStockQuantity() != null
+                && product.getStockQuantity() >= lowStockThreshold) {
+            product.setLowStockAlertedAt(null);
+        }
     }
 
     /**
-     * Find products that are out of stock.
-     * Used by scheduled tasks for inventory alerts.
+     * Find active products below the threshold as id/name/stock projections.
+     * Used by the scheduled low-stock consistency check.
      */
     @Transactional(readOnly = true)
-    public List<Product> findOutOfStockProducts() {
-        return productRepository.findOutOfStockProducts();
+    public List<LowStockProductView> findLowStockProducts(int threshold) {
+        return productRepository.findLowStockProductViews(threshold);
+    }
+
+    /**
+     * Record that a low-stock alert was sent for the given products.
+     * Read back by the scheduled low-stock consistency check on any node.
+     */
+    @Transactional
+    public int markLowStockAlerted(Collection<UUID> productIds, LocalDateTime alertedAt) {
+        if (productIds.isEmpty()) {
+            return 0;
+        }
+        return productRepository.markLowStockAlerted(productIds, alertedAt);
     }
 
     /**
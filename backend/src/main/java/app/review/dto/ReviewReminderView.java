@@ -0,0 +1,16 @@
+package app.review.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projection of a pending review reminder with the order and user fields needed to send it.
+ */
+public interface ReviewReminderView {
+    UUID getOrderId();
+    LocalDateTime getDeliveredAt();
+    String getOrderNumber();
+    UUID getUserId();
+    String getUserEmail();
+    String getUserFirstName();
+}
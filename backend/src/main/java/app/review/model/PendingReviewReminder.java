@@ -0,0 +1,34 @@
+package app.review.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A delivered order whose owner has not yet been asked to review it.
+ * Created when the order becomes DELIVERED and removed once a reminder is sent
+ * or the user reviews one of the order's products.
+ */
+@Entity
+@Table(name = "pending_review_reminders")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingReviewReminder {
+
+    @Id
+    @Column(name = "order_id")
+    private UUID orderId;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "delivered_at", nullable = false)
+    private LocalDateTime deliveredAt;
+}
@@ -0,0 +1,72 @@
+package app.review.repository;
+
+import app.review.dto.ReviewReminderView;
+import app.review.model.PendingReviewReminder;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface PendingReviewReminderRepository extends JpaRepository<PendingReviewReminder, UUID> {
+
+    /**
+     * Create reminders for the given orders that are DELIVERED and don't have one yet.
+     */
+    @Modifying
+    @Query("INSERT INTO PendingReviewReminder (orderId, userId, deliveredAt) " +
+           "SELECT o.id, o.user.id, :deliveredAt FROM Order o " +
+           "WHERE o.id IN :orderIds AND o.status = 'DELIVERED' " +
+           "AND NOT EXISTS (SELECT r.orderId FROM PendingReviewReminder r WHERE r.orderId = o.id)")
+    int insertForDeliveredOrders(@Param("orderIds") Collection<UUID> orderIds,
+                                 @Param("deliveredAt") LocalDateTime deliveredAt);
+
+    /**
+     * Keyset-paged read of reminders for orders delivered in the given window,
+     * ordered by (deliveredAt, orderId).
+     */
+    @Query("SELECT r.orderId AS orderId, r.deliveredAt AS deliveredAt, o.orderNumber AS orderNumber, " +
+           "u.id AS userId, u.email AS userEmail, u.firstName AS userFirstName " +
+           "FROM PendingReviewReminder r JOIN Order o ON o.id = r.orderId JOIN o.user u " +
+           "WHERE r.deliveredAt >= :deliveredFrom AND r.deliveredAt <= :deliveredTo " +
+           "AND (r.deliveredAt > :afterDeliveredAt OR (r.deliveredAt = :afterDeliveredAt AND r.orderId > :afterOrderId)) " +
+           "ORDER BY r.deliveredAt ASC, r.orderId ASC")
+    List<ReviewReminderView> findDue(
+            @Param("deliveredFrom") LocalDateTime deliveredFrom,
+            @Param("deliveredTo") LocalDateTime deliveredTo,
+            @Param("afterDeliveredAt") LocalDateTime afterDeliveredAt,
+            @Param("afterOrderId") UUID afterOrderId,
+            Limit limit
+    );
+
+    /**
+     * Lock the reminders that still exist among the given orders, skipping rows another transaction holds.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT r FROM PendingReviewReminder r WHERE r.orderId IN :orderIds")
+    List<PendingReviewReminder> findAllForClaim(@Param("orderIds") Collection<UUID> orderIds);
+
+    /**
+     * Remove the user's reminders for orders containing the given product.
+     */
+    @Modifying
+    @Query("DELETE FROM PendingReviewReminder r WHERE r.userId = :userId " +
+           "AND r.orderId IN (SELECT oi.order.id FROM OrderItem oi WHERE oi.product.id = :productId)")
+    int deleteByUserIdAndProductId(@Param("userId") UUID userId, @Param("productId") UUID productId);
+
+    @Modifying
+    @Query("DELETE FROM PendingReviewReminder r WHERE r.deliveredAt < :deliveredBefore")
+    int deleteByDeliveredAtBefore(@Param("deliveredBefore") LocalDateTime deliveredBefore);
+}
@@ -0,0 +1,78 @@
+package app.review.service;
+
+import app.review.dto.ReviewReminderView;
+import app.review.model.PendingReviewReminder;
+import app.review.repository.PendingReviewReminderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Maintains the pending review reminders table: one row per delivered order that
+ * is still waiting for a review reminder.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PendingReviewReminderService {
+
+    private final PendingReviewReminderRepository pendingReviewReminderRepository;
+
+    /**
+     * Queue a review reminder for each of the given orders that is DELIVERED.
+     * Called in the transaction that moves the orders to DELIVERED.
+     */
+    @Transactional
+    public int scheduleReminders(Collection<UUID> orderIds) {
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+        return pendingReviewReminderRepository.insertForDeliveredOrders(orderIds, LocalDateTime.now());
+    }
+
+    /**
+     * Drop the user's pending reminders for orders containing the reviewed product.
+     */
+    @Transactional
+    public void clearForReview(UUID userId, UUID productId) {
+        int cleared = pendingReviewReminderRepository.deleteByUserIdAndProductId(userId, productId);
+        if (cleared > 0) {
+            log.debug("Cleared {} pending review reminders for user {} after review", cleared, userId);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReviewReminderView> findDueReminders(LocalDateTime deliveredFrom, LocalDateTime deliveredTo,
+                                                     LocalDateTime afterDeliveredAt, UUID afterOrderId,
+                                                     int limit) {
+        return pendingReviewReminderRepository.findDue(
+                deliveredFrom, deliveredTo, afterDeliveredAt, afterOrderId, Limit.of(limit));
+    }
+
+    /**
+     * Remove the reminders of the given orders that still exist and return their order IDs.
+     * Only the returned orders may be reminded, so each reminder is sent at most once even if
+     * a review clears it, or another run claims it, at the same time.
+     */
+    @Transactional
+    public List<UUID> claimReminders(Collection<UUID> orderIds) {
+        List<PendingReviewReminder> reminders = pendingReviewReminderRepository.findAllForClaim(orderIds);
+        pendingReviewReminderRepository.deleteAllInBatch(reminders);
+        return reminders.stream().map(PendingReviewReminder::getOrderId).toList();
+    }
+
+    /**
+     * Remove reminders for orders delivered before the given time, which are too old to send.
+     */
+    @Transactional
+    public int purgeExpired(LocalDateTime deliveredBefore) {
+        return pendingReviewReminderRepository.deleteByDeliveredAtBefore(deliveredBefore);
+    }
+}
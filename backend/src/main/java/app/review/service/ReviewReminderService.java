@@ -0,0 +1,160 @@
+package app.review.service;
+
+import app.notification.event.ReviewReminderEvent;
+import app.review.dto.ReviewReminderView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Sends review reminders for orders delivered between {@code max-days} and {@code min-days} ago.
+ *
+ * Reads the pending review reminders table by an indexed (deliveredAt, orderId) range in chunks,
+ * claims each chunk (deleting its rows in one transaction) and publishes a {@link ReviewReminderEvent}
+ * per claimed order after commit, so every delivered order is reminded at most once.
+ */
+@Service
+@Slf4j
+public class ReviewReminderService {
+
+    private static final LocalDateTime CURSOR_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final UUID CURSOR_START_ID = new UUID(0L, 0L);
+
+    private final PendingReviewReminderService pendingReviewReminderService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+
+    private final Counter sentCounter;
+    private final Counter expiredCounter;
+    private final Timer durationTimer;
+
+    public ReviewReminderService(PendingReviewReminderService pendingReviewReminderService,
+                                 ApplicationEventPublisher eventPublisher,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${scheduling.review-reminder.chunk-size:500}") int chunkSize) {
+        this.pendingReviewReminderService = pendingReviewReminderService;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = Math.max(1, chunkSize);
+
+        this.sentCounter = Counter.builder("supplemart_review_reminders_total")
+                .description("Number of pending review reminders handled by the reminder job")
+                .tag("outcome", "sent")
+                .register(meterRegistry);
+
+        this.expiredCounter = Counter.builder("supplemart_review_reminders_total")
+                .description("Number of pending review reminders handled by the reminder job")
+                .tag("outcome", "expired")
+                .register(meterRegistry);
+
+        this.durationTimer = Timer.builder("supplemart_review_reminder_job_duration")
+                .description("Time taken by one run of the review reminder job")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Sends reminders for orders delivered between {@code maxDays} and {@code minDays} days ago
+     * and drops reminders older than {@code maxDays}.
+     *
+     * @return the outcome totals of this run
+     */
+    public Result sendDueReminders(int minDays, int maxDays) {
+        Timer.Sample sample = Timer.start();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime deliveredFrom = now.minusDays(maxDays);
+        LocalDateTime deliveredTo = now.minusDays(minDays);
+        int scanned = 0;
+        int sent = 0;
+        int failed = 0;
+
+        try {
+            int expired = pendingReviewReminderService.purgeExpired(deliveredFrom);
+            expiredCounter.increment(expired);
+
+            LocalDateTime afterDeliveredAt = CURSOR_START;
+            UUID afterOrderId = CURSOR_START_ID;
+            List<ReviewReminderView> chunk;
+
+            do {
+                chunk = pendingReviewReminderService.findDueReminders(
+                        deliveredFrom, deliveredTo, afterDeliveredAt, afterOrderId, chunkSize);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+
+                ReviewReminderView last = chunk.getLast();
+                afterDeliveredAt = last.getDeliveredAt();
+                afterOrderId = last.getOrderId();
+                scanned += chunk.size();
+
+                ChunkOutcome outcome = sendChunk(chunk);
+                sent += outcome.sent();
+                failed += outcome.failed();
+            } while (chunk.size() == chunkSize);
+
+            return new Result(scanned, sent, failed, expired);
+        } finally {
+            sample.stop(durationTimer);
+        }
+    }
+
+    private ChunkOutcome sendChunk(List<ReviewReminderView> chunk) {
+        Set<UUID> claimed;
+        try {
+            claimed = new HashSet<>(pendingReviewReminderService.claimReminders(
+                    chunk.stream().map(ReviewReminderView::getOrderId).toList()));
+        } catch (Exception e) {
+            // Rows stay in the table and are retried on the next run
+            log.error("Failed to claim {} review reminders", chunk.size(), e);
+            return new ChunkOutcome(0, chunk.size());
+        }
+
+        int sent = 0;
+        int failed = 0;
+        for (ReviewReminderView reminder : chunk) {
+            if (!claimed.contains(reminder.getOrderId())) {
+                continue;
+            }
+            try {
+                eventPublisher.publishEvent(new ReviewReminderEvent(
+                        this,
+                        reminder.getOrderNumber(),
+                        reminder.getUserId(),
+                        reminder.getUserEmail(),
+                        reminder.getUserFirstName()
+                ));
+                sent++;
+                log.debug("Published ReviewReminderEvent for order ID: {}", reminder.getOrderId());
+            } catch (Exception e) {
+                failed++;
+                log.error("Failed to publish ReviewReminderEvent for order ID: {}", reminder.getOrderId(), e);
+            }
+        }
+
+        sentCounter.increment(sent);
+        return new ChunkOutcome(sent, failed);
+    }
+
+    private record ChunkOutcome(int sent, int failed) {
+    }
+
+    /**
+     * Outcome of one review reminder run.
+     *
+     * @param scanned pending reminders read in the due window
+     * @param sent    reminders published
+     * @param failed  reminders that could not be claimed or published
+     * @param expired reminders dropped because the order was delivered too long ago
+     */
+    public record Result(int scanned, int sent, int failed, int expired) {
+    }
+}
@@ -28,6 +28,7 @@ public class ReviewService {
     private final ReviewMapper reviewMapper;
     private final UserService userService;
     private final ProductService productService;
+    private final PendingReviewReminderService pendingReviewReminderService;
 
     @Transactional(readOnly = true)
     public List<Review> getUserReviews(UUID userId) {
@@ -58,6 +59,8 @@ public class ReviewService {
                 .build();
 
         app.review.model.Review savedReview = reviewRepository.save(review);
+        pendingReviewReminderService.clearForReview(userId, product.getId());
+
         return reviewMapper.toReview(savedReview);
     }
 
@@ -86,6 +89,8 @@ public class ReviewService {
         review.setComment(request.getComment());
 
         app.review.model.Review savedReview = reviewRepository.save(review);
+        pendingReviewReminderService.clearForReview(userId, product.getId());
+
         return reviewMapper.toReview(savedReview);
     }
 }
@@ -0,0 +1,13 @@
+package app.scheduling;
+
+/**
+ * Item counts reported by one run of a scheduled job.
+ *
+ * @param scanned   items read
+ * @param processed items successfully handled
+ * @param failed    items that could not be handled
+ */
+public record JobStats(int scanned, int processed, int failed) {
+
+    public static final JobStats EMPTY = new JobStats(0, 0, 0);
+}
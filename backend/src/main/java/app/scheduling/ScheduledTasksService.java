@@ -1,16 +1,16 @@
 package app.scheduling;
 
-import app.cart.model.Cart;
-import app.cart.service.CartService;
-import app.notification.event.AbandonedCartEvent;
+import app.cart.service.AbandonedCartReminderService;
 import app.notification.event.DailyReportEvent;
-import app.notification.event.LowStockAlertEvent;
-import app.notification.event.ReviewReminderEvent;
-import app.order.model.Order;
-import app.order.model.OrderStatus;
+import app.notification.outbox.NotificationOutboxService;
+import app.order.service.OrderAutoDeliveryService;
 import app.order.service.OrderService;
-import app.product.model.Product;
+import app.product.dto.LowStockProductView;
+import app.product.service.LowStockAlertAggregator;
 import app.product.service.ProductService;
+import app.review.service.ReviewReminderService;
+import app.scheduling.history.JobExecutionService;
+import app.scheduling.lock.JobLockService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -18,10 +18,9 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 /**
  * Service containing scheduled tasks for e-commerce operations.
@@ -29,16 +28,31 @@ import java.util.stream.Collectors;
  * 
  * Note: Tasks run on ThreadPoolTaskScheduler (pool size configured in SchedulingConfig).
  * No @Async needed - the scheduler thread pool handles concurrent execution.
+ * Cluster-wide jobs run under a JobLockService lease lock, so only one node executes each trigger,
+ * and each run is recorded by JobExecutionService.
  */
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class ScheduledTasksService {
 
-    private final CartService cartService;
+    private static final String ABANDONED_CART_JOB = "abandoned-cart";
+    private static final String LOW_STOCK_JOB = "low-stock";
+    private static final String AUTO_DELIVER_JOB = "auto-deliver";
+    private static final String REVIEW_REMINDER_JOB = "review-reminder";
+    private static final String DAILY_REPORT_JOB = "daily-report";
+    private static final String CLEANUP_JOB = "cleanup";
+
+    private final AbandonedCartReminderService abandonedCartReminderService;
     private final OrderService orderService;
+    private final OrderAutoDeliveryService orderAutoDeliveryService;
     private final ProductService productService;
+    private final LowStockAlertAggregator lowStockAlertAggregator;
+    private final ReviewReminderService reviewReminderService;
     private final ApplicationEventPublisher eventPublisher;
+    private final JobLockService jobLockService;
+    private final JobExecutionService jobExecutionService;
+    private final NotificationOutboxService notificationOutboxService;
 
     @Value("${scheduling.abandoned-cart.hours:24}")
     private int abandonedCartHours;
@@ -58,148 +72,88 @@ public class ScheduledTasksService {
     /**
      * Abandoned Cart Reminder Job
      * Runs daily at 10:00 AM to find carts that haven't been updated in X hours
-     * and publishes events for notification.
+     * and publishes events for notification. Each cart is reminded once until it is updated again.
      */
     @Scheduled(cron = "${scheduling.abandoned-cart.cron:0 0 10 * * ?}")
     public void processAbandonedCarts() {
+        runJob(ABANDONED_CART_JOB, this::remindAbandonedCarts);
+    }
+
+    private JobStats remindAbandonedCarts() {
         log.info("Starting abandoned cart processing job");
 
         LocalDateTime cutoffDate = LocalDateTime.now().minusHours(abandonedCartHours);
-        List<Cart> abandonedCarts = cartService.findAbandonedCarts(cutoffDate);
-
-        log.info("Found {} abandoned carts", abandonedCarts.size());
-
-        for (Cart cart : abandonedCarts) {
-            try {
-                List<AbandonedCartEvent.CartItemData> items = cart.getItems().stream()
-                        .map(item -> new AbandonedCartEvent.CartItemData(
-                                item.getProduct().getName(),
-                                item.getQuantity(),
-                                item.getProduct().getPrice()))
-                        .collect(Collectors.toList());
-
-                BigDecimal cartTotal = cart.getItems().stream()
-                        .map(item -> item.getProduct().getPrice()
-                                .multiply(BigDecimal.valueOf(item.getQuantity())))
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                eventPublisher.publishEvent(new AbandonedCartEvent(
-                        this,
-                        cart.getUser().getId(),
-                        cart.getUser().getEmail(),
-                        cart.getUser().getFirstName(),
-                        items,
-                        cartTotal
-                ));
-
-                log.debug("Published AbandonedCartEvent for cart ID: {}", cart.getId());
-            } catch (Exception e) {
-                log.error("Failed to publish AbandonedCartEvent for cart ID: {}", cart.getId(), e);
-            }
-        }
+        AbandonedCartReminderService.Result result = abandonedCartReminderService.remindAbandonedCarts(cutoffDate);
 
-        log.info("Completed abandoned cart processing job. Processed {} carts", abandonedCarts.size());
+        log.info("Completed abandoned cart processing job. Reminded {} carts, failed {}",
+                result.reminded(), result.failed());
+        return new JobStats(result.scanned(), result.reminded(), result.failed());
     }
 
     /**
-     * Low Stock Alert Job
-     * Runs daily at 8:00 AM to check for products with low stock
-     * and publishes event for admin notification.
+     * Low Stock Consistency Check
+     * Runs daily at 8:00 AM. Threshold crossings are alerted as they happen by LowStockAlertAggregator;
+     * this scan only alerts low-stock products that have not been alerted since they last went low,
+     * e.g. because stock was changed by an admin rather than a reservation.
      */
     @Scheduled(cron = "${scheduling.low-stock.cron:0 0 8 * * ?}")
     public void checkLowStockProducts() {
-        log.info("Starting low stock check job");
-
-        List<Product> lowStockProducts = productService.findLowStockProducts(lowStockThreshold);
-        List<Product> outOfStockProducts = productService.findOutOfStockProducts();
-
-        log.info("Found {} low stock products and {} out of stock products",
-                lowStockProducts.size(), outOfStockProducts.size());
-
-        if (!lowStockProducts.isEmpty() || !outOfStockProducts.isEmpty()) {
-            try {
-                List<LowStockAlertEvent.ProductStockData> lowStockData = lowStockProducts.stream()
-                        .map(p -> new LowStockAlertEvent.ProductStockData(p.getName(), p.getStockQuantity()))
-                        .collect(Collectors.toList());
+        runJob(LOW_STOCK_JOB, this::checkLowStock);
+    }
 
-                List<LowStockAlertEvent.ProductStockData> outOfStockData = outOfStockProducts.stream()
-                        .map(p -> new LowStockAlertEvent.ProductStockData(p.getName(), 0))
-                        .collect(Collectors.toList());
+    private JobStats checkLowStock() {
+        log.info("Starting low stock consistency check");
 
-                eventPublisher.publishEvent(new LowStockAlertEvent(this, lowStockData, outOfStockData));
-                log.info("Published LowStockAlertEvent");
-            } catch (Exception e) {
-                log.error("Failed to publish LowStockAlertEvent", e);
-            }
-        }
+        List<LowStockProductView> lowStockProducts = productService.findLowStockProducts(lowStockThreshold);
+        int missed = lowStockAlertAggregator.reconcile(lowStockProducts);
 
-        log.info("Completed low stock check job");
+        log.info("Completed low stock consistency check. {} products below threshold, {} had not been alerted",
+                lowStockProducts.size(), missed);
+        return new JobStats(lowStockProducts.size(), missed, 0);
     }
 
     /**
      * Auto-Deliver Order Job
      * Runs daily at midnight to automatically mark shipped orders as delivered
      * after a certain number of days (simulating delivery completion).
-     * Note: OrderService.autoDeliverOrder already publishes OrderDeliveredEvent.
+     * Orders are delivered in chunks by OrderAutoDeliveryService, which also publishes OrderDeliveredEvent.
      */
     @Scheduled(cron = "${scheduling.auto-deliver.cron:0 0 0 * * ?}")
     public void autoDeliverShippedOrders() {
+        runJob(AUTO_DELIVER_JOB, this::autoDeliverOrders);
+    }
+
+    private JobStats autoDeliverOrders() {
         log.info("Starting auto-deliver order job");
 
         LocalDateTime cutoffDate = LocalDateTime.now().minusDays(autoDeliverDays);
-        List<Order> shippedOrders = orderService.findOrdersByStatusAndUpdatedBefore(
-                OrderStatus.SHIPPED, cutoffDate);
-
-        log.info("Found {} shipped orders to auto-deliver", shippedOrders.size());
-
-        int deliveredCount = 0;
-        for (Order order : shippedOrders) {
-            try {
-                // autoDeliverOrder publishes OrderDeliveredEvent internally
-                orderService.autoDeliverOrder(order);
-                deliveredCount++;
-                log.debug("Auto-delivered order ID: {}", order.getId());
-            } catch (Exception e) {
-                log.error("Failed to auto-deliver order ID: {}", order.getId(), e);
-            }
-        }
+        OrderAutoDeliveryService.Result result = orderAutoDeliveryService.deliverOrdersShippedBefore(cutoffDate);
 
-        log.info("Completed auto-deliver job. Delivered {} orders", deliveredCount);
+        log.info("Completed auto-deliver job. Delivered {} orders, skipped {}, failed {}",
+                result.processed(), result.skipped(), result.failed());
+        return new JobStats(result.scanned(), result.processed(), result.failed());
     }
 
     /**
      * Review Reminder Job
      * Runs daily at 2:00 PM to send review reminders for delivered orders
      * that haven't been reviewed within a certain timeframe.
+     * Reads the pending review reminders table, so each order is reminded at most once.
      */
     @Scheduled(cron = "${scheduling.review-reminder.cron:0 0 14 * * ?}")
     public void sendReviewReminders() {
+        runJob(REVIEW_REMINDER_JOB, this::remindReviews);
+    }
+
+    private JobStats remindReviews() {
         log.info("Starting review reminder job");
 
-        LocalDateTime startDate = LocalDateTime.now().minusDays(reviewReminderMaxDays);
-        LocalDateTime endDate = LocalDateTime.now().minusDays(reviewReminderMinDays);
-
-        List<Order> ordersWithoutReviews = orderService.findDeliveredOrdersWithoutReviews(
-                startDate, endDate);
-
-        log.info("Found {} delivered orders without reviews", ordersWithoutReviews.size());
-
-        for (Order order : ordersWithoutReviews) {
-            try {
-                eventPublisher.publishEvent(new ReviewReminderEvent(
-                        this,
-                        order.getOrderNumber(),
-                        order.getUser().getId(),
-                        order.getUser().getEmail(),
-                        order.getUser().getFirstName()
-                ));
-                log.debug("Published ReviewReminderEvent for order ID: {}", order.getId());
-            } catch (Exception e) {
-                log.error("Failed to publish ReviewReminderEvent for order ID: {}", order.getId(), e);
-            }
-        }
+        ReviewReminderService.Result result = reviewReminderService.sendDueReminders(
+                reviewReminderMinDays, reviewReminderMaxDays);
 
-        log.info("Completed review reminder job. Published {} events", ordersWithoutReviews.size());
+        log.info("Completed review reminder job. Published {} events, dropped {} expired reminders",
+                result.sent(), result.expired());
+        return new JobStats(result.scanned(), result.sent(), result.failed());
     }
 
     /**
@@ -208,7 +162,12 @@ public class ScheduledTasksService {
      */
     @Scheduled(cron = "${scheduling.daily-report.cron:0 0 6 * * ?}")
     public void generateDailyReport() {
+        runJob(DAILY_REPORT_JOB, this::publishDailyReport);
+    }
+
+    private JobStats publishDailyReport() {
         log.info("Starting daily report generation job");
+        int failed = 0;
 
         try {
             long totalOrders = orderService.countOrders();
@@ -219,10 +178,12 @@ public class ScheduledTasksService {
                     this, totalOrders, pendingOrders, lowStockCount));
             log.info("Published DailyReportEvent");
         } catch (Exception e) {
+            failed = 1;
             log.error("Failed to publish DailyReportEvent", e);
         }
 
         log.info("Completed daily report generation job");
+        return new JobStats(1, 1 - failed, failed);
     }
 
     /**
@@ -231,15 +192,23 @@ public class ScheduledTasksService {
      */
     @Scheduled(fixedRateString = "${scheduling.cleanup.rate:3600000}")
     public void cleanupExpiredSessions() {
+        runJob(CLEANUP_JOB, this::cleanup);
+    }
+
+    private JobStats cleanup() {
         log.info("Starting session cleanup job");
 
-        // In a real application, this would clean up:
+        int purgedExecutions = jobExecutionService.purgeExpired();
+        int purgedOutboxEvents = notificationOutboxService.purgeProcessed();
+
+        // In a real application, this would also clean up:
         // - Expired JWT tokens from a blacklist
         // - Temporary uploaded files
         // - Expired password reset tokens
-        // - Old notification records
 
         log.info("Completed session cleanup job");
+        int purged = purgedExecutions + purgedOutboxEvents;
+        return new JobStats(purged, purged, 0);
     }
 
     /**
@@ -257,4 +226,11 @@ public class ScheduledTasksService {
             log.error("Health check failed!", e);
         }
     }
+
+    /**
+     * Runs a cluster-wide job on this node if it wins the job's lock, recording the run in the job history.
+     */
+    private void runJob(String jobName, Supplier<JobStats> job) {
+        jobLockService.runLocked(jobName, () -> jobExecutionService.record(jobName, job));
+    }
 }
@@ -0,0 +1,56 @@
+package app.scheduling.history;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One run of a scheduled job on one node.
+ */
+@Entity
+@Table(name = "job_executions")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobExecution {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_name", nullable = false, length = 64)
+    private String jobName;
+
+    @Column(nullable = false)
+    private String node;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private JobExecutionStatus status;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at", nullable = false)
+    private LocalDateTime finishedAt;
+
+    @Column(name = "duration_ms", nullable = false)
+    private long durationMs;
+
+    @Column(name = "items_scanned", nullable = false)
+    private int itemsScanned;
+
+    @Column(name = "items_processed", nullable = false)
+    private int itemsProcessed;
+
+    @Column(name = "items_failed", nullable = false)
+    private int itemsFailed;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+}
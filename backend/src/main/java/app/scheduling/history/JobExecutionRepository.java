@@ -0,0 +1,34 @@
+package app.scheduling.history;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface JobExecutionRepository extends JpaRepository<JobExecution, Long> {
+
+    @Query("SELECT e FROM JobExecution e WHERE (:jobName IS NULL OR e.jobName = :jobName) " +
+           "ORDER BY e.startedAt DESC")
+    Page<JobExecution> findRecent(@Param("jobName") String jobName, Pageable pageable);
+
+    @Query("SELECT e.jobName AS jobName, COUNT(e) AS runs, " +
+           "SUM(CASE WHEN e.status = 'FAILED' THEN 1 ELSE 0 END) AS failures, " +
+           "AVG(e.durationMs) AS avgDurationMs, MAX(e.durationMs) AS maxDurationMs, " +
+           "MAX(e.startedAt) AS lastStartedAt " +
+           "FROM JobExecution e WHERE e.startedAt >= :since GROUP BY e.jobName ORDER BY e.jobName")
+    List<JobExecutionSummaryView> summarizeSince(@Param("since") LocalDateTime since);
+
+    Optional<JobExecution> findFirstByJobNameOrderByStartedAtDesc(String jobName);
+
+    @Modifying
+    @Query("DELETE FROM JobExecution e WHERE e.startedAt < :before")
+    int deleteByStartedAtBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,142 @@
+package app.scheduling.history;
+
+import app.scheduling.JobStats;
+import app.scheduling.lock.JobLockService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Records every run of a scheduled job in the job_executions table and as Micrometer meters
+ * ({@code supplemart_job_duration} and {@code supplemart_job_items}, tagged by job), so runtimes that
+ * grow with data size show up before a job overlaps its own schedule.
+ */
+@Service
+@Slf4j
+public class JobExecutionService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final JobExecutionRepository jobExecutionRepository;
+    private final JobLockService jobLockService;
+    private final MeterRegistry meterRegistry;
+    private final int retentionDays;
+
+    public JobExecutionService(JobExecutionRepository jobExecutionRepository,
+                               JobLockService jobLockService,
+                               MeterRegistry meterRegistry,
+                               @Value("${scheduling.history.retention-days:30}") int retentionDays) {
+        this.jobExecutionRepository = jobExecutionRepository;
+        this.jobLockService = jobLockService;
+        this.meterRegistry = meterRegistry;
+        this.retentionDays = retentionDays;
+    }
+
+    /**
+     * Runs the job and records its outcome. Failures to write history never affect the job itself.
+     *
+     * @return the job's item counts
+     */
+    public JobStats record(String jobName, Supplier<JobStats> job) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+        JobStats stats = JobStats.EMPTY;
+        RuntimeException failure = null;
+
+        try {
+            stats = job.get();
+            return stats;
+        } catch (RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            long durationNanos = System.nanoTime() - start;
+            JobExecutionStatus status = failure == null ? JobExecutionStatus.SUCCEEDED : JobExecutionStatus.FAILED;
+            recordMetrics(jobName, status, durationNanos, stats);
+            save(JobExecution.builder()
+                    .jobName(jobName)
+                    .node(jobLockService.getNodeId())
+                    .status(status)
+                    .startedAt(startedAt)
+                    .finishedAt(LocalDateTime.now())
+                    .durationMs(TimeUnit.NANOSECONDS.toMillis(durationNanos))
+                    .itemsScanned(stats.scanned())
+                    .itemsProcessed(stats.processed())
+                    .itemsFailed(stats.failed())
+                    .errorMessage(failure != null ? truncate(String.valueOf(failure.getMessage())) : null)
+                    .build());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Page<JobExecution> getExecutions(String jobName, int page, int limit) {
+        return jobExecutionRepository.findRecent(jobName, PageRequest.of(page, limit));
+    }
+
+    @Transactional(readOnly = true)
+    public List<JobExecutionSummaryView> getSummaries(int days) {
+        return jobExecutionRepository.summarizeSince(LocalDateTime.now().minusDays(days));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<JobExecution> getLastExecution(String jobName) {
+        return jobExecutionRepository.findFirstByJobNameOrderByStartedAtDesc(jobName);
+    }
+
+    /**
+     * Deletes history older than {@code scheduling.history.retention-days}.
+     */
+    @Transactional
+    public int purgeExpired() {
+        int deleted = jobExecutionRepository.deleteByStartedAtBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            log.info("Purged {} job execution records older than {} days", deleted, retentionDays);
+        }
+        return deleted;
+    }
+
+    private void save(JobExecution execution) {
+        try {
+            jobExecutionRepository.save(execution);
+        } catch (Exception e) {
+            log.warn("Failed to record execution of job {}: {}", execution.getJobName(), e.getMessage());
+        }
+    }
+
+    private void recordMetrics(String jobName, JobExecutionStatus status, long durationNanos, JobStats stats) {
+        Timer.builder("supplemart_job_duration")
+                .description("Duration of scheduled job runs")
+                .tag("job", jobName)
+                .tag("status", status.name().toLowerCase())
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+
+        itemsSummary(jobName, "scanned").record(stats.scanned());
+        itemsSummary(jobName, "processed").record(stats.processed());
+        itemsSummary(jobName, "failed").record(stats.failed());
+    }
+
+    private DistributionSummary itemsSummary(String jobName, String type) {
+        return DistributionSummary.builder("supplemart_job_items")
+                .description("Items handled per scheduled job run")
+                .tag("job", jobName)
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
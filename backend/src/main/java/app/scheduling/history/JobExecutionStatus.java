@@ -0,0 +1,6 @@
+package app.scheduling.history;
+
+public enum JobExecutionStatus {
+    SUCCEEDED,
+    FAILED
+}
@@ -0,0 +1,15 @@
+package app.scheduling.history;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aggregated run statistics of one job over a time window.
+ */
+public interface JobExecutionSummaryView {
+    String getJobName();
+    Long getRuns();
+    Long getFailures();
+    Double getAvgDurationMs();
+    Long getMaxDurationMs();
+    LocalDateTime getLastStartedAt();
+}
@@ -0,0 +1,73 @@
+package app.scheduling.lock;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Lease lock rows in the job_locks table. All timestamps come from the database clock,
+ * so nodes with skewed clocks still agree on whether a lease has expired.
+ * Each method runs in its own short transaction.
+ */
+@Repository
+public class JobLockRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Takes the lock if it is free or its lease has expired.
+     *
+     * @return true if this owner now holds the lock
+     */
+    @Transactional
+    public boolean tryAcquire(String name, String owner, long leaseMillis) {
+        entityManager.createNativeQuery(
+                        "INSERT IGNORE INTO job_locks (name, locked_by, locked_at, lock_until) " +
+                        "VALUES (:name, '', NOW(3), NOW(3))")
+                .setParameter("name", name)
+                .executeUpdate();
+
+        return entityManager.createNativeQuery(
+                        "UPDATE job_locks SET locked_by = :owner, locked_at = NOW(3), " +
+                        "lock_until = TIMESTAMPADD(MICROSECOND, :leaseMicros, NOW(3)) " +
+                        "WHERE name = :name AND lock_until <= NOW(3)")
+                .setParameter("owner", owner)
+                .setParameter("leaseMicros", leaseMillis * 1000)
+                .setParameter("name", name)
+                .executeUpdate() == 1;
+    }
+
+    /**
+     * Extends the lease of a lock this owner still holds.
+     *
+     * @return false if the lease already expired or another node took the lock
+     */
+    @Transactional
+    public boolean renew(String name, String owner, long leaseMillis) {
+        return entityManager.createNativeQuery(
+                        "UPDATE job_locks SET lock_until = TIMESTAMPADD(MICROSECOND, :leaseMicros, NOW(3)) " +
+                        "WHERE name = :name AND locked_by = :owner AND lock_until > NOW(3)")
+                .setParameter("leaseMicros", leaseMillis * 1000)
+                .setParameter("name", name)
+                .setParameter("owner", owner)
+                .executeUpdate() == 1;
+    }
+
+    /**
+     * Releases the lock, but keeps it held until at least {@code minHoldMillis} after it was taken,
+     * so a node whose trigger fires slightly later does not run the same job again.
+     */
+    @Transactional
+    public void release(String name, String owner, long minHoldMillis) {
+        entityManager.createNativeQuery(
+                        "UPDATE job_locks SET lock_until = " +
+                        "GREATEST(NOW(3), TIMESTAMPADD(MICROSECOND, :minHoldMicros, locked_at)) " +
+                        "WHERE name = :name AND locked_by = :owner")
+                .setParameter("minHoldMicros", minHoldMillis * 1000)
+                .setParameter("name", name)
+                .setParameter("owner", owner)
+                .executeUpdate();
+    }
+}
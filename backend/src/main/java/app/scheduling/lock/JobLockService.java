@@ -0,0 +1,129 @@
+package app.scheduling.lock;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs scheduled jobs under a database lease lock so that only one node in the cluster
+ * executes each job per trigger.
+ *
+ * The lock is taken for {@code scheduling.lock.lease-seconds} and renewed in the background
+ * every third of the lease while the job runs, so long jobs keep it and a crashed node's lock
+ * expires on its own. On completion the lock is held for at least
+ * {@code scheduling.lock.min-hold-seconds} to absorb trigger skew between nodes.
+ */
+@Service
+@Slf4j
+public class JobLockService {
+
+    private final JobLockRepository jobLockRepository;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId;
+    private final long leaseMillis;
+    private final long minHoldMillis;
+
+    private final ScheduledExecutorService renewalExecutor;
+
+    public JobLockService(JobLockRepository jobLockRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${scheduling.node-id:}") String nodeId,
+                          @Value("${scheduling.lock.lease-seconds:300}") long leaseSeconds,
+                          @Value("${scheduling.lock.min-hold-seconds:30}") long minHoldSeconds) {
+        this.jobLockRepository = jobLockRepository;
+        this.meterRegistry = meterRegistry;
+        this.nodeId = nodeId.isBlank() ? ManagementFactory.getRuntimeMXBean().getName() : nodeId;
+        this.leaseMillis = TimeUnit.SECONDS.toMillis(leaseSeconds);
+        this.minHoldMillis = TimeUnit.SECONDS.toMillis(minHoldSeconds);
+
+        this.renewalExecutor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("job-lock-renewal").daemon().factory());
+    }
+
+    /**
+     * Identifies this node as a lock owner.
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Runs the job if this node can take its lock; otherwise skips it.
+     *
+     * @return true if the job ran on this node
+     */
+    public boolean runLocked(String jobName, Runnable job) {
+        Timer.Sample acquireSample = Timer.start(meterRegistry);
+        boolean acquired;
+        try {
+            acquired = jobLockRepository.tryAcquire(jobName, nodeId, leaseMillis);
+        } catch (Exception e) {
+            acquireSample.stop(acquireTimer(jobName));
+            recordAttempt(jobName, "error");
+            log.error("Failed to acquire lock for job {}; skipping this run", jobName, e);
+            return false;
+        }
+        acquireSample.stop(acquireTimer(jobName));
+
+        if (!acquired) {
+            recordAttempt(jobName, "contended");
+            log.info("Skipping job {}: lock is held by another node", jobName);
+            return false;
+        }
+        recordAttempt(jobName, "acquired");
+
+        long renewEvery = Math.max(1, leaseMillis / 3);
+        ScheduledFuture<?> renewal = renewalExecutor.scheduleAtFixedRate(
+                () -> renew(jobName), renewEvery, renewEvery, TimeUnit.MILLISECONDS);
+
+        try {
+            job.run();
+            return true;
+        } finally {
+            renewal.cancel(false);
+            try {
+                jobLockRepository.release(jobName, nodeId, minHoldMillis);
+            } catch (Exception e) {
+                // The lease simply expires on its own
+                log.warn("Failed to release lock for job {}: {}", jobName, e.getMessage());
+            }
+        }
+    }
+
+    private void renew(String jobName) {
+        try {
+            if (!jobLockRepository.renew(jobName, nodeId, leaseMillis)) {
+                meterRegistry.counter("supplemart_job_lock_lease_lost_total", "job", jobName).increment();
+                log.warn("Lost lock lease for job {} while it was still running", jobName);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to renew lock lease for job {}: {}", jobName, e.getMessage());
+        }
+    }
+
+    private void recordAttempt(String jobName, String outcome) {
+        meterRegistry.counter("supplemart_job_lock_attempts_total", "job", jobName, "outcome", outcome)
+                .increment();
+    }
+
+    private Timer acquireTimer(String jobName) {
+        return Timer.builder("supplemart_job_lock_acquire_time")
+                .description("Time taken to try to acquire a scheduled job lock")
+                .tag("job", jobName)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renewalExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,105 @@
+package app.security;
+
+import app.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts failed logins per client IP and per (account, IP) pair and refuses further attempts once either
+ * passes its limit, before any password is hashed.
+ *
+ * Account failures are counted per IP so that someone guessing a victim's password locks out only their
+ * own address, not the victim. Guessing one account from many addresses is bounded by each address's own
+ * limit. Counting starts at the first failure and lasts {@code security.login-throttle.window-seconds}. A
+ * successful login clears the pair's count but not the IP's, so a client cannot reset its own limit by
+ * signing in to an account it controls.
+ */
+@Component
+public class LoginAttemptThrottle {
+
+    private final int maxFailuresPerIp;
+    private final int maxFailuresPerAccountIp;
+    private final long windowMillis;
+    private final Cache<String, Failures> ipFailures;
+    private final Cache<String, Failures> accountIpFailures;
+    private final Counter ipThrottledCounter;
+    private final Counter accountIpThrottledCounter;
+
+    public LoginAttemptThrottle(MeterRegistry meterRegistry,
+                                @Value("${security.login-throttle.max-failures-per-ip:50}") int maxFailuresPerIp,
+                                @Value("${security.login-throttle.max-failures-per-account-ip:10}") int maxFailuresPerAccountIp,
+                                @Value("${security.login-throttle.window-seconds:900}") long windowSeconds,
+                                @Value("${security.login-throttle.max-tracked:100000}") long maxTracked) {
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        this.maxFailuresPerAccountIp = maxFailuresPerAccountIp;
+        this.windowMillis = TimeUnit.SECONDS.toMillis(windowSeconds);
+        this.ipFailures = Caffeine.newBuilder()
+                .maximumSize(maxTracked)
+                .expireAfterWrite(Duration.ofSeconds(windowSeconds))
+                .build();
+        this.accountIpFailures = Caffeine.newBuilder()
+                .maximumSize(maxTracked)
+                .expireAfterWrite(Duration.ofSeconds(windowSeconds))
+                .build();
+
+        this.ipThrottledCounter = Counter.builder("supplemart_login_throttled_total")
+                .description("Login attempts refused after too many failures")
+                .tag("scope", "ip")
+                .register(meterRegistry);
+        this.accountIpThrottledCounter = Counter.builder("supplemart_login_throttled_total")
+                .description("Login attempts refused after too many failures")
+                .tag("scope", "account_ip")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @throws TooManyRequestsException if the IP, or the account from this IP, has failed too often in the
+     *                                  current window
+     */
+    public void checkAllowed(String clientIp, String email) {
+        check(ipFailures.getIfPresent(clientIp), maxFailuresPerIp, ipThrottledCounter);
+        check(accountIpFailures.getIfPresent(accountIpKey(clientIp, email)), maxFailuresPerAccountIp,
+                accountIpThrottledCounter);
+    }
+
+    public void recordFailure(String clientIp, String email) {
+        long now = System.currentTimeMillis();
+        ipFailures.get(clientIp, ip -> new Failures(now)).count().incrementAndGet();
+        accountIpFailures.get(accountIpKey(clientIp, email), key -> new Failures(now)).count().incrementAndGet();
+    }
+
+    public void recordSuccess(String clientIp, String email) {
+        accountIpFailures.invalidate(accountIpKey(clientIp, email));
+    }
+
+    private void check(Failures failures, int limit, Counter throttledCounter) {
+        if (failures == null || failures.count().get() < limit) {
+            return;
+        }
+        throttledCounter.increment();
+        long retryAfterMillis = failures.firstFailureAt() + windowMillis - System.currentTimeMillis();
+        throw new TooManyRequestsException("Too many failed login attempts. Please try again later",
+                TimeUnit.MILLISECONDS.toSeconds(retryAfterMillis) + 1);
+    }
+
+    private static String accountIpKey(String clientIp, String email) {
+        String account = email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+        return account + '|' + clientIp;
+    }
+
+    private record Failures(long firstFailureAt, AtomicInteger count) {
+
+        Failures(long firstFailureAt) {
+            this(firstFailureAt, new AtomicInteger());
+        }
+    }
+}
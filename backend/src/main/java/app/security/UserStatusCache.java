@@ -0,0 +1,44 @@
+package app.security;
+
+import app.user.model.Role;
+import app.user.service.UserService;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Short-lived view of each user's current role, for authenticating requests from token claims.
+ *
+ * A token's role claim is trusted only while it matches the role loaded here. Entries are never evicted
+ * on change, on this node or any other, so a role change or a deleted account takes effect within
+ * {@code security.user-status.ttl-seconds} and a token keeps its old role until then. Missing accounts
+ * are cached too, so a deleted user's token costs one query per TTL rather than one per request.
+ */
+@Component
+public class UserStatusCache {
+
+    private final LoadingCache<UUID, Optional<Role>> roles;
+
+    public UserStatusCache(
+            UserService userService,
+            @Value("${security.user-status.ttl-seconds:30}") long ttlSeconds,
+            @Value("${security.user-status.max-size:10000}") long maxSize
+    ) {
+        this.roles = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build(userService::findRoleById);
+    }
+
+    /**
+     * Whether the account still exists and currently has the given role.
+     */
+    public boolean hasRole(UUID userId, Role role) {
+        return roles.get(userId).map(role::equals).orElse(false);
+    }
+}
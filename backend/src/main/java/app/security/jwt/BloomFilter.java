@@ -0,0 +1,60 @@
+package app.security.jwt;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings, safe for concurrent adds and lookups.
+ *
+ * Probes are derived from {@link String#hashCode()}, which strings cache, so a lookup allocates nothing.
+ * Entries cannot be removed; callers rebuild the filter to forget them.
+ */
+final class BloomFilter {
+
+    private static final int HASHES = 5;
+
+    private final AtomicLongArray words;
+    private final int mask;
+
+    /**
+     * @param bits requested size in bits, rounded up to a power of two of at least 64
+     */
+    BloomFilter(int bits) {
+        int size = Integer.highestOneBit(Math.max(64, bits - 1) << 1);
+        this.words = new AtomicLongArray(size >>> 6);
+        this.mask = size - 1;
+    }
+
+    void add(String key) {
+        long mixed = mix(key);
+        int h1 = (int) mixed;
+        int h2 = (int) (mixed >>> 32) | 1;
+        for (int i = 0; i < HASHES; i++) {
+            int bit = (h1 + i * h2) & mask;
+            long flag = 1L << bit;
+            int word = bit >>> 6;
+            long current;
+            while (((current = words.get(word)) & flag) == 0
+                    && !words.compareAndSet(word, current, current | flag)) {
+                // Retry until the bit is set
+            }
+        }
+    }
+
+    boolean mightContain(String key) {
+        long mixed = mix(key);
+        int h1 = (int) mixed;
+        int h2 = (int) (mixed >>> 32) | 1;
+        for (int i = 0; i < HASHES; i++) {
+            int bit = (h1 + i * h2) & mask;
+            if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long mix(String key) {
+        long h = key.hashCode() * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+}
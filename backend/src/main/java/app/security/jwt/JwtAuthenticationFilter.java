@@ -1,5 +1,8 @@
 package app.security.jwt;
 
+import app.security.CustomUserDetails;
+import app.security.UserStatusCache;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,12 +18,20 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
+/**
+ * Authenticates requests carrying a bearer token.
+ *
+ * Tokens with user id and role claims are authenticated from the claims, checked against
+ * {@link UserStatusCache} so role changes and deleted accounts are honored without a query per request.
+ * Older tokens without those claims fall back to loading the user.
+ */
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final UserStatusCache userStatusCache;
 
     @Override
     protected void doFilterInternal(
@@ -31,7 +42,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
+        final Claims claims;
+        final CustomUserDetails principal;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -46,16 +58,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         try {
-            userEmail = jwtService.extractUsername(jwt);
+            claims = jwtService.verify(jwt);
+            principal = jwtService.toPrincipal(claims);
         } catch (Exception e) {
             filterChain.doFilter(request, response);
             return;
         }
 
+        final String userEmail = claims.getSubject();
         if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+            UserDetails userDetails = principal != null
+                    ? principal
+                    : this.userDetailsService.loadUserByUsername(userEmail);
 
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+            if (jwtService.isTokenValid(jwt, claims, userDetails) && isCurrent(principal)) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
@@ -69,4 +85,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    private boolean isCurrent(CustomUserDetails principal) {
+        return principal == null || userStatusCache.hasRole(principal.getId(), principal.getRole());
+    }
 }
@@ -1,6 +1,8 @@
 package app.security.jwt;
 
+import app.security.BoundedPasswordEncoder;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.Getter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -26,14 +28,29 @@ public class JwtConfig {
     @Value("${jwt.refresh-expiration:604800}")
     private long refreshExpiration;
 
+    @Value("${jwt.claims-cache-size:10000}")
+    private long claimsCacheSize;
+
+    @Value("${security.password-hashing.threads:0}")
+    private int passwordHashingThreads;
+
+    @Value("${security.password-hashing.queue-capacity:64}")
+    private int passwordHashingQueueCapacity;
+
     @Bean
     public SecretKey jwtSecretKey() {
         return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
     }
 
+    /**
+     * BCrypt on a bounded pool; 0 threads means half the available cores.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        int threads = passwordHashingThreads > 0
+                ? passwordHashingThreads
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry, threads, passwordHashingQueueCapacity);
     }
 
     @Bean
@@ -1,31 +1,88 @@
 package app.security.jwt;
 
+import app.security.CustomUserDetails;
+import app.user.model.Role;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
+/**
+ * Issues and verifies JWTs.
+ *
+ * Tokens are verified with one parser built at startup. Verified claims are cached under the SHA-256
+ * digest of the token, up to {@code jwt.claims-cache-size} entries, until the token expires, so a client
+ * reusing its token pays for the signature check once and later requests cost a digest and a lookup.
+ * Tokens that fail verification are never cached.
+ *
+ * Access tokens issued for a {@link CustomUserDetails} carry the user id and role, so requests can be
+ * authenticated from the claims without loading the user. Every token has a random {@code jti}, which
+ * is what {@link TokenRevocationStore} records on logout and {@link RevocationReplicator} shares with the
+ * other replicas.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class JwtService {
 
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+
     private final JwtConfig jwtConfig;
     private final SecretKey jwtSecretKey;
+    private final JwtParser parser;
+    private final Cache<String, Claims> verifiedClaims;
+    private final TokenRevocationStore revocationStore;
+    private final RevocationReplicator revocationReplicator;
+
+    public JwtService(JwtConfig jwtConfig, SecretKey jwtSecretKey,
+                      TokenRevocationStore revocationStore, RevocationReplicator revocationReplicator) {
+        this.jwtConfig = jwtConfig;
+        this.jwtSecretKey = jwtSecretKey;
+        this.revocationStore = revocationStore;
+        this.revocationReplicator = revocationReplicator;
+        this.parser = Jwts.parser().verifyWith(jwtSecretKey).build();
+        this.verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(jwtConfig.getClaimsCacheSize())
+                .expireAfter(new UntilTokenExpiry())
+                .build();
+    }
+
+    /**
+     * Verifies the token's signature and expiry, or returns its claims from the cache if it was
+     * verified before.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired
+     */
+    public Claims verify(String token) {
+        String key = digest(token);
+        Claims claims = verifiedClaims.getIfPresent(key);
+        if (claims != null && claims.getExpiration().after(new Date())) {
+            return claims;
+        }
 
-    // In-memory token revocation store with automatic cleanup
-    // For production with multiple instances, consider Redis
-    private final Map<String, Date> revokedTokens = new ConcurrentHashMap<>();
+        claims = parser.parseSignedClaims(token).getPayload();
+        if (claims.getExpiration() != null) {
+            verifiedClaims.put(key, claims);
+        }
+        return claims;
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -36,25 +93,35 @@ public class JwtService {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(verify(token));
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parser()
-                .verifyWith(jwtSecretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public String generateToken(UserDetails userDetails) {
+        Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof CustomUserDetails user && user.getId() != null && user.getRole() != null) {
+            claims.put(USER_ID_CLAIM, user.getId().toString());
+            claims.put(ROLE_CLAIM, user.getRole().name());
+        }
+        return generateToken(claims, userDetails);
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
+    /**
+     * Builds the principal from verified claims, or returns null if the token predates the user id
+     * and role claims.
+     */
+    public CustomUserDetails toPrincipal(Claims claims) {
+        String userId = claims.get(USER_ID_CLAIM, String.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        if (userId == null || role == null) {
+            return null;
+        }
 
-    public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        return CustomUserDetails.builder()
+                .id(UUID.fromString(userId))
+                .username(claims.getSubject())
+                .role(Role.valueOf(role))
+                .isEnabled(true)
+                .build();
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
@@ -73,6 +140,7 @@ public class JwtService {
         return Jwts
                 .builder()
                 .claims(extraClaims)
+                .id(UUID.randomUUID().toString())
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
@@ -80,43 +148,83 @@ public class JwtService {
                 .compact();
     }
 
+    /**
+     * Revokes the token until it expires. Tokens that fail verification are recorded under their digest
+     * until the current revocation bucket closes on this node only, since they cannot authenticate anyway.
+     */
     public void revokeToken(String token) {
+        Claims claims;
         try {
-            Date exp = extractExpiration(token);
-            revokedTokens.put(token, exp);
-            cleanupExpiredRevocations();
+            claims = verify(token);
         } catch (RuntimeException e) {
-            revokedTokens.put(token, new Date());
+            revocationStore.revoke(digest(token), System.currentTimeMillis());
+            return;
         }
+
+        String key = revocationKey(token, claims);
+        revocationStore.revoke(key, claims.getExpiration().getTime());
+        revocationReplicator.publish(key, claims.getExpiration());
     }
 
-    private void cleanupExpiredRevocations() {
-        Date now = new Date();
-        revokedTokens.entrySet().removeIf(entry -> entry.getValue().before(now));
+    public boolean isTokenRevoked(String token) {
+        try {
+            return isTokenRevoked(token, verify(token));
+        } catch (RuntimeException e) {
+            return revocationStore.isRevoked(digest(token));
+        }
+    }
+
+    public boolean isTokenRevoked(String token, Claims claims) {
+        return revocationStore.isRevoked(revocationKey(token, claims), claims.getExpiration().getTime());
+    }
+
+    public boolean isTokenValid(String token, UserDetails userDetails) {
+        return isTokenValid(token, verify(token), userDetails);
     }
 
     /**
-     * Scheduled cleanup of expired revoked tokens - runs every hour.
-     * Prevents unbounded memory growth in long-running instances.
+     * Checks already verified claims against the user, so callers holding the claims don't parse twice.
      */
-    @Scheduled(fixedRate = 3600000)
-    public void scheduledCleanup() {
-        int sizeBefore = revokedTokens.size();
-        cleanupExpiredRevocations();
-        int removed = sizeBefore - revokedTokens.size();
-        if (removed > 0) {
-            log.debug("Cleaned up {} expired revoked tokens, {} remaining", removed, revokedTokens.size());
-        }
+    public boolean isTokenValid(String token, Claims claims, UserDetails userDetails) {
+        if (isTokenRevoked(token, claims)) return false;
+        return claims.getSubject().equals(userDetails.getUsername()) && claims.getExpiration().after(new Date());
     }
 
-    public boolean isTokenRevoked(String token) {
-        cleanupExpiredRevocations();
-        return revokedTokens.containsKey(token);
+    /**
+     * Tokens issued before the jti claim was added are keyed by their digest.
+     */
+    private static String revocationKey(String token, Claims claims) {
+        return claims.getId() != null ? claims.getId() : digest(token);
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        if (isTokenRevoked(token)) return false;
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Expires each cached entry when its token does.
+     */
+    private static final class UntilTokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -0,0 +1,131 @@
+package app.security.jwt;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shares token revocations between replicas through the revoked_tokens table.
+ *
+ * A revocation is applied to the local {@link TokenRevocationStore} at once and written to the table.
+ * Every node polls for rows above its high-water mark and applies them locally, so revocation checks stay
+ * in memory and other replicas honor a logout within {@code jwt.revocation.replication.poll-interval-ms}.
+ * Each poll re-reads the last {@code jwt.revocation.replication.overlap} ids below the mark, so rows
+ * whose transactions committed out of id order are still picked up.
+ */
+@Slf4j
+@Component
+public class RevocationReplicator {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TokenRevocationStore revocationStore;
+    private final int batchSize;
+    private final long overlap;
+    private final Timer replicationLag;
+    private final AtomicLong highWaterMark = new AtomicLong();
+    private final AtomicLong lastPollMillis = new AtomicLong(System.currentTimeMillis());
+
+    public RevocationReplicator(
+            RevokedTokenRepository revokedTokenRepository,
+            TokenRevocationStore revocationStore,
+            MeterRegistry meterRegistry,
+            @Value("${jwt.revocation.replication.batch-size:500}") int batchSize,
+            @Value("${jwt.revocation.replication.overlap:100}") long overlap
+    ) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.revocationStore = revocationStore;
+        this.batchSize = Math.max(1, batchSize);
+        this.overlap = Math.max(0, overlap);
+
+        this.replicationLag = Timer.builder("supplemart_token_revocation_replication_lag")
+                .description("Time from a revocation on another replica to it being applied here")
+                .register(meterRegistry);
+        Gauge.builder("supplemart_token_revocation_replication_staleness_seconds", lastPollMillis,
+                        last -> (System.currentTimeMillis() - last.get()) / 1000.0)
+                .description("Seconds since revocations were last polled successfully")
+                .register(meterRegistry);
+        Gauge.builder("supplemart_revoked_tokens", revocationStore, TokenRevocationStore::size)
+                .description("Revoked tokens held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a revocation for the other replicas. The caller has already applied it locally.
+     */
+    public void publish(String tokenId, Date expiresAt) {
+        revokedTokenRepository.save(RevokedToken.builder()
+                .tokenId(tokenId)
+                .expiresAt(LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault()))
+                .revokedAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Applies revocations written since the last poll. The first poll loads every unexpired revocation.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.replication.poll-interval-ms:2000}")
+    public void poll() {
+        try {
+            int applied = 0;
+            long after = Math.max(0, highWaterMark.get() - overlap);
+            List<RevokedToken> batch;
+            do {
+                batch = revokedTokenRepository.findByIdGreaterThanAndExpiresAtAfterOrderByIdAsc(
+                        after, LocalDateTime.now(), Limit.of(batchSize));
+                for (RevokedToken row : batch) {
+                    if (apply(row)) {
+                        applied++;
+                    }
+                    after = row.getId();
+                }
+                highWaterMark.accumulateAndGet(after, Math::max);
+            } while (batch.size() == batchSize);
+
+            lastPollMillis.set(System.currentTimeMillis());
+            if (applied > 0) {
+                log.debug("Applied {} replicated token revocations, high-water mark {}", applied, highWaterMark.get());
+            }
+        } catch (Exception e) {
+            log.error("Failed to poll token revocations", e);
+        }
+    }
+
+    /**
+     * Deletes revocations of tokens that have expired; they can no longer authenticate.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.replication.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = revokedTokenRepository.deleteByExpiresAtBefore(LocalDateTime.now());
+        if (deleted > 0) {
+            log.debug("Purged {} expired token revocations", deleted);
+        }
+    }
+
+    long getHighWaterMark() {
+        return highWaterMark.get();
+    }
+
+    private boolean apply(RevokedToken row) {
+        long expiresAt = row.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        if (revocationStore.isRevoked(row.getTokenId(), expiresAt)) {
+            return false;
+        }
+        revocationStore.revoke(row.getTokenId(), expiresAt);
+        replicationLag.record(Duration.between(row.getRevokedAt(), LocalDateTime.now()));
+        return true;
+    }
+}
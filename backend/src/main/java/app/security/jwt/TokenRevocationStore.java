@@ -0,0 +1,91 @@
+package app.security.jwt;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked token ids, grouped into buckets by when the tokens expire.
+ *
+ * Each bucket covers {@code jwt.revocation.bucket-seconds} of expiry times and is dropped as a whole once
+ * its last token has expired, so cleanup never scans individual entries. A Bloom filter in front of the
+ * buckets answers the common case, a token that was never revoked, with a few bit probes; only filter hits
+ * look up the bucket. The filter is rebuilt from the remaining ids whenever buckets are dropped.
+ */
+@Slf4j
+@Component
+public class TokenRevocationStore {
+
+    private final long bucketMillis;
+    private final int bloomBits;
+    private final Map<Long, Set<String>> buckets = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+    private volatile BloomFilter bloomFilter;
+
+    public TokenRevocationStore(
+            @Value("${jwt.revocation.bucket-seconds:60}") long bucketSeconds,
+            @Value("${jwt.revocation.bloom-bits:1048576}") int bloomBits
+    ) {
+        this.bucketMillis = bucketSeconds * 1000;
+        this.bloomBits = bloomBits;
+        this.bloomFilter = new BloomFilter(bloomBits);
+    }
+
+    /**
+     * Records a revoked token id until the token's expiry time.
+     */
+    public void revoke(String tokenId, long expiresAtMillis) {
+        synchronized (writeLock) {
+            buckets.computeIfAbsent(bucketOf(expiresAtMillis), bucket -> ConcurrentHashMap.newKeySet()).add(tokenId);
+            bloomFilter.add(tokenId);
+        }
+    }
+
+    public boolean isRevoked(String tokenId, long expiresAtMillis) {
+        if (!bloomFilter.mightContain(tokenId)) {
+            return false;
+        }
+        Set<String> bucket = buckets.get(bucketOf(expiresAtMillis));
+        return bucket != null && bucket.contains(tokenId);
+    }
+
+    /**
+     * Looks the id up in every bucket, for callers that don't know the token's expiry.
+     */
+    public boolean isRevoked(String tokenId) {
+        if (!bloomFilter.mightContain(tokenId)) {
+            return false;
+        }
+        return buckets.values().stream().anyMatch(bucket -> bucket.contains(tokenId));
+    }
+
+    public int size() {
+        return buckets.values().stream().mapToInt(Set::size).sum();
+    }
+
+    /**
+     * Drops buckets whose tokens have all expired and rebuilds the Bloom filter without them.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.cleanup-interval-ms:60000}")
+    public void dropExpired() {
+        long current = bucketOf(System.currentTimeMillis());
+        synchronized (writeLock) {
+            if (!buckets.keySet().removeIf(bucket -> bucket < current)) {
+                return;
+            }
+            BloomFilter rebuilt = new BloomFilter(bloomBits);
+            buckets.values().forEach(bucket -> bucket.forEach(rebuilt::add));
+            bloomFilter = rebuilt;
+        }
+        log.debug("Dropped expired revocation buckets, {} revoked tokens remaining", size());
+    }
+
+    private long bucketOf(long epochMillis) {
+        return Math.floorDiv(epochMillis, bucketMillis);
+    }
+}
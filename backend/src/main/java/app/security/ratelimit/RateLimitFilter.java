@@ -0,0 +1,183 @@
+package app.security.ratelimit;
+
+import app.security.jwt.JwtService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits the request rate per client and route group with token buckets, ahead of authentication.
+ *
+ * Clients are keyed by the user id of a valid bearer token, else by IP. The IP is
+ * {@code getRemoteAddr()}, which {@code server.forward-headers-strategy} sets from X-Forwarded-For when
+ * the request comes through a trusted proxy; the header is never read here. Each bucket is a single
+ * {@link AtomicLong} holding the time at which it would be full again (the generic cell rate algorithm),
+ * so a check is one compare-and-set with no locking. Buckets live in a size-bounded Caffeine map per
+ * group and are dropped after {@code rate-limit.idle-seconds} without requests, by which time they
+ * would have refilled anyway. Throttled requests get 429 with a Retry-After header.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final JwtService jwtService;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Map<RateLimitGroup, Limit> limits = new EnumMap<>(RateLimitGroup.class);
+
+    public RateLimitFilter(JwtService jwtService,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${rate-limit.enabled:true}") boolean enabled,
+                           @Value("${rate-limit.max-clients:100000}") long maxClients,
+                           @Value("${rate-limit.idle-seconds:600}") long idleSeconds,
+                           @Value("${rate-limit.auth.capacity:20}") long authCapacity,
+                           @Value("${rate-limit.auth.per-second:2}") double authPerSecond,
+                           @Value("${rate-limit.contact.capacity:5}") long contactCapacity,
+                           @Value("${rate-limit.contact.per-second:0.1}") double contactPerSecond,
+                           @Value("${rate-limit.products.capacity:100}") long productsCapacity,
+                           @Value("${rate-limit.products.per-second:20}") double productsPerSecond,
+                           @Value("${rate-limit.api.capacity:200}") long apiCapacity,
+                           @Value("${rate-limit.api.per-second:50}") double apiPerSecond) {
+        this.jwtService = jwtService;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+
+        limits.put(RateLimitGroup.AUTH, newLimit(RateLimitGroup.AUTH, authCapacity, authPerSecond,
+                maxClients, idleSeconds, meterRegistry));
+        limits.put(RateLimitGroup.CONTACT, newLimit(RateLimitGroup.CONTACT, contactCapacity, contactPerSecond,
+                maxClients, idleSeconds, meterRegistry));
+        limits.put(RateLimitGroup.PRODUCTS, newLimit(RateLimitGroup.PRODUCTS, productsCapacity, productsPerSecond,
+                maxClients, idleSeconds, meterRegistry));
+        limits.put(RateLimitGroup.API, newLimit(RateLimitGroup.API, apiCapacity, apiPerSecond,
+                maxClients, idleSeconds, meterRegistry));
+    }
+
+    private static Limit newLimit(RateLimitGroup group, long capacity, double perSecond,
+                                  long maxClients, long idleSeconds, MeterRegistry meterRegistry) {
+        String name = group.name().toLowerCase();
+        if (!(perSecond > 0)) {
+            throw new IllegalArgumentException("rate-limit." + name + ".per-second must be positive");
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("rate-limit." + name + ".capacity must be at least 1");
+        }
+        return new Limit(
+                capacity,
+                perSecond,
+                Caffeine.newBuilder()
+                        .maximumSize(maxClients)
+                        .expireAfterAccess(Duration.ofSeconds(idleSeconds))
+                        .build(),
+                Counter.builder("supplemart_rate_limited_total")
+                        .description("Requests refused by the rate limiter")
+                        .tag("group", name)
+                        .register(meterRegistry));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RateLimitGroup group = RateLimitGroup.of(request.getRequestURI().substring(request.getContextPath().length()));
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Limit limit = limits.get(group);
+        AtomicLong bucket = limit.buckets().get(clientKey(request), key -> new AtomicLong(Long.MIN_VALUE));
+        long waitNanos = limit.tryAcquire(bucket, System.nanoTime());
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        limit.throttled().increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now().toString());
+        body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        body.put("message", "Too many requests. Please try again later");
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            try {
+                String userId = jwtService.verify(authHeader.substring(7)).get(JwtService.USER_ID_CLAIM, String.class);
+                if (userId != null) {
+                    return userId;
+                }
+            } catch (RuntimeException e) {
+                // Invalid tokens are limited by IP; JwtAuthenticationFilter rejects them
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    /**
+     * A group's bucket size and refill rate, with one bucket per client.
+     */
+    private record Limit(long emissionIntervalNanos, long burstToleranceNanos,
+                         Cache<String, AtomicLong> buckets, Counter throttled) {
+
+        Limit(long capacity, double perSecond, Cache<String, AtomicLong> buckets, Counter throttled) {
+            this(intervalOf(perSecond), intervalOf(perSecond) * (capacity - 1), buckets, throttled);
+        }
+
+        private static long intervalOf(double perSecond) {
+            return (long) (TimeUnit.SECONDS.toNanos(1) / perSecond);
+        }
+
+        /**
+         * Takes a token if one is available.
+         *
+         * @return 0 if the request may proceed, otherwise nanoseconds until the next token
+         */
+        long tryAcquire(AtomicLong bucket, long now) {
+            while (true) {
+                long fullAt = bucket.get();
+                long earliest = fullAt == Long.MIN_VALUE ? now : Math.max(fullAt, now);
+                long wait = earliest - burstToleranceNanos - now;
+                if (wait > 0) {
+                    return wait;
+                }
+                if (bucket.compareAndSet(fullAt, earliest + emissionIntervalNanos)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package app.security.ratelimit;
+
+/**
+ * Routes that share a rate limit, matched by path prefix in declaration order.
+ */
+public enum RateLimitGroup {
+
+    AUTH("/api/auth/"),
+    CONTACT("/api/contact"),
+    PRODUCTS("/api/products"),
+    API("/api/");
+
+    private final String pathPrefix;
+
+    RateLimitGroup(String pathPrefix) {
+        this.pathPrefix = pathPrefix;
+    }
+
+    /**
+     * Returns the group for the path, or null if the path is not rate limited.
+     */
+    public static RateLimitGroup of(String path) {
+        for (RateLimitGroup group : values()) {
+            if (path.startsWith(group.pathPrefix)) {
+                return group;
+            }
+        }
+        return null;
+    }
+}
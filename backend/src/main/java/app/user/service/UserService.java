@@ -81,6 +81,13 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User with ID " + userId + " not found"));
     }
 
+    /**
+     * Get only the user's role, empty if the account no longer exists.
+     */
+    public Optional<Role> findRoleById(UUID userId) {
+        return userRepository.findRoleById(userId);
+    }
+
     public boolean existsByEmail(String email) {
         return userRepository.findByEmail(email).isPresent();
     }
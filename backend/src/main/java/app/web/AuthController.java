@@ -1,6 +1,7 @@
 package app.web;
 
 import app.security.CustomUserDetails;
+import app.security.LoginAttemptThrottle;
 import app.security.jwt.JwtService;
 import app.user.dto.AuthResponse;
 import app.user.dto.LoginRequest;
@@ -14,11 +15,13 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -31,6 +34,7 @@ public class AuthController {
     private final UserService userService;
     private final JwtService jwtService;
     private final UserMapper userMapper;
+    private final LoginAttemptThrottle loginAttemptThrottle;
 
     @Operation(
             summary = "Authenticate user",
@@ -40,13 +44,26 @@ public class AuthController {
             @ApiResponse(responseCode = "200", description = "Successfully authenticated",
                     content = @Content(schema = @Schema(implementation = AuthResponse.class))),
             @ApiResponse(responseCode = "401", description = "Invalid credentials"),
-            @ApiResponse(responseCode = "400", description = "Invalid request body")
+            @ApiResponse(responseCode = "400", description = "Invalid request body"),
+            @ApiResponse(responseCode = "429", description = "Too many failed attempts or sign-ins in progress")
     })
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<AuthResponse> authenticateUser(@Valid @RequestBody LoginRequest loginRequest,
+                                                         HttpServletRequest request) {
         log.info("Authentication attempt for email: {}", loginRequest.getEmail());
 
-        User user = userService.authenticateUser(loginRequest.getEmail(), loginRequest.getPassword());
+        // The proxy's X-Forwarded-For is applied to getRemoteAddr() by server.forward-headers-strategy
+        String clientIp = request.getRemoteAddr();
+        loginAttemptThrottle.checkAllowed(clientIp, loginRequest.getEmail());
+
+        User user;
+        try {
+            user = userService.authenticateUser(loginRequest.getEmail(), loginRequest.getPassword());
+        } catch (AuthenticationException e) {
+            loginAttemptThrottle.recordFailure(clientIp, loginRequest.getEmail());
+            throw e;
+        }
+        loginAttemptThrottle.recordSuccess(clientIp, loginRequest.getEmail());
 
         CustomUserDetails userDetails = userMapper.toCustomUserDetails(user);
 
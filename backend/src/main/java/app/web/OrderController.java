@@ -1,9 +1,11 @@
 package app.web;
 
 import app.order.dto.CreateOrderRequest;
+import app.order.dto.OrderPlacementResponse;
 import app.order.dto.OrderResponse;
 import app.order.dto.OrderStats;
 import app.order.dto.OrdersResponse;
+import app.order.service.AsyncOrderPlacementService;
 import app.order.service.OrderService;
 import app.security.CustomUserDetails;
 import io.swagger.v3.oas.annotations.Operation;
@@ -16,10 +18,13 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -31,6 +36,7 @@ import java.util.UUID;
 public class OrderController {
 
     private final OrderService orderService;
+    private final AsyncOrderPlacementService asyncOrderPlacementService;
 
     @Operation(summary = "Get user orders", description = "Retrieve paginated list of user's orders with optional filters")
     @ApiResponse(responseCode = "200", description = "Orders retrieved successfully")
@@ -81,6 +87,49 @@ public class OrderController {
         return ResponseEntity.status(HttpStatus.CREATED).body(order);
     }
 
+    @Operation(summary = "Create order asynchronously",
+            description = "Validate and queue an order from cart items. The order is placed in the background; " +
+                    "poll the placement or subscribe to its events for the final status")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Order accepted for placement",
+                    content = @Content(schema = @Schema(implementation = OrderPlacementResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request or empty cart"),
+            @ApiResponse(responseCode = "503", description = "Checkout queue is full")
+    })
+    @PostMapping("/async")
+    public ResponseEntity<OrderPlacementResponse> createOrderAsync(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @Valid @RequestBody CreateOrderRequest request) {
+
+        OrderPlacementResponse placement = asyncOrderPlacementService.placeOrder(userDetails.getId(), request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .header(HttpHeaders.LOCATION, "/api/orders/async/" + placement.getPlacementId())
+                .body(placement);
+    }
+
+    @Operation(summary = "Get order placement status", description = "Retrieve the status of an asynchronously placed order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Placement status retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Placement not found or expired")
+    })
+    @GetMapping("/async/{placementId}")
+    public ResponseEntity<OrderPlacementResponse> getOrderPlacement(
+            @Parameter(description = "Placement ID") @PathVariable UUID placementId,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+
+        return ResponseEntity.ok(asyncOrderPlacementService.getPlacement(placementId, userDetails.getId()));
+    }
+
+    @Operation(summary = "Subscribe to order placement", description = "Stream status changes of an asynchronously placed order as server-sent events")
+    @ApiResponse(responseCode = "200", description = "Event stream opened")
+    @GetMapping(value = "/async/{placementId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToOrderPlacement(
+            @Parameter(description = "Placement ID") @PathVariable UUID placementId,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+
+        return asyncOrderPlacementService.subscribe(placementId, userDetails.getId());
+    }
+
     @Operation(summary = "Cancel order", description = "Cancel a pending order")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Order cancelled successfully"),
@@ -1,14 +1,20 @@
 package app.web.admin;
 
+import app.admin.dto.UpdateCacheSpecRequest;
 import app.admin.service.CacheManagementService;
+import app.cache.HotKeySketch;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -34,6 +40,46 @@ public class AdminCacheController {
         return ResponseEntity.ok(cacheManagementService.getCacheNames());
     }
 
+    @Operation(summary = "Get cache specs", description = "Current size and expiry settings of every cache")
+    @ApiResponse(responseCode = "200", description = "Cache specs retrieved successfully")
+    @GetMapping("/specs")
+    public ResponseEntity<Map<String, String>> getCacheSpecs() {
+        return ResponseEntity.ok(cacheManagementService.getCacheSpecs());
+    }
+
+    @Operation(
+            summary = "Get hot keys",
+            description = "Most read keys of a cache with estimated read counts, from a sampled sketch"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Hot keys retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Cache not found")
+    })
+    @GetMapping("/{cacheName}/hot-keys")
+    public ResponseEntity<List<HotKeySketch.HotKey>> getHotKeys(
+            @PathVariable String cacheName,
+            @Parameter(description = "Maximum number of keys") @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(cacheManagementService.getHotKeys(cacheName, limit));
+    }
+
+    @Operation(
+            summary = "Retune a cache",
+            description = "Change a live cache's size and expiry without a restart, e.g. "
+                    + "maximumSize=1000,expireAfterWrite=10m. Entries and statistics are kept, and every running "
+                    + "replica applies the change until it restarts."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cache retuned; returns its statistics"),
+            @ApiResponse(responseCode = "400", description = "Invalid spec"),
+            @ApiResponse(responseCode = "404", description = "Cache not found")
+    })
+    @PutMapping("/{cacheName}/spec")
+    public ResponseEntity<CacheManagementService.CacheStats> updateCacheSpec(
+            @PathVariable String cacheName,
+            @Valid @RequestBody UpdateCacheSpecRequest request) {
+        return ResponseEntity.ok(cacheManagementService.updateCacheSpec(cacheName, request.getSpec()));
+    }
+
     @Operation(summary = "Clear specific cache", description = "Clear a cache by name")
     @ApiResponse(responseCode = "200", description = "Cache cleared successfully")
     @DeleteMapping("/{cacheName}")
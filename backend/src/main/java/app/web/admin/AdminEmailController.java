@@ -0,0 +1,78 @@
+package app.web.admin;
+
+import app.admin.dto.DeadLetterEmailResponse;
+import app.admin.dto.DeadLetterEmailsResponse;
+import app.admin.mapper.AdminMapper;
+import app.notification.retry.EmailRetryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/emails")
+@RequiredArgsConstructor
+@Validated
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Admin - Emails", description = "Failed email inspection and replay endpoints (requires ADMIN role)")
+public class AdminEmailController {
+
+    private final EmailRetryService emailRetryService;
+    private final AdminMapper adminMapper;
+
+    @GetMapping("/dead-letters")
+    @Operation(
+            summary = "Get dead-letter emails",
+            description = "Returns emails that failed every delivery attempt, most recent first"
+    )
+    @ApiResponse(responseCode = "200", description = "Dead-letter emails retrieved")
+    @ApiResponse(responseCode = "400", description = "Invalid page or page size")
+    public ResponseEntity<DeadLetterEmailsResponse> getDeadLetters(
+            @Parameter(description = "Page number") @RequestParam(defaultValue = "0") @Min(0) int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") @Min(1) int limit
+    ) {
+        return ResponseEntity.ok(adminMapper.toDeadLetterEmailsResponse(
+                emailRetryService.getDeadLetters(page, Math.min(limit, 100))));
+    }
+
+    @GetMapping("/dead-letters/{id}")
+    @Operation(summary = "Get dead-letter email", description = "Returns one dead-letter email including its content")
+    @ApiResponse(responseCode = "200", description = "Dead-letter email retrieved")
+    @ApiResponse(responseCode = "404", description = "Dead-letter email not found")
+    public ResponseEntity<DeadLetterEmailResponse> getDeadLetter(@PathVariable Long id) {
+        return ResponseEntity.ok(adminMapper.toDeadLetterEmailResponse(emailRetryService.getDeadLetter(id)));
+    }
+
+    @PostMapping("/dead-letters/{id}/replay")
+    @Operation(
+            summary = "Replay dead-letter email",
+            description = "Moves the email back to the retry queue, where it is sent on the next poll"
+    )
+    @ApiResponse(responseCode = "200", description = "Email queued for replay")
+    @ApiResponse(responseCode = "404", description = "Dead-letter email not found")
+    public ResponseEntity<Map<String, String>> replay(@PathVariable Long id) {
+        emailRetryService.replay(id);
+        return ResponseEntity.ok(Map.of(
+                "message", "Email " + id + " queued for replay"
+        ));
+    }
+
+    @DeleteMapping("/dead-letters/{id}")
+    @Operation(summary = "Delete dead-letter email", description = "Discards a dead-letter email")
+    @ApiResponse(responseCode = "200", description = "Dead-letter email deleted")
+    @ApiResponse(responseCode = "404", description = "Dead-letter email not found")
+    public ResponseEntity<Map<String, String>> delete(@PathVariable Long id) {
+        emailRetryService.deleteDeadLetter(id);
+        return ResponseEntity.ok(Map.of(
+                "message", "Email " + id + " deleted"
+        ));
+    }
+}
@@ -0,0 +1,63 @@
+package app.web.admin;
+
+import app.admin.dto.JobExecutionsResponse;
+import app.admin.dto.JobSummaryResponse;
+import app.admin.mapper.AdminMapper;
+import app.scheduling.history.JobExecutionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/jobs")
+@RequiredArgsConstructor
+@Validated
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Admin - Jobs", description = "Scheduled job history endpoints (requires ADMIN role)")
+public class AdminJobController {
+
+    private final JobExecutionService jobExecutionService;
+    private final AdminMapper adminMapper;
+
+    @GetMapping("/executions")
+    @Operation(
+            summary = "Get job executions",
+            description = "Returns recorded scheduled job runs, newest first, optionally filtered by job name"
+    )
+    @ApiResponse(responseCode = "200", description = "Job executions retrieved")
+    @ApiResponse(responseCode = "400", description = "Invalid page or page size")
+    public ResponseEntity<JobExecutionsResponse> getExecutions(
+            @Parameter(description = "Job name, e.g. auto-deliver") @RequestParam(required = false) String job,
+            @Parameter(description = "Page number") @RequestParam(defaultValue = "0") @Min(0) int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") @Min(1) int limit
+    ) {
+        return ResponseEntity.ok(adminMapper.toJobExecutionsResponse(
+                jobExecutionService.getExecutions(job, page, Math.min(limit, 100))));
+    }
+
+    @GetMapping("/summary")
+    @Operation(
+            summary = "Get job summary",
+            description = "Returns run count, failures, average and maximum duration per job over the last days, " +
+                    "together with each job's latest run"
+    )
+    @ApiResponse(responseCode = "200", description = "Job summary retrieved")
+    public ResponseEntity<List<JobSummaryResponse>> getSummary(
+            @Parameter(description = "Number of days to summarize") @RequestParam(defaultValue = "7") @Min(1) int days
+    ) {
+        List<JobSummaryResponse> summaries = jobExecutionService.getSummaries(days).stream()
+                .map(summary -> adminMapper.toJobSummaryResponse(summary,
+                        jobExecutionService.getLastExecution(summary.getJobName()).orElse(null)))
+                .toList();
+        return ResponseEntity.ok(summaries);
+    }
+}
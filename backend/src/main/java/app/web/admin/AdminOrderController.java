@@ -1,6 +1,8 @@
 package app.web.admin;
 
 import app.admin.dto.AdminOrdersResponse;
+import app.admin.dto.BulkUpdateOrderStatusRequest;
+import app.admin.dto.BulkUpdateOrderStatusResponse;
 import app.admin.dto.UpdateOrderStatusRequest;
 import app.admin.service.AdminOrderService;
 import app.order.dto.OrderResponse;
@@ -62,5 +64,20 @@ public class AdminOrderController {
         OrderResponse order = adminOrderService.updateOrderStatus(orderId, request.getStatus());
         return ResponseEntity.ok(order);
     }
-}
 
+    @Operation(summary = "Bulk update order status",
+            description = "Move many orders to the same status in one transaction. Orders that cannot make the transition are skipped and reported")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Bulk update applied",
+                    content = @Content(schema = @Schema(implementation = BulkUpdateOrderStatusResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request")
+    })
+    @PatchMapping("/status")
+    public ResponseEntity<BulkUpdateOrderStatusResponse> bulkUpdateOrderStatus(
+            @Valid @RequestBody BulkUpdateOrderStatusRequest request
+    ) {
+        log.info("Admin: Bulk updating {} orders to status {}", request.getOrderIds().size(), request.getStatus());
+        BulkUpdateOrderStatusResponse response = adminOrderService.bulkUpdateOrderStatus(request);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,5 @@
+-- Track abandoned-cart reminders so a cart is reminded once per period of inactivity
+ALTER TABLE carts ADD COLUMN reminded_at DATETIME NULL;
+
+-- Supports keyset-paged scans of stale carts
+CREATE INDEX idx_carts_updated_at ON carts(updated_at, id);
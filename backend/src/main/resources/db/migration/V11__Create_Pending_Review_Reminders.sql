@@ -0,0 +1,23 @@
+-- Delivered orders awaiting a review reminder (one row per order, removed once reminded or reviewed)
+CREATE TABLE pending_review_reminders (
+    order_id BINARY(16) PRIMARY KEY,
+    user_id BINARY(16) NOT NULL,
+    delivered_at DATETIME NOT NULL,
+    FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_pending_review_reminders_delivered_at ON pending_review_reminders(delivered_at, order_id);
+CREATE INDEX idx_pending_review_reminders_user_id ON pending_review_reminders(user_id);
+
+-- Backfill orders delivered in the last 14 days that have no review yet
+INSERT INTO pending_review_reminders (order_id, user_id, delivered_at)
+SELECT o.id, o.user_id, o.updated_at
+FROM orders o
+WHERE o.status = 'DELIVERED'
+  AND o.updated_at >= NOW() - INTERVAL 14 DAY
+  AND NOT EXISTS (
+      SELECT 1 FROM reviews r
+      JOIN order_items oi ON oi.product_id = r.product_id
+      WHERE oi.order_id = o.id AND r.user_id = o.user_id
+  );
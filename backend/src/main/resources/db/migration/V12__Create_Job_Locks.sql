@@ -0,0 +1,7 @@
+-- Lease locks that let exactly one node run each scheduled job
+CREATE TABLE job_locks (
+    name VARCHAR(64) PRIMARY KEY,
+    locked_by VARCHAR(255) NOT NULL,
+    locked_at DATETIME(3) NOT NULL,
+    lock_until DATETIME(3) NOT NULL
+);
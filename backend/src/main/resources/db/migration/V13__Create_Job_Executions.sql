@@ -0,0 +1,17 @@
+-- History of scheduled job runs, pruned after scheduling.history.retention-days
+CREATE TABLE job_executions (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    job_name VARCHAR(64) NOT NULL,
+    node VARCHAR(255) NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    started_at DATETIME(3) NOT NULL,
+    finished_at DATETIME(3) NOT NULL,
+    duration_ms BIGINT NOT NULL,
+    items_scanned INT NOT NULL,
+    items_processed INT NOT NULL,
+    items_failed INT NOT NULL,
+    error_message VARCHAR(500)
+);
+
+CREATE INDEX idx_job_executions_job_started ON job_executions(job_name, started_at);
+CREATE INDEX idx_job_executions_started ON job_executions(started_at);
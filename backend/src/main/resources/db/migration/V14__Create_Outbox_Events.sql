@@ -0,0 +1,15 @@
+-- Notification events stored in the publishing transaction and delivered by NotificationOutboxRelay.
+-- Processed rows are pruned after notification.outbox.retention-days
+CREATE TABLE outbox_events (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_type VARCHAR(64) NOT NULL,
+    payload MEDIUMTEXT NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    created_at DATETIME(3) NOT NULL,
+    processed_at DATETIME(3),
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(500)
+);
+
+CREATE INDEX idx_outbox_events_status_id ON outbox_events(status, id);
+CREATE INDEX idx_outbox_events_status_processed ON outbox_events(status, processed_at);
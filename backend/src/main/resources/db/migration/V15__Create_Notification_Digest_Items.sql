@@ -0,0 +1,19 @@
+-- Non-urgent notifications buffered per user and sent as one digest email by NotificationDigestService.
+-- A repeated notification for the same (user, category, item) updates its row instead of adding one
+CREATE TABLE notification_digest_items (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BINARY(16) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    first_name VARCHAR(255),
+    category VARCHAR(32) NOT NULL,
+    item_key VARCHAR(255) NOT NULL,
+    headline VARCHAR(500) NOT NULL,
+    detail VARCHAR(500),
+    occurrences INT NOT NULL DEFAULT 1,
+    created_at DATETIME(3) NOT NULL,
+    updated_at DATETIME(3) NOT NULL,
+    CONSTRAINT uk_notification_digest_items_item UNIQUE (user_id, category, item_key),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_notification_digest_items_created_at ON notification_digest_items(created_at, user_id);
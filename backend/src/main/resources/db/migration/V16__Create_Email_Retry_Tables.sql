@@ -0,0 +1,29 @@
+-- Emails whose delivery failed, waiting for EmailRetryWorker to try again after a backoff
+CREATE TABLE failed_emails (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(500) NOT NULL,
+    html_content MEDIUMTEXT NOT NULL,
+    priority VARCHAR(16) NOT NULL,
+    attempts INT NOT NULL,
+    next_attempt_at DATETIME(3) NOT NULL,
+    last_error VARCHAR(500),
+    created_at DATETIME(3) NOT NULL
+);
+
+CREATE INDEX idx_failed_emails_next_attempt_at ON failed_emails(next_attempt_at, id);
+
+-- Emails that failed notification.email-retry.max-attempts times; kept for inspection and replay
+CREATE TABLE dead_letter_emails (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(500) NOT NULL,
+    html_content MEDIUMTEXT NOT NULL,
+    priority VARCHAR(16) NOT NULL,
+    attempts INT NOT NULL,
+    last_error VARCHAR(500),
+    first_failed_at DATETIME(3) NOT NULL,
+    dead_at DATETIME(3) NOT NULL
+);
+
+CREATE INDEX idx_dead_letter_emails_dead_at ON dead_letter_emails(dead_at);
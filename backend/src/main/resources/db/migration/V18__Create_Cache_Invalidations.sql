@@ -0,0 +1,11 @@
+-- Cache evictions broadcast to every replica; each node polls for rows above its high-water mark.
+-- A null cache_key clears the whole cache.
+CREATE TABLE cache_invalidations (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    cache_name VARCHAR(64) NOT NULL,
+    cache_key VARCHAR(512),
+    origin_node VARCHAR(36) NOT NULL,
+    created_at DATETIME(3) NOT NULL
+);
+
+CREATE INDEX idx_cache_invalidations_created_at ON cache_invalidations(created_at);
@@ -0,0 +1,15 @@
+-- Status of asynchronously placed orders, shared by every replica so any node can answer a poll or SSE stream
+CREATE TABLE order_placements (
+    id BINARY(16) PRIMARY KEY,
+    user_id BINARY(16) NOT NULL,
+    order_number VARCHAR(50) NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    order_id BINARY(16),
+    message VARCHAR(500),
+    accepted_at DATETIME(3) NOT NULL,
+    completed_at DATETIME(3),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE SET NULL
+);
+
+CREATE INDEX idx_order_placements_accepted_at ON order_placements(accepted_at);
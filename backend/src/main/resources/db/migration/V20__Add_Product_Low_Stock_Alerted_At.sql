@@ -0,0 +1,2 @@
+-- Last low-stock alert per product, shared by all nodes so the daily check skips recently alerted products
+ALTER TABLE products ADD COLUMN low_stock_alerted_at DATETIME NULL;
@@ -0,0 +1,8 @@
+-- Outbox events are claimed with a lease and retried with backoff: next_attempt_at is when a PENDING
+-- event may be dispatched, or when the lease of an IN_PROGRESS event expires
+ALTER TABLE outbox_events ADD COLUMN next_attempt_at DATETIME(3) NULL;
+UPDATE outbox_events SET next_attempt_at = created_at;
+ALTER TABLE outbox_events MODIFY next_attempt_at DATETIME(3) NOT NULL;
+
+DROP INDEX idx_outbox_events_status_id ON outbox_events;
+CREATE INDEX idx_outbox_events_status_next_attempt ON outbox_events(status, next_attempt_at, id);
@@ -0,0 +1,2 @@
+-- A row with a cache_spec retunes the cache on every replica instead of evicting from it
+ALTER TABLE cache_invalidations ADD COLUMN cache_spec VARCHAR(255) NULL;
@@ -0,0 +1,2 @@
+-- Items of a digest handed to the mail queue stay leased until the send completes and they are deleted
+ALTER TABLE notification_digest_items ADD COLUMN lease_until DATETIME(3) NULL;
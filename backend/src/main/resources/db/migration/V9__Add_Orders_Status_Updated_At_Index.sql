@@ -0,0 +1,2 @@
+-- Supports keyset-paged scans of orders by status and last update (e.g. the auto-delivery job)
+CREATE INDEX idx_orders_status_updated_at ON orders(status, updated_at, id);
@@ -0,0 +1,143 @@
+package app.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CacheMetrics Unit Tests")
+class CacheMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CacheRegistry cacheRegistry;
+    private CacheMetrics cacheMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cacheRegistry = new CacheRegistry(Map.of(
+                "products", CacheSpec.parse("maximumSize=100,expireAfterWrite=15m"),
+                "productLists", CacheSpec.parse("maximumWeight=100")
+        ));
+        cacheMetrics = new CacheMetrics(cacheRegistry, meterRegistry, 8, 1);
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tags("cache", "products", "result", result).functionCounter().count();
+    }
+
+    @Test
+    @DisplayName("Should export hits, misses and size for each cache")
+    void meters_ReflectCacheStats() {
+        Cache<Object, Object> products = cacheRegistry.getNativeCache("products");
+        products.put("a", "1");
+        products.getIfPresent("a");
+        products.getIfPresent("b");
+
+        assertThat(gets("hit")).isEqualTo(1.0);
+        assertThat(gets("miss")).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.size").tag("cache", "products").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should report total weight for weight-bounded caches")
+    void weightedSize_WeightBoundedCache_ReportsWeight() {
+        cacheRegistry.getNativeCache("productLists").put("page-1", List.of(1, 2, 3));
+
+        assertThat(meterRegistry.get("cache.weighted.size").tag("cache", "productLists").gauge().value())
+                .isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("Should keep counting after a retune rebuilds the cache")
+    void meters_AfterRebuild_FollowNewCache() {
+        cacheRegistry.getNativeCache("products").getIfPresent("a");
+
+        cacheRegistry.retune("products", CacheSpec.parse("maximumSize=100,expireAfterAccess=5m"));
+        cacheRegistry.getNativeCache("products").getIfPresent("a");
+
+        assertThat(gets("miss")).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should rank recorded reads by key")
+    void getHotKeys_ReturnsMostReadFirst() {
+        for (int i = 0; i < 5; i++) {
+            cacheMetrics.recordRead("products", "whey");
+        }
+        cacheMetrics.recordRead("products", "creatine");
+
+        List<HotKeySketch.HotKey> hotKeys = cacheMetrics.getHotKeys("products", 10);
+
+        assertThat(hotKeys).extracting(HotKeySketch.HotKey::key).containsExactly("whey", "creatine");
+        assertThat(hotKeys.getFirst().estimatedReads()).isEqualTo(5);
+        assertThat(cacheMetrics.getHotKeys("unknown", 10)).isNull();
+    }
+
+    @Nested
+    @DisplayName("HotKeySketch Tests")
+    class HotKeySketchTests {
+
+        @Test
+        @DisplayName("Should keep a heavy hitter when rare keys exceed capacity")
+        void record_ManyRareKeys_KeepsHeavyHitter() {
+            HotKeySketch sketch = new HotKeySketch(4, 1);
+
+            for (int i = 0; i < 100; i++) {
+                sketch.record("hot");
+                sketch.record("cold-" + i);
+            }
+
+            HotKeySketch.HotKey top = sketch.top(1).getFirst();
+            assertThat(top.key()).isEqualTo("hot");
+            assertThat(top.estimatedReads()).isEqualTo(100);
+            assertThat(top.maxOverestimate()).isZero();
+            assertThat(sketch.top(10)).hasSize(4);
+        }
+
+        @Test
+        @DisplayName("Should report a replaced key's inherited count as its overestimate")
+        void record_ReplacedKey_CarriesError() {
+            HotKeySketch sketch = new HotKeySketch(1, 1);
+            sketch.record("a");
+            sketch.record("a");
+
+            sketch.record("b");
+
+            assertThat(sketch.top(1)).containsExactly(new HotKeySketch.HotKey("b", 3, 2));
+        }
+
+        @Test
+        @DisplayName("Should halve counts and drop keys that reach zero on decay")
+        void decay_HalvesCounts() {
+            HotKeySketch sketch = new HotKeySketch(4, 1);
+            for (int i = 0; i < 4; i++) {
+                sketch.record("steady");
+            }
+            sketch.record("once");
+
+            sketch.decay();
+
+            assertThat(sketch.top(10)).containsExactly(new HotKeySketch.HotKey("steady", 2, 0));
+        }
+
+        @Test
+        @DisplayName("Should scale sampled counts by the sample rate")
+        void top_Sampled_ScalesCounts() {
+            HotKeySketch sketch = new HotKeySketch(4, 8);
+
+            for (int i = 0; i < 8000; i++) {
+                sketch.record("whey");
+            }
+
+            assertThat(sketch.top(1).getFirst().estimatedReads()).isBetween(6000L, 10000L);
+        }
+    }
+}
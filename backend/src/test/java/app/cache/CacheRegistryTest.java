@@ -0,0 +1,247 @@
+package app.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CacheRegistry Unit Tests")
+class CacheRegistryTest {
+
+    private CacheRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new CacheRegistry(Map.of(
+                "products", CacheSpec.parse("maximumSize=200,expireAfterWrite=15m"),
+                "productLists", CacheSpec.parse("maximumWeight=100")
+        ));
+    }
+
+    @Nested
+    @DisplayName("CacheSpec Tests")
+    class CacheSpecTests {
+
+        @Test
+        @DisplayName("Should parse sizes and durations and write them back out")
+        void parse_ValidSpec_RoundTrips() {
+            CacheSpec spec = CacheSpec.parse("maximumSize=500, expireAfterAccess=90s,expireAfterWrite=24h,recordStats");
+
+            assertThat(spec.maximumSize()).isEqualTo(500L);
+            assertThat(spec.expireAfterAccess()).isEqualTo(Duration.ofSeconds(90));
+            assertThat(spec.expireAfterWrite()).isEqualTo(Duration.ofHours(24));
+            assertThat(spec).hasToString("maximumSize=500,expireAfterWrite=1d,expireAfterAccess=90s");
+        }
+
+        @Test
+        @DisplayName("Should reject unknown keys, bad values and conflicting bounds")
+        void parse_InvalidSpec_Throws() {
+            assertThatThrownBy(() -> CacheSpec.parse("maximumSize=abc"))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> CacheSpec.parse("expireAfterWrite=10x"))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> CacheSpec.parse("softValues"))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> CacheSpec.parse("maximumSize=10,maximumWeight=10"))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> CacheSpec.parse("expireAfterWrite=5m,refreshAfterWrite=5m"))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Should build each cache from its own spec")
+    void constructor_BuildsCachesFromSpecs() {
+        Cache<Object, Object> products = registry.getNativeCache("products");
+
+        assertThat(registry.getCacheNames()).containsExactlyInAnyOrder("products", "productLists");
+        assertThat(products.policy().eviction().orElseThrow().getMaximum()).isEqualTo(200);
+        assertThat(products.policy().expireAfterWrite().orElseThrow().getExpiresAfter())
+                .isEqualTo(Duration.ofMinutes(15));
+        assertThat(registry.getCacheManager().getCache("products").getNativeCache()).isSameAs(products);
+        assertThat(registry.getCacheManager().getCache("unknown")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should weigh collections by their element count")
+    void maximumWeight_WeighsByElementCount() {
+        Cache<Object, Object> productLists = registry.getNativeCache("productLists");
+
+        productLists.put("page-1", List.of(1, 2, 3));
+        productLists.put("single", "value");
+
+        assertThat(productLists.policy().eviction().orElseThrow().weightedSize()).hasValue(4);
+    }
+
+    @Nested
+    @DisplayName("Retune Tests")
+    class RetuneTests {
+
+        @Test
+        @DisplayName("Should change values in place and keep the same cache")
+        void retune_SamePolicies_AppliesInPlace() {
+            Cache<Object, Object> before = registry.getNativeCache("products");
+            before.put("a", "1");
+
+            Cache<Object, Object> after = registry.retune("products",
+                    CacheSpec.parse("maximumSize=1000,expireAfterWrite=5m"));
+
+            assertThat(after).isSameAs(before);
+            assertThat(after.policy().eviction().orElseThrow().getMaximum()).isEqualTo(1000);
+            assertThat(after.policy().expireAfterWrite().orElseThrow().getExpiresAfter())
+                    .isEqualTo(Duration.ofMinutes(5));
+            assertThat(registry.getSpec("products")).hasToString("maximumSize=1000,expireAfterWrite=5m");
+        }
+
+        @Test
+        @DisplayName("Should rebuild when the policy kinds change, keeping entries and statistics")
+        void retune_NewPolicy_RebuildsWithEntriesAndStats() {
+            Cache<Object, Object> before = registry.getNativeCache("products");
+            before.put("a", "1");
+            before.getIfPresent("a");
+            before.getIfPresent("missing");
+
+            Cache<Object, Object> after = registry.retune("products",
+                    CacheSpec.parse("maximumSize=200,expireAfterAccess=10m"));
+
+            assertThat(after).isNotSameAs(before);
+            assertThat(after.policy().expireAfterAccess()).isPresent();
+            assertThat(after.policy().expireAfterWrite()).isEmpty();
+            assertThat(after.getIfPresent("a")).isEqualTo("1");
+            assertThat(after.stats().hitCount()).isEqualTo(2);
+            assertThat(after.stats().missCount()).isEqualTo(1);
+            assertThat(registry.getCacheManager().getCache("products").getNativeCache()).isSameAs(after);
+        }
+
+        @Test
+        @DisplayName("Should not copy an entry evicted while the rebuild is waiting to swap")
+        void retune_EvictDuringRebuild_NotResurrected() throws Exception {
+            registry.getNativeCache("products").put("a", "1");
+            CountDownLatch evicting = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+
+            CompletableFuture<Boolean> eviction = CompletableFuture.supplyAsync(() -> registry.evictIf("products", key -> {
+                evicting.countDown();
+                await(release);
+                return key.equals("a");
+            }));
+            assertThat(evicting.await(5, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<Cache<Object, Object>> rebuild = CompletableFuture.supplyAsync(() ->
+                    registry.retune("products", CacheSpec.parse("maximumSize=200,expireAfterAccess=10m")));
+            release.countDown();
+
+            assertThat(eviction.get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(rebuild.get(5, TimeUnit.SECONDS).getIfPresent("a")).isNull();
+        }
+
+        @Test
+        @DisplayName("Should reject unknown cache names")
+        void retune_UnknownCache_Throws() {
+            assertThatThrownBy(() -> registry.retune("unknown", CacheSpec.parse("maximumSize=1")))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Refresh Tests")
+    class RefreshTests {
+
+        private final AtomicLong nanos = new AtomicLong();
+        private final AtomicInteger loads = new AtomicInteger();
+        private CacheRegistry refreshing;
+
+        @BeforeEach
+        void setUp() {
+            Ticker ticker = nanos::get;
+            refreshing = new CacheRegistry(
+                    Map.of("dashboardStats", CacheSpec.parse("maximumSize=10,expireAfterWrite=5m,refreshAfterWrite=1m")),
+                    ticker, Runnable::run);
+            refreshing.registerLoader("dashboardStats", key -> "stats-" + loads.incrementAndGet());
+        }
+
+        @Test
+        @DisplayName("Should serve the old value once and reload it after the refresh age")
+        void read_PastRefreshAge_ServesStaleThenReloads() {
+            Cache<Object, Object> cache = refreshing.getNativeCache("dashboardStats");
+            cache.put("stats", "stats-0");
+
+            nanos.addAndGet(TimeUnit.SECONDS.toNanos(90));
+
+            assertThat(cache.getIfPresent("stats")).isEqualTo("stats-0");
+            assertThat(cache.getIfPresent("stats")).isEqualTo("stats-1");
+            assertThat(loads).hasValue(1);
+        }
+
+        @Test
+        @DisplayName("Should not reload entries younger than the refresh age")
+        void read_BeforeRefreshAge_NoReload() {
+            Cache<Object, Object> cache = refreshing.getNativeCache("dashboardStats");
+            cache.put("stats", "stats-0");
+
+            nanos.addAndGet(TimeUnit.SECONDS.toNanos(30));
+
+            assertThat(cache.getIfPresent("stats")).isEqualTo("stats-0");
+            assertThat(loads).hasValue(0);
+        }
+
+        @Test
+        @DisplayName("Should run one computation for concurrent misses on a key")
+        void get_ConcurrentMisses_LoadOnce() throws Exception {
+            Cache<Object, Object> cache = refreshing.getNativeCache("dashboardStats");
+            CountDownLatch loading = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+
+            CompletableFuture<Object> first = CompletableFuture.supplyAsync(() -> cache.get("stats", key -> {
+                loading.countDown();
+                await(release);
+                return "stats-" + loads.incrementAndGet();
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            AtomicReference<Object> second = new AtomicReference<>();
+            Thread secondCaller = Thread.ofPlatform().start(() -> second.set(cache.get("stats",
+                    key -> "stats-" + loads.incrementAndGet())));
+            awaitBlocked(secondCaller);
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("stats-1");
+            secondCaller.join(TimeUnit.SECONDS.toMillis(5));
+            assertThat(second.get()).isEqualTo("stats-1");
+            assertThat(loads).hasValue(1);
+        }
+    }
+
+    /**
+     * Waits until the thread is parked or blocked, i.e. it has entered the cache and is waiting on the
+     * computation already running for its key.
+     */
+    private static void awaitBlocked(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() == Thread.State.NEW || thread.getState() == Thread.State.RUNNABLE) {
+            assertThat(System.nanoTime()).as("second caller blocked on the load").isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package app.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TwoTierCache Unit Tests")
+class TwoTierCacheTest {
+
+    private static final String PRODUCTS = "products";
+
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    @Mock
+    private CacheMetrics cacheMetrics;
+
+    private SharedCacheStore sharedStore;
+    private CacheRegistry nodeA;
+    private CacheRegistry nodeB;
+    private Cache cacheA;
+    private Cache cacheB;
+
+    @BeforeEach
+    void setUp() {
+        sharedStore = new InMemorySharedCacheStore(1000, Duration.ofMinutes(5));
+        nodeA = registry();
+        nodeB = registry();
+        cacheA = new TwoTierCacheManager(nodeA, sharedStore, invalidationBus, cacheMetrics).getCache(PRODUCTS);
+        cacheB = new TwoTierCacheManager(nodeB, sharedStore, invalidationBus, cacheMetrics).getCache(PRODUCTS);
+    }
+
+    private static CacheRegistry registry() {
+        return new CacheRegistry(Map.of(PRODUCTS, CacheSpec.parse("maximumSize=100,expireAfterWrite=15m")));
+    }
+
+    @Test
+    @DisplayName("Should fill a cold node from the shared tier without loading")
+    void get_LocalMiss_ReadsSharedTier() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cacheA.get(1L, () -> "whey-" + loads.incrementAndGet())).isEqualTo("whey-1");
+        assertThat(cacheB.get(1L, () -> "whey-" + loads.incrementAndGet())).isEqualTo("whey-1");
+
+        assertThat(loads).hasValue(1);
+        assertThat(nodeB.getNativeCache(PRODUCTS).getIfPresent(1L)).isEqualTo("whey-1");
+    }
+
+    @Test
+    @DisplayName("Should keep cached nulls distinct from misses")
+    void get_CachedNull_ReturnsWrapper() {
+        cacheA.put(2L, null);
+
+        Cache.ValueWrapper value = cacheB.get(2L);
+
+        assertThat(value).isNotNull();
+        assertThat(value.get()).isNull();
+        assertThat(cacheB.get(3L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should report a miss on a cache with a refresh loader without loading")
+    void get_LoaderBackedMiss_ReturnsNullWithoutLoading() {
+        AtomicInteger loads = new AtomicInteger();
+        CacheRegistry refreshing = new CacheRegistry(
+                Map.of(PRODUCTS, CacheSpec.parse("maximumSize=100,expireAfterWrite=15m,refreshAfterWrite=5m")));
+        refreshing.registerLoader(PRODUCTS, key -> "whey-" + loads.incrementAndGet());
+        Cache cache = new TwoTierCacheManager(refreshing, SharedCacheStore.NONE, invalidationBus, cacheMetrics)
+                .getCache(PRODUCTS);
+
+        assertThat(cache.get(1L)).isNull();
+
+        cache.put(1L, "whey");
+        assertThat(cache.get(1L).get()).isEqualTo("whey");
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Should evict from both tiers and broadcast the key")
+    void evict_RemovesBothTiersAndPublishes() {
+        cacheA.put(1L, "whey");
+
+        cacheA.evict(1L);
+
+        assertThat(cacheA.get(1L)).isNull();
+        assertThat(sharedStore.get(PRODUCTS, 1L)).isNull();
+        verify(invalidationBus).publish(PRODUCTS, 1L);
+    }
+
+    @Test
+    @DisplayName("Should clear both tiers and broadcast a whole-cache eviction")
+    void clear_ClearsBothTiersAndPublishes() {
+        cacheA.put(1L, "whey");
+        cacheA.put(2L, "creatine");
+
+        cacheA.clear();
+
+        assertThat(cacheA.get(1L)).isNull();
+        assertThat(sharedStore.get(PRODUCTS, 2L)).isNull();
+        verify(invalidationBus).publish(PRODUCTS, null);
+    }
+
+    @Test
+    @DisplayName("Should follow the local cache when a retune rebuilds it")
+    void get_AfterRebuild_UsesNewLocalCache() {
+        cacheA.put(1L, "whey");
+
+        nodeA.retune(PRODUCTS, CacheSpec.parse("maximumSize=100,expireAfterAccess=5m"));
+
+        assertThat(cacheA.getNativeCache()).isSameAs(nodeA.getNativeCache(PRODUCTS));
+        assertThat(cacheA.get(1L).get()).isEqualTo("whey");
+    }
+
+    @Nested
+    @DisplayName("Invalidation Bus Tests")
+    class InvalidationBusTests {
+
+        @Mock
+        private CacheInvalidationRepository invalidationRepository;
+
+        @Mock
+        private PlatformTransactionManager transactionManager;
+
+        private SimpleMeterRegistry meterRegistry;
+        private CacheInvalidationBus bus;
+
+        @BeforeEach
+        void setUp() {
+            meterRegistry = new SimpleMeterRegistry();
+            bus = new CacheInvalidationBus(invalidationRepository, nodeB, transactionManager, meterRegistry,
+                    true, 2, 10, 3600);
+        }
+
+        private CacheInvalidation row(long id, String key) {
+            return CacheInvalidation.builder()
+                    .id(id)
+                    .cacheName(PRODUCTS)
+                    .cacheKey(key)
+                    .originNode(UUID.randomUUID().toString())
+                    .createdAt(LocalDateTime.now().minusSeconds(1))
+                    .build();
+        }
+
+        @Test
+        @DisplayName("Should start from the latest row without replaying history")
+        void poll_FirstPoll_OnlySetsMark() {
+            when(invalidationRepository.findTopByOrderByIdDesc()).thenReturn(Optional.of(row(40, "1")));
+
+            bus.poll();
+
+            assertThat(bus.getHighWaterMark()).isEqualTo(40);
+            verify(invalidationRepository, never()).findByIdGreaterThanOrderByIdAsc(any(), any(Limit.class));
+        }
+
+        @Test
+        @DisplayName("Should drop evicted keys from this node's local cache")
+        void poll_RemoteEvictions_AppliedLocally() {
+            nodeB.getNativeCache(PRODUCTS).put(1L, "whey");
+            nodeB.getNativeCache(PRODUCTS).put(2L, "creatine");
+            when(invalidationRepository.findTopByOrderByIdDesc()).thenReturn(Optional.empty());
+            bus.poll();
+            when(invalidationRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class)))
+                    .thenReturn(List.of(row(1, "1")));
+
+            bus.poll();
+
+            assertThat(nodeB.getNativeCache(PRODUCTS).getIfPresent(1L)).isNull();
+            assertThat(nodeB.getNativeCache(PRODUCTS).getIfPresent(2L)).isEqualTo("creatine");
+            assertThat(bus.getHighWaterMark()).isEqualTo(1);
+            assertThat(meterRegistry.get("supplemart_cache_invalidation_lag").timer().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should apply each row once even when the overlap window re-reads it")
+        void poll_OverlapReread_AppliesOnce() {
+            when(invalidationRepository.findTopByOrderByIdDesc()).thenReturn(Optional.of(row(20, null)));
+            bus.poll();
+            when(invalidationRepository.findByIdGreaterThanOrderByIdAsc(any(), any(Limit.class)))
+                    .thenReturn(List.of(row(21, null)));
+            bus.poll();
+            nodeB.getNativeCache(PRODUCTS).put(1L, "whey");
+
+            bus.poll();
+
+            assertThat(nodeB.getNativeCache(PRODUCTS).getIfPresent(1L)).isEqualTo("whey");
+            assertThat(meterRegistry.get("supplemart_cache_invalidation_lag").timer().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should apply a retune broadcast by another replica")
+        void poll_RemoteRetune_AppliedLocally() {
+            when(invalidationRepository.findTopByOrderByIdDesc()).thenReturn(Optional.empty());
+            bus.poll();
+            CacheInvalidation retune = row(1, null);
+            retune.setCacheSpec("maximumSize=50,expireAfterAccess=5m");
+            when(invalidationRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class)))
+                    .thenReturn(List.of(retune));
+            nodeB.getNativeCache(PRODUCTS).put(1L, "whey");
+
+            bus.poll();
+
+            assertThat(nodeB.getSpec(PRODUCTS)).hasToString("maximumSize=50,expireAfterAccess=5m");
+            assertThat(nodeB.getNativeCache(PRODUCTS).getIfPresent(1L)).isEqualTo("whey");
+        }
+
+        @Test
+        @DisplayName("Should write an eviction made in a transaction only after it commits")
+        void publish_InTransaction_WritesAfterCommit() {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                bus.publish(PRODUCTS, 1L);
+
+                verify(invalidationRepository, never()).save(any());
+
+                TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            verify(invalidationRepository).save(any(CacheInvalidation.class));
+            verify(transactionManager).getTransaction(any());
+        }
+
+        @Test
+        @DisplayName("Should skip rows this node published")
+        void poll_OwnRows_Skipped() {
+            when(invalidationRepository.findTopByOrderByIdDesc()).thenReturn(Optional.empty());
+            bus.poll();
+            bus.publish(PRODUCTS, 1L);
+            ArgumentCaptor<CacheInvalidation> published = ArgumentCaptor.forClass(CacheInvalidation.class);
+            verify(invalidationRepository).save(published.capture());
+            CacheInvalidation own = published.getValue();
+            own.setId(1L);
+            assertThat(own.getCacheKey()).isEqualTo("1");
+            when(invalidationRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class)))
+                    .thenReturn(List.of(own));
+            nodeB.getNativeCache(PRODUCTS).put(1L, "whey");
+
+            bus.poll();
+
+            assertThat(nodeB.getNativeCache(PRODUCTS).getIfPresent(1L)).isEqualTo("whey");
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package app.cart.service;
+
+import app.cart.dto.AbandonedCartItemView;
+import app.cart.dto.AbandonedCartView;
+import app.notification.event.AbandonedCartEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AbandonedCartReminderService Unit Tests")
+class AbandonedCartReminderServiceTest {
+
+    @Mock
+    private CartService cartService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AbandonedCartReminderService reminderService;
+    private LocalDateTime cutoffDate;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        reminderService = new AbandonedCartReminderService(cartService, eventPublisher, meterRegistry, 2, 2);
+        cutoffDate = LocalDateTime.now().minusHours(24);
+    }
+
+    @Test
+    @DisplayName("Should publish one reminder per cart across chunks and mark carts as reminded")
+    void remindAbandonedCarts_MultipleChunks_PublishesAndMarksReminded() {
+        AbandonedCartView first = cart(cutoffDate.minusDays(3));
+        AbandonedCartView second = cart(cutoffDate.minusDays(2));
+        AbandonedCartView third = cart(cutoffDate.minusDays(1));
+
+        when(cartService.findAbandonedCarts(eq(cutoffDate), any(), any(), eq(2)))
+                .thenReturn(List.of(first, second), List.of(third));
+        when(cartService.findAbandonedCartItems(List.of(first.getCartId(), second.getCartId())))
+                .thenReturn(List.of(
+                        item(first.getCartId(), "Whey Protein", "49.99", 2),
+                        item(second.getCartId(), "Creatine", "19.99", 1)));
+        when(cartService.findAbandonedCartItems(List.of(third.getCartId())))
+                .thenReturn(List.of(item(third.getCartId(), "Omega-3", "14.50", 1)));
+
+        AbandonedCartReminderService.Result result = reminderService.remindAbandonedCarts(cutoffDate);
+
+        assertThat(result.scanned()).isEqualTo(3);
+        assertThat(result.reminded()).isEqualTo(3);
+        assertThat(result.failed()).isZero();
+
+        ArgumentCaptor<AbandonedCartEvent> events = ArgumentCaptor.forClass(AbandonedCartEvent.class);
+        verify(eventPublisher, times(3)).publishEvent(events.capture());
+        assertThat(events.getAllValues())
+                .filteredOn(event -> event.getUserId().equals(first.getUserId()))
+                .singleElement()
+                .satisfies(event -> assertThat(event.getCartTotal()).isEqualByComparingTo("99.98"));
+
+        verify(cartService).findAbandonedCarts(cutoffDate, second.getUpdatedAt(), second.getCartId(), 2);
+        verify(cartService).markCartsReminded(eq(List.of(first.getCartId(), second.getCartId())), any());
+        verify(cartService).markCartsReminded(eq(List.of(third.getCartId())), any());
+        assertThat(meterRegistry.get("supplemart_abandoned_cart_reminders_total").tag("outcome", "reminded")
+                .counter().count()).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("Should skip carts emptied since they were read")
+    void remindAbandonedCarts_CartEmptied_NotReminded() {
+        AbandonedCartView emptied = cart(cutoffDate.minusDays(1));
+
+        when(cartService.findAbandonedCarts(eq(cutoffDate), any(), any(), anyInt()))
+                .thenReturn(List.of(emptied));
+        when(cartService.findAbandonedCartItems(any())).thenReturn(List.of());
+
+        AbandonedCartReminderService.Result result = reminderService.remindAbandonedCarts(cutoffDate);
+
+        assertThat(result.reminded()).isZero();
+        verify(eventPublisher, never()).publishEvent(any(AbandonedCartEvent.class));
+        verify(cartService).markCartsReminded(argThat(List::isEmpty), any());
+    }
+
+    private AbandonedCartView cart(LocalDateTime updatedAt) {
+        UUID cartId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        return new AbandonedCartView() {
+            public UUID getCartId() { return cartId; }
+            public LocalDateTime getUpdatedAt() { return updatedAt; }
+            public UUID getUserId() { return userId; }
+            public String getUserEmail() { return "customer@example.com"; }
+            public String getUserFirstName() { return "Jane"; }
+        };
+    }
+
+    private AbandonedCartItemView item(UUID cartId, String productName, String price, int quantity) {
+        return new AbandonedCartItemView() {
+            public UUID getCartId() { return cartId; }
+            public String getProductName() { return productName; }
+            public BigDecimal getPrice() { return new BigDecimal(price); }
+            public Integer getQuantity() { return quantity; }
+        };
+    }
+}
@@ -1,5 +1,6 @@
 package app.cart.service;
 
+import app.cart.dto.AbandonedCartView;
 import app.cart.dto.AddCartItemRequest;
 import app.cart.dto.CartResponse;
 import app.cart.mapper.CartMapper;
@@ -23,6 +24,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -294,10 +296,13 @@ class CartServiceTest {
             when(cartRepository.save(testCart)).thenReturn(testCart);
             when(cartMapper.toCartResponse(testCart)).thenReturn(expectedResponse);
 
+            LocalDateTime before = LocalDateTime.now();
+
             CartResponse result = cartService.emptyCart(userId);
 
             assertThat(result).isNotNull();
             assertThat(testCart.getItems()).isEmpty();
+            assertThat(testCart.getUpdatedAt()).isAfterOrEqualTo(before);
             verify(cartRepository).save(testCart);
         }
     }
@@ -371,15 +376,27 @@ class CartServiceTest {
     class FindAbandonedCartsTests {
 
         @Test
-        @DisplayName("Should return abandoned carts")
+        @DisplayName("Should return a page of abandoned carts after the cursor")
         void findAbandonedCarts_WithOldCarts_ReturnsAbandonedCarts() {
             LocalDateTime cutoffDate = LocalDateTime.now().minusDays(7);
-            when(cartRepository.findAbandonedCarts(cutoffDate)).thenReturn(List.of(testCart));
+            LocalDateTime afterUpdatedAt = cutoffDate.minusDays(1);
+            UUID afterId = UUID.randomUUID();
+            AbandonedCartView cart = mock(AbandonedCartView.class);
+            when(cartRepository.findAbandonedCarts(cutoffDate, afterUpdatedAt, afterId, Limit.of(50)))
+                    .thenReturn(List.of(cart));
+
+            List<AbandonedCartView> result = cartService.findAbandonedCarts(cutoffDate, afterUpdatedAt, afterId, 50);
 
-            List<Cart> result = cartService.findAbandonedCarts(cutoffDate);
+            assertThat(result).containsExactly(cart);
+        }
+
+        @Test
+        @DisplayName("Should not query when there are no carts to mark as reminded")
+        void markCartsReminded_WithNoCarts_SkipsUpdate() {
+            int result = cartService.markCartsReminded(List.of(), LocalDateTime.now());
 
-            assertThat(result).hasSize(1);
-            verify(cartRepository).findAbandonedCarts(cutoffDate);
+            assertThat(result).isZero();
+            verify(cartRepository, never()).markReminded(any(), any());
         }
     }
 
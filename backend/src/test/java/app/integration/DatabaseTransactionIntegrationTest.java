@@ -9,6 +9,7 @@ import app.order.model.Order;
 import app.order.model.OrderItem;
 import app.order.model.OrderStatus;
 import app.order.repository.OrderRepository;
+import app.product.dto.LowStockProductView;
 import app.product.model.Category;
 import app.product.model.Product;
 import app.product.repository.ProductRepository;
@@ -417,7 +418,7 @@ class DatabaseTransactionIntegrationTest extends BaseIntegrationTest {
             var lowStockId = lowStock.getId();
 
             // Find low stock products
-            List<Product> lowStockProducts = productRepository.findLowStockProducts(10);
+            List<LowStockProductView> lowStockProducts = productRepository.findLowStockProductViews(10);
 
             assertThat(lowStockProducts).anyMatch(p -> p.getId().equals(lowStockId));
         }
@@ -438,7 +439,7 @@ class DatabaseTransactionIntegrationTest extends BaseIntegrationTest {
             var outOfStockId = outOfStock.getId();
 
             // Find out of stock products
-            List<Product> outOfStockProducts = productRepository.findOutOfStockProducts();
+            List<LowStockProductView> outOfStockProducts = productRepository.findLowStockProductViews(1);
 
             assertThat(outOfStockProducts).anyMatch(p -> p.getId().equals(outOfStockId));
         }
@@ -0,0 +1,271 @@
+package app.notification.digest;
+
+import app.notification.dto.NotificationPreferencesResponse;
+import app.notification.service.EmailService;
+import app.notification.service.EmailTemplateService.DigestSectionDto;
+import app.notification.service.MailPriority;
+import app.notification.service.NotificationPreferencesService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NotificationDigestService Unit Tests")
+class NotificationDigestServiceTest {
+
+    @Mock
+    private NotificationDigestItemRepository notificationDigestItemRepository;
+
+    @Mock
+    private NotificationPreferencesService notificationPreferencesService;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationDigestService notificationDigestService;
+
+    private final UUID userId = UUID.randomUUID();
+    private long nextId = 1;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        notificationDigestService = new NotificationDigestService(notificationDigestItemRepository,
+                notificationPreferencesService, emailService, transactionManager, meterRegistry,
+                true, 60, 100, 300);
+    }
+
+    private NotificationDigestItem item(UUID owner, DigestCategory category, String key, LocalDateTime updatedAt) {
+        return NotificationDigestItem.builder()
+                .id(nextId++)
+                .userId(owner)
+                .email(owner + "@example.com")
+                .firstName("John")
+                .category(category)
+                .itemKey(key)
+                .headline(key)
+                .detail("detail")
+                .occurrences(1)
+                .createdAt(updatedAt)
+                .updatedAt(updatedAt)
+                .build();
+    }
+
+    private static NotificationPreferencesResponse preferences(boolean priceDrops, boolean restocks) {
+        return NotificationPreferencesResponse.builder()
+                .priceDropAlerts(priceDrops)
+                .backInStockAlerts(restocks)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Stage Tests")
+    class StageTests {
+
+        @Test
+        @DisplayName("Should upsert a new item for the user")
+        void stage_NewItem_Upserts() {
+            when(notificationDigestItemRepository.upsert(eq(userId), eq("john@example.com"), eq("John"),
+                    eq("PRICE_DROP"), eq("Whey"), eq("Whey"), eq("Was: $50.00 | Now: $40.00 (20% off)"),
+                    any(LocalDateTime.class))).thenReturn(1);
+
+            notificationDigestService.stage(userId, "john@example.com", "John",
+                    DigestCategory.PRICE_DROP, "Whey", "Whey", "Was: $50.00 | Now: $40.00 (20% off)");
+
+            assertThat(meterRegistry.get("supplemart_digest_items_staged_total").tag("category", "price_drop")
+                    .counter().count()).isEqualTo(1.0);
+            assertThat(meterRegistry.get("supplemart_digest_items_compacted_total").counter().count())
+                    .isZero();
+        }
+
+        @Test
+        @DisplayName("Should count a repeated notification folded into the waiting item")
+        void stage_ExistingItem_CountsCompaction() {
+            when(notificationDigestItemRepository.upsert(any(UUID.class), anyString(), anyString(), anyString(),
+                    anyString(), anyString(), anyString(), any(LocalDateTime.class))).thenReturn(2);
+
+            notificationDigestService.stage(userId, "john@example.com", "John",
+                    DigestCategory.PRICE_DROP, "Whey", "Whey", "Was: $40.00 | Now: $30.00 (25% off)");
+
+            assertThat(meterRegistry.get("supplemart_digest_items_compacted_total").counter().count())
+                    .isEqualTo(1.0);
+        }
+    }
+
+    @Nested
+    @DisplayName("Flush Tests")
+    class FlushTests {
+
+        @Test
+        @DisplayName("Should send one digest per user and remove the items once sent")
+        void flushBatch_DueUsers_SendsOneDigestEach() {
+            UUID otherUserId = UUID.randomUUID();
+            LocalDateTime now = LocalDateTime.now().minusHours(2);
+            List<NotificationDigestItem> items = List.of(
+                    item(userId, DigestCategory.PRICE_DROP, "Whey", now),
+                    item(userId, DigestCategory.PRICE_DROP, "Creatine", now),
+                    item(userId, DigestCategory.BACK_IN_STOCK, "BCAA", now),
+                    item(otherUserId, DigestCategory.BACK_IN_STOCK, "BCAA", now));
+            when(notificationDigestItemRepository.findUserIdsDueBefore(
+                    any(LocalDateTime.class), any(LocalDateTime.class), any(Limit.class)))
+                    .thenReturn(List.of(userId, otherUserId));
+            when(notificationDigestItemRepository.findAllForClaim(
+                    eq(List.of(userId, otherUserId)), any(LocalDateTime.class))).thenReturn(items);
+            when(notificationPreferencesService.getPreferences(anyCollection())).thenReturn(Map.of(
+                    userId, preferences(true, true), otherUserId, preferences(true, true)));
+            when(emailService.buildDigestEmail(anyString(), anyList())).thenReturn("<html/>");
+            when(emailService.sendEmail(anyString(), anyString(), anyString(), any(MailPriority.class)))
+                    .thenReturn(CompletableFuture.completedFuture(null));
+
+            int due = notificationDigestService.flushBatch();
+
+            assertThat(due).isEqualTo(2);
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<DigestSectionDto>> sections = ArgumentCaptor.forClass(List.class);
+            verify(emailService, times(2)).buildDigestEmail(eq("John"), sections.capture());
+            assertThat(sections.getAllValues().getFirst())
+                    .extracting(DigestSectionDto::title)
+                    .containsExactly("Price Drops", "Back in Stock");
+            verify(emailService).sendEmail(eq(userId + "@example.com"), eq("Your SuppleMart updates (3)"),
+                    eq("<html/>"), eq(MailPriority.MARKETING));
+            verify(emailService).sendEmail(eq(otherUserId + "@example.com"), eq("Your SuppleMart updates (1)"),
+                    eq("<html/>"), eq(MailPriority.MARKETING));
+            assertThat(items).allSatisfy(item -> {
+                assertThat(item.getLeaseUntil()).isNotNull();
+                verify(notificationDigestItemRepository).deleteSent(item.getId(), item.getUpdatedAt());
+            });
+            verify(notificationDigestItemRepository, never()).deleteAllInBatch(anyIterable());
+            assertThat(meterRegistry.get("supplemart_digest_items_per_email").summary().totalAmount())
+                    .isEqualTo(4.0);
+        }
+
+        @Test
+        @DisplayName("Should keep the items leased while the digest is queued and renew their leases")
+        void flushBatch_SendPending_KeepsItemsLeased() {
+            LocalDateTime now = LocalDateTime.now().minusHours(2);
+            NotificationDigestItem whey = item(userId, DigestCategory.PRICE_DROP, "Whey", now);
+            Long wheyId = whey.getId();
+            when(notificationDigestItemRepository.findUserIdsDueBefore(
+                    any(LocalDateTime.class), any(LocalDateTime.class), any(Limit.class)))
+                    .thenReturn(List.of(userId));
+            when(notificationDigestItemRepository.findAllForClaim(eq(List.of(userId)), any(LocalDateTime.class)))
+                    .thenReturn(List.of(whey));
+            when(notificationPreferencesService.getPreferences(anyCollection()))
+                    .thenReturn(Map.of(userId, preferences(true, true)));
+            when(emailService.buildDigestEmail(anyString(), anyList())).thenReturn("<html/>");
+            CompletableFuture<Void> sent = new CompletableFuture<>();
+            when(emailService.sendEmail(anyString(), anyString(), anyString(), any(MailPriority.class)))
+                    .thenReturn(sent);
+
+            notificationDigestService.flushBatch();
+            notificationDigestService.renewLeases();
+
+            verify(notificationDigestItemRepository, never()).deleteSent(anyLong(), any(LocalDateTime.class));
+            verify(notificationDigestItemRepository).extendLease(eq(List.of(wheyId)), any(LocalDateTime.class));
+
+            sent.complete(null);
+            notificationDigestService.renewLeases();
+
+            verify(notificationDigestItemRepository).deleteSent(wheyId, now);
+            verify(notificationDigestItemRepository, times(1)).extendLease(anyCollection(), any(LocalDateTime.class));
+        }
+
+        @Test
+        @DisplayName("Should leave the items leased for another attempt when the send fails")
+        void flushBatch_SendFails_KeepsItems() {
+            LocalDateTime now = LocalDateTime.now().minusHours(2);
+            List<NotificationDigestItem> items = List.of(item(userId, DigestCategory.PRICE_DROP, "Whey", now));
+            when(notificationDigestItemRepository.findUserIdsDueBefore(
+                    any(LocalDateTime.class), any(LocalDateTime.class), any(Limit.class)))
+                    .thenReturn(List.of(userId));
+            when(notificationDigestItemRepository.findAllForClaim(eq(List.of(userId)), any(LocalDateTime.class)))
+                    .thenReturn(items);
+            when(notificationPreferencesService.getPreferences(anyCollection()))
+                    .thenReturn(Map.of(userId, preferences(true, true)));
+            when(emailService.buildDigestEmail(anyString(), anyList())).thenReturn("<html/>");
+            when(emailService.sendEmail(anyString(), anyString(), anyString(), any(MailPriority.class)))
+                    .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("failed_emails unavailable")));
+
+            notificationDigestService.flushBatch();
+
+            verify(notificationDigestItemRepository, never()).deleteSent(anyLong(), any(LocalDateTime.class));
+            assertThat(items.getFirst().getLeaseUntil()).isNotNull();
+            assertThat(meterRegistry.get("supplemart_digest_emails_total").counter().count()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should drop items of categories the user has since disabled")
+        void flushBatch_CategoryDisabled_SkipsItems() {
+            LocalDateTime now = LocalDateTime.now().minusHours(2);
+            List<NotificationDigestItem> items = List.of(item(userId, DigestCategory.PRICE_DROP, "Whey", now));
+            when(notificationDigestItemRepository.findUserIdsDueBefore(
+                    any(LocalDateTime.class), any(LocalDateTime.class), any(Limit.class)))
+                    .thenReturn(List.of(userId));
+            when(notificationDigestItemRepository.findAllForClaim(eq(List.of(userId)), any(LocalDateTime.class)))
+                    .thenReturn(items);
+            when(notificationPreferencesService.getPreferences(anyCollection()))
+                    .thenReturn(Map.of(userId, preferences(false, true)));
+
+            notificationDigestService.flushBatch();
+
+            verify(emailService, never())
+                    .sendEmail(anyString(), anyString(), anyString(), any(MailPriority.class));
+            verify(notificationDigestItemRepository).deleteAllInBatch(items);
+        }
+
+        @Test
+        @DisplayName("Should stop flushing when a pass claims no items")
+        void flush_DueUsersLockedElsewhere_Stops() {
+            notificationDigestService = new NotificationDigestService(notificationDigestItemRepository,
+                    notificationPreferencesService, emailService, transactionManager, meterRegistry,
+                    true, 60, 1, 300);
+            when(notificationDigestItemRepository.findUserIdsDueBefore(
+                    any(LocalDateTime.class), any(LocalDateTime.class), any(Limit.class)))
+                    .thenReturn(List.of(userId));
+            when(notificationDigestItemRepository.findAllForClaim(eq(List.of(userId)), any(LocalDateTime.class)))
+                    .thenReturn(List.of());
+            when(notificationPreferencesService.getPreferences(anyCollection())).thenReturn(Map.of());
+
+            notificationDigestService.flush();
+
+            verify(notificationDigestItemRepository, times(1))
+                    .findAllForClaim(anyCollection(), any(LocalDateTime.class));
+            verify(emailService, never())
+                    .sendEmail(anyString(), anyString(), anyString(), any(MailPriority.class));
+        }
+
+        @Test
+        @DisplayName("Should do nothing when no user is due")
+        void flushBatch_NothingDue_ReturnsZero() {
+            when(notificationDigestItemRepository.findUserIdsDueBefore(
+                    any(LocalDateTime.class), any(LocalDateTime.class), any(Limit.class)))
+                    .thenReturn(List.of());
+
+            assertThat(notificationDigestService.flushBatch()).isZero();
+            verify(notificationDigestItemRepository, never())
+                    .findAllForClaim(anyCollection(), any(LocalDateTime.class));
+        }
+    }
+}
@@ -4,6 +4,7 @@ import app.BaseIntegrationTest;
 import app.notification.model.NotificationPreferences;
 import app.notification.repository.NotificationPreferencesRepository;
 import app.notification.service.EmailService;
+import app.notification.service.MailPriority;
 import app.user.model.Role;
 import app.user.model.User;
 import org.junit.jupiter.api.BeforeEach;
@@ -96,7 +97,8 @@ class NotificationEventListenerIntegrationTest extends BaseIntegrationTest {
                 verify(emailService, times(1)).sendEmail(
                         eq(testUser.getEmail()),
                         contains("Order Confirmation"),
-                        anyString()
+                        anyString(),
+                        eq(MailPriority.TRANSACTIONAL)
                 );
             });
         }
@@ -126,7 +128,8 @@ class NotificationEventListenerIntegrationTest extends BaseIntegrationTest {
                         verify(emailService, never()).sendEmail(
                                 eq(testUser.getEmail()),
                                 contains("Order Confirmation"),
-                                anyString()
+                                anyString(),
+                                eq(MailPriority.TRANSACTIONAL)
                         );
                     });
         }
@@ -157,7 +160,8 @@ class NotificationEventListenerIntegrationTest extends BaseIntegrationTest {
                 verify(emailService, times(1)).sendEmail(
                         eq(testUser.getEmail()),
                         contains("Shipped"),
-                        anyString()
+                        anyString(),
+                        eq(MailPriority.TRANSACTIONAL)
                 );
             });
         }
@@ -187,7 +191,8 @@ class NotificationEventListenerIntegrationTest extends BaseIntegrationTest {
                         verify(emailService, never()).sendEmail(
                                 eq(testUser.getEmail()),
                                 contains("Shipped"),
-                                anyString()
+                                anyString(),
+                                eq(MailPriority.TRANSACTIONAL)
                         );
                     });
         }
@@ -216,7 +221,8 @@ class NotificationEventListenerIntegrationTest extends BaseIntegrationTest {
                 verify(emailService, times(1)).sendEmail(
                         eq(testUser.getEmail()),
                         contains("Delivered"),
-                        anyString()
+                        anyString(),
+                        eq(MailPriority.TRANSACTIONAL)
                 );
             });
         }
@@ -247,7 +253,8 @@ class NotificationEventListenerIntegrationTest extends BaseIntegrationTest {
                 verify(emailService, times(1)).sendEmail(
                         eq(testUser.getEmail()),
                         contains("Price Drop"),
-                        anyString()
+                        anyString(),
+                        eq(MailPriority.MARKETING)
                 );
             });
         }
@@ -280,7 +287,8 @@ class NotificationEventListenerIntegrationTest extends BaseIntegrationTest {
                         verify(emailService, never()).sendEmail(
                                 eq(testUser.getEmail()),
                                 contains("Price Drop"),
-                                anyString()
+                                anyString(),
+                                eq(MailPriority.MARKETING)
                         );
                     });
         }
@@ -320,7 +328,8 @@ class NotificationEventListenerIntegrationTest extends BaseIntegrationTest {
                 verify(emailService, times(2)).sendEmail(
                         anyString(),
                         contains("Price Drop"),
-                        anyString()
+                        anyString(),
+                        eq(MailPriority.MARKETING)
                 );
             });
         }
@@ -349,7 +358,8 @@ class NotificationEventListenerIntegrationTest extends BaseIntegrationTest {
                 verify(emailService, times(1)).sendEmail(
                         eq(testUser.getEmail()),
                         contains("Back in Stock"),
-                        anyString()
+                        anyString(),
+                        eq(MailPriority.MARKETING)
                 );
             });
         }
@@ -380,7 +390,8 @@ class NotificationEventListenerIntegrationTest extends BaseIntegrationTest {
                         verify(emailService, never()).sendEmail(
                                 eq(testUser.getEmail()),
                                 contains("Back in Stock"),
-                                anyString()
+                                anyString(),
+                                eq(MailPriority.MARKETING)
                         );
                     });
         }
@@ -409,7 +420,8 @@ class NotificationEventListenerIntegrationTest extends BaseIntegrationTest {
                 verify(emailService, times(1)).sendEmail(
                         eq(testUser.getEmail()),
                         contains("Feedback"),
-                        anyString()
+                        anyString(),
+                        eq(MailPriority.MARKETING)
                 );
             });
         }
@@ -438,7 +450,8 @@ class NotificationEventListenerIntegrationTest extends BaseIntegrationTest {
                         verify(emailService, never()).sendEmail(
                                 eq(testUser.getEmail()),
                                 contains("Feedback"),
-                                anyString()
+                                anyString(),
+                                eq(MailPriority.MARKETING)
                         );
                     });
         }
@@ -466,7 +479,8 @@ class NotificationEventListenerIntegrationTest extends BaseIntegrationTest {
                 verify(emailService, times(1)).sendEmail(
                         eq(testUser.getEmail()),
                         contains("Security Alert"),
-                        anyString()
+                        anyString(),
+                        eq(MailPriority.CRITICAL)
                 );
             });
         }
@@ -496,7 +510,8 @@ class NotificationEventListenerIntegrationTest extends BaseIntegrationTest {
                         verify(emailService, never()).sendEmail(
                                 eq(testUser.getEmail()),
                                 contains("Security Alert"),
-                                anyString()
+                                anyString(),
+                                eq(MailPriority.CRITICAL)
                         );
                     });
         }
@@ -525,7 +540,8 @@ class NotificationEventListenerIntegrationTest extends BaseIntegrationTest {
                 verify(emailService, times(1)).sendEmail(
                         eq(testUser.getEmail()),
                         contains("Password Reset"),
-                        anyString()
+                        anyString(),
+                        eq(MailPriority.CRITICAL)
                 );
             });
         }
@@ -554,7 +570,8 @@ class NotificationEventListenerIntegrationTest extends BaseIntegrationTest {
                         verify(emailService, never()).sendEmail(
                                 eq(testUser.getEmail()),
                                 contains("Password Reset"),
-                                anyString()
+                                anyString(),
+                                eq(MailPriority.CRITICAL)
                         );
                     });
         }
@@ -587,7 +604,8 @@ class NotificationEventListenerIntegrationTest extends BaseIntegrationTest {
                 verify(emailService, times(1)).sendEmail(
                         eq(testUser.getEmail()),
                         contains("cart"),
-                        anyString()
+                        anyString(),
+                        eq(MailPriority.MARKETING)
                 );
             });
         }
@@ -621,7 +639,8 @@ class NotificationEventListenerIntegrationTest extends BaseIntegrationTest {
                         verify(emailService, never()).sendEmail(
                                 eq(testUser.getEmail()),
                                 contains("cart"),
-                                anyString()
+                                anyString(),
+                                eq(MailPriority.MARKETING)
                         );
                     });
         }
@@ -655,7 +674,8 @@ class NotificationEventListenerIntegrationTest extends BaseIntegrationTest {
                 verify(emailService, times(1)).sendEmail(
                         anyString(), // admin email
                         contains("Inventory Alert"),
-                        anyString()
+                        anyString(),
+                        eq(MailPriority.TRANSACTIONAL)
                 );
             });
         }
@@ -681,7 +701,8 @@ class NotificationEventListenerIntegrationTest extends BaseIntegrationTest {
                 verify(emailService, times(1)).sendEmail(
                         anyString(), // admin email
                         contains("Daily"),
-                        anyString()
+                        anyString(),
+                        eq(MailPriority.TRANSACTIONAL)
                 );
             });
         }
@@ -0,0 +1,73 @@
+package app.notification.outbox;
+
+import app.notification.event.AbandonedCartEvent;
+import app.notification.event.LowStockAlertEvent;
+import app.notification.event.NotificationEvent;
+import app.notification.event.OrderPlacedEvent;
+import app.notification.event.PriceDropEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("NotificationEventCodec Unit Tests")
+class NotificationEventCodecTest {
+
+    private final NotificationEventCodec codec = new NotificationEventCodec(new ObjectMapper());
+
+    private NotificationEvent roundTrip(NotificationEvent event) {
+        return codec.decode(codec.typeOf(event), codec.encode(event));
+    }
+
+    @Test
+    @DisplayName("Should round-trip an order event without its source")
+    void encodeDecode_OrderPlacedEvent_RoundTrips() {
+        UUID userId = UUID.randomUUID();
+        OrderPlacedEvent event = new OrderPlacedEvent(this, "ORD-1", userId, "user@example.com", "Jane",
+                new BigDecimal("49.99"));
+
+        String payload = codec.encode(event);
+        NotificationEvent decoded = codec.decode("OrderPlacedEvent", payload);
+
+        assertThat(payload).doesNotContain("source").doesNotContain("timestamp");
+        assertThat(decoded).isInstanceOf(OrderPlacedEvent.class);
+        OrderPlacedEvent placed = (OrderPlacedEvent) decoded;
+        assertThat(placed.getOrderNumber()).isEqualTo("ORD-1");
+        assertThat(placed.getUserId()).isEqualTo(userId);
+        assertThat(placed.getTotalAmount()).isEqualByComparingTo("49.99");
+        assertThat(placed.getSource()).isSameAs(codec);
+    }
+
+    @Test
+    @DisplayName("Should round-trip events with nested records")
+    void encodeDecode_NestedRecords_RoundTrip() {
+        AbandonedCartEvent cart = new AbandonedCartEvent(this, UUID.randomUUID(), "user@example.com", "Jane",
+                List.of(new AbandonedCartEvent.CartItemData("Whey", 2, new BigDecimal("10.00"))),
+                new BigDecimal("20.00"));
+        LowStockAlertEvent stock = new LowStockAlertEvent(this,
+                List.of(new LowStockAlertEvent.ProductStockData("Whey", 3)),
+                List.of(new LowStockAlertEvent.ProductStockData("Creatine", 0)));
+        PriceDropEvent priceDrop = new PriceDropEvent(this, "Whey", 50.0, 40.0,
+                List.of(new PriceDropEvent.UserNotificationData(UUID.randomUUID(), "a@example.com", "A")));
+
+        assertThat(((AbandonedCartEvent) roundTrip(cart)).getItems()).isEqualTo(cart.getItems());
+        assertThat(((LowStockAlertEvent) roundTrip(stock)).getOutOfStockProducts())
+                .isEqualTo(stock.getOutOfStockProducts());
+        assertThat(((PriceDropEvent) roundTrip(priceDrop)).getInterestedUsers())
+                .isEqualTo(priceDrop.getInterestedUsers());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown event types")
+    void decode_UnknownType_Throws() {
+        assertThatThrownBy(() -> codec.decode("UnknownEvent", "{}"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("UnknownEvent");
+    }
+}
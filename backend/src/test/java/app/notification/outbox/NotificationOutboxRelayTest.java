@@ -0,0 +1,245 @@
+package app.notification.outbox;
+
+import app.notification.event.DailyReportEvent;
+import app.notification.event.NotificationEvent;
+import app.notification.listener.NotificationEventListener;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NotificationOutboxRelay Unit Tests")
+class NotificationOutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private NotificationEventListener notificationEventListener;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final NotificationEventCodec codec = new NotificationEventCodec(new ObjectMapper());
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new NotificationOutboxRelay(outboxEventRepository, codec, notificationEventListener,
+                transactionManager, meterRegistry, 2, 3, 300, 3, 30, 3600);
+    }
+
+    private OutboxEvent row(long id, NotificationEvent event) {
+        return OutboxEvent.builder()
+                .id(id)
+                .eventType(codec.typeOf(event))
+                .payload(codec.encode(event))
+                .status(OutboxEventStatus.PENDING)
+                .createdAt(LocalDateTime.now().minusSeconds(1))
+                .nextAttemptAt(LocalDateTime.now().minusSeconds(1))
+                .build();
+    }
+
+    private void claimReturns(List<OutboxEvent> batch) {
+        when(outboxEventRepository.findDueForClaim(anyCollection(), any(LocalDateTime.class), any(Limit.class)))
+                .thenReturn(batch);
+    }
+
+    private double outcomes(String outcome) {
+        return meterRegistry.get("supplemart_outbox_events_total")
+                .tags("type", "DailyReportEvent", "outcome", outcome).counter().count();
+    }
+
+    @Test
+    @DisplayName("Should mark dispatched events processed in one update once their sends complete")
+    void relay_DispatchesAndMarksProcessed() {
+        claimReturns(List.of(row(1L, new DailyReportEvent(this, 10, 2, 1))));
+        when(notificationEventListener.dispatch(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.relay();
+
+        ArgumentCaptor<NotificationEvent> captor = ArgumentCaptor.forClass(NotificationEvent.class);
+        verify(notificationEventListener).dispatch(captor.capture());
+        assertThat(((DailyReportEvent) captor.getValue()).getTotalOrders()).isEqualTo(10);
+        verify(outboxEventRepository).markProcessed(eq(List.of(1L)), any(LocalDateTime.class));
+        assertThat(outcomes("dispatched")).isEqualTo(1.0);
+        assertThat(meterRegistry.get("supplemart_outbox_lag").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep an event leased, not processed, until its sends complete")
+    void relayBatch_PendingSend_KeepsLeaseUntilComplete() {
+        OutboxEvent event = row(1L, new DailyReportEvent(this, 1, 0, 0));
+        claimReturns(List.of(event));
+        CompletableFuture<Void> sent = new CompletableFuture<>();
+        when(notificationEventListener.dispatch(any())).thenReturn(sent);
+
+        relay.relayBatch();
+        relay.recordCompletions();
+
+        assertThat(event.getStatus()).isEqualTo(OutboxEventStatus.IN_PROGRESS);
+        assertThat(event.getNextAttemptAt()).isAfter(LocalDateTime.now().plusSeconds(290));
+        verify(outboxEventRepository, never()).markProcessed(anyCollection(), any());
+
+        relay.renewLeases();
+        verify(outboxEventRepository).extendLease(eq(List.of(1L)), any(LocalDateTime.class));
+
+        sent.complete(null);
+        relay.recordCompletions();
+
+        verify(outboxEventRepository).markProcessed(eq(List.of(1L)), any(LocalDateTime.class));
+        relay.renewLeases();
+        verify(outboxEventRepository, times(1)).extendLease(anyCollection(), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should mark an undecodable event failed without blocking the rest of the batch")
+    void relayBatch_DecodeFails_MarksFailedAndContinues() {
+        OutboxEvent broken = OutboxEvent.builder()
+                .id(1L)
+                .eventType("DailyReportEvent")
+                .payload("not json")
+                .status(OutboxEventStatus.PENDING)
+                .createdAt(LocalDateTime.now())
+                .build();
+        OutboxEvent valid = row(2L, new DailyReportEvent(this, 1, 0, 0));
+        claimReturns(List.of(broken, valid));
+        when(notificationEventListener.dispatch(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.relayBatch();
+        relay.recordCompletions();
+
+        assertThat(broken.getStatus()).isEqualTo(OutboxEventStatus.FAILED);
+        assertThat(broken.getAttempts()).isEqualTo(1);
+        assertThat(broken.getLastError()).isNotBlank();
+        verify(notificationEventListener, times(1)).dispatch(any());
+        verify(outboxEventRepository).markProcessed(eq(List.of(2L)), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should schedule a retry with backoff when a send fails")
+    void relay_SendFails_SchedulesRetry() {
+        OutboxEvent event = row(1L, new DailyReportEvent(this, 1, 0, 0));
+        claimReturns(List.of(event));
+        when(notificationEventListener.dispatch(any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("SMTP down")));
+
+        relay.relay();
+
+        assertThat(event.getStatus()).isEqualTo(OutboxEventStatus.PENDING);
+        assertThat(event.getAttempts()).isEqualTo(1);
+        assertThat(event.getLastError()).isEqualTo("SMTP down");
+        assertThat(event.getNextAttemptAt()).isAfter(LocalDateTime.now().plusSeconds(25));
+        verify(outboxEventRepository).save(event);
+        verify(outboxEventRepository, never()).markProcessed(anyCollection(), any());
+        assertThat(outcomes("retry_scheduled")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should schedule a retry when a handler throws before returning")
+    void relay_HandlerThrows_SchedulesRetry() {
+        OutboxEvent event = row(1L, new DailyReportEvent(this, 1, 0, 0));
+        claimReturns(List.of(event));
+        when(notificationEventListener.dispatch(any())).thenThrow(new IllegalStateException("Template missing"));
+
+        relay.relay();
+
+        assertThat(event.getStatus()).isEqualTo(OutboxEventStatus.PENDING);
+        assertThat(event.getLastError()).isEqualTo("Template missing");
+        verify(outboxEventRepository).save(event);
+    }
+
+    @Test
+    @DisplayName("Should mark an event failed once it runs out of attempts")
+    void relay_SendFailsOnLastAttempt_MarksFailed() {
+        OutboxEvent event = row(1L, new DailyReportEvent(this, 1, 0, 0));
+        event.setAttempts(2);
+        claimReturns(List.of(event));
+        when(notificationEventListener.dispatch(any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("SMTP down")));
+
+        relay.relay();
+
+        assertThat(event.getStatus()).isEqualTo(OutboxEventStatus.FAILED);
+        assertThat(event.getAttempts()).isEqualTo(3);
+        assertThat(outcomes("failed")).isEqualTo(1.0);
+        verify(outboxEventRepository).save(event);
+    }
+
+    @Test
+    @DisplayName("Should double the retry delay per attempt up to the cap")
+    void backoff_DoublesUpToCap() {
+        assertThat(relay.backoff(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(relay.backoff(2)).isEqualTo(Duration.ofSeconds(60));
+        assertThat(relay.backoff(3)).isEqualTo(Duration.ofSeconds(120));
+        assertThat(relay.backoff(30)).isEqualTo(Duration.ofHours(1));
+    }
+
+    @Test
+    @DisplayName("Should keep claiming until a batch comes back short")
+    void relay_DrainsFullBatches() {
+        when(outboxEventRepository.findDueForClaim(anyCollection(), any(LocalDateTime.class), any(Limit.class)))
+                .thenReturn(List.of(row(1L, new DailyReportEvent(this, 1, 0, 0)),
+                                    row(2L, new DailyReportEvent(this, 2, 0, 0))))
+                .thenReturn(List.of(row(3L, new DailyReportEvent(this, 3, 0, 0))));
+        when(notificationEventListener.dispatch(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.relay();
+
+        verify(outboxEventRepository, times(2))
+                .findDueForClaim(anyCollection(), any(LocalDateTime.class), any(Limit.class));
+        verify(notificationEventListener, times(3)).dispatch(any());
+    }
+
+    @Test
+    @DisplayName("Should stop claiming while the in-flight limit is reached")
+    void relayBatch_InFlightLimitReached_ClaimsNothing() {
+        when(outboxEventRepository.findDueForClaim(anyCollection(), any(LocalDateTime.class), any(Limit.class)))
+                .thenReturn(List.of(row(1L, new DailyReportEvent(this, 1, 0, 0)),
+                                    row(2L, new DailyReportEvent(this, 2, 0, 0))))
+                .thenReturn(List.of(row(3L, new DailyReportEvent(this, 3, 0, 0))));
+        when(notificationEventListener.dispatch(any())).thenReturn(new CompletableFuture<>());
+        relay.relayBatch();
+
+        relay.relayBatch();
+        int claimed = relay.relayBatch();
+
+        assertThat(claimed).isZero();
+        ArgumentCaptor<Limit> limits = ArgumentCaptor.forClass(Limit.class);
+        verify(outboxEventRepository, times(2)).findDueForClaim(anyCollection(), any(LocalDateTime.class),
+                limits.capture());
+        assertThat(limits.getAllValues()).containsExactly(Limit.of(2), Limit.of(1));
+    }
+
+    @Test
+    @DisplayName("Should not update anything when the outbox is empty")
+    void relayBatch_EmptyOutbox_DoesNothing() {
+        claimReturns(List.of());
+
+        assertThat(relay.relayBatch()).isZero();
+        relay.recordCompletions();
+        verify(outboxEventRepository, never()).markProcessed(anyCollection(), any());
+        verifyNoInteractions(notificationEventListener);
+    }
+}
@@ -0,0 +1,199 @@
+package app.notification.retry;
+
+import app.exception.ResourceNotFoundException;
+import app.notification.service.MailPriority;
+import app.notification.service.MailQueueFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EmailRetryService Unit Tests")
+class EmailRetryServiceTest {
+
+    @Mock
+    private FailedEmailRepository failedEmailRepository;
+
+    @Mock
+    private DeadLetterEmailRepository deadLetterEmailRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EmailRetryService emailRetryService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        emailRetryService = new EmailRetryService(failedEmailRepository, deadLetterEmailRepository,
+                meterRegistry, 3, 30, 600);
+    }
+
+    private double outcome(String outcome) {
+        return meterRegistry.get("supplemart_email_retries_total").tag("outcome", outcome).counter().count();
+    }
+
+    private FailedEmail failedEmail(int attempts) {
+        return FailedEmail.builder()
+                .id(1L)
+                .recipient("john@example.com")
+                .subject("Password Reset Request")
+                .htmlContent("<p>code</p>")
+                .priority(MailPriority.CRITICAL)
+                .attempts(attempts)
+                .createdAt(LocalDateTime.now().minusMinutes(5))
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Backoff Tests")
+    class BackoffTests {
+
+        @Test
+        @DisplayName("Should double the delay per attempt with up to half of it as jitter")
+        void backoff_GrowsExponentiallyWithJitter() {
+            for (int i = 0; i < 50; i++) {
+                assertThat(emailRetryService.backoff(1)).isBetween(Duration.ofSeconds(15), Duration.ofSeconds(30));
+                assertThat(emailRetryService.backoff(3)).isBetween(Duration.ofSeconds(60), Duration.ofSeconds(120));
+            }
+        }
+
+        @Test
+        @DisplayName("Should cap the delay at the configured maximum")
+        void backoff_ManyAttempts_Capped() {
+            assertThat(emailRetryService.backoff(30)).isBetween(Duration.ofSeconds(300), Duration.ofSeconds(600));
+        }
+    }
+
+    @Nested
+    @DisplayName("Failure Tests")
+    class FailureTests {
+
+        @Test
+        @DisplayName("Should store a first failure for retry after the backoff")
+        void recordFailure_SchedulesRetry() {
+            LocalDateTime before = LocalDateTime.now();
+
+            emailRetryService.recordFailure("john@example.com", "Password Reset Request", "<p>code</p>",
+                    MailPriority.CRITICAL, new IllegalStateException("Mail queue is full"));
+
+            ArgumentCaptor<FailedEmail> captor = ArgumentCaptor.forClass(FailedEmail.class);
+            verify(failedEmailRepository).save(captor.capture());
+            FailedEmail saved = captor.getValue();
+            assertThat(saved.getAttempts()).isEqualTo(1);
+            assertThat(saved.getPriority()).isEqualTo(MailPriority.CRITICAL);
+            assertThat(saved.getLastError()).isEqualTo("IllegalStateException: Mail queue is full");
+            assertThat(saved.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(15));
+            assertThat(outcome("scheduled")).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should store mail refused by a full queue without using up an attempt")
+        void recordFailure_QueueFull_StoresWithoutAttempt() {
+            emailRetryService.recordFailure("john@example.com", "Price Drop Alert", "<p>deal</p>",
+                    MailPriority.MARKETING, new CompletionException(new MailQueueFullException(MailPriority.MARKETING)));
+
+            ArgumentCaptor<FailedEmail> captor = ArgumentCaptor.forClass(FailedEmail.class);
+            verify(failedEmailRepository).save(captor.capture());
+            assertThat(captor.getValue().getAttempts()).isZero();
+            assertThat(captor.getValue().getNextAttemptAt()).isAfter(LocalDateTime.now().plusSeconds(14));
+        }
+
+        @Test
+        @DisplayName("Should defer a retry refused by a full queue without counting it")
+        void recordRetryFailure_QueueFull_Defers() {
+            FailedEmail email = failedEmail(2);
+            when(failedEmailRepository.findById(1L)).thenReturn(Optional.of(email));
+
+            emailRetryService.recordRetryFailure(1L, new MailQueueFullException(MailPriority.CRITICAL));
+
+            assertThat(email.getAttempts()).isEqualTo(2);
+            assertThat(email.getNextAttemptAt()).isAfter(LocalDateTime.now());
+            verify(deadLetterEmailRepository, never()).save(any());
+            assertThat(outcome("deferred")).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should reschedule a failed retry that has attempts left")
+        void recordRetryFailure_AttemptsLeft_Reschedules() {
+            FailedEmail email = failedEmail(1);
+            when(failedEmailRepository.findById(1L)).thenReturn(Optional.of(email));
+
+            emailRetryService.recordRetryFailure(1L, new RuntimeException("Connection refused"));
+
+            assertThat(email.getAttempts()).isEqualTo(2);
+            assertThat(email.getNextAttemptAt()).isAfter(LocalDateTime.now().plusSeconds(29));
+            verify(deadLetterEmailRepository, never()).save(any());
+            assertThat(outcome("failed")).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should move an email to dead letters after the last attempt")
+        void recordRetryFailure_LastAttempt_DeadLetters() {
+            FailedEmail email = failedEmail(2);
+            when(failedEmailRepository.findById(1L)).thenReturn(Optional.of(email));
+
+            emailRetryService.recordRetryFailure(1L, new RuntimeException("Connection refused"));
+
+            verify(failedEmailRepository).delete(email);
+            ArgumentCaptor<DeadLetterEmail> captor = ArgumentCaptor.forClass(DeadLetterEmail.class);
+            verify(deadLetterEmailRepository).save(captor.capture());
+            assertThat(captor.getValue().getAttempts()).isEqualTo(3);
+            assertThat(captor.getValue().getFirstFailedAt()).isEqualTo(email.getCreatedAt());
+            assertThat(outcome("dead_lettered")).isEqualTo(1.0);
+        }
+    }
+
+    @Nested
+    @DisplayName("Replay Tests")
+    class ReplayTests {
+
+        @Test
+        @DisplayName("Should move a dead letter back to the retry queue with a fresh attempt budget")
+        void replay_MovesToRetryQueue() {
+            DeadLetterEmail deadLetter = DeadLetterEmail.builder()
+                    .id(7L)
+                    .recipient("john@example.com")
+                    .subject("Security Alert")
+                    .htmlContent("<p>alert</p>")
+                    .priority(MailPriority.CRITICAL)
+                    .attempts(3)
+                    .firstFailedAt(LocalDateTime.now().minusHours(2))
+                    .deadAt(LocalDateTime.now().minusHours(1))
+                    .build();
+            when(deadLetterEmailRepository.findById(7L)).thenReturn(Optional.of(deadLetter));
+
+            emailRetryService.replay(7L);
+
+            ArgumentCaptor<FailedEmail> captor = ArgumentCaptor.forClass(FailedEmail.class);
+            verify(failedEmailRepository).save(captor.capture());
+            assertThat(captor.getValue().getAttempts()).isZero();
+            assertThat(captor.getValue().getNextAttemptAt()).isBeforeOrEqualTo(LocalDateTime.now());
+            verify(deadLetterEmailRepository).delete(deadLetter);
+            assertThat(outcome("replayed")).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should throw when the dead letter does not exist")
+        void replay_Missing_Throws() {
+            when(deadLetterEmailRepository.findById(7L)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> emailRetryService.replay(7L))
+                    .isInstanceOf(ResourceNotFoundException.class);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package app.notification.retry;
+
+import app.notification.service.EmailService;
+import app.notification.service.MailPriority;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EmailRetryWorker Unit Tests")
+class EmailRetryWorkerTest {
+
+    private static final Duration LEASE = Duration.ofSeconds(300);
+
+    @Mock
+    private EmailRetryService emailRetryService;
+
+    @Mock
+    private EmailService emailService;
+
+    private EmailRetryWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        worker = new EmailRetryWorker(emailRetryService, emailService, 10, LEASE.toSeconds());
+    }
+
+    private FailedEmail failedEmail(long id) {
+        return FailedEmail.builder()
+                .id(id)
+                .recipient("john@example.com")
+                .subject("Password Reset Request")
+                .htmlContent("<p>code</p>")
+                .priority(MailPriority.CRITICAL)
+                .attempts(1)
+                .nextAttemptAt(LocalDateTime.now())
+                .createdAt(LocalDateTime.now().minusMinutes(5))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should record a delivered retry")
+    void retryDue_Delivered_RecordsDelivered() {
+        when(emailRetryService.claimDue(10, LEASE)).thenReturn(List.of(failedEmail(1L)));
+        when(emailService.deliver("john@example.com", "Password Reset Request", "<p>code</p>", MailPriority.CRITICAL))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        worker.retryDue();
+
+        verify(emailRetryService).recordDelivered(1L);
+        verify(emailRetryService, never()).recordRetryFailure(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should record a failed retry with its cause")
+    void retryDue_Failed_RecordsRetryFailure() {
+        RuntimeException failure = new RuntimeException("Connection refused");
+        when(emailRetryService.claimDue(10, LEASE)).thenReturn(List.of(failedEmail(1L)));
+        when(emailService.deliver(any(), any(), any(), any())).thenReturn(CompletableFuture.failedFuture(failure));
+
+        worker.retryDue();
+
+        verify(emailRetryService).recordRetryFailure(1L, failure);
+        verify(emailRetryService, never()).recordDelivered(any());
+    }
+
+    @Test
+    @DisplayName("Should renew the lease of a retry until its send completes")
+    void renewLeases_SendPending_ExtendsUntilComplete() {
+        CompletableFuture<Void> sent = new CompletableFuture<>();
+        when(emailRetryService.claimDue(10, LEASE)).thenReturn(List.of(failedEmail(1L)));
+        when(emailService.deliver(any(), any(), any(), any())).thenReturn(sent);
+
+        worker.retryDue();
+        worker.renewLeases();
+
+        verify(emailRetryService).extendLeases(List.of(1L), LEASE);
+
+        sent.complete(null);
+        worker.renewLeases();
+
+        verify(emailRetryService, times(1)).extendLeases(anyCollection(), eq(LEASE));
+        verify(emailRetryService).recordDelivered(1L);
+    }
+
+    @Test
+    @DisplayName("Should not send anything when claiming fails")
+    void retryDue_ClaimFails_SendsNothing() {
+        when(emailRetryService.claimDue(10, LEASE)).thenThrow(new IllegalStateException("Database down"));
+
+        worker.retryDue();
+
+        verifyNoInteractions(emailService);
+    }
+}
@@ -0,0 +1,225 @@
+package app.notification.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("MailDispatcher Unit Tests")
+class MailDispatcherTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MailDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    private MailDispatcher startDispatcher(JavaMailSender sender, int connections, int maxPerConnection) {
+        dispatcher = new MailDispatcher(sender, meterRegistry, connections, 50, 1000, maxPerConnection, 30, 0);
+        dispatcher.start();
+        return dispatcher;
+    }
+
+    private static MimeMessage message(JavaMailSender sender, int index) throws MessagingException {
+        return message(sender, "user" + index + "@example.com", "Price Drop Alert");
+    }
+
+    private static MimeMessage message(JavaMailSender sender, String to, String subject) throws MessagingException {
+        MimeMessage message = sender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setFrom("noreply@supplemart.com");
+        helper.setTo(to);
+        helper.setSubject(subject);
+        helper.setText("<p>Hello</p>", true);
+        return message;
+    }
+
+    private static void sendAll(MailDispatcher dispatcher, JavaMailSender sender, int count) throws Exception {
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            results.add(dispatcher.submit(message(sender, i)));
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+    }
+
+    @Nested
+    @DisplayName("Pooled SMTP Tests")
+    class PooledSmtpTests {
+
+        private LocalSmtpServer smtpServer;
+        private JavaMailSenderImpl sender;
+
+        @BeforeEach
+        void setUp() {
+            smtpServer = new LocalSmtpServer(0);
+            sender = new JavaMailSenderImpl();
+            sender.setHost("localhost");
+            sender.setPort(smtpServer.getPort());
+        }
+
+        @AfterEach
+        void tearDown() {
+            smtpServer.close();
+        }
+
+        @Test
+        @DisplayName("Should send many messages over one persistent connection")
+        void submit_ManyMessages_ReusesConnection() throws Exception {
+            MailDispatcher dispatcher = startDispatcher(sender, 1, 100);
+
+            sendAll(dispatcher, sender, 20);
+
+            assertThat(smtpServer.getMessages()).isEqualTo(20);
+            assertThat(smtpServer.getConnections()).isEqualTo(1);
+            assertThat(meterRegistry.get("supplemart_mail_send_latency").tag("outcome", "sent").timer().count())
+                    .isEqualTo(20);
+        }
+
+        @Test
+        @DisplayName("Should recycle a connection after its message quota")
+        void submit_BeyondQuota_OpensNewConnection() throws Exception {
+            MailDispatcher dispatcher = startDispatcher(sender, 1, 5);
+
+            sendAll(dispatcher, sender, 20);
+
+            assertThat(smtpServer.getMessages()).isEqualTo(20);
+            assertThat(smtpServer.getConnections()).isEqualTo(4);
+            assertThat(meterRegistry.get("supplemart_mail_connections_opened_total").counter().count())
+                    .isEqualTo(4.0);
+        }
+    }
+
+    @Test
+    @DisplayName("Should hand batches to senders without an SMTP session")
+    void submit_NonSmtpSender_SendsThroughSender() throws Exception {
+        JavaMailSender sender = mock(JavaMailSender.class);
+        JavaMailSenderImpl factory = new JavaMailSenderImpl();
+        when(sender.createMimeMessage()).thenAnswer(invocation -> factory.createMimeMessage());
+        MailDispatcher dispatcher = startDispatcher(sender, 1, 100);
+
+        sendAll(dispatcher, sender, 3);
+
+        verify(sender, atLeastOnce()).send(any(MimeMessage[].class));
+        assertThat(meterRegistry.get("supplemart_mail_delivery_latency").tag("priority", "transactional")
+                .timer().count()).isEqualTo(3);
+    }
+
+    @Nested
+    @DisplayName("Priority Tests")
+    class PriorityTests {
+
+        private JavaMailSender sender;
+        private final List<String> sentSubjects = new CopyOnWriteArrayList<>();
+        private final CountDownLatch firstSendStarted = new CountDownLatch(1);
+        private final CountDownLatch releaseFirstSend = new CountDownLatch(1);
+
+        @BeforeEach
+        void setUp() {
+            sender = mock(JavaMailSender.class);
+            JavaMailSenderImpl factory = new JavaMailSenderImpl();
+            when(sender.createMimeMessage()).thenAnswer(invocation -> factory.createMimeMessage());
+            doAnswer(invocation -> {
+                firstSendStarted.countDown();
+                releaseFirstSend.await(5, TimeUnit.SECONDS);
+                for (Object message : invocation.getArguments()) {
+                    sentSubjects.add(((MimeMessage) message).getSubject());
+                }
+                return null;
+            }).when(sender).send(any(MimeMessage[].class));
+        }
+
+        private MailDispatcher startSingleMessageDispatcher(int queueCapacity) {
+            dispatcher = new MailDispatcher(sender, meterRegistry, 1, 1, queueCapacity, 100, 30, 0);
+            dispatcher.start();
+            return dispatcher;
+        }
+
+        @Test
+        @DisplayName("Should send queued critical mail ahead of queued marketing mail")
+        void submit_CriticalBehindCampaign_SentFirst() throws Exception {
+            MailDispatcher dispatcher = startSingleMessageDispatcher(100);
+            List<CompletableFuture<Void>> results = new ArrayList<>();
+
+            results.add(dispatcher.submit(message(sender, "a@example.com", "campaign-0"), MailPriority.MARKETING));
+            assertThat(firstSendStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            results.add(dispatcher.submit(message(sender, "b@example.com", "campaign-1"), MailPriority.MARKETING));
+            results.add(dispatcher.submit(message(sender, "c@example.com", "order"), MailPriority.TRANSACTIONAL));
+            results.add(dispatcher.submit(message(sender, "d@example.com", "reset"), MailPriority.CRITICAL));
+            releaseFirstSend.countDown();
+
+            CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+            assertThat(sentSubjects).containsExactly("campaign-0", "reset", "order", "campaign-1");
+            assertThat(meterRegistry.get("supplemart_mail_queue_wait").tag("priority", "critical").timer().count())
+                    .isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should reject mail only in the priority class that is full")
+        void submit_MarketingClassFull_CriticalStillAccepted() throws Exception {
+            MailDispatcher dispatcher = startSingleMessageDispatcher(1);
+
+            CompletableFuture<Void> first = dispatcher.submit(message(sender, "a@example.com", "campaign-0"),
+                    MailPriority.MARKETING);
+            assertThat(firstSendStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<Void> rejected = dispatcher.submit(message(sender, "b@example.com", "campaign-1"),
+                    MailPriority.MARKETING);
+            CompletableFuture<Void> critical = dispatcher.submit(message(sender, "c@example.com", "reset"),
+                    MailPriority.CRITICAL);
+            releaseFirstSend.countDown();
+
+            assertThat(rejected).failsWithin(Duration.ZERO)
+                    .withThrowableThat().withCauseInstanceOf(MailQueueFullException.class);
+            CompletableFuture.allOf(first, critical).get(10, TimeUnit.SECONDS);
+            assertThat(sentSubjects).containsExactly("campaign-0", "reset");
+            assertThat(meterRegistry.get("supplemart_mail_rejected_total").tag("priority", "marketing")
+                    .counter().count()).isEqualTo(1.0);
+        }
+    }
+
+    @Test
+    @DisplayName("Should pace sends to the configured rate")
+    void submit_RateLimited_PacesSends() throws Exception {
+        JavaMailSender sender = mock(JavaMailSender.class);
+        JavaMailSenderImpl factory = new JavaMailSenderImpl();
+        when(sender.createMimeMessage()).thenAnswer(invocation -> factory.createMimeMessage());
+        dispatcher = new MailDispatcher(sender, meterRegistry, 1, 1, 1000, 100, 30, 20);
+        dispatcher.start();
+
+        long start = System.nanoTime();
+        sendAll(dispatcher, sender, 30);
+
+        // The first second's worth of sends goes out as a burst; the other 10 are paced at 50ms
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(400);
+        assertThat(meterRegistry.get("supplemart_mail_rate_limit_wait").timer().totalTime(TimeUnit.MILLISECONDS))
+                .isGreaterThan(0);
+    }
+}
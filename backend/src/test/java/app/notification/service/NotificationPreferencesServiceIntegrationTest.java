@@ -13,6 +13,8 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -69,8 +71,8 @@ class NotificationPreferencesServiceIntegrationTest extends BaseIntegrationTest
     class GetPreferencesTests {
 
         @Test
-        @DisplayName("Should create default preferences when none exist")
-        void getPreferences_CreatesDefaultWhenNoneExist() {
+        @DisplayName("Should return default preferences without storing them when none exist")
+        void getPreferences_ReturnsDefaultWhenNoneExist() {
             NotificationPreferencesResponse response = notificationPreferencesService.getPreferences(testUserId);
 
             assertThat(response).isNotNull();
@@ -79,6 +81,7 @@ class NotificationPreferencesServiceIntegrationTest extends BaseIntegrationTest
             assertThat(response.getShippingNotifications()).isTrue();
             assertThat(response.getAccountSecurityAlerts()).isTrue();
             assertThat(response.getPasswordResetEmails()).isTrue();
+            assertThat(notificationPreferencesRepository.findByUserId(testUserId)).isEmpty();
         }
 
         @Test
@@ -163,6 +166,44 @@ class NotificationPreferencesServiceIntegrationTest extends BaseIntegrationTest
         }
     }
 
+    @Nested
+    @DisplayName("Batch Get Preferences Tests")
+    class BatchGetPreferencesTests {
+
+        @Test
+        @DisplayName("Should return stored preferences and defaults for every requested user without writing")
+        void getPreferences_ForManyUsers_ReturnsStoredAndDefaults() {
+            NotificationPreferences stored = createPreferencesWithDefaults(testUserId);
+            stored.setPriceDropAlerts(false);
+            notificationPreferencesRepository.save(stored);
+            UUID userWithoutRow = UUID.randomUUID();
+            long rowsBefore = notificationPreferencesRepository.count();
+
+            Map<UUID, NotificationPreferencesResponse> result =
+                    notificationPreferencesService.getPreferences(List.of(testUserId, userWithoutRow, testUserId));
+
+            assertThat(result).containsOnlyKeys(testUserId, userWithoutRow);
+            assertThat(result.get(testUserId).getPriceDropAlerts()).isFalse();
+            assertThat(result.get(userWithoutRow).getPriceDropAlerts()).isTrue();
+            assertThat(notificationPreferencesRepository.count()).isEqualTo(rowsBefore);
+        }
+
+        @Test
+        @DisplayName("Should see updated preferences after updatePreferences")
+        void getPreferences_AfterUpdate_ReturnsFreshValues() {
+            notificationPreferencesService.getPreferences(List.of(testUserId));
+
+            UpdateNotificationPreferencesRequest request = new UpdateNotificationPreferencesRequest();
+            request.setBackInStockAlerts(false);
+            notificationPreferencesService.updatePreferences(testUserId, request);
+
+            Map<UUID, NotificationPreferencesResponse> result =
+                    notificationPreferencesService.getPreferences(List.of(testUserId));
+
+            assertThat(result.get(testUserId).getBackInStockAlerts()).isFalse();
+        }
+    }
+
     @Nested
     @DisplayName("Update Preferences Tests")
     class UpdatePreferencesTests {
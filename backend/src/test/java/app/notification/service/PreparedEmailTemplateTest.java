@@ -0,0 +1,97 @@
+package app.notification.service;
+
+import app.testutil.TemplateEngineFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PreparedEmailTemplate Unit Tests")
+class PreparedEmailTemplateTest {
+
+    @Nested
+    @DisplayName("Slot Substitution Tests")
+    class SlotSubstitutionTests {
+
+        @Test
+        @DisplayName("Should substitute every slot occurrence")
+        void render_MultipleSlots_SubstitutesAll() {
+            String html = "<p>Hi " + PreparedEmailTemplate.slot("name") + ", your code is "
+                    + PreparedEmailTemplate.slot("code") + ". Bye " + PreparedEmailTemplate.slot("name") + "</p>";
+
+            PreparedEmailTemplate template = PreparedEmailTemplate.of(html);
+
+            assertThat(template.getSlots()).containsExactly("name", "code", "name");
+            assertThat(template.render(Map.of("name", "Ana", "code", "42")))
+                    .isEqualTo("<p>Hi Ana, your code is 42. Bye Ana</p>");
+        }
+
+        @Test
+        @DisplayName("Should HTML-escape slot values")
+        void render_MarkupInValue_IsEscaped() {
+            PreparedEmailTemplate template = PreparedEmailTemplate.of("<p>" + PreparedEmailTemplate.slot("name") + "</p>");
+
+            String html = template.render(Map.of("name", "<script>alert('x')</script> & \"co\""));
+
+            assertThat(html).isEqualTo(
+                    "<p>&lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt; &amp; &quot;co&quot;</p>");
+        }
+
+        @Test
+        @DisplayName("Should render missing and null values as empty text")
+        void render_MissingValue_RendersEmpty() {
+            PreparedEmailTemplate template = PreparedEmailTemplate.of("Hi " + PreparedEmailTemplate.slot("name") + "!");
+
+            assertThat(template.render(Map.of())).isEqualTo("Hi !");
+            assertThat(template.render(Collections.singletonMap("name", null))).isEqualTo("Hi !");
+        }
+
+        @Test
+        @DisplayName("Should leave HTML without slots unchanged")
+        void render_NoSlots_ReturnsHtml() {
+            PreparedEmailTemplate template = PreparedEmailTemplate.of("<p>%%slot-fake-name%%</p>");
+
+            assertThat(template.getSlots()).isEmpty();
+            assertThat(template.render(Map.of("name", "Ana"))).isEqualTo("<p>%%slot-fake-name%%</p>");
+        }
+
+        @Test
+        @DisplayName("Should reject slot names that could break the marker")
+        void slot_InvalidName_Throws() {
+            assertThatThrownBy(() -> PreparedEmailTemplate.slot("first name%%"))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Should match the per-recipient render of the general email")
+    void prepareGeneralEmail_MatchesDirectRender() {
+        EmailTemplateService emailTemplateService = new EmailTemplateService(TemplateEngineFactory.create());
+
+        PreparedEmailTemplate template = emailTemplateService.prepareGeneralEmail(
+                "Back in Stock",
+                "Hi " + PreparedEmailTemplate.slot(EmailService.FIRST_NAME_SLOT) + ",",
+                "Whey Protein is back in stock!",
+                "The item you were waiting for is now available.",
+                "Order now before it sells out again!");
+        String prepared = template.render(EmailService.recipient("Ana <Admin>"));
+        String direct = emailTemplateService.renderGeneralEmail(
+                "Back in Stock",
+                "Hi Ana <Admin>,",
+                "Whey Protein is back in stock!",
+                "The item you were waiting for is now available.",
+                "Order now before it sells out again!");
+
+        assertThat(prepared).contains("Hi Ana &lt;Admin&gt;,").doesNotContain("%%slot-");
+        assertThat(stripTimestamp(prepared)).isEqualTo(stripTimestamp(direct));
+    }
+
+    private static String stripTimestamp(String html) {
+        return html.replaceAll("[A-Z][a-z]{2} \\d{2}, \\d{4} \\d{2}:\\d{2}", "");
+    }
+}
@@ -0,0 +1,305 @@
+package app.order.service;
+
+import app.cart.service.CartService;
+import app.exception.BadRequestException;
+import app.exception.ResourceNotFoundException;
+import app.exception.ServiceUnavailableException;
+import app.exception.UnauthorizedException;
+import app.order.dto.CreateOrderRequest;
+import app.order.dto.OrderPlacementResponse;
+import app.order.dto.OrderResponse;
+import app.order.model.OrderPlacement;
+import app.order.model.OrderPlacementStatus;
+import app.order.repository.OrderPlacementRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AsyncOrderPlacementService Unit Tests")
+class AsyncOrderPlacementServiceTest {
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private CartService cartService;
+
+    @Mock
+    private OrderPlacementRepository placementRepository;
+
+    private final Map<UUID, OrderPlacement> placements = new ConcurrentHashMap<>();
+    private AsyncOrderPlacementService placementService;
+    private UUID userId;
+    private CreateOrderRequest request;
+
+    @BeforeEach
+    void setUp() {
+        placementService = new AsyncOrderPlacementService(
+                orderService, cartService, placementRepository, new SimpleMeterRegistry(), 2, 2, 60, 60, 15, 5);
+
+        userId = UUID.randomUUID();
+        request = new CreateOrderRequest();
+        request.setShippingAddress("123 Test Street");
+
+        lenient().when(orderService.generateOrderNumber())
+                .thenReturn("ORD-20260101-00001", "ORD-20260101-00002", "ORD-20260101-00003");
+        lenient().when(placementRepository.save(any(OrderPlacement.class))).thenAnswer(invocation -> {
+            OrderPlacement placement = invocation.getArgument(0);
+            placements.put(placement.getId(), placement);
+            return placement;
+        });
+        lenient().when(placementRepository.findById(any()))
+                .thenAnswer(invocation -> Optional.ofNullable(placements.get(invocation.<UUID>getArgument(0))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        placementService.shutdown();
+    }
+
+    @Nested
+    @DisplayName("placeOrder Tests")
+    class PlaceOrderTests {
+
+        @Test
+        @DisplayName("Should accept order and confirm it once placed")
+        void placeOrder_WithItemsInCart_ConfirmsOrder() throws Exception {
+            OrderResponse order = OrderResponse.builder()
+                    .id(UUID.randomUUID())
+                    .orderNumber("ORD-20260101-00001")
+                    .status("pending")
+                    .build();
+            when(cartService.hasItems(userId)).thenReturn(true);
+            when(orderService.createOrder(eq(userId), any(CreateOrderRequest.class), eq("ORD-20260101-00001")))
+                    .thenReturn(order);
+            when(orderService.getOrderById(order.getId(), userId)).thenReturn(order);
+
+            OrderPlacementResponse accepted = placementService.placeOrder(userId, request);
+
+            assertThat(accepted.getStatus()).isEqualTo("accepted");
+            assertThat(accepted.getOrderNumber()).isEqualTo("ORD-20260101-00001");
+
+            OrderPlacementResponse result = awaitFinal(accepted.getPlacementId());
+            assertThat(result.getStatus()).isEqualTo("confirmed");
+            assertThat(result.getOrder()).isEqualTo(order);
+            assertThat(result.getCompletedAt()).isNotNull();
+        }
+
+        @Test
+        @DisplayName("Should reject order when placement fails validation")
+        void placeOrder_WhenStockRunsOut_RejectsOrder() throws Exception {
+            when(cartService.hasItems(userId)).thenReturn(true);
+            when(orderService.createOrder(eq(userId), any(CreateOrderRequest.class), any()))
+                    .thenThrow(new BadRequestException("Insufficient stock for product: Whey"));
+
+            OrderPlacementResponse accepted = placementService.placeOrder(userId, request);
+
+            OrderPlacementResponse result = awaitFinal(accepted.getPlacementId());
+            assertThat(result.getStatus()).isEqualTo("rejected");
+            assertThat(result.getMessage()).isEqualTo("Insufficient stock for product: Whey");
+        }
+
+        @Test
+        @DisplayName("Should refuse order when cart is empty")
+        void placeOrder_WithEmptyCart_ThrowsBadRequest() {
+            when(cartService.hasItems(userId)).thenReturn(false);
+
+            assertThatThrownBy(() -> placementService.placeOrder(userId, request))
+                    .isInstanceOf(BadRequestException.class)
+                    .hasMessageContaining("Cart is empty");
+
+            verify(orderService, never()).createOrder(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should refuse order when queue is full")
+        void placeOrder_WhenQueueFull_ThrowsServiceUnavailable() throws Exception {
+            CountDownLatch release = new CountDownLatch(1);
+            when(cartService.hasItems(any())).thenReturn(true);
+            when(orderService.createOrder(any(), any(CreateOrderRequest.class), any())).thenAnswer(invocation -> {
+                release.await(5, TimeUnit.SECONDS);
+                return OrderResponse.builder().build();
+            });
+
+            placementService.placeOrder(userId, request);
+            awaitQueueDepth(0);
+
+            // Same user, so these wait behind the blocked first order and stay queued
+            placementService.placeOrder(userId, request);
+            placementService.placeOrder(userId, request);
+
+            try {
+                assertThatThrownBy(() -> placementService.placeOrder(userId, request))
+                        .isInstanceOf(ServiceUnavailableException.class);
+            } finally {
+                release.countDown();
+            }
+        }
+
+        @Test
+        @DisplayName("Should release the queue slot and reject the order when workers are shut down")
+        void placeOrder_WhenWorkersRejectTask_ReleasesQueueSlot() {
+            when(cartService.hasItems(userId)).thenReturn(true);
+            placementService.shutdown();
+
+            OrderPlacementResponse accepted = placementService.placeOrder(userId, request);
+
+            assertThat(placementService.getQueueDepth()).isZero();
+            OrderPlacementResponse result = placementService.getPlacement(accepted.getPlacementId(), userId);
+            assertThat(result.getStatus()).isEqualTo("rejected");
+            verify(orderService, never()).createOrder(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should place orders of the same user in submission order")
+        void placeOrder_SameUser_ProcessedInOrder() throws Exception {
+            when(cartService.hasItems(userId)).thenReturn(true);
+            when(orderService.createOrder(eq(userId), any(CreateOrderRequest.class), any()))
+                    .thenReturn(OrderResponse.builder().build());
+
+            placementService.placeOrder(userId, request);
+            OrderPlacementResponse second = placementService.placeOrder(userId, request);
+            awaitFinal(second.getPlacementId());
+
+            InOrder inOrder = inOrder(orderService);
+            inOrder.verify(orderService).createOrder(userId, request, "ORD-20260101-00001");
+            inOrder.verify(orderService).createOrder(userId, request, "ORD-20260101-00002");
+        }
+    }
+
+    @Nested
+    @DisplayName("Recovery Tests")
+    class RecoveryTests {
+
+        private OrderPlacement stalled(String orderNumber) {
+            return OrderPlacement.builder()
+                    .id(UUID.randomUUID())
+                    .userId(userId)
+                    .orderNumber(orderNumber)
+                    .status(OrderPlacementStatus.PROCESSING)
+                    .acceptedAt(LocalDateTime.now().minusHours(1))
+                    .build();
+        }
+
+        @Test
+        @DisplayName("Should confirm a stalled placement whose order exists and reject one whose order does not")
+        void recoverStalled_ResolvesFromOrdersTable() {
+            OrderPlacement created = stalled("ORD-20260101-00001");
+            OrderPlacement lost = stalled("ORD-20260101-00002");
+            UUID orderId = UUID.randomUUID();
+            when(placementRepository.findByStatusInAndAcceptedAtBefore(any(), any(), any(Limit.class)))
+                    .thenReturn(List.of(created, lost));
+            when(orderService.findOrderIdByOrderNumber("ORD-20260101-00001")).thenReturn(Optional.of(orderId));
+            when(orderService.findOrderIdByOrderNumber("ORD-20260101-00002")).thenReturn(Optional.empty());
+
+            placementService.recoverStalled();
+
+            verify(placementRepository).resolveIfPending(eq(created.getId()), any(),
+                    eq(OrderPlacementStatus.CONFIRMED), eq(orderId), isNull(), any());
+            verify(placementRepository).resolveIfPending(eq(lost.getId()), any(),
+                    eq(OrderPlacementStatus.REJECTED), isNull(), eq("Order could not be placed"), any());
+        }
+
+        @Test
+        @DisplayName("Should reject placements still queued when shutdown stops waiting for the workers")
+        void shutdown_TimesOut_RejectsQueuedPlacements() throws Exception {
+            AsyncOrderPlacementService service = new AsyncOrderPlacementService(
+                    orderService, cartService, placementRepository, new SimpleMeterRegistry(), 1, 10, 60, 60, 15, 0);
+            CountDownLatch release = new CountDownLatch(1);
+            when(cartService.hasItems(any())).thenReturn(true);
+            when(orderService.createOrder(any(), any(CreateOrderRequest.class), any())).thenAnswer(invocation -> {
+                release.await(5, TimeUnit.SECONDS);
+                return OrderResponse.builder().build();
+            });
+
+            service.placeOrder(userId, request);
+            OrderPlacementResponse waiting = service.placeOrder(UUID.randomUUID(), request);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (service.getQueueDepth() != 1 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            try {
+                service.shutdown();
+            } finally {
+                release.countDown();
+            }
+
+            assertThat(service.getQueueDepth()).isZero();
+            assertThat(placements.get(waiting.getPlacementId()).getStatus()).isEqualTo(OrderPlacementStatus.REJECTED);
+            verify(orderService, times(1)).createOrder(any(), any(CreateOrderRequest.class), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("getPlacement Tests")
+    class GetPlacementTests {
+
+        @Test
+        @DisplayName("Should throw exception when placement is unknown")
+        void getPlacement_WithUnknownId_ThrowsResourceNotFound() {
+            assertThatThrownBy(() -> placementService.getPlacement(UUID.randomUUID(), userId))
+                    .isInstanceOf(ResourceNotFoundException.class);
+        }
+
+        @Test
+        @DisplayName("Should throw exception when placement belongs to another user")
+        void getPlacement_OfAnotherUser_ThrowsUnauthorized() {
+            when(cartService.hasItems(userId)).thenReturn(true);
+            lenient().when(orderService.createOrder(any(), any(CreateOrderRequest.class), any()))
+                    .thenReturn(OrderResponse.builder().build());
+
+            OrderPlacementResponse accepted = placementService.placeOrder(userId, request);
+
+            assertThatThrownBy(() -> placementService.getPlacement(accepted.getPlacementId(), UUID.randomUUID()))
+                    .isInstanceOf(UnauthorizedException.class);
+        }
+    }
+
+    private void awaitQueueDepth(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (placementService.getQueueDepth() != expected) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Queue depth did not reach " + expected + " in time");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private OrderPlacementResponse awaitFinal(UUID placementId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            OrderPlacementResponse response = placementService.getPlacement(placementId, userId);
+            if ("confirmed".equals(response.getStatus()) || "rejected".equals(response.getStatus())) {
+                return response;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Placement " + placementId + " did not complete in time");
+    }
+}
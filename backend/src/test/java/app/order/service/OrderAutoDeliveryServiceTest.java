@@ -0,0 +1,118 @@
+package app.order.service;
+
+import app.order.dto.BulkStatusUpdateResult;
+import app.order.dto.OrderNotificationView;
+import app.order.model.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderAutoDeliveryService Unit Tests")
+class OrderAutoDeliveryServiceTest {
+
+    @Mock
+    private OrderService orderService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderAutoDeliveryService autoDeliveryService;
+    private LocalDateTime cutoffDate;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        autoDeliveryService = new OrderAutoDeliveryService(orderService, meterRegistry, 2);
+        cutoffDate = LocalDateTime.now().minusDays(7);
+    }
+
+    @Test
+    @DisplayName("Should deliver orders chunk by chunk, resuming after the last row of each chunk")
+    void deliverOrdersShippedBefore_MultipleChunks_PagesByKeyset() {
+        OrderNotificationView first = view(cutoffDate.minusDays(3));
+        OrderNotificationView second = view(cutoffDate.minusDays(2));
+        OrderNotificationView third = view(cutoffDate.minusDays(1));
+
+        when(orderService.findShippedOrdersForAutoDelivery(eq(cutoffDate), any(), any(), eq(2)))
+                .thenReturn(List.of(first, second), List.of(third));
+        when(orderService.deliverShippedOrders(List.of(first, second)))
+                .thenReturn(new BulkStatusUpdateResult(OrderStatus.DELIVERED, List.of(first, second), Map.of()));
+        when(orderService.deliverShippedOrders(List.of(third)))
+                .thenReturn(new BulkStatusUpdateResult(OrderStatus.DELIVERED, List.of(),
+                        Map.of(third.getId(), "Order status was changed concurrently")));
+
+        OrderAutoDeliveryService.Result result = autoDeliveryService.deliverOrdersShippedBefore(cutoffDate);
+
+        assertThat(result.scanned()).isEqualTo(3);
+        assertThat(result.processed()).isEqualTo(2);
+        assertThat(result.skipped()).isEqualTo(1);
+        assertThat(result.failed()).isZero();
+
+        verify(orderService).findShippedOrdersForAutoDelivery(cutoffDate, second.getUpdatedAt(), second.getId(), 2);
+        assertThat(meterRegistry.get("supplemart_auto_delivery_orders_total").tag("outcome", "processed")
+                .counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("supplemart_auto_delivery_orders_total").tag("outcome", "skipped")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("supplemart_auto_delivery_duration").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should continue with the next chunk when one chunk fails")
+    void deliverOrdersShippedBefore_ChunkFails_ContinuesWithNextChunk() {
+        OrderNotificationView first = view(cutoffDate.minusDays(3));
+        OrderNotificationView second = view(cutoffDate.minusDays(2));
+        OrderNotificationView third = view(cutoffDate.minusDays(1));
+
+        when(orderService.findShippedOrdersForAutoDelivery(eq(cutoffDate), any(), any(), anyInt()))
+                .thenReturn(List.of(first, second), List.of(third));
+        when(orderService.deliverShippedOrders(List.of(first, second)))
+                .thenThrow(new RuntimeException("Lock wait timeout exceeded"));
+        when(orderService.deliverShippedOrders(List.of(third)))
+                .thenReturn(new BulkStatusUpdateResult(OrderStatus.DELIVERED, List.of(third), Map.of()));
+
+        OrderAutoDeliveryService.Result result = autoDeliveryService.deliverOrdersShippedBefore(cutoffDate);
+
+        assertThat(result.processed()).isEqualTo(1);
+        assertThat(result.failed()).isEqualTo(2);
+        verify(orderService).deliverShippedOrders(List.of(third));
+    }
+
+    @Test
+    @DisplayName("Should do nothing when no shipped orders are overdue")
+    void deliverOrdersShippedBefore_NoOrders_DoesNothing() {
+        when(orderService.findShippedOrdersForAutoDelivery(eq(cutoffDate), any(), any(), anyInt()))
+                .thenReturn(List.of());
+
+        OrderAutoDeliveryService.Result result = autoDeliveryService.deliverOrdersShippedBefore(cutoffDate);
+
+        assertThat(result.processed()).isZero();
+        verify(orderService, never()).deliverShippedOrders(any());
+    }
+
+    private OrderNotificationView view(LocalDateTime updatedAt) {
+        UUID id = UUID.randomUUID();
+        return new OrderNotificationView() {
+            public UUID getId() { return id; }
+            public String getOrderNumber() { return "ORD-" + id; }
+            public OrderStatus getStatus() { return OrderStatus.SHIPPED; }
+            public LocalDateTime getUpdatedAt() { return updatedAt; }
+            public UUID getUserId() { return UUID.randomUUID(); }
+            public String getUserEmail() { return "customer@example.com"; }
+            public String getUserFirstName() { return "Jane"; }
+        };
+    }
+}
@@ -6,7 +6,10 @@ import app.cartitem.model.CartItem;
 import app.exception.BadRequestException;
 import app.exception.ResourceNotFoundException;
 import app.exception.UnauthorizedException;
+import app.notification.event.OrderDeliveredEvent;
+import app.order.dto.BulkStatusUpdateResult;
 import app.order.dto.CreateOrderRequest;
+import app.order.dto.OrderNotificationView;
 import app.order.dto.OrderResponse;
 import app.order.dto.OrderStats;
 import app.order.dto.OrdersResponse;
@@ -14,10 +17,12 @@ import app.order.mapper.OrderMapper;
 import app.order.model.Order;
 import app.order.model.OrderItem;
 import app.order.model.OrderStatus;
+import app.order.repository.OrderAuditRepository;
 import app.order.repository.OrderRepository;
 import app.product.model.Category;
 import app.product.model.Product;
 import app.product.service.ProductService;
+import app.review.service.PendingReviewReminderService;
 import app.user.model.AuthProvider;
 import app.user.model.Role;
 import app.user.model.User;
@@ -27,10 +32,12 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -70,6 +77,15 @@ class OrderServiceTest {
     @Mock
     private ApplicationEventPublisher eventPublisher;
 
+    @Mock
+    private PendingReviewReminderService pendingReviewReminderService;
+
+    @Mock
+    private OrderAuditRepository orderAuditRepository;
+
+    @Mock
+    private AuditorAware<String> auditorProvider;
+
     @InjectMocks
     private OrderService orderService;
 
@@ -360,6 +376,7 @@ class OrderServiceTest {
         @Test
         @DisplayName("Should update order status to SHIPPED and publish event")
         void updateOrderStatus_ToShipped_PublishesEvent() {
+            testOrder.setStatus(OrderStatus.PAID);
             OrderResponse expectedResponse = OrderResponse.builder().build();
 
             when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
@@ -388,6 +405,7 @@ class OrderServiceTest {
             assertThat(result).isNotNull();
             assertThat(testOrder.getStatus()).isEqualTo(OrderStatus.DELIVERED);
             verify(eventPublisher).publishEvent(any());
+            verify(pendingReviewReminderService).scheduleReminders(List.of(testOrder.getId()));
         }
 
         @Test
@@ -405,6 +423,72 @@ class OrderServiceTest {
             assertThat(testOrder.getStatus()).isEqualTo(OrderStatus.PAID);
             verify(eventPublisher, never()).publishEvent(any());
         }
+
+        @Test
+        @DisplayName("Should reject a transition the order status does not allow")
+        void updateOrderStatus_InvalidTransition_ThrowsBadRequest() {
+            testOrder.setStatus(OrderStatus.DELIVERED);
+            when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+
+            assertThatThrownBy(() -> orderService.updateOrderStatus(orderId, OrderStatus.SHIPPED))
+                    .isInstanceOf(BadRequestException.class)
+                    .hasMessageContaining("Cannot change status from DELIVERED to SHIPPED");
+
+            assertThat(testOrder.getStatus()).isEqualTo(OrderStatus.DELIVERED);
+            verify(orderRepository, never()).save(any());
+            verify(eventPublisher, never()).publishEvent(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("deliverShippedOrders Tests")
+    class DeliverShippedOrdersTests {
+
+        private OrderNotificationView view(String orderNumber) {
+            OrderNotificationView view = mock(OrderNotificationView.class);
+            lenient().when(view.getId()).thenReturn(UUID.randomUUID());
+            lenient().when(view.getOrderNumber()).thenReturn(orderNumber);
+            lenient().when(view.getUserId()).thenReturn(userId);
+            lenient().when(view.getUserEmail()).thenReturn("test@example.com");
+            lenient().when(view.getUserFirstName()).thenReturn("John");
+            return view;
+        }
+
+        @Test
+        @DisplayName("Should write a delivery event for each moved order in the update's transaction")
+        void deliverShippedOrders_AllMoved_PublishesEvents() {
+            OrderNotificationView first = view("ORD-20231201-00001");
+            OrderNotificationView second = view("ORD-20231201-00002");
+            when(auditorProvider.getCurrentAuditor()).thenReturn(Optional.of("system"));
+            when(orderRepository.updateStatusWhereCurrent(any(), eq(OrderStatus.SHIPPED), eq(OrderStatus.DELIVERED),
+                    any(), eq("system"))).thenReturn(2);
+
+            BulkStatusUpdateResult result = orderService.deliverShippedOrders(List.of(first, second));
+
+            assertThat(result.updated()).containsExactly(first, second);
+            verify(eventPublisher, times(2)).publishEvent(any(OrderDeliveredEvent.class));
+        }
+
+        @Test
+        @DisplayName("Should not publish events for orders changed concurrently")
+        void deliverShippedOrders_ConcurrentChange_SkipsEvent() {
+            OrderNotificationView moved = view("ORD-20231201-00001");
+            OrderNotificationView changed = view("ORD-20231201-00002");
+            UUID movedId = moved.getId();
+            when(auditorProvider.getCurrentAuditor()).thenReturn(Optional.empty());
+            when(orderRepository.updateStatusWhereCurrent(any(), eq(OrderStatus.SHIPPED), eq(OrderStatus.DELIVERED),
+                    any(), eq("system"))).thenReturn(1);
+            when(orderRepository.findIdsByIdInAndStatus(any(), eq(OrderStatus.DELIVERED)))
+                    .thenReturn(List.of(movedId));
+
+            BulkStatusUpdateResult result = orderService.deliverShippedOrders(List.of(moved, changed));
+
+            assertThat(result.updated()).containsExactly(moved);
+            assertThat(result.skipped()).containsOnlyKeys(changed.getId());
+            ArgumentCaptor<OrderDeliveredEvent> event = ArgumentCaptor.forClass(OrderDeliveredEvent.class);
+            verify(eventPublisher).publishEvent(event.capture());
+            assertThat(event.getValue().getOrderNumber()).isEqualTo("ORD-20231201-00001");
+        }
     }
 
     @Nested
@@ -1,6 +1,7 @@
 package app.product.repository;
 
 import app.BaseIntegrationTest;
+import app.product.dto.LowStockProductView;
 import app.product.model.Category;
 import app.product.model.Product;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,8 +12,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -140,17 +143,17 @@ class ProductRepositoryIntegrationTest extends BaseIntegrationTest {
     }
 
     @Nested
-    @DisplayName("findLowStockProducts Tests")
-    class FindLowStockProductsTests {
+    @DisplayName("findLowStockProductViews Tests")
+    class FindLowStockProductViewsTests {
 
         @Test
         @DisplayName("Should find active products with stock below threshold")
-        void findLowStockProducts_ReturnsLowStockActiveProducts() {
-            List<Product> result = productRepository.findLowStockProducts(10);
+        void findLowStockProductViews_ReturnsLowStockActiveProducts() {
+            List<LowStockProductView> result = productRepository.findLowStockProductViews(10);
 
             assertThat(result).isNotEmpty();
             assertThat(result).allMatch(p -> p.getStockQuantity() < 10);
-            assertThat(result).allMatch(Product::isActive);
+            assertThat(result).noneMatch(p -> p.getId().equals(inactiveProduct.getId()));
             // Results should be ordered by stock quantity ascending
             for (int i = 0; i < result.size() - 1; i++) {
                 assertThat(result.get(i).getStockQuantity())
@@ -159,27 +162,27 @@ class ProductRepositoryIntegrationTest extends BaseIntegrationTest {
         }
 
         @Test
-        @DisplayName("Should return empty list when no low stock products")
-        void findLowStockProducts_WithHighThreshold_ReturnsAllApplicable() {
-            List<Product> result = productRepository.findLowStockProducts(1);
+        @DisplayName("Should find only out of stock products below a threshold of one")
+        void findLowStockProductViews_WithThresholdOne_ReturnsOutOfStockProducts() {
+            List<LowStockProductView> result = productRepository.findLowStockProductViews(1);
 
-            // Only outOfStockProduct has stock = 0, which is < 1
-            assertThat(result).allMatch(p -> p.getStockQuantity() < 1);
+            assertThat(result).isNotEmpty();
+            assertThat(result).allMatch(p -> p.getStockQuantity() == 0);
         }
-    }
-
-    @Nested
-    @DisplayName("findOutOfStockProducts Tests")
-    class FindOutOfStockProductsTests {
 
         @Test
-        @DisplayName("Should find active products with zero stock")
-        void findOutOfStockProducts_ReturnsZeroStockActiveProducts() {
-            List<Product> result = productRepository.findOutOfStockProducts();
-
-            assertThat(result).isNotEmpty();
-            assertThat(result).allMatch(p -> p.getStockQuantity() == 0);
-            assertThat(result).allMatch(Product::isActive);
+        @Transactional
+        @DisplayName("Should report when a product was last alerted")
+        void markLowStockAlerted_IsReadBackByView() {
+            LocalDateTime alertedAt = LocalDateTime.now().withNano(0);
+
+            productRepository.markLowStockAlerted(List.of(outOfStockProduct.getId()), alertedAt);
+
+            assertThat(productRepository.findLowStockProductViews(1))
+                    .filteredOn(p -> p.getId().equals(outOfStockProduct.getId()))
+                    .singleElement()
+                    .extracting(LowStockProductView::getLowStockAlertedAt)
+                    .isEqualTo(alertedAt);
         }
     }
 
@@ -0,0 +1,174 @@
+package app.product.service;
+
+import app.notification.event.LowStockAlertEvent;
+import app.product.dto.LowStockProductView;
+import app.product.event.StockThresholdCrossedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LowStockAlertAggregator Unit Tests")
+class LowStockAlertAggregatorTest {
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Mock
+    private ProductService productService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LowStockAlertAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        aggregator = new LowStockAlertAggregator(eventPublisher, taskScheduler, productService, meterRegistry, 300);
+    }
+
+    private StockThresholdCrossedEvent crossing(UUID productId, String name, int newStock) {
+        return new StockThresholdCrossedEvent(this, productId, name, 10, newStock);
+    }
+
+    private LowStockProductView view(UUID id, String name, int stock) {
+        return view(id, name, stock, null);
+    }
+
+    private LowStockProductView view(UUID id, String name, int stock, LocalDateTime alertedAt) {
+        return new LowStockProductView() {
+            public UUID getId() { return id; }
+            public String getName() { return name; }
+            public Integer getStockQuantity() { return stock; }
+            public LocalDateTime getLowStockAlertedAt() { return alertedAt; }
+        };
+    }
+
+    private LowStockAlertEvent captureAlert() {
+        ArgumentCaptor<LowStockAlertEvent> captor = ArgumentCaptor.forClass(LowStockAlertEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        return captor.getValue();
+    }
+
+    @Nested
+    @DisplayName("onThresholdCrossed Tests")
+    class OnThresholdCrossedTests {
+
+        @Test
+        @DisplayName("Should schedule a single flush for all crossings in a window")
+        void onThresholdCrossed_MultipleCrossings_SchedulesOneFlush() {
+            aggregator.onThresholdCrossed(crossing(UUID.randomUUID(), "Whey", 8));
+            aggregator.onThresholdCrossed(crossing(UUID.randomUUID(), "Creatine", 3));
+
+            verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+            verify(eventPublisher, never()).publishEvent(any(Object.class));
+            assertThat(meterRegistry.get("supplemart_low_stock_crossings_total").counter().count())
+                    .isEqualTo(2.0);
+        }
+
+        @Test
+        @DisplayName("Should open a new window after a flush")
+        void onThresholdCrossed_AfterFlush_SchedulesAgain() {
+            aggregator.onThresholdCrossed(crossing(UUID.randomUUID(), "Whey", 8));
+            aggregator.flush();
+            aggregator.onThresholdCrossed(crossing(UUID.randomUUID(), "Creatine", 3));
+
+            verify(taskScheduler, times(2)).schedule(any(Runnable.class), any(Instant.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("flush Tests")
+    class FlushTests {
+
+        @Test
+        @DisplayName("Should publish one alert split into low and out of stock, keeping the latest level")
+        void flush_WithPendingCrossings_PublishesOneAlert() {
+            UUID wheyId = UUID.randomUUID();
+            aggregator.onThresholdCrossed(crossing(wheyId, "Whey", 8));
+            aggregator.onThresholdCrossed(crossing(wheyId, "Whey", 5));
+            UUID creatineId = UUID.randomUUID();
+            aggregator.onThresholdCrossed(crossing(creatineId, "Creatine", 0));
+
+            aggregator.flush();
+
+            LowStockAlertEvent alert = captureAlert();
+            assertThat(alert.getLowStockProducts())
+                    .containsExactly(new LowStockAlertEvent.ProductStockData("Whey", 5));
+            assertThat(alert.getOutOfStockProducts())
+                    .containsExactly(new LowStockAlertEvent.ProductStockData("Creatine", 0));
+            assertThat(meterRegistry.get("supplemart_low_stock_alerts_total").counter().count())
+                    .isEqualTo(1.0);
+            verify(productService).markLowStockAlerted(eq(Set.of(wheyId, creatineId)), any());
+        }
+
+        @Test
+        @DisplayName("Should not publish when nothing is pending")
+        void flush_WithNothingPending_DoesNotPublish() {
+            aggregator.flush();
+
+            verify(eventPublisher, never()).publishEvent(any(Object.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("reconcile Tests")
+    class ReconcileTests {
+
+        @Test
+        @DisplayName("Should alert only products not alerted since they went low")
+        void reconcile_SkipsAlertedProducts() {
+            UUID omegaId = UUID.randomUUID();
+            UUID bcaaId = UUID.randomUUID();
+
+            int missed = aggregator.reconcile(List.of(
+                    view(UUID.randomUUID(), "Whey", 5, LocalDateTime.now().minusHours(1)),
+                    view(omegaId, "Omega 3", 2),
+                    view(UUID.randomUUID(), "Creatine", 4, LocalDateTime.now().minusDays(3)),
+                    view(bcaaId, "BCAA", 4)));
+
+            assertThat(missed).isEqualTo(2);
+            assertThat(captureAlert().getLowStockProducts()).containsExactly(
+                    new LowStockAlertEvent.ProductStockData("Omega 3", 2),
+                    new LowStockAlertEvent.ProductStockData("BCAA", 4));
+            verify(productService).markLowStockAlerted(eq(Set.of(omegaId, bcaaId)), any());
+            assertThat(meterRegistry.get("supplemart_low_stock_missed_total").counter().count())
+                    .isEqualTo(2.0);
+        }
+
+        @Test
+        @DisplayName("Should skip products still waiting in the current window")
+        void reconcile_SkipsPendingProducts() {
+            UUID pendingId = UUID.randomUUID();
+            aggregator.onThresholdCrossed(crossing(pendingId, "Whey", 5));
+
+            int missed = aggregator.reconcile(List.of(view(pendingId, "Whey", 5)));
+
+            assertThat(missed).isZero();
+            verify(eventPublisher, never()).publishEvent(any(Object.class));
+        }
+    }
+}
@@ -7,6 +7,7 @@ import app.order.model.Order;
 import app.order.model.OrderItem;
 import app.order.model.OrderStatus;
 import app.order.repository.OrderRepository;
+import app.product.dto.LowStockProductView;
 import app.product.dto.ProductDetails;
 import app.product.dto.ProductPageResponse;
 import app.product.model.Category;
@@ -374,7 +375,7 @@ class ProductServiceIntegrationTest extends BaseIntegrationTest {
         @Test
         @DisplayName("Should find low stock products")
         void findLowStockProducts_ReturnsLowStockItems() {
-            List<Product> result = productRepository.findLowStockProducts(10);
+            List<LowStockProductView> result = productService.findLowStockProducts(10);
 
             assertThat(result).isNotEmpty();
             assertThat(result).allMatch(p -> p.getStockQuantity() < 10);
@@ -3,10 +3,12 @@ package app.product.service;
 import app.exception.BadRequestException;
 import app.exception.ResourceNotFoundException;
 import app.order.model.OrderItem;
+import app.product.dto.LowStockProductView;
 import app.product.dto.ProductDetails;
 import app.product.dto.ProductPageResponse;
 import app.product.mapper.ProductMapper;
 import app.product.model.Category;
+import app.product.event.StockThresholdCrossedEvent;
 import app.product.model.Product;
 import app.product.repository.ProductRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,13 +16,16 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -32,6 +37,7 @@ import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -47,6 +53,9 @@ class ProductServiceTest {
     @Mock
     private ProductMapper productMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ProductService productService;
 
@@ -55,6 +64,7 @@ class ProductServiceTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(productService, "lowStockThreshold", 10);
         productId = UUID.randomUUID();
         testProduct = Product.builder()
                 .id(productId)
@@ -216,6 +226,31 @@ class ProductServiceTest {
             assertThat(result.getName()).isEqualTo("Updated Product Name");
             verify(productRepository).save(testProduct);
         }
+
+        @Test
+        @DisplayName("Should clear the low-stock alert when stock is set back to the threshold")
+        void updateProduct_StockRestored_ClearsLowStockAlert() {
+            testProduct.setStockQuantity(10);
+            testProduct.setLowStockAlertedAt(LocalDateTime.now().minusDays(2));
+            when(productRepository.save(testProduct)).thenReturn(testProduct);
+
+            productService.updateProduct(testProduct);
+
+            assertThat(testProduct.getLowStockAlertedAt()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should keep the low-stock alert while stock stays below the threshold")
+        void updateProduct_StockStillLow_KeepsLowStockAlert() {
+            LocalDateTime alertedAt = LocalDateTime.now().minusDays(2);
+            testProduct.setStockQuantity(9);
+            testProduct.setLowStockAlertedAt(alertedAt);
+            when(productRepository.save(testProduct)).thenReturn(testProduct);
+
+            productService.updateProduct(testProduct);
+
+            assertThat(testProduct.getLowStockAlertedAt()).isEqualTo(alertedAt);
+        }
     }
 
     @Nested
@@ -296,6 +331,34 @@ class ProductServiceTest {
             assertThat(testProduct.getStockQuantity()).isEqualTo(0);
             verify(productRepository).save(testProduct);
         }
+
+        @Test
+        @DisplayName("Should publish threshold crossing when stock drops below the low-stock threshold")
+        void reserveInventory_CrossingThreshold_PublishesEvent() {
+            testProduct.setStockQuantity(12);
+            when(productRepository.findById(productId)).thenReturn(Optional.of(testProduct));
+            when(productRepository.save(testProduct)).thenReturn(testProduct);
+
+            productService.reserveInventory(productId, 5);
+
+            ArgumentCaptor<StockThresholdCrossedEvent> captor = ArgumentCaptor.forClass(StockThresholdCrossedEvent.class);
+            verify(eventPublisher).publishEvent(captor.capture());
+            assertThat(captor.getValue().getProductId()).isEqualTo(productId);
+            assertThat(captor.getValue().getPreviousStock()).isEqualTo(12);
+            assertThat(captor.getValue().getNewStock()).isEqualTo(7);
+        }
+
+        @Test
+        @DisplayName("Should not publish when stock was already below the threshold")
+        void reserveInventory_AlreadyBelowThreshold_DoesNotPublish() {
+            testProduct.setStockQuantity(8);
+            when(productRepository.findById(productId)).thenReturn(Optional.of(testProduct));
+            when(productRepository.save(testProduct)).thenReturn(testProduct);
+
+            productService.reserveInventory(productId, 3);
+
+            verify(eventPublisher, never()).publishEvent(any(Object.class));
+        }
     }
 
     @Nested
@@ -327,6 +390,19 @@ class ProductServiceTest {
             assertThat(testProduct.getStockQuantity()).isEqualTo(25);
             verify(productRepository).save(testProduct);
         }
+
+        @Test
+        @DisplayName("Should clear the low-stock alert when released stock reaches the threshold")
+        void releaseInventory_BackAboveThreshold_ClearsLowStockAlert() {
+            testProduct.setStockQuantity(4);
+            testProduct.setLowStockAlertedAt(LocalDateTime.now().minusHours(3));
+            when(productRepository.findById(productId)).thenReturn(Optional.of(testProduct));
+            when(productRepository.save(testProduct)).thenReturn(testProduct);
+
+            productService.releaseInventory(productId, 6);
+
+            assertThat(testProduct.getLowStockAlertedAt()).isNull();
+        }
     }
 
     @Nested
@@ -336,30 +412,29 @@ class ProductServiceTest {
         @Test
         @DisplayName("Should return products with stock below threshold")
         void findLowStockProducts_WithLowStockItems_ReturnsProducts() {
-            Product lowStockProduct = Product.builder()
-                    .id(UUID.randomUUID())
-                    .name("Low Stock Item")
-                    .stockQuantity(5)
-                    .build();
+            LowStockProductView lowStockProduct = new LowStockProductView() {
+                public UUID getId() { return UUID.randomUUID(); }
+                public String getName() { return "Low Stock Item"; }
+                public Integer getStockQuantity() { return 5; }
+            };
 
-            when(productRepository.findLowStockProducts(10)).thenReturn(List.of(lowStockProduct));
+            when(productRepository.findLowStockProductViews(10)).thenReturn(List.of(lowStockProduct));
 
-            List<Product> result = productService.findLowStockProducts(10);
+            List<LowStockProductView> result = productService.findLowStockProducts(10);
 
             assertThat(result).hasSize(1);
             assertThat(result.get(0).getStockQuantity()).isLessThan(10);
-            verify(productRepository).findLowStockProducts(10);
+            verify(productRepository).findLowStockProductViews(10);
         }
 
         @Test
         @DisplayName("Should return empty list when no low stock products")
         void findLowStockProducts_WithNoLowStock_ReturnsEmptyList() {
-            when(productRepository.findLowStockProducts(10)).thenReturn(List.of());
+            when(productRepository.findLowStockProductViews(10)).thenReturn(List.of());
 
-            List<Product> result = productService.findLowStockProducts(10);
+            List<LowStockProductView> result = productService.findLowStockProducts(10);
 
             assertThat(result).isEmpty();
         }
     }
 }
-
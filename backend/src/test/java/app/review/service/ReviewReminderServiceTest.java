@@ -0,0 +1,98 @@
+package app.review.service;
+
+import app.notification.event.ReviewReminderEvent;
+import app.review.dto.ReviewReminderView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReviewReminderService Unit Tests")
+class ReviewReminderServiceTest {
+
+    @Mock
+    private PendingReviewReminderService pendingReviewReminderService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReviewReminderService reviewReminderService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        reviewReminderService = new ReviewReminderService(pendingReviewReminderService, eventPublisher, meterRegistry, 10);
+    }
+
+    @Test
+    @DisplayName("Should publish reminders only for claimed orders")
+    void sendDueReminders_SomeAlreadyCleared_PublishesOnlyClaimed() {
+        ReviewReminderView claimed = reminder("ORD-20260101-00001");
+        ReviewReminderView reviewedMeanwhile = reminder("ORD-20260101-00002");
+
+        when(pendingReviewReminderService.purgeExpired(any())).thenReturn(3);
+        when(pendingReviewReminderService.findDueReminders(any(), any(), any(), any(), anyInt()))
+                .thenReturn(List.of(claimed, reviewedMeanwhile));
+        when(pendingReviewReminderService.claimReminders(List.of(claimed.getOrderId(), reviewedMeanwhile.getOrderId())))
+                .thenReturn(List.of(claimed.getOrderId()));
+
+        ReviewReminderService.Result result = reviewReminderService.sendDueReminders(3, 14);
+
+        assertThat(result.scanned()).isEqualTo(2);
+        assertThat(result.sent()).isEqualTo(1);
+        assertThat(result.expired()).isEqualTo(3);
+
+        ArgumentCaptor<ReviewReminderEvent> event = ArgumentCaptor.forClass(ReviewReminderEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getOrderNumber()).isEqualTo("ORD-20260101-00001");
+        assertThat(meterRegistry.get("supplemart_review_reminders_total").tag("outcome", "sent")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should not publish anything when claiming fails")
+    void sendDueReminders_ClaimFails_PublishesNothing() {
+        ReviewReminderView pending = reminder("ORD-20260101-00003");
+
+        when(pendingReviewReminderService.findDueReminders(any(), any(), any(), any(), anyInt()))
+                .thenReturn(List.of(pending));
+        when(pendingReviewReminderService.claimReminders(any()))
+                .thenThrow(new RuntimeException("Lock wait timeout exceeded"));
+
+        ReviewReminderService.Result result = reviewReminderService.sendDueReminders(3, 14);
+
+        assertThat(result.sent()).isZero();
+        assertThat(result.failed()).isEqualTo(1);
+        verify(eventPublisher, never()).publishEvent(any(ReviewReminderEvent.class));
+    }
+
+    private ReviewReminderView reminder(String orderNumber) {
+        UUID orderId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        LocalDateTime deliveredAt = LocalDateTime.now().minusDays(5);
+        return new ReviewReminderView() {
+            public UUID getOrderId() { return orderId; }
+            public LocalDateTime getDeliveredAt() { return deliveredAt; }
+            public String getOrderNumber() { return orderNumber; }
+            public UUID getUserId() { return userId; }
+            public String getUserEmail() { return "customer@example.com"; }
+            public String getUserFirstName() { return "Jane"; }
+        };
+    }
+}
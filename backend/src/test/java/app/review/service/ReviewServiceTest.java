@@ -51,6 +51,9 @@ class ReviewServiceTest {
     @Mock
     private ProductService productService;
 
+    @Mock
+    private PendingReviewReminderService pendingReviewReminderService;
+
     @InjectMocks
     private ReviewService reviewService;
 
@@ -175,6 +178,7 @@ class ReviewServiceTest {
             assertThat(result).isNotNull();
             assertThat(result.getRating()).isEqualTo(5);
             verify(reviewRepository).save(any(app.review.model.Review.class));
+            verify(pendingReviewReminderService).clearForReview(userId, testProduct.getId());
         }
     }
 
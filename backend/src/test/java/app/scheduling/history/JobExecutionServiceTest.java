@@ -0,0 +1,83 @@
+package app.scheduling.history;
+
+import app.scheduling.JobStats;
+import app.scheduling.lock.JobLockService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JobExecutionService Unit Tests")
+class JobExecutionServiceTest {
+
+    @Mock
+    private JobExecutionRepository jobExecutionRepository;
+
+    @Mock
+    private JobLockService jobLockService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private JobExecutionService jobExecutionService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jobExecutionService = new JobExecutionService(jobExecutionRepository, jobLockService, meterRegistry, 30);
+        lenient().when(jobLockService.getNodeId()).thenReturn("node-1");
+    }
+
+    @Test
+    @DisplayName("Should record a successful run with its item counts")
+    void record_SuccessfulJob_SavesExecutionAndMetrics() {
+        JobStats stats = jobExecutionService.record("auto-deliver", () -> new JobStats(10, 8, 2));
+
+        assertThat(stats).isEqualTo(new JobStats(10, 8, 2));
+
+        ArgumentCaptor<JobExecution> execution = ArgumentCaptor.forClass(JobExecution.class);
+        verify(jobExecutionRepository).save(execution.capture());
+        assertThat(execution.getValue().getJobName()).isEqualTo("auto-deliver");
+        assertThat(execution.getValue().getNode()).isEqualTo("node-1");
+        assertThat(execution.getValue().getStatus()).isEqualTo(JobExecutionStatus.SUCCEEDED);
+        assertThat(execution.getValue().getItemsScanned()).isEqualTo(10);
+        assertThat(execution.getValue().getItemsProcessed()).isEqualTo(8);
+        assertThat(execution.getValue().getItemsFailed()).isEqualTo(2);
+
+        assertThat(meterRegistry.get("supplemart_job_duration")
+                .tags("job", "auto-deliver", "status", "succeeded").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("supplemart_job_items")
+                .tags("job", "auto-deliver", "type", "scanned").summary().totalAmount()).isEqualTo(10.0);
+    }
+
+    @Test
+    @DisplayName("Should record a failed run and rethrow the error")
+    void record_FailingJob_SavesFailureAndRethrows() {
+        assertThatThrownBy(() -> jobExecutionService.record("daily-report", () -> {
+            throw new IllegalStateException("Database unavailable");
+        })).isInstanceOf(IllegalStateException.class);
+
+        ArgumentCaptor<JobExecution> execution = ArgumentCaptor.forClass(JobExecution.class);
+        verify(jobExecutionRepository).save(execution.capture());
+        assertThat(execution.getValue().getStatus()).isEqualTo(JobExecutionStatus.FAILED);
+        assertThat(execution.getValue().getErrorMessage()).isEqualTo("Database unavailable");
+    }
+
+    @Test
+    @DisplayName("Should not fail the job when history cannot be written")
+    void record_HistoryWriteFails_ReturnsJobStats() {
+        when(jobExecutionRepository.save(any())).thenThrow(new RuntimeException("Table is full"));
+
+        JobStats stats = jobExecutionService.record("low-stock", () -> new JobStats(3, 3, 0));
+
+        assertThat(stats.processed()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,108 @@
+package app.scheduling.lock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JobLockService Unit Tests")
+class JobLockServiceTest {
+
+    private static final String JOB = "daily-report";
+    private static final String NODE = "node-1";
+
+    @Mock
+    private JobLockRepository jobLockRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private JobLockService jobLockService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jobLockService = new JobLockService(jobLockRepository, meterRegistry, NODE, 300, 30);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobLockService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should run the job and release the lock when the lock is acquired")
+    void runLocked_LockAcquired_RunsJobAndReleases() {
+        AtomicBoolean ran = new AtomicBoolean();
+        when(jobLockRepository.tryAcquire(JOB, NODE, 300_000L)).thenReturn(true);
+
+        boolean result = jobLockService.runLocked(JOB, () -> ran.set(true));
+
+        assertThat(result).isTrue();
+        assertThat(ran).isTrue();
+        verify(jobLockRepository).release(JOB, NODE, 30_000L);
+        assertThat(meterRegistry.get("supplemart_job_lock_attempts_total")
+                .tags("job", JOB, "outcome", "acquired").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should skip the job when another node holds the lock")
+    void runLocked_LockHeldElsewhere_SkipsJob() {
+        AtomicBoolean ran = new AtomicBoolean();
+        when(jobLockRepository.tryAcquire(eq(JOB), eq(NODE), anyLong())).thenReturn(false);
+
+        boolean result = jobLockService.runLocked(JOB, () -> ran.set(true));
+
+        assertThat(result).isFalse();
+        assertThat(ran).isFalse();
+        verify(jobLockRepository, never()).release(anyString(), anyString(), anyLong());
+        assertThat(meterRegistry.get("supplemart_job_lock_attempts_total")
+                .tags("job", JOB, "outcome", "contended").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should release the lock when the job fails")
+    void runLocked_JobThrows_ReleasesLock() {
+        when(jobLockRepository.tryAcquire(eq(JOB), eq(NODE), anyLong())).thenReturn(true);
+
+        assertThatThrownBy(() -> jobLockService.runLocked(JOB, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        verify(jobLockRepository).release(eq(JOB), eq(NODE), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should renew the lease while a long job runs")
+    void runLocked_LongJob_RenewsLease() {
+        JobLockService shortLease = new JobLockService(jobLockRepository, meterRegistry, NODE, 1, 0);
+        when(jobLockRepository.tryAcquire(eq(JOB), eq(NODE), anyLong())).thenReturn(true);
+        when(jobLockRepository.renew(JOB, NODE, 1_000L)).thenReturn(true);
+
+        try {
+            shortLease.runLocked(JOB, () -> {
+                try {
+                    Thread.sleep(800);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        } finally {
+            shortLease.shutdown();
+        }
+
+        verify(jobLockRepository, atLeastOnce()).renew(JOB, NODE, 1_000L);
+    }
+}
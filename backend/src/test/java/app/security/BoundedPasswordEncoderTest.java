@@ -0,0 +1,84 @@
+package app.security;
+
+import app.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("BoundedPasswordEncoder Unit Tests")
+class BoundedPasswordEncoderTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordEncoder delegate;
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        delegate = mock(PasswordEncoder.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        encoder.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should hash and check passwords through the delegate")
+    void encodeAndMatches_DelegatesAndRecordsLatency() {
+        encoder = new BoundedPasswordEncoder(delegate, meterRegistry, 1, 1);
+        when(delegate.encode("secret")).thenReturn("hashed");
+        when(delegate.matches("secret", "hashed")).thenReturn(true);
+
+        assertThat(encoder.encode("secret")).isEqualTo("hashed");
+        assertThat(encoder.matches("secret", "hashed")).isTrue();
+        assertThat(meterRegistry.get("supplemart_password_hash_duration").tag("operation", "matches")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should refuse hashes beyond the queue limit with 429")
+    void matches_PoolAndQueueFull_ThrowsTooManyRequests() throws Exception {
+        encoder = new BoundedPasswordEncoder(delegate, meterRegistry, 1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.matches(any(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("a", "hash"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("b", "hash"));
+        await(() -> meterRegistry.get("supplemart_password_hash_queue_size").gauge().value() == 1);
+
+        assertThatThrownBy(() -> encoder.matches("c", "hash"))
+                .isInstanceOf(TooManyRequestsException.class);
+        release.countDown();
+
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.get("supplemart_password_hash_rejected_total").counter().count()).isEqualTo(1.0);
+    }
+
+    private static void await(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,76 @@
+package app.security;
+
+import app.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("LoginAttemptThrottle Unit Tests")
+class LoginAttemptThrottleTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoginAttemptThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        throttle = new LoginAttemptThrottle(meterRegistry, 5, 3, 900, 1000);
+    }
+
+    @Test
+    @DisplayName("Should block an account from an IP after too many failures from that IP")
+    void checkAllowed_AccountIpOverLimit_Throws() {
+        throttle.recordFailure("10.0.0.1", "user@example.com");
+        throttle.recordFailure("10.0.0.1", "User@Example.com");
+        throttle.recordFailure("10.0.0.1", "user@example.com");
+
+        assertThatThrownBy(() -> throttle.checkAllowed("10.0.0.1", "user@example.com"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .satisfies(e -> assertThat(((TooManyRequestsException) e).getRetryAfterSeconds()).isBetween(1L, 901L));
+        assertThat(meterRegistry.get("supplemart_login_throttled_total").tag("scope", "account_ip").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should not lock the account owner out when another IP guesses the password")
+    void checkAllowed_AccountOverLimitFromOtherIp_Allows() {
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("10.0.0.1", "user@example.com");
+        }
+
+        assertThatCode(() -> throttle.checkAllowed("10.0.0.2", "user@example.com")).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should block an IP spraying many accounts")
+    void checkAllowed_IpOverLimit_Throws() {
+        for (int i = 0; i < 5; i++) {
+            throttle.recordFailure("10.0.0.1", "user" + i + "@example.com");
+        }
+
+        assertThatThrownBy(() -> throttle.checkAllowed("10.0.0.1", "fresh@example.com"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThatCode(() -> throttle.checkAllowed("10.0.0.2", "fresh@example.com")).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should clear the account count on success but keep the IP count")
+    void recordSuccess_ClearsAccountOnly() {
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("10.0.0.1", "user@example.com");
+        }
+        throttle.recordSuccess("10.0.0.1", "user@example.com");
+
+        assertThatCode(() -> throttle.checkAllowed("10.0.0.1", "user@example.com")).doesNotThrowAnyException();
+
+        throttle.recordFailure("10.0.0.1", "other@example.com");
+        throttle.recordFailure("10.0.0.1", "other@example.com");
+        assertThatThrownBy(() -> throttle.checkAllowed("10.0.0.1", "another@example.com"))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+}
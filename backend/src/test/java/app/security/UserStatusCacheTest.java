@@ -0,0 +1,59 @@
+package app.security;
+
+import app.user.model.Role;
+import app.user.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserStatusCache Unit Tests")
+class UserStatusCacheTest {
+
+    @Mock
+    private UserService userService;
+
+    private UserStatusCache userStatusCache;
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        userStatusCache = new UserStatusCache(userService, 30, 100);
+    }
+
+    @Test
+    @DisplayName("Should load the role once and reuse it")
+    void hasRole_RepeatedChecks_LoadsOnce() {
+        when(userService.findRoleById(userId)).thenReturn(Optional.of(Role.CUSTOMER));
+
+        assertThat(userStatusCache.hasRole(userId, Role.CUSTOMER)).isTrue();
+        assertThat(userStatusCache.hasRole(userId, Role.CUSTOMER)).isTrue();
+
+        verify(userService, times(1)).findRoleById(userId);
+    }
+
+    @Test
+    @DisplayName("Should reject a role that no longer matches")
+    void hasRole_RoleChanged_ReturnsFalse() {
+        when(userService.findRoleById(userId)).thenReturn(Optional.of(Role.CUSTOMER));
+
+        assertThat(userStatusCache.hasRole(userId, Role.ADMIN)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject a deleted account")
+    void hasRole_MissingUser_ReturnsFalse() {
+        when(userService.findRoleById(userId)).thenReturn(Optional.empty());
+
+        assertThat(userStatusCache.hasRole(userId, Role.CUSTOMER)).isFalse();
+    }
+}
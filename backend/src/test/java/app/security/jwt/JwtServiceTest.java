@@ -1,5 +1,10 @@
 package app.security.jwt;
 
+import app.security.CustomUserDetails;
+import app.user.model.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.security.Keys;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,8 +21,15 @@ import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Date;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +39,9 @@ class JwtServiceTest {
     @Mock
     private JwtConfig jwtConfig;
 
+    @Mock
+    private RevocationReplicator revocationReplicator;
+
     private JwtService jwtService;
     private SecretKey secretKey;
     private UserDetails testUserDetails;
@@ -38,7 +53,8 @@ class JwtServiceTest {
     @BeforeEach
     void setUp() {
         secretKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
-        jwtService = new JwtService(jwtConfig, secretKey);
+        when(jwtConfig.getClaimsCacheSize()).thenReturn(100L);
+        jwtService = new JwtService(jwtConfig, secretKey, new TokenRevocationStore(60, 1 << 16), revocationReplicator);
 
         testUserDetails = User.builder()
                 .username("test@example.com")
@@ -75,6 +91,39 @@ class JwtServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Principal Claims Tests")
+    class PrincipalClaimsTests {
+
+        @Test
+        @DisplayName("Should build the principal from user id and role claims")
+        void toPrincipal_TokenForCustomUser_RestoresPrincipal() {
+            when(jwtConfig.getExpiration()).thenReturn(EXPIRATION);
+            CustomUserDetails user = CustomUserDetails.builder()
+                    .id(UUID.randomUUID())
+                    .username("admin@example.com")
+                    .password("password")
+                    .role(Role.ADMIN)
+                    .isEnabled(true)
+                    .build();
+
+            CustomUserDetails principal = jwtService.toPrincipal(jwtService.verify(jwtService.generateToken(user)));
+
+            assertThat(principal.getId()).isEqualTo(user.getId());
+            assertThat(principal.getUsername()).isEqualTo("admin@example.com");
+            assertThat(principal.getRole()).isEqualTo(Role.ADMIN);
+            assertThat(principal.getAuthorities()).extracting("authority").containsExactly("ROLE_ADMIN");
+        }
+
+        @Test
+        @DisplayName("Should return null for tokens without principal claims")
+        void toPrincipal_TokenWithoutClaims_ReturnsNull() {
+            when(jwtConfig.getExpiration()).thenReturn(EXPIRATION);
+
+            assertThat(jwtService.toPrincipal(jwtService.verify(jwtService.generateToken(testUserDetails)))).isNull();
+        }
+    }
+
     @Nested
     @DisplayName("generateRefreshToken Tests")
     class GenerateRefreshTokenTests {
@@ -139,6 +188,45 @@ class JwtServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("verify Tests")
+    class VerifyTests {
+
+        @Test
+        @DisplayName("Should reuse verified claims for a repeated token")
+        void verify_SameTokenTwice_ReturnsCachedClaims() {
+            when(jwtConfig.getExpiration()).thenReturn(EXPIRATION);
+            String token = jwtService.generateToken(testUserDetails);
+
+            Claims first = jwtService.verify(token);
+            Claims second = jwtService.verify(token);
+
+            assertThat(second).isSameAs(first);
+            assertThat(second.getSubject()).isEqualTo("test@example.com");
+        }
+
+        @Test
+        @DisplayName("Should reject a token whose signature does not match")
+        void verify_TamperedToken_Throws() {
+            when(jwtConfig.getExpiration()).thenReturn(EXPIRATION);
+            String token = jwtService.generateToken(testUserDetails);
+            jwtService.verify(token);
+            String[] parts = token.split("\\.");
+            String tampered = parts[0] + "." + parts[1] + "." + new StringBuilder(parts[2]).reverse();
+
+            assertThatThrownBy(() -> jwtService.verify(tampered)).isInstanceOf(JwtException.class);
+        }
+
+        @Test
+        @DisplayName("Should reject an expired token")
+        void verify_ExpiredToken_Throws() {
+            when(jwtConfig.getExpiration()).thenReturn(-60L);
+            String token = jwtService.generateToken(testUserDetails);
+
+            assertThatThrownBy(() -> jwtService.verify(token)).isInstanceOf(ExpiredJwtException.class);
+        }
+    }
+
     @Nested
     @DisplayName("isTokenValid Tests")
     class IsTokenValidTests {
@@ -199,6 +287,26 @@ class JwtServiceTest {
             assertThat(jwtService.isTokenRevoked(token)).isTrue();
         }
 
+        @Test
+        @DisplayName("Should share the revocation with other replicas by jti")
+        void revokeToken_WithValidToken_PublishesJti() {
+            when(jwtConfig.getExpiration()).thenReturn(EXPIRATION);
+            String token = jwtService.generateToken(testUserDetails);
+            Claims claims = jwtService.verify(token);
+
+            jwtService.revokeToken(token);
+
+            verify(revocationReplicator).publish(eq(claims.getId()), eq(claims.getExpiration()));
+        }
+
+        @Test
+        @DisplayName("Should not share revocations of invalid tokens")
+        void revokeToken_WithInvalidToken_DoesNotPublish() {
+            jwtService.revokeToken("invalid.token.here");
+
+            verify(revocationReplicator, never()).publish(anyString(), any());
+        }
+
         @Test
         @DisplayName("Should handle revocation of invalid token gracefully")
         void revokeToken_WithInvalidToken_HandlesGracefully() {
@@ -213,6 +321,19 @@ class JwtServiceTest {
     @DisplayName("isTokenRevoked Tests")
     class IsTokenRevokedTests {
 
+        @Test
+        @DisplayName("Should revoke only the token that was logged out")
+        void isTokenRevoked_OtherTokenForSameUser_ReturnsFalse() {
+            when(jwtConfig.getExpiration()).thenReturn(EXPIRATION);
+            String revoked = jwtService.generateToken(testUserDetails);
+            String other = jwtService.generateToken(testUserDetails);
+
+            jwtService.revokeToken(revoked);
+
+            assertThat(jwtService.verify(revoked).getId()).isNotEqualTo(jwtService.verify(other).getId());
+            assertThat(jwtService.isTokenRevoked(other)).isFalse();
+        }
+
         @Test
         @DisplayName("Should return false for non-revoked token")
         void isTokenRevoked_WithNonRevokedToken_ReturnsFalse() {
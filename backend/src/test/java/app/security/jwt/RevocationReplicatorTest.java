@@ -0,0 +1,98 @@
+package app.security.jwt;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RevocationReplicator Unit Tests")
+class RevocationReplicatorTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TokenRevocationStore revocationStore;
+    private RevocationReplicator replicator;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        revocationStore = new TokenRevocationStore(60, 1 << 16);
+        replicator = new RevocationReplicator(revokedTokenRepository, revocationStore, meterRegistry, 2, 10);
+    }
+
+    private static RevokedToken row(long id, String tokenId) {
+        return RevokedToken.builder()
+                .id(id)
+                .tokenId(tokenId)
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .revokedAt(LocalDateTime.now().minusSeconds(1))
+                .build();
+    }
+
+    private static long millis(RevokedToken row) {
+        return row.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    @Test
+    @DisplayName("Should apply new revocations in batches and advance the high-water mark")
+    void poll_NewRows_AppliedLocally() {
+        RevokedToken first = row(1, "jti-1");
+        RevokedToken second = row(2, "jti-2");
+        RevokedToken third = row(3, "jti-3");
+        when(revokedTokenRepository.findByIdGreaterThanAndExpiresAtAfterOrderByIdAsc(eq(0L), any(), any(Limit.class)))
+                .thenReturn(List.of(first, second));
+        when(revokedTokenRepository.findByIdGreaterThanAndExpiresAtAfterOrderByIdAsc(eq(2L), any(), any(Limit.class)))
+                .thenReturn(List.of(third));
+
+        replicator.poll();
+
+        assertThat(revocationStore.isRevoked("jti-1", millis(first))).isTrue();
+        assertThat(revocationStore.isRevoked("jti-3", millis(third))).isTrue();
+        assertThat(replicator.getHighWaterMark()).isEqualTo(3);
+        assertThat(meterRegistry.get("supplemart_token_revocation_replication_lag").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should re-read recent ids to catch rows committed out of order")
+    void poll_AfterFirstPoll_ReadsFromOverlapWindow() {
+        when(revokedTokenRepository.findByIdGreaterThanAndExpiresAtAfterOrderByIdAsc(eq(0L), any(), any(Limit.class)))
+                .thenReturn(List.of(row(25, "jti-25")));
+        replicator.poll();
+
+        RevokedToken late = row(20, "jti-20");
+        when(revokedTokenRepository.findByIdGreaterThanAndExpiresAtAfterOrderByIdAsc(eq(15L), any(), any(Limit.class)))
+                .thenReturn(List.of(late, row(25, "jti-25")));
+        replicator.poll();
+
+        assertThat(revocationStore.isRevoked("jti-20", millis(late))).isTrue();
+        assertThat(replicator.getHighWaterMark()).isEqualTo(25);
+        assertThat(meterRegistry.get("supplemart_token_revocation_replication_lag").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep the high-water mark when the poll fails")
+    void poll_RepositoryFails_KeepsHighWaterMark() {
+        when(revokedTokenRepository.findByIdGreaterThanAndExpiresAtAfterOrderByIdAsc(anyLong(), any(), any(Limit.class)))
+                .thenThrow(new IllegalStateException("database unavailable"));
+
+        replicator.poll();
+
+        assertThat(replicator.getHighWaterMark()).isZero();
+    }
+}
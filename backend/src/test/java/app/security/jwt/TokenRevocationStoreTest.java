@@ -0,0 +1,62 @@
+package app.security.jwt;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TokenRevocationStore Unit Tests")
+class TokenRevocationStoreTest {
+
+    private TokenRevocationStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new TokenRevocationStore(60, 1 << 16);
+    }
+
+    @Test
+    @DisplayName("Should report revoked ids and nothing else")
+    void isRevoked_RevokedAndUnknownIds_Distinguished() {
+        long expiresAt = System.currentTimeMillis() + 3_600_000;
+        store.revoke("revoked", expiresAt);
+
+        assertThat(store.isRevoked("revoked", expiresAt)).isTrue();
+        assertThat(store.isRevoked("revoked")).isTrue();
+        assertThat(store.isRevoked("unknown", expiresAt)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should have no false negatives across many revocations")
+    void isRevoked_ManyIds_AllFound() {
+        long expiresAt = System.currentTimeMillis() + 3_600_000;
+        String[] ids = new String[5_000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = UUID.randomUUID().toString();
+            store.revoke(ids[i], expiresAt + i * 1_000L);
+        }
+
+        for (int i = 0; i < ids.length; i++) {
+            assertThat(store.isRevoked(ids[i], expiresAt + i * 1_000L)).isTrue();
+        }
+        assertThat(store.size()).isEqualTo(ids.length);
+    }
+
+    @Test
+    @DisplayName("Should drop buckets whose tokens have expired")
+    void dropExpired_ExpiredBucket_ForgetsIds() {
+        long expired = System.currentTimeMillis() - 120_000;
+        long live = System.currentTimeMillis() + 3_600_000;
+        store.revoke("expired", expired);
+        store.revoke("live", live);
+
+        store.dropExpired();
+
+        assertThat(store.isRevoked("expired")).isFalse();
+        assertThat(store.isRevoked("live", live)).isTrue();
+        assertThat(store.size()).isEqualTo(1);
+    }
+}
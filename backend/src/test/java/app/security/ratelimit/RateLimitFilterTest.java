@@ -0,0 +1,102 @@
+package app.security.ratelimit;
+
+import app.security.jwt.JwtService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@DisplayName("RateLimitFilter Unit Tests")
+class RateLimitFilterTest {
+
+    private JwtService jwtService;
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+    private final AtomicInteger passed = new AtomicInteger();
+    private final FilterChain chain = (request, response) -> passed.incrementAndGet();
+
+    @BeforeEach
+    void setUp() {
+        jwtService = mock(JwtService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        // Contact allows a burst of 2 and then one request every 100 seconds
+        filter = new RateLimitFilter(jwtService, new ObjectMapper(), meterRegistry, true, 1000, 600,
+                20, 2, 2, 0.01, 100, 20, 200, 50);
+    }
+
+    private MockHttpServletResponse send(String path, String remoteAddr) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    @Test
+    @DisplayName("Should allow the burst and then refuse with Retry-After")
+    void doFilter_BurstExhausted_Returns429() throws Exception {
+        assertThat(send("/api/contact", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(send("/api/contact", "10.0.0.1").getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse throttled = send("/api/contact", "10.0.0.1");
+
+        assertThat(throttled.getStatus()).isEqualTo(429);
+        assertThat(Long.parseLong(throttled.getHeader("Retry-After"))).isBetween(1L, 100L);
+        assertThat(passed.get()).isEqualTo(2);
+        assertThat(meterRegistry.get("supplemart_rate_limited_total").tag("group", "contact").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should keep separate buckets per client and per route group")
+    void doFilter_DifferentClientOrGroup_NotThrottled() throws Exception {
+        send("/api/contact", "10.0.0.1");
+        send("/api/contact", "10.0.0.1");
+
+        assertThat(send("/api/contact", "10.0.0.2").getStatus()).isEqualTo(200);
+        assertThat(send("/api/products", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(send("/actuator/health", "10.0.0.1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should key authenticated clients by user id rather than IP")
+    void doFilter_BearerToken_KeyedByUserId() throws Exception {
+        Claims claims = mock(Claims.class);
+        when(claims.get(JwtService.USER_ID_CLAIM, String.class)).thenReturn("user-1");
+        when(jwtService.verify("token")).thenReturn(claims);
+
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/contact");
+            request.setRemoteAddr("10.0.0." + i);
+            request.addHeader("Authorization", "Bearer token");
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+        }
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/contact");
+        request.setRemoteAddr("10.0.0.9");
+        request.addHeader("Authorization", "Bearer token");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("Should reject a group without a positive refill rate")
+    void constructor_NonPositiveRate_Throws() {
+        assertThatThrownBy(() -> new RateLimitFilter(jwtService, new ObjectMapper(), new SimpleMeterRegistry(), true,
+                1000, 600, 20, 2, 2, 0, 100, 20, 200, 50))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("rate-limit.contact.per-second");
+    }
+}
@@ -0,0 +1,28 @@
+package app.testutil;
+
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+/**
+ * Thymeleaf engine that resolves the application's email templates from the classpath without Spring,
+ * shared by unit tests and benchmarks.
+ */
+public final class TemplateEngineFactory {
+
+    private TemplateEngineFactory() {
+        // Utility class
+    }
+
+    public static TemplateEngine create() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+
+        TemplateEngine engine = new TemplateEngine();
+        engine.setTemplateResolver(resolver);
+        return engine;
+    }
+}
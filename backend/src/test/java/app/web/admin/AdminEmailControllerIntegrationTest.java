@@ -0,0 +1,207 @@
+package app.web.admin;
+
+import app.BaseIntegrationTest;
+import app.notification.retry.DeadLetterEmail;
+import app.notification.retry.DeadLetterEmailRepository;
+import app.notification.retry.FailedEmail;
+import app.notification.retry.FailedEmailRepository;
+import app.notification.service.MailPriority;
+import app.testutil.TestDataFactory;
+import app.user.model.AuthProvider;
+import app.user.model.Role;
+import app.user.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for AdminEmailController.
+ * Tests dead-letter email inspection, replay and deletion with a real database using Testcontainers.
+ */
+@DisplayName("Admin Email Controller Integration Tests")
+class AdminEmailControllerIntegrationTest extends BaseIntegrationTest {
+
+    private static final String DEAD_LETTERS_URL = "/api/admin/emails/dead-letters";
+
+    @Autowired
+    private DeadLetterEmailRepository deadLetterEmailRepository;
+
+    @Autowired
+    private FailedEmailRepository failedEmailRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private DeadLetterEmail deadLetter;
+    private String adminToken;
+    private String userToken;
+
+    @BeforeEach
+    void setUp() {
+        adminToken = generateToken(createUser(Role.ADMIN));
+        userToken = generateToken(createUser(Role.CUSTOMER));
+
+        deadLetter = deadLetterEmailRepository.save(DeadLetterEmail.builder()
+                .recipient(TestDataFactory.generateUniqueEmail())
+                .subject("Password Reset Request")
+                .htmlContent("<p>Your reset code: 123456</p>")
+                .priority(MailPriority.CRITICAL)
+                .attempts(5)
+                .lastError("MailSendException: Connection refused")
+                .firstFailedAt(LocalDateTime.now().minusHours(2))
+                .deadAt(LocalDateTime.now())
+                .build());
+    }
+
+    private User createUser(Role role) {
+        return userRepository.save(User.builder()
+                .email(TestDataFactory.generateUniqueEmail())
+                .password(passwordEncoder.encode("Password123!"))
+                .firstName(role == Role.ADMIN ? "Admin" : "Regular")
+                .lastName("User")
+                .role(role)
+                .authProvider(AuthProvider.LOCAL)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+    }
+
+    @Nested
+    @DisplayName("GET /api/admin/emails/dead-letters")
+    class GetDeadLettersTests {
+
+        @Test
+        @DisplayName("Should list dead-letter emails without their content")
+        void getDeadLetters_AsAdmin_ReturnsSummaries() throws Exception {
+            mockMvc.perform(get(DEAD_LETTERS_URL)
+                            .header("Authorization", bearerToken(adminToken))
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content").isArray())
+                    .andExpect(jsonPath("$.content[0].id").value(deadLetter.getId()))
+                    .andExpect(jsonPath("$.content[0].priority").value("CRITICAL"))
+                    .andExpect(jsonPath("$.content[0].htmlContent").doesNotExist())
+                    .andExpect(jsonPath("$.currentPage").value(0));
+        }
+
+        @Test
+        @DisplayName("Should return 400 for a negative page")
+        void getDeadLetters_NegativePage_ReturnsBadRequest() throws Exception {
+            mockMvc.perform(get(DEAD_LETTERS_URL)
+                            .header("Authorization", bearerToken(adminToken))
+                            .param("page", "-1")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Should return 400 for a page size below one")
+        void getDeadLetters_ZeroLimit_ReturnsBadRequest() throws Exception {
+            mockMvc.perform(get(DEAD_LETTERS_URL)
+                            .header("Authorization", bearerToken(adminToken))
+                            .param("limit", "0")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Should return 403 for regular user")
+        void getDeadLetters_AsRegularUser_ReturnsForbidden() throws Exception {
+            mockMvc.perform(get(DEAD_LETTERS_URL)
+                            .header("Authorization", bearerToken(userToken))
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isForbidden());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/admin/emails/dead-letters/{id}")
+    class GetDeadLetterTests {
+
+        @Test
+        @DisplayName("Should return the email including its content")
+        void getDeadLetter_Exists_ReturnsContent() throws Exception {
+            mockMvc.perform(get(DEAD_LETTERS_URL + "/" + deadLetter.getId())
+                            .header("Authorization", bearerToken(adminToken))
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.recipient").value(deadLetter.getRecipient()))
+                    .andExpect(jsonPath("$.htmlContent").value("<p>Your reset code: 123456</p>"));
+        }
+
+        @Test
+        @DisplayName("Should return 404 for an unknown email")
+        void getDeadLetter_Unknown_ReturnsNotFound() throws Exception {
+            mockMvc.perform(get(DEAD_LETTERS_URL + "/" + Long.MAX_VALUE)
+                            .header("Authorization", bearerToken(adminToken))
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /api/admin/emails/dead-letters/{id}/replay")
+    class ReplayTests {
+
+        @Test
+        @DisplayName("Should move the email back to the retry queue")
+        void replay_Exists_MovesToRetryQueue() throws Exception {
+            mockMvc.perform(post(DEAD_LETTERS_URL + "/" + deadLetter.getId() + "/replay")
+                            .header("Authorization", bearerToken(adminToken))
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.message").value("Email " + deadLetter.getId() + " queued for replay"));
+
+            assertThat(deadLetterEmailRepository.findById(deadLetter.getId())).isEmpty();
+            assertThat(failedEmailRepository.findAll())
+                    .extracting(FailedEmail::getRecipient)
+                    .contains(deadLetter.getRecipient());
+        }
+
+        @Test
+        @DisplayName("Should return 404 for an unknown email")
+        void replay_Unknown_ReturnsNotFound() throws Exception {
+            mockMvc.perform(post(DEAD_LETTERS_URL + "/" + Long.MAX_VALUE + "/replay")
+                            .header("Authorization", bearerToken(adminToken))
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    @Nested
+    @DisplayName("DELETE /api/admin/emails/dead-letters/{id}")
+    class DeleteTests {
+
+        @Test
+        @DisplayName("Should discard the email")
+        void delete_Exists_RemovesEmail() throws Exception {
+            mockMvc.perform(delete(DEAD_LETTERS_URL + "/" + deadLetter.getId())
+                            .header("Authorization", bearerToken(adminToken))
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk());
+
+            assertThat(deadLetterEmailRepository.findById(deadLetter.getId())).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should return 403 for regular user")
+        void delete_AsRegularUser_ReturnsForbidden() throws Exception {
+            mockMvc.perform(delete(DEAD_LETTERS_URL + "/" + deadLetter.getId())
+                            .header("Authorization", bearerToken(userToken))
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isForbidden());
+
+            assertThat(deadLetterEmailRepository.findById(deadLetter.getId())).isPresent();
+        }
+    }
+}
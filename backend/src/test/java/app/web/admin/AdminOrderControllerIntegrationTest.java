@@ -1,6 +1,7 @@
 package app.web.admin;
 
 import app.BaseIntegrationTest;
+import app.admin.dto.BulkUpdateOrderStatusRequest;
 import app.admin.dto.UpdateOrderStatusRequest;
 import app.order.model.Order;
 import app.order.model.OrderItem;
@@ -24,8 +25,10 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -322,4 +325,75 @@ class AdminOrderControllerIntegrationTest extends BaseIntegrationTest {
                     .andExpect(status().isBadRequest());
         }
     }
+
+    @Nested
+    @DisplayName("PATCH /api/admin/orders/status")
+    class BulkUpdateOrderStatusTests {
+
+        @Test
+        @DisplayName("Should update valid orders and skip invalid transitions")
+        void bulkUpdateOrderStatus_MixedOrders_UpdatesValidAndSkipsRest() throws Exception {
+            testOrder.setStatus(OrderStatus.PROCESSING);
+            orderRepository.save(testOrder);
+
+            Order deliveredOrder = orderRepository.save(Order.builder()
+                    .user(customer)
+                    .orderNumber("ORD-BULK-" + System.currentTimeMillis())
+                    .status(OrderStatus.DELIVERED)
+                    .totalAmount(new BigDecimal("19.99"))
+                    .shippingAddress("123 Test St, Test City, TC 12345")
+                    .build());
+
+            UUID missingOrderId = UUID.randomUUID();
+            BulkUpdateOrderStatusRequest request = BulkUpdateOrderStatusRequest.builder()
+                    .orderIds(List.of(testOrder.getId(), deliveredOrder.getId(), missingOrderId))
+                    .status("SHIPPED")
+                    .build();
+
+            mockMvc.perform(patch(ADMIN_ORDERS_BASE_URL + "/status")
+                            .header("Authorization", bearerToken(adminToken))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("shipped"))
+                    .andExpect(jsonPath("$.requestedCount").value(3))
+                    .andExpect(jsonPath("$.updatedCount").value(1))
+                    .andExpect(jsonPath("$.skippedCount").value(2))
+                    .andExpect(jsonPath("$.updatedOrderIds[0]").value(testOrder.getId().toString()));
+
+            Order reloaded = orderRepository.findById(testOrder.getId()).orElseThrow();
+            assertThat(reloaded.getStatus()).isEqualTo(OrderStatus.SHIPPED);
+            assertThat(reloaded.getLastModifiedBy()).isEqualTo(adminUser.getEmail());
+        }
+
+        @Test
+        @DisplayName("Should return 400 for empty order list")
+        void bulkUpdateOrderStatus_EmptyOrderIds_ReturnsBadRequest() throws Exception {
+            BulkUpdateOrderStatusRequest request = BulkUpdateOrderStatusRequest.builder()
+                    .orderIds(List.of())
+                    .status("SHIPPED")
+                    .build();
+
+            mockMvc.perform(patch(ADMIN_ORDERS_BASE_URL + "/status")
+                            .header("Authorization", bearerToken(adminToken))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Should return 403 for regular user")
+        void bulkUpdateOrderStatus_AsRegularUser_ReturnsForbidden() throws Exception {
+            BulkUpdateOrderStatusRequest request = BulkUpdateOrderStatusRequest.builder()
+                    .orderIds(List.of(testOrder.getId()))
+                    .status("PROCESSING")
+                    .build();
+
+            mockMvc.perform(patch(ADMIN_ORDERS_BASE_URL + "/status")
+                            .header("Authorization", bearerToken(userToken))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isForbidden());
+        }
+    }
 }